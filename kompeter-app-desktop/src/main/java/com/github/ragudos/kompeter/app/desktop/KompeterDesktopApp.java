@@ -27,7 +27,10 @@ import com.github.ragudos.kompeter.app.desktop.system.FormManager;
 import com.github.ragudos.kompeter.app.desktop.system.MainForm;
 import com.github.ragudos.kompeter.auth.Authentication;
 import com.github.ragudos.kompeter.auth.Authentication.AuthenticationException;
+import com.github.ragudos.kompeter.auth.AuthenticationExecutor;
 import com.github.ragudos.kompeter.database.AbstractMigratorFactory;
+import com.github.ragudos.kompeter.database.instrumentation.SlowQueryLog;
+import com.github.ragudos.kompeter.metrics.MetricsExporter;
 import com.github.ragudos.kompeter.utilities.constants.Metadata;
 import com.github.ragudos.kompeter.utilities.io.FileUtils;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
@@ -84,6 +87,7 @@ public class KompeterDesktopApp extends JFrame {
         });
 
         FileUtils.setupConfig();
+        MetricsExporter.getInstance().start();
 
         SwingUtilities.invokeLater(() -> {
             splash.label.setText("Setting up database...");
@@ -97,6 +101,9 @@ public class KompeterDesktopApp extends JFrame {
 
         FontSetup.setup();
 
+        // Runs in the background, so the first sign in may still use the old work factor.
+        AuthenticationExecutor.calibrate();
+
         Thread.setDefaultUncaughtExceptionHandler(new GlobalUncaughtExceptionHandler());
 
         try {
@@ -153,6 +160,9 @@ public class KompeterDesktopApp extends JFrame {
         @Override
         public void windowClosing(final WindowEvent e) {
             MainForm.getMemoryBar().uninstallMemoryBar();
+            MainForm.getQueryStatsBar().uninstallQueryStatsBar();
+            SlowQueryLog.shutdown();
+            MetricsExporter.getInstance().stop();
             removeWindowListener(windowListener);
 
             dispose();
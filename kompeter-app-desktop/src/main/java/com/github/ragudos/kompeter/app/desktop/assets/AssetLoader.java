@@ -7,86 +7,224 @@
 */
 package com.github.ragudos.kompeter.app.desktop.assets;
 
+import java.awt.GraphicsEnvironment;
 import java.awt.image.BufferedImage;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
+import java.awt.image.DataBuffer;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import javax.imageio.ImageIO;
+import javax.imageio.stream.ImageInputStream;
 import javax.swing.SwingUtilities;
 
-import com.github.ragudos.kompeter.utilities.cache.LRU;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+import com.github.ragudos.kompeter.utilities.cache.ConcurrentCache;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
+/**
+ * Loads images from the resources or the file system, and caches them.
+ *
+ * <p>
+ * Images are cached by path and size, and the cache is bounded by the bytes
+ * of their decoded pixels rather than by their number. Thumbnails, e.g. of
+ * product photos, are decoded straight to the size they are drawn at, times
+ * the screen's scale, so a large photo never has to be held at full
+ * resolution. Thumbnails of image files are also kept on disk by a
+ * {@link ThumbnailStore}, so a restart does not have to decode the originals
+ * again. The caches can be changed with system properties:
+ * <ul>
+ * <li>{@code -Dkompeter.images.cacheBytes=67108864}</li>
+ * <li>{@code -Dkompeter.thumbnails.disk=true}, or {@code false} to not keep
+ * thumbnails on disk</li>
+ * <li>{@code -Dkompeter.thumbnails.diskBytes=134217728}</li>
+ * </ul>
+ */
 public class AssetLoader {
-    private static final LRU<String, BufferedImage> IMAGES = new LRU<>(50);
+    public static final String CACHE_BYTES_PROPERTY = "kompeter.images.cacheBytes";
+    public static final String DISK_BYTES_PROPERTY = "kompeter.thumbnails.diskBytes";
+    public static final String DISK_PROPERTY = "kompeter.thumbnails.disk";
+
+    public static final long DEFAULT_CACHE_BYTES = 64L * 1024 * 1024;
+    public static final long DEFAULT_DISK_BYTES = 128L * 1024 * 1024;
+
+    private static final ConcurrentCache<ImageKey, BufferedImage> IMAGES = ConcurrentCache
+            .<ImageKey, BufferedImage>builder().maximumWeight(Long.getLong(CACHE_BYTES_PROPERTY, DEFAULT_CACHE_BYTES))
+            .weigher((key, image) -> weigh(image)).build();
     private static final Logger LOGGER = KompeterLogger.getLogger(AssetLoader.class);
+    private static final String PLACEHOLDER = "images/placeholder.png";
+    private static final ThumbnailStore THUMBNAILS = Boolean.parseBoolean(System.getProperty(DISK_PROPERTY, "true"))
+            ? new ThumbnailStore(ThumbnailStore.THUMBNAILS_DIRECTORY,
+                    Long.getLong(DISK_BYTES_PROPERTY, DEFAULT_DISK_BYTES))
+            : null;
+
+    static {
+        MetricsRegistry.getInstance().gauge("assets.images.bytes", IMAGES::weightedSize);
+        MetricsRegistry.getInstance().gauge("assets.images.hit_ratio", () -> IMAGES.stats().hitRate());
+    }
 
+    /** Loads the image at full size. */
     public static BufferedImage loadImage(final String path, final boolean isAbs) {
-        final String p = isAbs ? path : "images/" + path;
+        return load(new ImageKey(isAbs ? path : "images/" + path, 0, 0));
+    }
+
+    public static void loadImageAsync(final String path, final boolean isAbs, final Consumer<BufferedImage> callback) {
+        loadAsync(new ImageKey(isAbs ? path : "images/" + path, 0, 0), callback);
+    }
 
-        if (IMAGES.containsKey(p)) {
-            return IMAGES.get(p);
+    /**
+     * Loads the image scaled down to fit the given size, keeping its aspect
+     * ratio.
+     *
+     * @param width  the width it is drawn at, unscaled like component sizes.
+     * @param height the height it is drawn at, unscaled like component sizes.
+     */
+    public static BufferedImage loadThumbnail(final String path, final boolean isAbs, final int width,
+            final int height) {
+        return load(thumbnailKey(isAbs ? path : "images/" + path, width, height));
+    }
+
+    public static void loadThumbnailAsync(final String path, final boolean isAbs, final int width, final int height,
+            final Consumer<BufferedImage> callback) {
+        loadAsync(thumbnailKey(isAbs ? path : "images/" + path, width, height), callback);
+    }
+
+    private static BufferedImage cache(final ImageKey key, final BufferedImage image) {
+        if (image != null) {
+            IMAGES.put(key, image);
         }
 
-        try (InputStream inputStream = AssetLoader.class.getResourceAsStream(p)) {
-            if (inputStream == null) {
-                try (FileInputStream fileInputStream = new FileInputStream(p)) {
-                    final BufferedImage image = ImageIO.read(fileInputStream);
+        return image;
+    }
 
-                    IMAGES.update(p, image);
+    private static BufferedImage decode(final InputStream inputStream, final ImageKey key) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(inputStream)) {
+            return ImageDecoder.decode(input, key.width(), key.height());
+        }
+    }
 
-                    return image;
-                } catch (final FileNotFoundException err) {
-                    if (IMAGES.containsKey("images/placeholder.png")) {
-                        return IMAGES.get("images/placeholder.png");
-                    }
+    private static BufferedImage load(final ImageKey key) {
+        final BufferedImage cached = IMAGES.get(key);
 
-                    LOGGER.log(Level.WARNING, "Failed to find file", err);
+        if (cached != null) {
+            return cached;
+        }
 
-                    try (InputStream is = AssetLoader.class.getResourceAsStream("images/placeholder.png")) {
-                        final BufferedImage image = ImageIO.read(is);
+        return read(key);
+    }
 
-                        IMAGES.update("images/placeholder.png", image);
+    private static void loadAsync(final ImageKey key, final Consumer<BufferedImage> callback) {
+        final BufferedImage cached = IMAGES.get(key);
 
-                        return image;
-                    }
-                }
-            }
+        if (cached != null) {
+            callback.accept(cached);
+            return;
+        }
+
+        CompletableFuture.supplyAsync(() -> read(key))
+                .thenAccept(image -> SwingUtilities.invokeLater(() -> callback.accept(image)));
+    }
 
-            final BufferedImage image = ImageIO.read(inputStream);
+    /**
+     * Decodes the image from the resources, or else from the file system, and
+     * caches it. A missing image is replaced by the placeholder.
+     */
+    private static BufferedImage read(final ImageKey key) {
+        try (InputStream inputStream = AssetLoader.class.getResourceAsStream(key.path())) {
+            if (inputStream != null) {
+                return cache(key, decode(inputStream, key));
+            }
 
-            IMAGES.update(p, image);
+            final Path file = Path.of(key.path());
 
-            return image;
+            if (Files.isRegularFile(file)) {
+                return cache(key, readFile(file, key));
+            }
+        } catch (final InvalidPathException e) {
+            // Not a file either, so treated as missing.
         } catch (final IOException e) {
             LOGGER.log(Level.SEVERE, "", e);
 
             return null;
         }
+
+        if (key.path().equals(PLACEHOLDER)) {
+            return null;
+        }
+
+        LOGGER.warning("Failed to find file " + key.path());
+
+        // cached under the missing path too, so it is not looked for again
+        return cache(key, load(new ImageKey(PLACEHOLDER, key.width(), key.height())));
     }
 
-    public static void loadImageAsync(final String path, final boolean isAbs, final Consumer<BufferedImage> callback) {
-        final String p = isAbs ? path : "images/" + path;
-        final BufferedImage cached = IMAGES.get(p);
+    private static BufferedImage readFile(final Path file, final ImageKey key) throws IOException {
+        final boolean keepOnDisk = key.width() > 0 && THUMBNAILS != null;
 
-        if (cached != null) {
-            callback.accept(cached);
-            return;
+        if (keepOnDisk) {
+            final BufferedImage stored = THUMBNAILS.read(file, key.width(), key.height());
+
+            if (stored != null) {
+                return stored;
+            }
         }
 
-        CompletableFuture.supplyAsync(() -> loadImage(p, true)) // reuse existing method
-                .thenAccept(image -> {
-                    if (image != null) {
-                        IMAGES.update(p, image);
-                    }
+        final BufferedImage image;
+
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            image = decode(inputStream, key);
+        }
+
+        if (keepOnDisk && image != null) {
+            THUMBNAILS.write(file, key.width(), key.height(), image);
+        }
+
+        return image;
+    }
+
+    /** @return the scale of the default screen, e.g. 2 on most HiDPI screens. */
+    private static double screenScale() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 1;
+        }
+
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration()
+                .getDefaultTransform().getScaleX();
+    }
+
+    private static ImageKey thumbnailKey(final String path, final int width, final int height) {
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Thumbnail size must be positive: " + width + "x" + height);
+        }
+
+        final double scale = screenScale();
+
+        return new ImageKey(path, (int) Math.ceil(width * scale), (int) Math.ceil(height * scale));
+    }
+
+    /**
+     * @return the bytes the image's pixels take in memory, e.g. 4 per pixel for
+     *         {@link BufferedImage#TYPE_INT_RGB} although it has 24 bits of
+     *         color.
+     */
+    private static int weigh(final BufferedImage image) {
+        final DataBuffer buffer = image.getRaster().getDataBuffer();
+        final long bytes = (long) buffer.getSize() * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType()) / 8;
+
+        return (int) Math.min(Integer.MAX_VALUE, bytes);
+    }
 
-                    SwingUtilities.invokeLater(() -> callback.accept(image));
-                });
+    /**
+     * @param width  the most pixels wide the image may be, or 0 for full size.
+     * @param height the most pixels high the image may be, or 0 for full size.
+     */
+    private record ImageKey(String path, int width, int height) {
     }
 }
@@ -0,0 +1,117 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.app.desktop.assets;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Decodes images straight to the size they are drawn at, so that a large
+ * photo never has to be held in memory at full resolution.
+ *
+ * <p>
+ * The reader is asked to skip pixels while decoding, keeping every
+ * {@code n}th row and column, so that the decoded image is still at least
+ * twice the target size. It is then scaled down the rest of the way in
+ * halving steps with bilinear filtering, which avoids the aliasing that
+ * subsampling alone, or one big scaling step, would cause.
+ */
+final class ImageDecoder {
+    /**
+     * @param maxWidth  the most pixels wide the image may be, or 0 to decode it
+     *                  at full size.
+     * @param maxHeight the most pixels high the image may be, or 0 to decode it
+     *                  at full size.
+     * @return the image, scaled down to fit the given size while keeping its
+     *         aspect ratio but never scaled up, or {@code null} if no reader
+     *         understands the input.
+     */
+    static BufferedImage decode(final ImageInputStream input, final int maxWidth, final int maxHeight)
+            throws IOException {
+        if (input == null) {
+            return null;
+        }
+
+        final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+
+        if (!readers.hasNext()) {
+            return null;
+        }
+
+        final ImageReader reader = readers.next();
+
+        try {
+            reader.setInput(input, true, true);
+
+            final ImageReadParam param = reader.getDefaultReadParam();
+
+            if (maxWidth > 0 && maxHeight > 0) {
+                final double shrink = Math.max((double) reader.getWidth(0) / maxWidth,
+                        (double) reader.getHeight(0) / maxHeight);
+                final int subsampling = (int) Math.max(1, Math.floor(shrink / 2));
+
+                if (subsampling > 1) {
+                    param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                }
+            }
+
+            final BufferedImage image = reader.read(0, param);
+
+            return maxWidth > 0 && maxHeight > 0 ? fit(image, maxWidth, maxHeight) : image;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    /**
+     * @return the image scaled down to fit the given size, or the image itself
+     *         if it already fits.
+     */
+    static BufferedImage fit(final BufferedImage image, final int maxWidth, final int maxHeight) {
+        final double scale = Math.min((double) maxWidth / image.getWidth(), (double) maxHeight / image.getHeight());
+
+        if (scale >= 1) {
+            return image;
+        }
+
+        final int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        final int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        final int type = image.getTransparency() == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB;
+        BufferedImage scaled = image;
+
+        do {
+            final int width = Math.max(targetWidth, scaled.getWidth() / 2);
+            final int height = Math.max(targetHeight, scaled.getHeight() / 2);
+            final BufferedImage step = new BufferedImage(width, height, type);
+            final Graphics2D g2 = step.createGraphics();
+
+            g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g2.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2.drawImage(scaled, 0, 0, width, height, null);
+            g2.dispose();
+
+            scaled = step;
+        } while (scaled.getWidth() != targetWidth || scaled.getHeight() != targetHeight);
+
+        return scaled;
+    }
+
+    private ImageDecoder() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+}
@@ -0,0 +1,195 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.app.desktop.assets;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.imageio.ImageIO;
+
+import com.github.ragudos.kompeter.utilities.constants.Directories;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * Keeps thumbnails of image files on disk, so that a restart does not have to
+ * decode the originals again.
+ *
+ * <p>
+ * A thumbnail is a PNG named after a hash of the original's absolute path,
+ * size and modification time, and of the thumbnail's size. Editing or
+ * replacing the original therefore changes the name, and the stale thumbnail
+ * is simply never read again. Thumbnails are written to a temporary file and
+ * moved into place, so a crash never leaves a partial one behind.
+ *
+ * <p>
+ * Reading a thumbnail touches its modification time. Once a quarter of the
+ * maximum size has been written, the least recently used thumbnails are
+ * deleted until the directory fits again.
+ */
+final class ThumbnailStore {
+    static final Path THUMBNAILS_DIRECTORY = Path.of(Directories.APP_DIRECTORY, "thumbnails");
+
+    private static final String EXTENSION = ".png";
+    private static final Logger LOGGER = KompeterLogger.getLogger(ThumbnailStore.class);
+
+    private final Path directory;
+    private final long maximumBytes;
+    /** Bytes written since the directory was last pruned. */
+    private final AtomicLong written;
+
+    /**
+     * @param directory    where to keep thumbnails. Created when the first one
+     *                     is written.
+     * @param maximumBytes how large the thumbnails may grow together.
+     */
+    ThumbnailStore(final Path directory, final long maximumBytes) {
+        this.directory = directory;
+        this.maximumBytes = maximumBytes;
+        // Prunes after the first write, in case an earlier session left too much.
+        written = new AtomicLong(maximumBytes);
+    }
+
+    /** Deletes the least recently used thumbnails until they fit the maximum size. */
+    void prune() {
+        final List<Thumbnail> thumbnails = new ArrayList<>();
+        long total = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + EXTENSION)) {
+            for (final Path file : files) {
+                final Thumbnail thumbnail = new Thumbnail(file, Files.readAttributes(file, BasicFileAttributes.class));
+
+                thumbnails.add(thumbnail);
+                total += thumbnail.attributes().size();
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to list thumbnails in " + directory, e);
+
+            return;
+        }
+
+        thumbnails.sort(Comparator.comparing((final Thumbnail t) -> t.attributes().lastModifiedTime()));
+
+        for (int i = 0; i < thumbnails.size() && total > maximumBytes; ++i) {
+            final Thumbnail thumbnail = thumbnails.get(i);
+
+            try {
+                Files.deleteIfExists(thumbnail.file());
+                total -= thumbnail.attributes().size();
+            } catch (final IOException e) {
+                LOGGER.log(Level.FINE, "Failed to delete thumbnail " + thumbnail.file(), e);
+            }
+        }
+    }
+
+    /**
+     * @return the stored thumbnail of the file at the given size, or
+     *         {@code null} if there is none.
+     */
+    BufferedImage read(final Path source, final int width, final int height) {
+        final Path file;
+
+        try {
+            file = fileOf(source, width, height);
+        } catch (final IOException e) {
+            return null;
+        }
+
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try {
+            final BufferedImage thumbnail = ImageIO.read(file.toFile());
+
+            if (thumbnail == null) {
+                Files.deleteIfExists(file);
+
+                return null;
+            }
+
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+
+            return thumbnail;
+        } catch (final IOException e) {
+            LOGGER.log(Level.FINE, "Failed to read thumbnail " + file, e);
+
+            return null;
+        }
+    }
+
+    /** Stores the thumbnail of the file at the given size, logging any failure. */
+    void write(final Path source, final int width, final int height, final BufferedImage thumbnail) {
+        Path temporary = null;
+
+        try {
+            final Path file = fileOf(source, width, height);
+
+            Files.createDirectories(directory);
+            temporary = Files.createTempFile(directory, "thumbnail", ".tmp");
+
+            if (!ImageIO.write(thumbnail, "png", temporary.toFile())) {
+                return;
+            }
+
+            try {
+                Files.move(temporary, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (final AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+
+            // Only the thread that resets the count prunes.
+            if (written.addAndGet(Files.size(file)) >= maximumBytes / 4 && written.getAndSet(0) >= maximumBytes / 4) {
+                prune();
+            }
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Failed to store a thumbnail of " + source, e);
+        } finally {
+            if (temporary != null) {
+                try {
+                    Files.deleteIfExists(temporary);
+                } catch (final IOException e) {
+                    LOGGER.log(Level.FINE, "Failed to delete " + temporary, e);
+                }
+            }
+        }
+    }
+
+    private Path fileOf(final Path source, final int width, final int height) throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(source, BasicFileAttributes.class);
+        final String key = source.toAbsolutePath().normalize() + "\n" + attributes.size() + "\n"
+                + attributes.lastModifiedTime().toMillis() + "\n" + width + "x" + height;
+
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+
+            return directory.resolve(HexFormat.of().formatHex(digest, 0, 20) + EXTENSION);
+        } catch (final NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is always available", e);
+        }
+    }
+
+    private record Thumbnail(Path file, BasicFileAttributes attributes) {
+    }
+}
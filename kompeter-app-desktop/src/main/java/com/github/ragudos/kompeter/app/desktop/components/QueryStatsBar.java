@@ -0,0 +1,99 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.app.desktop.components;
+
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import com.formdev.flatlaf.FlatClientProperties;
+import com.github.ragudos.kompeter.app.desktop.components.dialogs.QueryDiagnosticsDialog;
+import com.github.ragudos.kompeter.app.desktop.components.icons.SVGIconUIColor;
+import com.github.ragudos.kompeter.database.instrumentation.QueryInstrumentation;
+import com.github.ragudos.kompeter.database.instrumentation.QueryStatsSnapshot;
+
+/**
+ * Footer summary of {@link QueryInstrumentation}. Clicking it opens the
+ * {@link QueryDiagnosticsDialog}.
+ */
+public class QueryStatsBar extends JButton {
+    public static String formatNanos(final long nanos) {
+        if (nanos < 1_000_000) {
+            return String.format("%.0f µs", nanos / 1_000.0);
+        }
+
+        if (nanos < 1_000_000_000) {
+            return String.format("%.1f ms", nanos / 1_000_000.0);
+        }
+
+        return String.format("%.2f s", nanos / 1_000_000_000.0);
+    }
+
+    private int refreshRate = 2000;
+    private Timer timer;
+
+    public QueryStatsBar() {
+        setIcon(new SVGIconUIColor("cpu.svg", 1f, "Label.disabledForeground"));
+        putClientProperty(FlatClientProperties.BUTTON_TYPE, FlatClientProperties.BUTTON_TYPE_BORDERLESS);
+        putClientProperty(FlatClientProperties.STYLE, "" + "foreground:$Label.disabledForeground;");
+        setToolTipText("Database query diagnostics");
+
+        addActionListener((e) -> new QueryDiagnosticsDialog(SwingUtilities.getWindowAncestor(this)).setVisible(true));
+    }
+
+    public int getRefreshRate() {
+        return refreshRate;
+    }
+
+    public void installQueryStatsBar() {
+        uninstallQueryStatsBar();
+
+        updateQueryStats();
+
+        timer = new Timer(refreshRate, (e) -> updateQueryStats());
+        timer.start();
+    }
+
+    public void setRefreshRate(final int refreshRate) {
+        if (this.refreshRate != refreshRate) {
+            this.refreshRate = refreshRate;
+
+            if (timer != null) {
+                timer.setDelay(refreshRate);
+            }
+        }
+    }
+
+    public void uninstallQueryStatsBar() {
+        if (timer != null) {
+            timer.stop();
+            timer = null;
+        }
+    }
+
+    private void updateQueryStats() {
+        if (!QueryInstrumentation.isEnabled()) {
+            setText("DB stats off");
+
+            return;
+        }
+
+        final List<QueryStatsSnapshot> snapshots = QueryInstrumentation.snapshot();
+        long executions = 0;
+        long slowestP99 = 0;
+
+        for (final QueryStatsSnapshot snapshot : snapshots) {
+            executions += snapshot.executions();
+            slowestP99 = Math.max(slowestP99, snapshot.latency().percentile(99));
+        }
+
+        setText(String.format("DB %,d queries · worst p99 %s", executions, formatNanos(slowestP99)));
+    }
+}
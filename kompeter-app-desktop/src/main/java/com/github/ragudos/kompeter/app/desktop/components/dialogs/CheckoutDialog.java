@@ -8,6 +8,7 @@
 package com.github.ragudos.kompeter.app.desktop.components.dialogs;
 
 import java.awt.Component;
+import java.awt.Cursor;
 import java.awt.Dialog;
 import java.awt.Window;
 import java.awt.event.ActionEvent;
@@ -268,31 +269,9 @@ public class CheckoutDialog extends JDialog implements ActionListener, ChangeLis
                 return;
             }
 
-            try {
-                isBusy.set(true);
-                final DiscountData dData = this.dData.getAcquire();
-
-                final int _saleId = Transaction.createTransaction(cart, customerNameTextField.getText(),
-                        (BigDecimal) paymentSpinner.getValue(), PaymentMethod.CASH,
-                        dData == null ? null : dData.getType(),
-                        dData == null ? new BigDecimal("0.00") : dData.getAmt());
+            checkout();
 
-                SwingUtilities.invokeLater(() -> {
-                    JOptionPane.showMessageDialog(null,
-                            String.format("Transaction #%s has been successfully processed. Please proceed to"
-                                    + " transactions to view it.", _saleId),
-                            "Successful Transaction", JOptionPane.INFORMATION_MESSAGE);
-                });
-            } catch (final Exception err) {
-                JOptionPane.showMessageDialog(this, err.getMessage(), "Something Went Wrong",
-                        JOptionPane.ERROR_MESSAGE);
-
-                return;
-            } finally {
-                isBusy.set(false);
-            }
-
-            onCheckout.run();
+            return;
         } else if (e.getActionCommand().equals("discount")) {
             new DiscountDialog(this, (discountData) -> {
                 // dont change totalVal here to maintain integrity from only processing
@@ -350,6 +329,49 @@ public class CheckoutDialog extends JDialog implements ActionListener, ChangeLis
         dispose();
     }
 
+    /**
+     * Processes the payment on a background thread, since a checkout is a
+     * database transaction that may wait for other terminals, and closes the
+     * dialog once it went through.
+     */
+    private void checkout() {
+        final DiscountData dData = this.dData.getAcquire();
+        final String customerName = customerNameTextField.getText();
+        final BigDecimal paymentAmount = (BigDecimal) paymentSpinner.getValue();
+
+        isBusy.set(true);
+        setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+
+        final Thread thread = new Thread(() -> {
+            try {
+                final int _saleId = Transaction.createTransaction(cart, customerName, paymentAmount,
+                        PaymentMethod.CASH, dData == null ? null : dData.getType(),
+                        dData == null ? new BigDecimal("0.00") : dData.getAmt());
+
+                SwingUtilities.invokeLater(() -> {
+                    isBusy.set(false);
+                    setCursor(null);
+                    onCheckout.run();
+                    dispose();
+                    JOptionPane.showMessageDialog(null,
+                            String.format("Transaction #%s has been successfully processed. Please proceed to"
+                                    + " transactions to view it.", _saleId),
+                            "Successful Transaction", JOptionPane.INFORMATION_MESSAGE);
+                });
+            } catch (final Exception err) {
+                SwingUtilities.invokeLater(() -> {
+                    isBusy.set(false);
+                    setCursor(null);
+                    JOptionPane.showMessageDialog(this, err.getMessage(), "Something Went Wrong",
+                            JOptionPane.ERROR_MESSAGE);
+                });
+            }
+        }, "kompeter-checkout");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     private class DiscountDialog extends JDialog implements ActionListener, ItemListener {
         JComboBox<DiscountType> dComboBox;
 
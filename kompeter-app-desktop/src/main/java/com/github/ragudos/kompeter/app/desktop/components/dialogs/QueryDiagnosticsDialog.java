@@ -0,0 +1,213 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.app.desktop.components.dialogs;
+
+import java.awt.Dialog;
+import java.awt.Dimension;
+import java.awt.Window;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.util.List;
+
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JLabel;
+import javax.swing.JOptionPane;
+import javax.swing.JTable;
+import javax.swing.SwingConstants;
+import javax.swing.SwingWorker;
+import javax.swing.Timer;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+
+import com.formdev.flatlaf.FlatClientProperties;
+import com.github.ragudos.kompeter.app.desktop.components.QueryStatsBar;
+import com.github.ragudos.kompeter.app.desktop.components.scroller.ScrollerFactory;
+import com.github.ragudos.kompeter.database.instrumentation.QueryInstrumentation;
+import com.github.ragudos.kompeter.database.instrumentation.QueryStatsSnapshot;
+import com.github.ragudos.kompeter.database.instrumentation.SlowQueryLog;
+import com.github.ragudos.kompeter.inventory.Catalog;
+
+import net.miginfocom.swing.MigLayout;
+
+/**
+ * Shows the per-query statistics gathered by {@link QueryInstrumentation}.
+ */
+public class QueryDiagnosticsDialog extends JDialog {
+    private static final int REFRESH_RATE = 1000;
+
+    private final QueryStatsModel model;
+    private final Timer timer;
+
+    public QueryDiagnosticsDialog(final Window owner) {
+        super(owner, "Query Diagnostics", Dialog.ModalityType.MODELESS);
+
+        model = new QueryStatsModel();
+        timer = new Timer(REFRESH_RATE, (e) -> model.setSnapshots(QueryInstrumentation.snapshot()));
+
+        final JLabel title = new JLabel("Query Diagnostics");
+        final JLabel subtitle = new JLabel(
+                "Latency, rows, and bytes read per query. Only connections opened while enabled are measured.");
+        final JCheckBox enabled = new JCheckBox("Enabled", QueryInstrumentation.isEnabled());
+        final JCheckBox slowQueryLog = new JCheckBox(
+                "Log queries slower than " + SlowQueryLog.getThresholdMillis() + " ms", SlowQueryLog.isEnabled());
+        final JButton reset = new JButton("Reset");
+        final JButton verifyCatalog = new JButton("Verify catalog");
+        final JTable table = new JTable(model);
+
+        title.putClientProperty(FlatClientProperties.STYLE_CLASS, "h4 primary");
+        subtitle.putClientProperty(FlatClientProperties.STYLE, "" + "foreground:$Label.disabledForeground;");
+
+        enabled.addActionListener((e) -> QueryInstrumentation.setEnabled(enabled.isSelected()));
+        slowQueryLog.addActionListener((e) -> SlowQueryLog.setEnabled(slowQueryLog.isSelected()));
+        slowQueryLog.setToolTipText("Written with its query plan to the slow-queries log in the logs directory.");
+        reset.addActionListener((e) -> {
+            QueryInstrumentation.reset();
+            model.setSnapshots(QueryInstrumentation.snapshot());
+        });
+
+        verifyCatalog.setToolTipText("Compare the in-memory inventory catalog against the database.");
+        verifyCatalog.addActionListener((e) -> verifyCatalog(verifyCatalog));
+
+        table.setAutoCreateRowSorter(true);
+
+        for (int i = QueryStatsModel.FIRST_DURATION_COLUMN; i < model.getColumnCount(); ++i) {
+            table.getColumnModel().getColumn(i).setCellRenderer(new DurationRenderer());
+        }
+
+        table.setFillsViewportHeight(true);
+
+        setLayout(new MigLayout("insets 12, flowx, wrap", "[grow, fill]", "[][]8px[][grow, fill]"));
+
+        add(title);
+        add(subtitle);
+        add(enabled, "split 4, growx 0");
+        add(slowQueryLog, "growx 0");
+        add(verifyCatalog, "growx 0, gapleft push");
+        add(reset, "growx 0");
+        add(ScrollerFactory.createScrollPane(table), "grow");
+
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(final WindowEvent e) {
+                timer.stop();
+            }
+        });
+
+        model.setSnapshots(QueryInstrumentation.snapshot());
+        timer.start();
+
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        setPreferredSize(new Dimension(960, 480));
+        pack();
+        setLocationRelativeTo(owner);
+    }
+
+    private void verifyCatalog(final JButton button) {
+        if (!Catalog.getInstance().isLoaded()) {
+            JOptionPane.showMessageDialog(this, "The catalog is not loaded yet.", "Verify catalog",
+                    JOptionPane.INFORMATION_MESSAGE);
+
+            return;
+        }
+
+        button.setEnabled(false);
+
+        new SwingWorker<int[], Void>() {
+            @Override
+            protected int[] doInBackground() throws Exception {
+                return Catalog.getInstance().verify();
+            }
+
+            @Override
+            protected void done() {
+                button.setEnabled(true);
+
+                try {
+                    final int[] inconsistent = get();
+
+                    JOptionPane.showMessageDialog(QueryDiagnosticsDialog.this,
+                            inconsistent.length == 0
+                                    ? "The catalog matches the database."
+                                    : inconsistent.length + " item stock(s) were out of sync and have been reloaded.",
+                            "Verify catalog", JOptionPane.INFORMATION_MESSAGE);
+                } catch (final Exception err) {
+                    JOptionPane.showMessageDialog(QueryDiagnosticsDialog.this, err.getMessage(), "Verify catalog",
+                            JOptionPane.ERROR_MESSAGE);
+                }
+            }
+        }.execute();
+    }
+
+    private static class QueryStatsModel extends AbstractTableModel {
+        private static final String[] COLUMNS = { "Query", "Type", "Table", "Count", "Errors", "Rows", "Bytes",
+                "Mean", "p50", "p95", "p99", "Max" };
+        private static final int FIRST_DURATION_COLUMN = 7;
+
+        private List<QueryStatsSnapshot> snapshots = List.of();
+
+        @Override
+        public Class<?> getColumnClass(final int columnIndex) {
+            return columnIndex < 3 ? String.class : Long.class;
+        }
+
+        @Override
+        public int getColumnCount() {
+            return COLUMNS.length;
+        }
+
+        @Override
+        public String getColumnName(final int column) {
+            return COLUMNS[column];
+        }
+
+        @Override
+        public int getRowCount() {
+            return snapshots.size();
+        }
+
+        @Override
+        public Object getValueAt(final int rowIndex, final int columnIndex) {
+            final QueryStatsSnapshot s = snapshots.get(rowIndex);
+
+            return switch (columnIndex) {
+                case 0 -> s.key().name();
+                case 1 -> s.key().type().toString();
+                case 2 -> s.key().tableName();
+                case 3 -> s.executions();
+                case 4 -> s.errors();
+                case 5 -> s.rows();
+                case 6 -> s.bytes();
+                case 7 -> (long) s.latency().mean();
+                case 8 -> s.latency().percentile(50);
+                case 9 -> s.latency().percentile(95);
+                case 10 -> s.latency().percentile(99);
+                case 11 -> s.latency().max();
+                default -> null;
+            };
+        }
+
+        void setSnapshots(final List<QueryStatsSnapshot> snapshots) {
+            this.snapshots = snapshots;
+            fireTableDataChanged();
+        }
+    }
+
+    /** Shows nanosecond cells as durations while keeping them sortable. */
+    private static class DurationRenderer extends DefaultTableCellRenderer {
+        DurationRenderer() {
+            setHorizontalAlignment(SwingConstants.RIGHT);
+        }
+
+        @Override
+        protected void setValue(final Object value) {
+            setText(value instanceof final Long nanos ? QueryStatsBar.formatNanos(nanos) : "");
+        }
+    }
+}
@@ -13,7 +13,12 @@ import java.awt.event.ActionListener;
 import java.awt.event.ItemEvent;
 import java.awt.event.ItemListener;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.swing.ButtonGroup;
 import javax.swing.JButton;
@@ -30,12 +35,20 @@ import javax.swing.event.PopupMenuListener;
 import com.formdev.flatlaf.FlatClientProperties;
 import com.github.ragudos.kompeter.app.desktop.components.icons.SVGIconUIColor;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
+import com.github.ragudos.kompeter.database.dto.inventory.StorageLocationDto;
+import com.github.ragudos.kompeter.inventory.FacetCounts;
 import com.github.ragudos.kompeter.inventory.Inventory;
 import com.github.ragudos.kompeter.inventory.InventoryException;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 import net.miginfocom.swing.MigLayout;
 
 public abstract class FilterPopupMenu extends JPopupMenu implements ItemListener, ActionListener {
+    private static final Logger LOGGER = KompeterLogger.getLogger(FilterPopupMenu.class);
+
+    private static String labelOf(final String value, final Map<String, Integer> counts) {
+        return counts == null ? value : String.format("%s (%d)", value, FacetCounts.countOf(counts, value));
+    }
 
     private static void removeAllItemListeners(final FilterPopupMenu menu) {
         for (final Component component : menu.getComponents()) {
@@ -47,6 +60,12 @@ public abstract class FilterPopupMenu extends JPopupMenu implements ItemListener
         }
     }
 
+    /**
+     * Supplies how many items each choice would show given the rest of the
+     * form's search and filters, or {@code null} when unknown.
+     */
+    protected Supplier<FacetCounts> facetCounts;
+
     protected Runnable listener;
 
     protected JButton trigger;
@@ -63,71 +82,82 @@ public abstract class FilterPopupMenu extends JPopupMenu implements ItemListener
 
     @Override
     public void actionPerformed(final ActionEvent e) {
+        refreshCounts();
         show(trigger, 0, trigger.getHeight());
     }
 
     public abstract void populate();
 
+    /**
+     * Shows next to each choice how many items it would show. Counts are
+     * refreshed every time the menu is shown or a choice changes.
+     */
+    public void setFacetCounts(final Supplier<FacetCounts> facetCounts) {
+        this.facetCounts = facetCounts;
+    }
+
     public JButton trigger() {
         return trigger;
     }
 
+    /** @return the current counts, or {@code null} if there are none. */
+    protected FacetCounts currentCounts() {
+        if (facetCounts == null) {
+            return null;
+        }
+
+        try {
+            return facetCounts.get();
+        } catch (final RuntimeException err) {
+            LOGGER.log(Level.WARNING, "Failed to count filter choices", err);
+
+            return null;
+        }
+    }
+
+    /** Updates the counts shown, if any, without going to the database. */
+    protected abstract void refreshCounts();
+
     public static class CategoryBrandFilterPopupMenu extends FilterPopupMenu {
         public final AtomicReference<ArrayList<String>> categoryFilters;
         public final AtomicReference<ArrayList<String>> brandFilters;
+        public final AtomicReference<ArrayList<String>> storageLocationFilters;
 
         public CategoryBrandFilterPopupMenu(final Runnable listener) {
             super(listener);
 
             categoryFilters = new AtomicReference<>(new ArrayList<>());
             brandFilters = new AtomicReference<>(new ArrayList<>());
+            storageLocationFilters = new AtomicReference<>(new ArrayList<>());
         }
 
+        /**
+         * Lists the choices from the counts if there are any, so that the database
+         * is not queried, and otherwise reads them from the inventory.
+         */
         @Override
         public void populate() {
-            final Inventory inventory = Inventory.getInstance();
-
-            try {
-                final String[] itemBrands = inventory.getAllItemBrands();
-                final String[] itemCategories = inventory.getAllItemCategories();
-                final ArrayList<String> categoryFilters = this.categoryFilters.getAcquire();
-                final ArrayList<String> brandFilters = this.brandFilters.getAcquire();
-
-                removeAllItemListeners(this);
-                removeAll();
+            final FacetCounts counts = currentCounts();
 
-                add(new JLabel("Categories"));
+            if (counts != null) {
+                populate(counts.categories().keySet().toArray(String[]::new),
+                        counts.brands().keySet().toArray(String[]::new),
+                        counts.storageLocations().keySet().toArray(String[]::new), counts);
 
-                for (final String category : itemCategories) {
-                    final JCheckBox c = new JCheckBox(category);
-
-                    if (categoryFilters.contains(category)) {
-                        c.setSelected(true);
-                    }
-
-                    c.setName("category");
-                    c.addItemListener(this);
-                    add(c);
-                }
-
-                addSeparator();
-                add(new JLabel("Brands"));
-
-                for (final String brand : itemBrands) {
-                    final JCheckBox c = new JCheckBox(brand);
+                return;
+            }
 
-                    if (brandFilters.contains(brand)) {
-                        c.setSelected(true);
-                    }
+            final Inventory inventory = Inventory.getInstance();
 
-                    c.setName("brand");
-                    c.addItemListener(this);
-                    add(c);
-                }
+            try {
+                populate(inventory.getAllItemCategories(), inventory.getAllItemBrands(),
+                        Arrays.stream(inventory.getAllStorageLocations()).map(StorageLocationDto::getName)
+                                .toArray(String[]::new),
+                        null);
             } catch (final InventoryException e) {
                 SwingUtilities.invokeLater(() -> {
                     JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(this), e.getMessage(),
-                            "Failed to load categories and brands.", JOptionPane.ERROR_MESSAGE);
+                            "Failed to load categories, brands, and storage locations.", JOptionPane.ERROR_MESSAGE);
                 });
             }
         }
@@ -135,11 +165,12 @@ public abstract class FilterPopupMenu extends JPopupMenu implements ItemListener
         @Override
         public void itemStateChanged(final ItemEvent e) {
             final JCheckBox c = (JCheckBox) e.getItemSelectable();
-            final String text = c.getText();
+            final String text = c.getActionCommand();
             final String name = c.getName();
 
             final ArrayList<String> brandFilters = this.brandFilters.getAcquire();
             final ArrayList<String> categoryFilters = this.categoryFilters.getAcquire();
+            final ArrayList<String> storageLocationFilters = this.storageLocationFilters.getAcquire();
 
             switch (e.getStateChange()) {
                 case ItemEvent.DESELECTED -> {
@@ -147,6 +178,8 @@ public abstract class FilterPopupMenu extends JPopupMenu implements ItemListener
                         brandFilters.remove(text);
                     } else if (name.equals("category")) {
                         categoryFilters.remove(text);
+                    } else if (name.equals("storageLocation")) {
+                        storageLocationFilters.remove(text);
                     }
                 }
                 case ItemEvent.SELECTED -> {
@@ -154,11 +187,92 @@ public abstract class FilterPopupMenu extends JPopupMenu implements ItemListener
                         brandFilters.add(text);
                     } else if (name.equals("category")) {
                         categoryFilters.add(text);
+                    } else if (name.equals("storageLocation")) {
+                        storageLocationFilters.add(text);
                     }
                 }
             }
 
             listener.run();
+            SwingUtilities.invokeLater(this::relabel);
+        }
+
+        @Override
+        protected void refreshCounts() {
+            if (facetCounts != null) {
+                populate();
+            }
+        }
+
+        private void addChoices(final String[] values, final String name, final ArrayList<String> chosen,
+                final Map<String, Integer> counts) {
+            for (final String value : values) {
+                final JCheckBox c = new JCheckBox(labelOf(value, counts));
+
+                c.setActionCommand(value);
+                c.setName(name);
+
+                if (chosen.contains(value)) {
+                    c.setSelected(true);
+                }
+
+                c.setEnabled(counts == null || c.isSelected() || FacetCounts.countOf(counts, value) > 0);
+                c.addItemListener(this);
+                add(c);
+            }
+        }
+
+        private Map<String, Integer> countsOf(final FacetCounts counts, final String name) {
+            return switch (name) {
+                case "brand" -> counts.brands();
+                case "category" -> counts.categories();
+                case "storageLocation" -> counts.storageLocations();
+                default -> null;
+            };
+        }
+
+        private void populate(final String[] itemCategories, final String[] itemBrands,
+                final String[] storageLocations, final FacetCounts counts) {
+            removeAllItemListeners(this);
+            removeAll();
+
+            add(new JLabel("Categories"));
+            addChoices(itemCategories, "category", categoryFilters.getAcquire(),
+                    counts == null ? null : counts.categories());
+            addSeparator();
+            add(new JLabel("Brands"));
+            addChoices(itemBrands, "brand", brandFilters.getAcquire(), counts == null ? null : counts.brands());
+            addSeparator();
+            add(new JLabel("In stock at"));
+            addChoices(storageLocations, "storageLocation", storageLocationFilters.getAcquire(),
+                    counts == null ? null : counts.storageLocations());
+
+            if (isVisible()) {
+                pack();
+            }
+        }
+
+        /**
+         * Updates the counts of the choices in place, since the menu stays open
+         * while choosing.
+         */
+        private void relabel() {
+            final FacetCounts counts = currentCounts();
+
+            if (counts == null) {
+                return;
+            }
+
+            for (final Component component : getComponents()) {
+                if (component instanceof final JCheckBox c && c.getName() != null) {
+                    final Map<String, Integer> facet = countsOf(counts, c.getName());
+
+                    if (facet != null) {
+                        c.setText(labelOf(c.getActionCommand(), facet));
+                        c.setEnabled(c.isSelected() || FacetCounts.countOf(facet, c.getActionCommand()) > 0);
+                    }
+                }
+            }
         }
     }
 
@@ -253,6 +367,27 @@ public abstract class FilterPopupMenu extends JPopupMenu implements ItemListener
             trigger.setText(String.format("Showing: %s", buttonGroup.getSelection().getActionCommand()));
         }
 
+        @Override
+        protected void refreshCounts() {
+            final FacetCounts counts = currentCounts();
+
+            if (counts == null) {
+                return;
+            }
+
+            for (final Component component : getComponents()) {
+                if (component instanceof final JCheckBoxMenuItem item) {
+                    final String command = item.getActionCommand();
+                    final int count = command.equals("ALL")
+                            ? counts.statuses().entrySet().stream().filter((e) -> e.getKey() != ItemStatus.ARCHIVED)
+                                    .mapToInt(Map.Entry::getValue).sum()
+                            : counts.statuses().getOrDefault(ItemStatus.valueOf(command), 0);
+
+                    item.setText(String.format("%s (%d)", command, count));
+                }
+            }
+        }
+
         @Override
         public void popupMenuCanceled(final PopupMenuEvent e) {
             trigger.setIcon(chevronDown);
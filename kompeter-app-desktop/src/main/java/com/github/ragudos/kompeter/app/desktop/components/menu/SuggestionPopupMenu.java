@@ -0,0 +1,260 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.app.desktop.components.menu;
+
+import java.awt.BorderLayout;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Insets;
+import java.awt.event.FocusAdapter;
+import java.awt.event.FocusEvent;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+import javax.swing.DefaultListCellRenderer;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.JTextField;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
+
+import com.formdev.flatlaf.FlatClientProperties;
+import com.github.ragudos.kompeter.configurations.SearchHistory;
+import com.github.ragudos.kompeter.inventory.SuggestionIndex.Kind;
+import com.github.ragudos.kompeter.inventory.SuggestionIndex.Suggestion;
+import com.github.ragudos.kompeter.inventory.Suggestions;
+
+/**
+ * Type-ahead completions under a search field, from {@link Suggestions}.
+ *
+ * <p>
+ * Completions are looked up on every keystroke. Up and down move through
+ * them, enter or a click puts the chosen one in the field, and escape closes
+ * them. Whatever is in the field when enter is pressed or a completion is
+ * chosen is remembered in the {@link SearchHistory}.
+ */
+public class SuggestionPopupMenu extends JPopupMenu {
+    public static final int MAX_SUGGESTIONS = 8;
+
+    /**
+     * Attaches completions to the field.
+     *
+     * @return the popup, e.g. to {@link #uninstall()} it.
+     */
+    public static SuggestionPopupMenu install(final JTextField field) {
+        final SuggestionPopupMenu popup = new SuggestionPopupMenu(field);
+
+        popup.install();
+
+        return popup;
+    }
+
+    /** Hands the {@link SearchHistory} to {@link Suggestions}. */
+    public static void reloadSearches() {
+        Suggestions.getInstance().setSearches(SearchHistory.getRecentSearches(false),
+                SearchHistory.getRecentSearches(true));
+    }
+
+    private boolean adjusting;
+    private final DocumentListener documentListener;
+    private final JTextField field;
+    private final FocusAdapter focusListener;
+    private final KeyAdapter keyListener;
+    private final JList<Suggestion> list;
+
+    private SuggestionPopupMenu(final JTextField field) {
+        this.field = field;
+        list = new JList<>();
+
+        list.setFocusable(false);
+        list.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        list.setCellRenderer(new SuggestionRenderer());
+        list.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(final MouseEvent e) {
+                final int index = list.locationToIndex(e.getPoint());
+
+                if (index >= 0) {
+                    accept(list.getModel().getElementAt(index));
+                }
+            }
+        });
+
+        setFocusable(false);
+        setLayout(new BorderLayout());
+        add(list, BorderLayout.CENTER);
+
+        documentListener = new DocumentListener() {
+            @Override
+            public void changedUpdate(final DocumentEvent e) {
+            }
+
+            @Override
+            public void insertUpdate(final DocumentEvent e) {
+                suggestLater();
+            }
+
+            @Override
+            public void removeUpdate(final DocumentEvent e) {
+                suggestLater();
+            }
+        };
+        focusListener = new FocusAdapter() {
+            @Override
+            public void focusLost(final FocusEvent e) {
+                setVisible(false);
+            }
+        };
+        keyListener = new KeyAdapter() {
+            @Override
+            public void keyPressed(final KeyEvent e) {
+                onKeyPressed(e);
+            }
+        };
+    }
+
+    public void uninstall() {
+        setVisible(false);
+        field.getDocument().removeDocumentListener(documentListener);
+        field.removeFocusListener(focusListener);
+        field.removeKeyListener(keyListener);
+    }
+
+    private void accept(final Suggestion suggestion) {
+        setVisible(false);
+
+        adjusting = true;
+
+        try {
+            field.setText(suggestion.text());
+        } finally {
+            adjusting = false;
+        }
+
+        remember(suggestion.text());
+    }
+
+    private void install() {
+        reloadSearches();
+        field.getDocument().addDocumentListener(documentListener);
+        field.addFocusListener(focusListener);
+        field.addKeyListener(keyListener);
+    }
+
+    private void move(final int delta) {
+        final int size = list.getModel().getSize();
+        final int index = Math.floorMod(list.getSelectedIndex() + delta, size);
+
+        list.setSelectedIndex(index);
+        list.ensureIndexIsVisible(index);
+    }
+
+    private void onKeyPressed(final KeyEvent e) {
+        final boolean showing = isVisible() && list.getModel().getSize() > 0;
+
+        switch (e.getKeyCode()) {
+            case KeyEvent.VK_DOWN -> {
+                if (showing) {
+                    move(1);
+                    e.consume();
+                }
+            }
+            case KeyEvent.VK_UP -> {
+                if (showing) {
+                    move(-1);
+                    e.consume();
+                }
+            }
+            case KeyEvent.VK_ENTER -> {
+                if (showing && list.getSelectedValue() != null) {
+                    accept(list.getSelectedValue());
+                    e.consume();
+                } else {
+                    setVisible(false);
+                    remember(field.getText());
+                }
+            }
+            case KeyEvent.VK_ESCAPE -> {
+                if (isVisible()) {
+                    setVisible(false);
+                    e.consume();
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void remember(final String search) {
+        if (search == null || search.isBlank()) {
+            return;
+        }
+
+        SearchHistory.addRecentSearch(search, false);
+        reloadSearches();
+    }
+
+    private void suggest() {
+        if (!field.isShowing() || !field.hasFocus()) {
+            setVisible(false);
+
+            return;
+        }
+
+        final Suggestion[] suggestions = Suggestions.getInstance().suggest(field.getText(), MAX_SUGGESTIONS);
+
+        // Nothing to complete, or the only completion is what is typed already.
+        if (suggestions.length == 0
+                || (suggestions.length == 1 && suggestions[0].text().equalsIgnoreCase(field.getText().strip()))) {
+            setVisible(false);
+
+            return;
+        }
+
+        list.setListData(suggestions);
+        list.setVisibleRowCount(suggestions.length);
+        list.clearSelection();
+
+        final Insets insets = getInsets();
+
+        setPopupSize(new Dimension(field.getWidth(), list.getPreferredSize().height + insets.top + insets.bottom));
+
+        if (isVisible()) {
+            pack();
+        } else {
+            show(field, 0, field.getHeight());
+        }
+    }
+
+    private void suggestLater() {
+        if (!adjusting) {
+            // The document is locked while its listeners run.
+            SwingUtilities.invokeLater(this::suggest);
+        }
+    }
+
+    private static class SuggestionRenderer extends DefaultListCellRenderer {
+        @Override
+        public Component getListCellRendererComponent(final JList<?> list, final Object value, final int index,
+                final boolean isSelected, final boolean cellHasFocus) {
+            final Suggestion suggestion = (Suggestion) value;
+
+            super.getListCellRendererComponent(list, suggestion.text(), index, isSelected, cellHasFocus);
+
+            // Past searches stand out from the catalog's own names.
+            putClientProperty(FlatClientProperties.STYLE,
+                    suggestion.kind() == Kind.RECENT || suggestion.kind() == Kind.FAVORITE ? "font:italic;" : null);
+
+            return this;
+        }
+    }
+}
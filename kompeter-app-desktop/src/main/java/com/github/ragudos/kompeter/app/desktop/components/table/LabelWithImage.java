@@ -25,6 +25,7 @@ import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 import net.miginfocom.swing.MigLayout;
 
 public class LabelWithImage extends JPanel implements TableCellRenderer {
+    private static final int IMAGE_SIZE = 42;
     private static final Logger LOGGER = KompeterLogger.getLogger(LabelWithImage.class);
 
     private final ImagePanel imagePanel;
@@ -44,7 +45,7 @@ public class LabelWithImage extends JPanel implements TableCellRenderer {
 
         setOpaque(false);
 
-        imagePanel.setMinimumSize(new Dimension(42, 42));
+        imagePanel.setMinimumSize(new Dimension(IMAGE_SIZE, IMAGE_SIZE));
 
         add(imagePanel);
         add(label, "growx");
@@ -64,18 +65,15 @@ public class LabelWithImage extends JPanel implements TableCellRenderer {
         }
 
         if (value instanceof final LabelWithImageData data) {
-            AssetLoader
-                    .loadImageAsync(
-                            (data.imagePath == null || data.imagePath.isEmpty()
-                                    ? String.format("%s/images/placeholder.png",
-                                            AssetLoader.class.getPackageName().replace(".", "/"))
-                                    : data.imagePath),
-                            true, (img) -> {
-                                if (img != null) {
-                                    imagePanel.setImage(img);
-                                    table.repaint(table.getCellRect(row, column, false));
-                                }
-                            });
+            final boolean hasImage = data.imagePath != null && !data.imagePath.isEmpty();
+
+            AssetLoader.loadThumbnailAsync(hasImage ? data.imagePath : "placeholder.png", hasImage, IMAGE_SIZE,
+                    IMAGE_SIZE, (img) -> {
+                        if (img != null) {
+                            imagePanel.setImage(img);
+                            table.repaint(table.getCellRect(row, column, false));
+                        }
+                    });
 
             label.setText(data.label);
         } else {
@@ -22,8 +22,12 @@ import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 import javax.swing.ButtonGroup;
@@ -56,6 +60,7 @@ import com.github.ragudos.kompeter.app.desktop.components.combobox.ItemStockStor
 import com.github.ragudos.kompeter.app.desktop.components.icons.SVGIconUIColor;
 import com.github.ragudos.kompeter.app.desktop.components.menu.FilterPopupMenu.CategoryBrandFilterPopupMenu;
 import com.github.ragudos.kompeter.app.desktop.components.menu.FilterPopupMenu.StatusFilterPopupMenu;
+import com.github.ragudos.kompeter.app.desktop.components.menu.SuggestionPopupMenu;
 import com.github.ragudos.kompeter.app.desktop.components.panels.LoadingPanel;
 import com.github.ragudos.kompeter.app.desktop.components.scroller.ScrollerFactory;
 import com.github.ragudos.kompeter.app.desktop.components.table.Currency;
@@ -67,21 +72,30 @@ import com.github.ragudos.kompeter.app.desktop.components.table.PercentageBar.It
 import com.github.ragudos.kompeter.app.desktop.components.table.PercentageBar.PercentageBarData;
 import com.github.ragudos.kompeter.app.desktop.system.Form;
 import com.github.ragudos.kompeter.app.desktop.utilities.SystemForm;
+import com.github.ragudos.kompeter.database.changes.ChangeFeed;
+import com.github.ragudos.kompeter.database.changes.ChangeSet;
 import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemStockStorageLocationDto;
+import com.github.ragudos.kompeter.inventory.FacetCounts;
 import com.github.ragudos.kompeter.inventory.Inventory;
 import com.github.ragudos.kompeter.inventory.Inventory.InventoryProductListData;
 import com.github.ragudos.kompeter.inventory.InventoryException;
 import com.github.ragudos.kompeter.utilities.Debouncer;
 import com.github.ragudos.kompeter.utilities.HtmlUtils;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 import net.miginfocom.swing.MigLayout;
 
 @SystemForm(name = "Inventory Browse Products", description = "Shows all products", tags = { "inventory" })
 public class FormInventoryBrowseProducts extends Form {
+    private static final Logger LOGGER = KompeterLogger.getLogger(FormInventoryBrowseProducts.class);
+    private static final String[] WATCHED_TABLES = { "items", "item_stocks", "item_stock_storage_locations",
+            "item_brands", "item_categories", "item_category_assignments" };
+
     private JPanel bodyPanel;
 
+    private Consumer<ChangeSet> changeConsumer;
     private Debouncer debouncer;
     private CategoryBrandFilterPopupMenu filterPopupMenu;
     private JPanel headerPanel;
@@ -95,6 +109,12 @@ public class FormInventoryBrowseProducts extends Form {
     private JTextField searchTextField;
     private StatusFilterPopupMenu statusFilterPopupMenu;
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        ChangeFeed.getInstance().subscribe(changeConsumer);
+    }
+
     @Override
     public boolean formBeforeClose() {
         return super.formBeforeClose();
@@ -129,6 +149,12 @@ public class FormInventoryBrowseProducts extends Form {
         debouncer.call(() -> formOpen());
     }
 
+    @Override
+    public void removeNotify() {
+        ChangeFeed.getInstance().unsubscribe(changeConsumer);
+        super.removeNotify();
+    }
+
     private void createBody() {
         productsTable = new ProductsTable();
         productsTableControlFooter = new ProductsTableFooter();
@@ -158,6 +184,8 @@ public class FormInventoryBrowseProducts extends Form {
                         "Browse all products (Highlight/Right-click products to select them for editing and deletion.)"));
         searchTextField = new JTextField();
         filterPopupMenu = new CategoryBrandFilterPopupMenu(this::search);
+        filterPopupMenu.setFacetCounts(this::facetCounts);
+        statusFilterPopupMenu.setFacetCounts(this::facetCounts);
         manageStockPopupMenu = new ManageStockPopupMenu();
 
         title.putClientProperty(FlatClientProperties.STYLE_CLASS, "h4 primary");
@@ -169,8 +197,9 @@ public class FormInventoryBrowseProducts extends Form {
         searchTextField.putClientProperty(FlatClientProperties.TEXT_FIELD_SHOW_CLEAR_BUTTON, true);
         searchTextField.setToolTipText("Search an item by name");
         searchTextField.getDocument().addDocumentListener(new SearchTextFieldDocumentListener());
+        SuggestionPopupMenu.install(searchTextField);
 
-        filterPopupMenu.trigger().setToolTipText("Filter items by category and brand");
+        filterPopupMenu.trigger().setToolTipText("Filter items by category, brand, and storage location");
         statusFilterPopupMenu.trigger().setToolTipText("Filter items by current status");
 
         headerPanel.add(searchTextField, "grow 50");
@@ -180,6 +209,20 @@ public class FormInventoryBrowseProducts extends Form {
         headerPanel.add(description, "wrap");
     }
 
+    private FacetCounts facetCounts() {
+        try {
+            return inventory.getFacetCounts(searchTextField.getText(),
+                    filterPopupMenu.categoryFilters.getAcquire().toArray(String[]::new),
+                    filterPopupMenu.brandFilters.getAcquire().toArray(String[]::new),
+                    filterPopupMenu.storageLocationFilters.getAcquire().toArray(String[]::new),
+                    statusFilterPopupMenu.chosenStatus());
+        } catch (final InventoryException err) {
+            LOGGER.log(Level.WARNING, "Failed to count products by filter", err);
+
+            return null;
+        }
+    }
+
     private void showLoading() {
         productsTableContainer.setViewportView(new LoadingPanel());
         productsTableContainer.repaint();
@@ -193,6 +236,7 @@ public class FormInventoryBrowseProducts extends Form {
         productListData = new AtomicReference<>();
         isBusy = new AtomicBoolean(false);
         inventory = Inventory.getInstance();
+        changeConsumer = this::onDatabaseChanged;
         debouncer = new Debouncer(250);
 
         createContainers();
@@ -200,16 +244,42 @@ public class FormInventoryBrowseProducts extends Form {
         createHeader();
     }
 
+    /**
+     * Refetches the product list after another part of the application changed
+     * the inventory, staying on the current page and only updating the rows
+     * that changed.
+     */
+    private void onDatabaseChanged(final ChangeSet changes) {
+        if (!changes.touches(WATCHED_TABLES)) {
+            return;
+        }
+
+        // The search text can only be read on the EDT, and the query must not run there.
+        SwingUtilities.invokeLater(() -> {
+            if (!isBusy.compareAndSet(false, true)) {
+                return;
+            }
+
+            final String query = searchTextField.getText();
+            final Thread refresher = new Thread(() -> refreshChangedProducts(query), "kompeter-product-refresh");
+
+            refresher.setDaemon(true);
+            refresher.start();
+        });
+    }
+
     private void recreateProductListData() {
         final ArrayList<String> brandFilters = filterPopupMenu.brandFilters.getAcquire();
         final ArrayList<String> categoryFilters = filterPopupMenu.categoryFilters.getAcquire();
+        final ArrayList<String> storageLocationFilters = filterPopupMenu.storageLocationFilters.getAcquire();
 
         try {
             productListData.setRelease(inventory.getProductList(
                     InventoryProductListData.getNormalizedRowsPerPage(productListData.getAcquire()),
                     searchTextField.getText(),
                     categoryFilters.toArray(String[]::new),
-                    brandFilters.toArray(String[]::new), statusFilterPopupMenu.chosenStatus()));
+                    brandFilters.toArray(String[]::new), storageLocationFilters.toArray(String[]::new),
+                    statusFilterPopupMenu.chosenStatus()));
 
             SwingUtilities.invokeLater(() -> {
                 if (productListData.getAcquire().getTotalPages() == 0) {
@@ -234,6 +304,38 @@ public class FormInventoryBrowseProducts extends Form {
         }
     }
 
+    private void refreshChangedProducts(final String query) {
+        final InventoryProductListData current = productListData.getAcquire();
+
+        try {
+            final InventoryProductListData updated = inventory.getProductList(
+                    InventoryProductListData.getNormalizedRowsPerPage(current), query,
+                    filterPopupMenu.categoryFilters.getAcquire().toArray(String[]::new),
+                    filterPopupMenu.brandFilters.getAcquire().toArray(String[]::new),
+                    filterPopupMenu.storageLocationFilters.getAcquire().toArray(String[]::new),
+                    statusFilterPopupMenu.chosenStatus());
+
+            if (current != null && updated.getTotalPages() > 0) {
+                updated.setCurrentPage(Math.min(current.getCurrentPage(), updated.getTotalPages()));
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                if (current == null || current.getTotalPages() == 0 || updated.getTotalPages() == 0) {
+                    isBusy.set(false);
+                    formOpen();
+
+                    return;
+                }
+
+                productListData.setRelease(updated);
+                productsTable.patch();
+            });
+        } catch (final InventoryException err) {
+            LOGGER.log(Level.WARNING, "Failed to refresh changed products", err);
+            isBusy.set(false);
+        }
+    }
+
     private void search() {
         debouncer.call(() -> {
             isBusy.set(true);
@@ -250,6 +352,7 @@ public class FormInventoryBrowseProducts extends Form {
         public static final int COL_ID = 5;
 
         private final ProductsTableMouseAdapter mouseListener;
+        private InventoryMetadataDto[] shownItems = new InventoryMetadataDto[0];
 
         public ItemStatus getSelectedRowItemStatus() {
             final int row = convertRowIndexToModel(getSelectedRow());
@@ -709,17 +812,56 @@ public class FormInventoryBrowseProducts extends Form {
             }
         }
 
+        /**
+         * Updates the rows of the current page in place when it still shows the
+         * same products in the same order, keeping the selection and scroll
+         * position. Falls back to {@link #populate()} otherwise.
+         */
+        public void patch() {
+            final ProductsTableModel model = (ProductsTableModel) getModel();
+            final InventoryMetadataDto[] items = productListData.getAcquire().getItemsAtCurrentPage();
+
+            if (items.length != shownItems.length) {
+                populate();
+
+                return;
+            }
+
+            for (int i = 0; i < items.length; ++i) {
+                if (items[i]._itemStockId() != shownItems[i]._itemStockId()) {
+                    populate();
+
+                    return;
+                }
+            }
+
+            for (int i = 0; i < items.length; ++i) {
+                if (showsSameAs(items[i], shownItems[i])) {
+                    continue;
+                }
+
+                final Object[] row = rowOf(items[i]);
+
+                for (int col = 0; col < row.length; ++col) {
+                    model.setValueAt(row[col], i, col);
+                }
+            }
+
+            shownItems = items;
+
+            productsTableControlFooter.rerender();
+
+            isBusy.set(false);
+        }
+
         public void populate() {
             final ProductsTableModel model = (ProductsTableModel) getModel();
 
             model.setRowCount(0);
+            shownItems = productListData.getAcquire().getItemsAtCurrentPage();
 
-            for (final InventoryMetadataDto item : productListData.getAcquire().getItemsAtCurrentPage()) {
-                model.addRow(new Object[] { new LabelWithImage.LabelWithImageData(item.displayImage(), item.itemName()),
-                        item.brand(),
-                        item.unitPricePhp(), new ItemStockQtyPercentageBarData(item._itemStockId(),
-                                item.totalQuantity(), item.minimumQuantity(), "unit/s", item.itemStockLocations()),
-                        item.status(), item._itemStockId() });
+            for (final InventoryMetadataDto item : shownItems) {
+                model.addRow(rowOf(item));
             }
 
             productsTableControlFooter.rerender();
@@ -732,6 +874,36 @@ public class FormInventoryBrowseProducts extends Form {
             isBusy.set(false);
         }
 
+        private Object[] rowOf(final InventoryMetadataDto item) {
+            return new Object[] { new LabelWithImage.LabelWithImageData(item.displayImage(), item.itemName()),
+                    item.brand(),
+                    item.unitPricePhp(), new ItemStockQtyPercentageBarData(item._itemStockId(),
+                            item.totalQuantity(), item.minimumQuantity(), "unit/s", item.itemStockLocations()),
+                    item.status(), item._itemStockId() };
+        }
+
+        private boolean showsSameAs(final InventoryMetadataDto a, final InventoryMetadataDto b) {
+            if (a.totalQuantity() != b.totalQuantity() || a.minimumQuantity() != b.minimumQuantity()
+                    || a.status() != b.status() || a.unitPricePhp().compareTo(b.unitPricePhp()) != 0
+                    || !a.itemName().equals(b.itemName()) || !a.brand().equals(b.brand())
+                    || !Objects.equals(a.displayImage(), b.displayImage())
+                    || a.itemStockLocations().length != b.itemStockLocations().length) {
+                return false;
+            }
+
+            for (int i = 0; i < a.itemStockLocations().length; ++i) {
+                final ItemStockStorageLocationDto x = a.itemStockLocations()[i];
+                final ItemStockStorageLocationDto y = b.itemStockLocations()[i];
+
+                if (x._itemStockStorageLocationId() != y._itemStockStorageLocationId()
+                        || x.quantity() != y.quantity()) {
+                    return false;
+                }
+            }
+
+            return true;
+        }
+
         private class ProductsTableModel extends DefaultTableModel {
             @Override
             public boolean isCellEditable(final int row, final int column) {
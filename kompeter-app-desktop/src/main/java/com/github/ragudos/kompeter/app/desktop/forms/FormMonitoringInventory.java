@@ -18,6 +18,7 @@ import java.util.List;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTabbedPane;
+import javax.swing.SwingUtilities;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
@@ -34,6 +35,7 @@ import com.github.ragudos.kompeter.app.desktop.system.Form;
 import com.github.ragudos.kompeter.app.desktop.utilities.SystemForm;
 import com.github.ragudos.kompeter.database.dto.monitoring.InventoryCountDto;
 import com.github.ragudos.kompeter.database.sqlite.dao.monitoring.SqliteInventoryDao;
+import com.github.ragudos.kompeter.metrics.jfr.FormLoadEvent;
 import com.github.ragudos.kompeter.monitoring.service.MonitoringInventoryService;
 
 import net.miginfocom.swing.MigLayout;
@@ -95,8 +97,23 @@ public class FormMonitoringInventory extends Form {
     }
 
     private void loadData() {
-        final List<InventoryCountDto> data = inventoryService.getInventoryCountReport();
+        final FormLoadEvent event = new FormLoadEvent();
 
+        event.begin();
+
+        try {
+            final List<InventoryCountDto> counts = inventoryService.getCachedInventoryCountReport(
+                    (data) -> SwingUtilities.invokeLater(() -> renderInventoryCount(data)));
+
+            event.rows = counts.size();
+            renderInventoryCount(counts);
+        } finally {
+            event.form = getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    private void renderInventoryCount(final List<InventoryCountDto> data) {
         addedQty.clear();
         beforeQty.clear();
         currentQty.clear();
@@ -22,6 +22,7 @@ import javax.swing.JLabel;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JTabbedPane;
+import javax.swing.SwingUtilities;
 
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
@@ -45,6 +46,7 @@ import com.github.ragudos.kompeter.app.desktop.utilities.SystemForm;
 import com.github.ragudos.kompeter.database.dto.monitoring.RevenueDto;
 import com.github.ragudos.kompeter.database.dto.monitoring.Top10SellingItemsDto;
 import com.github.ragudos.kompeter.database.sqlite.dao.monitoring.SqliteSalesDao;
+import com.github.ragudos.kompeter.metrics.jfr.FormLoadEvent;
 import com.github.ragudos.kompeter.monitoring.service.MonitoringSalesService;
 import com.github.ragudos.kompeter.monitoring.service.MonitoringSalesService.PredictionPoint;
 import com.github.ragudos.kompeter.monitoring.service.MonitoringSalesService.RevenuePredictionReport;
@@ -119,30 +121,39 @@ public class FormMonitoringSales extends Form {
     }
 
     private void loadData() {
-        top10Data.clear();
+        final FormLoadEvent event = new FormLoadEvent();
 
-        final List<Top10SellingItemsDto> data = salesService.getTop10SellingItemsReport();
+        event.begin();
 
-        if (data.isEmpty()) {
-            top10Data.addValue(0, "Total Sold", "No Data");
-        } else {
-            for (final Top10SellingItemsDto item : data) {
-                top10Data.addValue(item.totalSold(), "Total Sold", item.itemName());
-            }
-        }
+        try {
+            final List<Top10SellingItemsDto> top10 = salesService.getCachedTop10SellingItemsReport(
+                    (data) -> SwingUtilities.invokeLater(() -> renderTop10(data)));
 
-        RevenuePredictionReport report = null;
+            event.rows = top10.size();
+            renderTop10(top10);
 
-        try {
-            report = salesService.getRevenuePredictionReport();
-        } catch (final SQLException e) {
-            JOptionPane.showMessageDialog(KompeterDesktopApp.getRootFrame(),
-                    "Cannot get reevnue data because of: \n\n" + e.getMessage(),
-                    "Error", JOptionPane.ERROR_MESSAGE);
+            RevenuePredictionReport report = null;
+
+            try {
+                report = salesService.getCachedRevenuePredictionReport(
+                        (r) -> SwingUtilities.invokeLater(() -> renderRevenue(r)));
+            } catch (final SQLException e) {
+                JOptionPane.showMessageDialog(KompeterDesktopApp.getRootFrame(),
+                        "Cannot get reevnue data because of: \n\n" + e.getMessage(),
+                        "Error", JOptionPane.ERROR_MESSAGE);
+
+                return;
+            }
 
-            return;
+            event.rows += report.actualData().size() + report.predictedData().size();
+            renderRevenue(report);
+        } finally {
+            event.form = getClass().getSimpleName();
+            event.commit();
         }
+    }
 
+    private void renderRevenue(final RevenuePredictionReport report) {
         revenueSeries.clear();
         revenuePredictionSeries.clear();
 
@@ -171,6 +182,18 @@ public class FormMonitoringSales extends Form {
         }
     }
 
+    private void renderTop10(final List<Top10SellingItemsDto> data) {
+        top10Data.clear();
+
+        if (data.isEmpty()) {
+            top10Data.addValue(0, "Total Sold", "No Data");
+        } else {
+            for (final Top10SellingItemsDto item : data) {
+                top10Data.addValue(item.totalSold(), "Total Sold", item.itemName());
+            }
+        }
+    }
+
     private void createTop10ChartPanel() {
         top10Chart = ChartFactory.createBarChart(
                 "Top 10 Selling Items (Last 30 Days)", "Product", "Units Sold",
@@ -10,6 +10,8 @@ package com.github.ragudos.kompeter.app.desktop.forms;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
+import java.awt.Container;
+import java.awt.Cursor;
 import java.awt.Dialog;
 import java.awt.Dimension;
 import java.awt.Insets;
@@ -21,11 +23,17 @@ import java.awt.event.MouseEvent;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.swing.BorderFactory;
 import javax.swing.JButton;
@@ -51,6 +59,7 @@ import com.github.ragudos.kompeter.app.desktop.components.ImagePanel;
 import com.github.ragudos.kompeter.app.desktop.components.dialogs.CheckoutDialog;
 import com.github.ragudos.kompeter.app.desktop.components.icons.SVGIconUIColor;
 import com.github.ragudos.kompeter.app.desktop.components.menu.FilterPopupMenu.CategoryBrandFilterPopupMenu;
+import com.github.ragudos.kompeter.app.desktop.components.menu.SuggestionPopupMenu;
 import com.github.ragudos.kompeter.app.desktop.components.panels.LoadingPanel;
 import com.github.ragudos.kompeter.app.desktop.components.panels.NoResultsPanel;
 import com.github.ragudos.kompeter.app.desktop.components.scroller.ScrollerFactory;
@@ -58,24 +67,39 @@ import com.github.ragudos.kompeter.app.desktop.layout.ResponsiveLayout;
 import com.github.ragudos.kompeter.app.desktop.layout.ResponsiveLayout.JustifyContent;
 import com.github.ragudos.kompeter.app.desktop.system.Form;
 import com.github.ragudos.kompeter.app.desktop.utilities.SystemForm;
+import com.github.ragudos.kompeter.database.changes.ChangeFeed;
+import com.github.ragudos.kompeter.database.changes.ChangeSet;
 import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
+import com.github.ragudos.kompeter.inventory.FacetCounts;
 import com.github.ragudos.kompeter.inventory.Inventory;
 import com.github.ragudos.kompeter.inventory.InventoryException;
+import com.github.ragudos.kompeter.inventory.SearchPage;
+import com.github.ragudos.kompeter.metrics.jfr.FormLoadEvent;
 import com.github.ragudos.kompeter.pointofsale.Cart;
 import com.github.ragudos.kompeter.pointofsale.Cart.CartEvent;
 import com.github.ragudos.kompeter.pointofsale.CartItem;
 import com.github.ragudos.kompeter.pointofsale.InsufficientStockException;
 import com.github.ragudos.kompeter.pointofsale.NegativeQuantityException;
+import com.github.ragudos.kompeter.pointofsale.StockLedger;
 import com.github.ragudos.kompeter.utilities.Debouncer;
 import com.github.ragudos.kompeter.utilities.HtmlUtils;
 import com.github.ragudos.kompeter.utilities.StringUtils;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 import net.miginfocom.swing.MigLayout;
 import raven.modal.component.DropShadowBorder;
 
 @SystemForm(name = "Point of Sale Shop", description = "The point of sale shop", tags = { "sales", "shop" })
 public class FormPosShop extends Form {
+    private static final Logger LOGGER = KompeterLogger.getLogger(FormPosShop.class);
+    private static final String[] WATCHED_TABLES = { "items", "item_stocks", "item_stock_storage_locations",
+            "item_brands", "item_categories", "item_category_assignments" };
+    /** The size product images are drawn at, and so decoded at. */
+    private static final int IMAGE_SIZE = 180;
+    /** How many search results to show at first, and how many more to show at a time. */
+    private static final int SEARCH_PAGE_SIZE = 48;
+
     private AtomicReference<Cart> cart;
     private JPanel cartButtonsContainer;
     private JPanel cartContentContainer;
@@ -89,19 +113,30 @@ public class FormPosShop extends Form {
     private JButton checkoutButton;
     private JButton clearCartButton;
     private JSplitPane containerSplitPane;
+    private Consumer<ChangeSet> changeConsumer;
     private Debouncer debouncer;
     private CategoryBrandFilterPopupMenu filterPopupMenu;
     private Inventory inventory;
+    private volatile boolean hasMoreResults;
     private AtomicBoolean isFetching;
+    private Map<Integer, ItemCard> itemCards;
     private AtomicReferenceArray<InventoryMetadataDto> items;
     private JPanel leftPanel;
     private JPanel leftPanelContentContainer;
     private JPanel leftPanelHeader;
+    private AtomicInteger loadGeneration;
     private LoadingPanel loadingPanel;
     private JPanel rightPanel;
+    private AtomicInteger searchPagesShown;
 
     private JTextField searchTextField;
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        ChangeFeed.getInstance().subscribe(changeConsumer);
+    }
+
     @Override
     public boolean formBeforeClose() {
         if (cart.getAcquire().isEmpty()) {
@@ -122,7 +157,7 @@ public class FormPosShop extends Form {
                 returnVal = true;
                 break;
             case JOptionPane.NO_OPTION:
-                SwingUtilities.invokeLater(() -> {
+                updateCart(this, (c) -> c.releaseAll(), () -> {
                     cart.getAcquire().clearCart();
                     buildRightPanelContent();
                 });
@@ -174,6 +209,12 @@ public class FormPosShop extends Form {
         debouncer.call(() -> formOpen());
     }
 
+    @Override
+    public void removeNotify() {
+        ChangeFeed.getInstance().unsubscribe(changeConsumer);
+        super.removeNotify();
+    }
+
     private void applyShadowBorder(final JPanel panel) {
         if (panel != null) {
             panel.setBorder(new DropShadowBorder(new Insets(2, 4, 8, 4), 1, 16));
@@ -183,9 +224,10 @@ public class FormPosShop extends Form {
     private void buildLeftPanelContent() {
         SwingUtilities.invokeLater(() -> {
             leftPanelContentContainer.removeAll();
+            itemCards.clear();
         });
 
-        new SwingWorker<Void, JPanel>() {
+        new SwingWorker<Void, ItemCard>() {
             protected Void doInBackground() throws Exception {
                 final int itemLen = items.length();
 
@@ -202,51 +244,8 @@ public class FormPosShop extends Form {
 
                 for (int i = 0; i < itemLen; ++i) {
                     final InventoryMetadataDto item = items.getAcquire(i);
-                    final JPanel itemPanel = new JPanel(new BorderLayout()) {
-                        @Override
-                        public void updateUI() {
-                            super.updateUI();
-                            applyShadowBorder(this);
-                        }
-                    };
-
-                    final JPanel itemContentContainer = new JPanel(
-                            new MigLayout("flowx, wrap, insets 0", "[grow, fill, center]"));
-                    final String imagePath = item.displayImage() == null || item.displayImage().isEmpty()
-                            ? String.format("%s/images/placeholder.png",
-                                    AssetLoader.class.getPackageName().replace(".", "/"))
-                            : item.displayImage();
-                    final ImagePanel imagePanel = new ImagePanel(AssetLoader.loadImage(imagePath, true));
-
-                    imagePanel.setMinimumSize(new Dimension(180, 180));
-                    imagePanel.setMaximumSize(new Dimension(180, 180));
-                    imagePanel.setScaleMode(ImagePanel.ScaleMode.CONTAIN);
-
-                    final JLabel itemName = new JLabel(
-                            HtmlUtils.wrapInHtml(String.format("<p align='center'>%s", item.itemName())));
-                    final JLabel itemPrice = new JLabel(String.format(HtmlUtils.wrapInHtml("<p align='center'> %s"),
-                            StringUtils.formatBigDecimal(item.unitPricePhp())));
 
-                    itemName.putClientProperty(FlatClientProperties.STYLE, "font: bold;");
-
-                    itemName.setHorizontalAlignment(JLabel.CENTER);
-                    itemPrice.setHorizontalAlignment(JLabel.CENTER);
-
-                    itemContentContainer.add(imagePanel, "grow");
-                    itemContentContainer.add(itemName, "growx, gaptop 6px");
-                    itemContentContainer.add(itemPrice, "growx, gaptop 2px");
-
-                    itemPanel.add(itemContentContainer);
-                    itemPanel
-                            .setToolTipText(String.format(
-                                    HtmlUtils.wrapInHtml("<p>Click this card to add <strong>%s</strong> to the"
-                                            + " cart.<br><p><em>Available: %s</em>"),
-                                    item.itemName(), item.totalQuantity()));
-
-                    itemPanel.addMouseListener(new ItemPanelMouseListener(item._itemStockId(), item.itemName(),
-                            item.totalQuantity(), item.unitPricePhp()));
-
-                    publish(itemPanel);
+                    publish(new ItemCard(item, createItemPanel(item)));
                 }
 
                 return null;
@@ -255,15 +254,17 @@ public class FormPosShop extends Form {
             protected void done() {
                 isFetching.set(false);
                 leftPanelContentContainer.remove(loadingPanel);
+                addShowMoreButton();
                 leftPanelContentContainer.repaint();
                 leftPanelContentContainer.revalidate();
             };
 
-            protected void process(final List<JPanel> chunks) {
+            protected void process(final List<ItemCard> chunks) {
                 leftPanelContentContainer.remove(loadingPanel);
 
-                for (final JPanel panel : chunks) {
-                    leftPanelContentContainer.add(panel);
+                for (final ItemCard card : chunks) {
+                    itemCards.put(card.item()._itemStockId(), card);
+                    leftPanelContentContainer.add(card.panel());
                 }
 
                 leftPanelContentContainer.remove(loadingPanel);
@@ -373,6 +374,50 @@ public class FormPosShop extends Form {
         return cartItemPanel;
     }
 
+    private JPanel createItemPanel(final InventoryMetadataDto item) {
+        final JPanel itemPanel = new JPanel(new BorderLayout()) {
+            @Override
+            public void updateUI() {
+                super.updateUI();
+                applyShadowBorder(this);
+            }
+        };
+
+        final JPanel itemContentContainer = new JPanel(new MigLayout("flowx, wrap, insets 0", "[grow, fill, center]"));
+        final boolean hasImage = item.displayImage() != null && !item.displayImage().isEmpty();
+        final ImagePanel imagePanel = new ImagePanel(AssetLoader.loadThumbnail(
+                hasImage ? item.displayImage() : "placeholder.png", hasImage, IMAGE_SIZE, IMAGE_SIZE));
+
+        imagePanel.setMinimumSize(new Dimension(IMAGE_SIZE, IMAGE_SIZE));
+        imagePanel.setMaximumSize(new Dimension(IMAGE_SIZE, IMAGE_SIZE));
+        imagePanel.setScaleMode(ImagePanel.ScaleMode.CONTAIN);
+
+        final JLabel itemName = new JLabel(
+                HtmlUtils.wrapInHtml(String.format("<p align='center'>%s", item.itemName())));
+        final JLabel itemPrice = new JLabel(String.format(HtmlUtils.wrapInHtml("<p align='center'> %s"),
+                StringUtils.formatBigDecimal(item.unitPricePhp())));
+
+        itemName.putClientProperty(FlatClientProperties.STYLE, "font: bold;");
+
+        itemName.setHorizontalAlignment(JLabel.CENTER);
+        itemPrice.setHorizontalAlignment(JLabel.CENTER);
+
+        itemContentContainer.add(imagePanel, "grow");
+        itemContentContainer.add(itemName, "growx, gaptop 6px");
+        itemContentContainer.add(itemPrice, "growx, gaptop 2px");
+
+        itemPanel.add(itemContentContainer);
+        itemPanel.setToolTipText(String.format(
+                HtmlUtils.wrapInHtml("<p>Click this card to add <strong>%s</strong> to the"
+                        + " cart.<br><p><em>Available: %s</em>"),
+                item.itemName(), item.totalQuantity()));
+
+        itemPanel.addMouseListener(new ItemPanelMouseListener(item._itemStockId(), item.itemName(),
+                item.totalQuantity(), item.unitPricePhp()));
+
+        return itemPanel;
+    }
+
     private void createLeftPanel() {
         searchTextField = new JTextField();
 
@@ -384,8 +429,9 @@ public class FormPosShop extends Form {
         searchTextField.putClientProperty(FlatClientProperties.TEXT_FIELD_SHOW_CLEAR_BUTTON, true);
 
         searchTextField.getDocument().addDocumentListener(new SearchTextFieldDocumentListener());
+        SuggestionPopupMenu.install(searchTextField);
 
-        filterPopupMenu.trigger().setToolTipText("Filter items by category and brand");
+        filterPopupMenu.trigger().setToolTipText("Filter items by category, brand, and storage location");
 
         buildLeftPanelContent();
 
@@ -508,13 +554,68 @@ public class FormPosShop extends Form {
         return null;
     }
 
+    private FacetCounts facetCounts() {
+        try {
+            return inventory.getFacetCounts(searchTextField.getText(),
+                    filterPopupMenu.categoryFilters.get().toArray(String[]::new),
+                    filterPopupMenu.brandFilters.get().toArray(String[]::new),
+                    filterPopupMenu.storageLocationFilters.get().toArray(String[]::new), ItemStatus.ACTIVE);
+        } catch (final InventoryException err) {
+            LOGGER.log(Level.WARNING, "Failed to count items by filter", err);
+
+            return null;
+        }
+    }
+
+    private void addShowMoreButton() {
+        if (!hasMoreResults) {
+            return;
+        }
+
+        final JButton showMoreButton = new JButton("Show more results");
+
+        showMoreButton.putClientProperty(FlatClientProperties.BUTTON_TYPE, FlatClientProperties.BUTTON_TYPE_BORDERLESS);
+        showMoreButton.addActionListener((e) -> {
+            if (isFetching.compareAndSet(false, true)) {
+                showMoreButton.setEnabled(false);
+                showNextSearchPage(showMoreButton);
+            }
+        });
+
+        leftPanelContentContainer.add(showMoreButton);
+    }
+
+    /**
+     * Fetches every active item, or while searching, the best matches of the
+     * pages of results shown so far, e.g. to refresh them.
+     */
+    private FetchedItems fetchItems(final ItemQuery itemQuery) throws InventoryException {
+        if (itemQuery.query() == null || itemQuery.query().isBlank()) {
+            return new FetchedItems(inventory.getInventoryItemsWithTotalQuantities(itemQuery.query(),
+                    itemQuery.categoryFilters(), itemQuery.brandFilters(), itemQuery.storageLocationFilters(),
+                    ItemStatus.ACTIVE), false);
+        }
+
+        final SearchPage results = inventory.searchItems(itemQuery.query(), itemQuery.categoryFilters(),
+                itemQuery.brandFilters(), itemQuery.storageLocationFilters(), ItemStatus.ACTIVE, 0,
+                SEARCH_PAGE_SIZE * itemQuery.pages());
+
+        return new FetchedItems(results.hits().stream().map(SearchPage.Hit::item).toArray(InventoryMetadataDto[]::new),
+                results.hasNextPage());
+    }
+
     private void init() {
         loadingPanel = new LoadingPanel();
         filterPopupMenu = new CategoryBrandFilterPopupMenu(this::search);
+        filterPopupMenu.setFacetCounts(this::facetCounts);
         inventory = Inventory.getInstance();
         isFetching = new AtomicBoolean(false);
-        cart = new AtomicReference<>(new Cart());
+        cart = new AtomicReference<>(new Cart(StockLedger.getInstance()));
         items = new AtomicReferenceArray<>(new InventoryMetadataDto[0]);
+        itemCards = new ConcurrentHashMap<>();
+        loadGeneration = new AtomicInteger();
+        searchPagesShown = new AtomicInteger(1);
+        changeConsumer = this::onDatabaseChanged;
         debouncer = new Debouncer(250);
         cart.getAcquire().subscribe(new CartConsumer());
 
@@ -526,10 +627,17 @@ public class FormPosShop extends Form {
     }
 
     private void loadData() {
+        final FormLoadEvent event = new FormLoadEvent();
+
+        loadGeneration.incrementAndGet();
+        event.begin();
+
         try {
-            items = new AtomicReferenceArray<>(inventory.getInventoryItemsWithTotalQuantities(searchTextField.getText(),
-                    filterPopupMenu.categoryFilters.get().toArray(String[]::new),
-                    filterPopupMenu.brandFilters.get().toArray(String[]::new), ItemStatus.ACTIVE));
+            final FetchedItems fetched = fetchItems(shownQuery());
+
+            items = new AtomicReferenceArray<>(fetched.items());
+            hasMoreResults = fetched.hasMoreResults();
+            event.rows = items.length();
 
             buildLeftPanelContent();
         } catch (final InventoryException err) {
@@ -546,7 +654,83 @@ public class FormPosShop extends Form {
             });
 
             isFetching.set(false);
+        } finally {
+            event.form = getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    /**
+     * Refetches the shown items after another part of the application changed
+     * the inventory, rebuilding only the cards whose contents changed and
+     * reusing the rest. Called on the change feed's thread, so the search and
+     * filters are read on the EDT and the items fetched on another thread.
+     */
+    private void onDatabaseChanged(final ChangeSet changes) {
+        if (!changes.touches(WATCHED_TABLES) || isFetching.get()) {
+            return;
         }
+
+        SwingUtilities.invokeLater(() -> {
+            if (isFetching.get()) {
+                return;
+            }
+
+            final int generation = loadGeneration.get();
+            final ItemQuery itemQuery = shownQuery();
+            final Thread thread = new Thread(() -> refreshItems(itemQuery, generation), "kompeter-pos-refresh");
+
+            thread.setDaemon(true);
+            thread.start();
+        });
+    }
+
+    private void refreshItems(final ItemQuery itemQuery, final int generation) {
+        final FetchedItems fetched;
+
+        try {
+            fetched = fetchItems(itemQuery);
+        } catch (final InventoryException err) {
+            LOGGER.log(Level.WARNING, "Failed to refresh changed items", err);
+
+            return;
+        }
+
+        final InventoryMetadataDto[] newItems = fetched.items();
+        final ItemCard[] cards = new ItemCard[newItems.length];
+
+        for (int i = 0; i < newItems.length; ++i) {
+            final ItemCard card = itemCards.get(newItems[i]._itemStockId());
+
+            cards[i] = card != null && card.showsSameAs(newItems[i]) ? new ItemCard(newItems[i], card.panel())
+                    : new ItemCard(newItems[i], createItemPanel(newItems[i]));
+        }
+
+        SwingUtilities.invokeLater(() -> {
+            // A search or a full reload started meanwhile and will show its own
+            // results.
+            if (isFetching.get() || generation != loadGeneration.get()) {
+                return;
+            }
+
+            items = new AtomicReferenceArray<>(newItems);
+            hasMoreResults = fetched.hasMoreResults();
+            itemCards.clear();
+            leftPanelContentContainer.removeAll();
+
+            if (cards.length == 0) {
+                leftPanelContentContainer.add(new NoResultsPanel());
+            }
+
+            for (final ItemCard card : cards) {
+                itemCards.put(card.item()._itemStockId(), card);
+                leftPanelContentContainer.add(card.panel());
+            }
+
+            addShowMoreButton();
+            leftPanelContentContainer.repaint();
+            leftPanelContentContainer.revalidate();
+        });
     }
 
     private void removeActionListeners(final JComponent component) {
@@ -566,6 +750,7 @@ public class FormPosShop extends Form {
     private void search() {
         debouncer.call(() -> {
             isFetching.set(true);
+            searchPagesShown.set(1);
             SwingUtilities.invokeLater(() -> {
                 leftPanelContentContainer.removeAll();
                 leftPanelContentContainer.add(loadingPanel);
@@ -577,6 +762,146 @@ public class FormPosShop extends Form {
         });
     }
 
+    /** @return the search, filters, and pages of results shown. */
+    private ItemQuery shownQuery() {
+        return new ItemQuery(searchTextField.getText(),
+                filterPopupMenu.categoryFilters.get().toArray(String[]::new),
+                filterPopupMenu.brandFilters.get().toArray(String[]::new),
+                filterPopupMenu.storageLocationFilters.get().toArray(String[]::new), searchPagesShown.get());
+    }
+
+    /**
+     * Fetches only the next page of search results in the background and
+     * appends it to the results shown.
+     */
+    private void showNextSearchPage(final JButton showMoreButton) {
+        final int generation = loadGeneration.get();
+        final int page = searchPagesShown.get();
+        final String query = searchTextField.getText();
+        final String[] categoryFilters = filterPopupMenu.categoryFilters.get().toArray(String[]::new);
+        final String[] brandFilters = filterPopupMenu.brandFilters.get().toArray(String[]::new);
+        final String[] storageLocationFilters = filterPopupMenu.storageLocationFilters.get().toArray(String[]::new);
+        final Thread thread = new Thread(() -> {
+            final SearchPage results;
+
+            try {
+                results = inventory.searchItems(query, categoryFilters, brandFilters, storageLocationFilters,
+                        ItemStatus.ACTIVE, page, SEARCH_PAGE_SIZE);
+            } catch (final InventoryException err) {
+                LOGGER.log(Level.WARNING, "Failed to fetch page " + page + " of the search results", err);
+                SwingUtilities.invokeLater(() -> {
+                    isFetching.set(false);
+                    showMoreButton.setEnabled(true);
+                });
+
+                return;
+            }
+
+            // Results that moved up a page since the last one was fetched are
+            // already shown.
+            final List<ItemCard> cards = results.hits().stream().map(SearchPage.Hit::item)
+                    .filter((item) -> !itemCards.containsKey(item._itemStockId()))
+                    .map((item) -> new ItemCard(item, createItemPanel(item))).toList();
+
+            SwingUtilities.invokeLater(() -> {
+                // A new search started meanwhile and will show its own results.
+                if (generation != loadGeneration.get()) {
+                    return;
+                }
+
+                final InventoryMetadataDto[] shownItems = new InventoryMetadataDto[items.length() + cards.size()];
+
+                for (int i = 0; i < items.length(); ++i) {
+                    shownItems[i] = items.getAcquire(i);
+                }
+
+                for (int i = 0; i < cards.size(); ++i) {
+                    shownItems[items.length() + i] = cards.get(i).item();
+                }
+
+                items = new AtomicReferenceArray<>(shownItems);
+                searchPagesShown.set(page + 1);
+                hasMoreResults = results.hasNextPage();
+                leftPanelContentContainer.remove(showMoreButton);
+
+                for (final ItemCard card : cards) {
+                    itemCards.put(card.item()._itemStockId(), card);
+                    leftPanelContentContainer.add(card.panel());
+                }
+
+                addShowMoreButton();
+                isFetching.set(false);
+                leftPanelContentContainer.repaint();
+                leftPanelContentContainer.revalidate();
+            });
+        }, "kompeter-search-page");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void setCartBusy(final boolean busy, final Component... components) {
+        setEnabledWithin(cartPanel, !busy);
+        setEnabledWithin(cartButtonsContainer, !busy);
+
+        for (final Component component : components) {
+            setEnabledWithin(component, !busy);
+        }
+
+        rightPanel.setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : null);
+    }
+
+    private void setEnabledWithin(final Component component, final boolean enabled) {
+        component.setEnabled(enabled);
+
+        if (component instanceof final Container container) {
+            for (final Component child : container.getComponents()) {
+                setEnabledWithin(child, enabled);
+            }
+        }
+    }
+
+    /**
+     * Makes the reservation a change to the cart needs on a background thread,
+     * since it is a database transaction that may wait for other terminals, and
+     * then the change itself. The cart and the given components are disabled
+     * meanwhile, and the cart is left as it was if the stock is in another
+     * cart.
+     *
+     * @param parent      where to show that the stock is in another cart.
+     * @param reservation the reservation the change needs.
+     * @param change      the change, run on the event dispatch thread.
+     * @param components  what else to disable meanwhile.
+     */
+    private void updateCart(final Component parent, final CartReservation reservation, final Runnable change,
+            final Component... components) {
+        final Cart acquiredCart = cart.getAcquire();
+
+        setCartBusy(true, components);
+
+        final Thread thread = new Thread(() -> {
+            try {
+                reservation.reserve(acquiredCart);
+            } catch (final InsufficientStockException err) {
+                SwingUtilities.invokeLater(() -> {
+                    setCartBusy(false, components);
+                    JOptionPane.showMessageDialog(parent, err.getMessage(), err.getClass().getName(),
+                            JOptionPane.ERROR_MESSAGE);
+                });
+
+                return;
+            }
+
+            SwingUtilities.invokeLater(() -> {
+                setCartBusy(false, components);
+                change.run();
+            });
+        }, "kompeter-cart");
+
+        thread.setDaemon(true);
+        thread.start();
+    }
+
     private void updateCartTotals() {
         final Cart acquiredCart = cart.getAcquire();
 
@@ -674,23 +999,24 @@ public class FormPosShop extends Form {
             public void actionPerformed(final ActionEvent e) {
                 final Integer val = (Integer) numberSpinner.getValue();
                 final Cart cartVal = cart.getAcquire();
+                final int qty = cartVal.getItem(id).map(CartItem::qty).orElse(0) + val;
 
-                try {
-                    if (cartVal.exists(id)) {
-                        cartVal.increaseItemQty(id, val);
-                    } else {
-                        cartVal.addItem(new CartItem(id, itemName, totalQuantity, val, unitPricePhp));
-                    }
-                } catch (InsufficientStockException | NegativeQuantityException err) {
-                    SwingUtilities.invokeLater(() -> {
+                updateCart(addToCartDialog, (c) -> c.reserve(id, qty), () -> {
+                    try {
+                        if (cartVal.exists(id)) {
+                            cartVal.increaseItemQty(id, val);
+                        } else {
+                            cartVal.addItem(new CartItem(id, itemName, totalQuantity, val, unitPricePhp));
+                        }
+                    } catch (InsufficientStockException | NegativeQuantityException err) {
                         JOptionPane.showMessageDialog(addToCartDialog, err.getMessage(), err.getClass().getName(),
                                 JOptionPane.ERROR_MESSAGE);
-                    });
 
-                    return;
-                }
+                        return;
+                    }
 
-                dispose();
+                    dispose();
+                }, addToCartDialog.getContentPane());
             }
         }
     }
@@ -783,6 +1109,11 @@ public class FormPosShop extends Form {
         }
     }
 
+    @FunctionalInterface
+    private interface CartReservation {
+        void reserve(Cart cart) throws InsufficientStockException;
+    }
+
     private class CheckoutButtonActionListener implements ActionListener {
 
         @Override
@@ -816,7 +1147,7 @@ public class FormPosShop extends Form {
 
             switch (chosenOption) {
                 case JOptionPane.YES_OPTION:
-                    cart.getAcquire().clearCart();
+                    updateCart(cartButtonsContainer, (c) -> c.releaseAll(), () -> cart.getAcquire().clearCart());
                     break;
             }
         }
@@ -832,16 +1163,19 @@ public class FormPosShop extends Form {
         @Override
         public void actionPerformed(final ActionEvent e) {
             final Cart acquiredCart = cart.getAcquire();
+            final int qty = acquiredCart.getItem(id).get().qty();
 
-            if (acquiredCart.getItem(id).get().qty() == 1) {
-                acquiredCart.removeItem(id);
+            if (qty == 1) {
+                updateCart(cartPanel, (c) -> c.release(id), () -> acquiredCart.removeItem(id));
             } else {
-                try {
-                    acquiredCart.decrementItem(id);
-                } catch (final NegativeQuantityException err) {
-                    JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(cartPanel), err.getMessage(),
-                            err.getClass().getName(), JOptionPane.ERROR_MESSAGE);
-                }
+                updateCart(cartPanel, (c) -> c.reserve(id, qty - 1), () -> {
+                    try {
+                        acquiredCart.decrementItem(id);
+                    } catch (final NegativeQuantityException err) {
+                        JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(cartPanel), err.getMessage(),
+                                err.getClass().getName(), JOptionPane.ERROR_MESSAGE);
+                    }
+                });
             }
         }
     }
@@ -866,16 +1200,38 @@ public class FormPosShop extends Form {
         @Override
         public void actionPerformed(final ActionEvent e) {
             final Cart acquiredCart = cart.getAcquire();
+            final int qty = acquiredCart.getItem(id).get().qty();
 
-            try {
-                acquiredCart.incrementItem(id);
-            } catch (final InsufficientStockException err) {
-                JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(cartPanel), err.getMessage(),
-                        err.getClass().getName(), JOptionPane.ERROR_MESSAGE);
-            }
+            updateCart(cartPanel, (c) -> c.reserve(id, qty + 1), () -> {
+                try {
+                    acquiredCart.incrementItem(id);
+                } catch (final InsufficientStockException err) {
+                    JOptionPane.showMessageDialog(SwingUtilities.getWindowAncestor(cartPanel), err.getMessage(),
+                            err.getClass().getName(), JOptionPane.ERROR_MESSAGE);
+                }
+            });
         }
     }
 
+    private record FetchedItems(InventoryMetadataDto[] items, boolean hasMoreResults) {
+    }
+
+    private record ItemCard(InventoryMetadataDto item, JPanel panel) {
+        /** @return whether a card built for the given item would look the same. */
+        boolean showsSameAs(final InventoryMetadataDto other) {
+            return item.totalQuantity() == other.totalQuantity() && item.itemName().equals(other.itemName())
+                    && item.unitPricePhp().compareTo(other.unitPricePhp()) == 0
+                    && Objects.equals(item.displayImage(), other.displayImage());
+        }
+    }
+
+    /**
+     * @param pages the pages of search results to fetch, if searching.
+     */
+    private record ItemQuery(String query, String[] categoryFilters, String[] brandFilters,
+            String[] storageLocationFilters, int pages) {
+    }
+
     private class ItemPanelMouseListener extends MouseAdapter {
         private final int id;
         private final String itemName;
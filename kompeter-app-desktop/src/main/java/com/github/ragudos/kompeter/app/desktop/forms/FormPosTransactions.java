@@ -9,6 +9,10 @@ package com.github.ragudos.kompeter.app.desktop.forms;
 
 import java.math.BigDecimal;
 import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.swing.JLabel;
 import javax.swing.JOptionPane;
@@ -27,19 +31,33 @@ import com.github.ragudos.kompeter.app.desktop.components.scroller.ScrollerFacto
 import com.github.ragudos.kompeter.app.desktop.components.table.Currency;
 import com.github.ragudos.kompeter.app.desktop.system.Form;
 import com.github.ragudos.kompeter.app.desktop.utilities.SystemForm;
+import com.github.ragudos.kompeter.database.changes.ChangeFeed;
+import com.github.ragudos.kompeter.database.changes.ChangeOperation;
+import com.github.ragudos.kompeter.database.changes.ChangeSet;
 import com.github.ragudos.kompeter.database.dto.enums.DiscountType;
 import com.github.ragudos.kompeter.database.dto.sales.SaleMetadataDto;
 import com.github.ragudos.kompeter.database.dto.sales.SaleMetadataDto.SaleItemStocks;
 import com.github.ragudos.kompeter.database.dto.sales.SaleMetadataDto.SaleMetadataPayments;
+import com.github.ragudos.kompeter.metrics.jfr.FormLoadEvent;
 import com.github.ragudos.kompeter.pointofsale.Transaction;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 import net.miginfocom.swing.MigLayout;
 
 @SystemForm(name = "Point of Sale Transactions", description = "Shows the list of transactions or all products that have been sold.", tags = {
         "sales", "transactions" })
 public class FormPosTransactions extends Form {
+    private static final Logger LOGGER = KompeterLogger.getLogger(FormPosTransactions.class);
+
+    private final Consumer<ChangeSet> changeConsumer = this::onDatabaseChanged;
     TransactionsTable table = new TransactionsTable();
 
+    @Override
+    public void addNotify() {
+        super.addNotify();
+        ChangeFeed.getInstance().subscribe(changeConsumer);
+    }
+
     @Override
     public void formInit() {
         init();
@@ -57,6 +75,12 @@ public class FormPosTransactions extends Form {
         formOpen();
     }
 
+    @Override
+    public void removeNotify() {
+        ChangeFeed.getInstance().unsubscribe(changeConsumer);
+        super.removeNotify();
+    }
+
     private void init() {
         setLayout(new MigLayout("insets 0, flowx, wrap", "[grow, fill, left]", "[top][top][top,grow]"));
 
@@ -73,15 +97,58 @@ public class FormPosTransactions extends Form {
     }
 
     private void loadData() {
+        final FormLoadEvent event = new FormLoadEvent();
+
+        event.begin();
+
         try {
             final SaleMetadataDto[] sales = Transaction.getAllTransactions();
 
+            event.rows = sales.length;
             SwingUtilities.invokeLater(() -> {
                 table.populate(sales);
             });
         } catch (final Exception err) {
             JOptionPane.showMessageDialog(KompeterDesktopApp.getRootFrame(), err.getMessage(), "Error",
                     JOptionPane.ERROR_MESSAGE);
+        } finally {
+            event.form = getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    /**
+     * Appends new sales to the table instead of reloading every transaction.
+     * Anything besides new sales, which the application does not do today,
+     * falls back to a full reload.
+     */
+    private void onDatabaseChanged(final ChangeSet changes) {
+        if (!changes.touches("sales", "sale_payments", "sale_item_stocks")) {
+            return;
+        }
+
+        final int newSales = changes.rowIds("sales", ChangeOperation.INSERT).size();
+
+        if (newSales == 0 || newSales != changes.changes("sales").size()
+                || changes.changes("sale_payments").containsValue(ChangeOperation.UPDATE)
+                || changes.changes("sale_payments").containsValue(ChangeOperation.DELETE)
+                || changes.changes("sale_item_stocks").containsValue(ChangeOperation.UPDATE)
+                || changes.changes("sale_item_stocks").containsValue(ChangeOperation.DELETE)) {
+            loadData();
+
+            return;
+        }
+
+        final int lastSaleId = table.lastSaleId.get();
+
+        try {
+            final SaleMetadataDto[] sales = Transaction.getTransactionsAfter(lastSaleId);
+
+            SwingUtilities.invokeLater(() -> {
+                table.append(sales);
+            });
+        } catch (final Exception err) {
+            LOGGER.log(Level.WARNING, "Failed to load new transactions", err);
         }
     }
 
@@ -98,6 +165,9 @@ public class FormPosTransactions extends Form {
         public static final int COL_TOTAL_PRODUCTS_SOLD = 8;
         public static final int COL_TOTAL_PRODUCTS = 9;
 
+        /** Read off the EDT to decide which sales are new. */
+        private final AtomicInteger lastSaleId = new AtomicInteger();
+
         public TransactionsTable() {
             getTableHeader().putClientProperty(FlatClientProperties.STYLE, "font:+2 semibold;");
             ((DefaultTableCellRenderer) getTableHeader().getDefaultRenderer())
@@ -128,47 +198,66 @@ public class FormPosTransactions extends Form {
             putClientProperty(FlatClientProperties.STYLE, "font:12;");
         }
 
+        /** Adds the given sales, skipping any already shown, assuming ascending ids. */
+        public void append(final SaleMetadataDto[] sales) {
+            final TransactionsModel model = (TransactionsModel) getModel();
+
+            for (final SaleMetadataDto sale : sales) {
+                if (sale.getSaleId() > lastSaleId.get()) {
+                    addSale(model, sale);
+                }
+            }
+
+            repaint();
+            revalidate();
+        }
+
         public void populate(final SaleMetadataDto[] sales) {
             final TransactionsModel model = (TransactionsModel) getModel();
 
             model.setRowCount(0);
+            lastSaleId.set(0);
 
             for (final SaleMetadataDto sale : sales) {
-                BigDecimal payment = new BigDecimal("0.00");
-                BigDecimal revenue = new BigDecimal("0.00");
-
-                for (final SaleMetadataPayments p : sale.getPayments()) {
-                    payment = payment.add(p.getAmountPhp());
-                }
+                addSale(model, sale);
+            }
 
-                for (final SaleItemStocks p : sale.getSaleItemStocks()) {
-                    revenue = revenue.add(p.getUnitPricePhp().multiply(new BigDecimal(p.getQuantity())));
-                }
+            repaint();
+            revalidate();
+        }
 
-                BigDecimal discount = new BigDecimal("0.00");
+        private void addSale(final TransactionsModel model, final SaleMetadataDto sale) {
+            BigDecimal payment = new BigDecimal("0.00");
+            BigDecimal revenue = new BigDecimal("0.00");
 
-                if (sale.getDiscountType() == null || sale.getDiscountType().isEmpty()) {
-                } else if (sale.getDiscountType().equals(DiscountType.FIXED.toString())) {
-                    discount = sale.getDiscountValue();
-                } else if (sale.getDiscountType().equals(DiscountType.PERCENTAGE.toString())) {
-                    discount = revenue.multiply(sale.getDiscountValue());
-                }
+            for (final SaleMetadataPayments p : sale.getPayments()) {
+                payment = payment.add(p.getAmountPhp());
+            }
 
-                System.out.println(discount);
+            for (final SaleItemStocks p : sale.getSaleItemStocks()) {
+                revenue = revenue.add(p.getUnitPricePhp().multiply(new BigDecimal(p.getQuantity())));
+            }
 
-                revenue = revenue.subtract(discount);
-                final BigDecimal vatPrice = revenue.multiply(sale.getVatPercent());
+            BigDecimal discount = new BigDecimal("0.00");
 
-                model.addRow(new Object[] { sale.getSaleId(),
-                        sale.getSaleCode(),
-                        sale.getCustomerName() == null || sale.getCustomerName().isEmpty() ? "No entry provided"
-                                : sale.getCustomerName(),
-                        payment, revenue,
-                        revenue.add(vatPrice), vatPrice, discount, sale.getTotalProductsSold(), sale.getTotalSold() });
+            if (sale.getDiscountType() == null || sale.getDiscountType().isEmpty()) {
+            } else if (sale.getDiscountType().equals(DiscountType.FIXED.toString())) {
+                discount = sale.getDiscountValue();
+            } else if (sale.getDiscountType().equals(DiscountType.PERCENTAGE.toString())) {
+                discount = revenue.multiply(sale.getDiscountValue());
             }
 
-            repaint();
-            revalidate();
+            revenue = revenue.subtract(discount);
+            final BigDecimal vatPrice = revenue.multiply(sale.getVatPercent());
+
+            model.addRow(new Object[] { sale.getSaleId(),
+                    sale.getSaleCode(),
+                    sale.getCustomerName() == null || sale.getCustomerName().isEmpty() ? "No entry provided"
+                            : sale.getCustomerName(),
+                    payment, revenue,
+                    revenue.add(vatPrice), vatPrice, discount, sale.getTotalProductsSold(), sale.getTotalSold() });
+
+            lastSaleId.accumulateAndGet(sale.getSaleId(), Math::max);
         }
 
         public class TransactionsModel extends DefaultTableModel {
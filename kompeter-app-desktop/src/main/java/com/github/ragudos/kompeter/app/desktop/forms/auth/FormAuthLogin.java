@@ -26,8 +26,7 @@ import javax.swing.SwingUtilities;
 import com.formdev.flatlaf.FlatClientProperties;
 import com.github.ragudos.kompeter.app.desktop.system.Form;
 import com.github.ragudos.kompeter.app.desktop.system.FormManager;
-import com.github.ragudos.kompeter.auth.Authentication;
-import com.github.ragudos.kompeter.auth.Authentication.AuthenticationException;
+import com.github.ragudos.kompeter.auth.AuthenticationExecutor;
 import com.github.ragudos.kompeter.utilities.HtmlUtils;
 import com.github.ragudos.kompeter.utilities.validator.EmailValidator;
 import com.github.ragudos.kompeter.utilities.validator.PasswordValidator;
@@ -207,25 +206,29 @@ public class FormAuthLogin extends Form {
                 return;
             }
 
-            try {
-                isBusy.set(true);
+            isBusy.set(true);
 
-                clearErrors();
+            clearErrors();
 
-                if (!validateEmail() | !validatePassword()) {
-                    return;
-                }
-
-                Authentication.signIn(emailTextField.getText(), passwordTextField.getPassword());
-
-                SwingUtilities.invokeLater(() -> {
-                    FormManager.login();
-                });
-            } catch (final AuthenticationException err) {
-                JOptionPane.showMessageDialog(owner, err.getMessage(), "Sign In Failure :(", JOptionPane.ERROR_MESSAGE);
-            } finally {
+            if (!validateEmail() | !validatePassword()) {
                 isBusy.set(false);
+
+                return;
             }
+
+            AuthenticationExecutor.signIn(emailTextField.getText(), passwordTextField.getPassword())
+                    .whenComplete((result, err) -> SwingUtilities.invokeLater(() -> {
+                        isBusy.set(false);
+
+                        if (err != null) {
+                            JOptionPane.showMessageDialog(owner, err.getMessage(), "Sign In Failure :(",
+                                    JOptionPane.ERROR_MESSAGE);
+
+                            return;
+                        }
+
+                        FormManager.login();
+                    }));
         }
     }
 
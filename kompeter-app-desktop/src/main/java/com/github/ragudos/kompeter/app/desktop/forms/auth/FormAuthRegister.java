@@ -30,8 +30,7 @@ import com.formdev.flatlaf.FlatClientProperties;
 import com.github.ragudos.kompeter.app.desktop.components.icons.SVGIconUIColor;
 import com.github.ragudos.kompeter.app.desktop.system.Form;
 import com.github.ragudos.kompeter.app.desktop.system.FormManager;
-import com.github.ragudos.kompeter.auth.Authentication;
-import com.github.ragudos.kompeter.auth.Authentication.AuthenticationException;
+import com.github.ragudos.kompeter.auth.AuthenticationExecutor;
 import com.github.ragudos.kompeter.utilities.HtmlUtils;
 import com.github.ragudos.kompeter.utilities.constants.StringLimits;
 import com.github.ragudos.kompeter.utilities.validator.EmailValidator;
@@ -508,21 +507,23 @@ public class FormAuthRegister extends Form {
 
             isBusy.set(true);
 
-            try {
-                Authentication.signUp(displayNameTextField.getText(), firstNameTextField.getText(),
-                        lastNameTextField.getText(), emailTextField.getText(), passwordTextField.getPassword());
+            AuthenticationExecutor
+                    .signUp(displayNameTextField.getText(), firstNameTextField.getText(),
+                            lastNameTextField.getText(), emailTextField.getText(), passwordTextField.getPassword())
+                    .whenComplete((result, err) -> SwingUtilities.invokeLater(() -> {
+                        isBusy.set(false);
 
-                JOptionPane.showMessageDialog(owner, "Your account has been registered. Please sign in.",
-                        "Registration Success :)", JOptionPane.INFORMATION_MESSAGE);
+                        if (err != null) {
+                            JOptionPane.showMessageDialog(owner, err.getMessage(), "Sign Up Failure :(",
+                                    JOptionPane.ERROR_MESSAGE);
 
-                SwingUtilities.invokeLater(() -> {
-                    FormManager.showAuthForm(new FormAuthLogin());
-                });
-            } catch (final AuthenticationException err) {
-                JOptionPane.showMessageDialog(owner, err.getMessage(), "Sign Up Failure :(", JOptionPane.ERROR_MESSAGE);
-            } finally {
-                isBusy.set(false);
-            }
+                            return;
+                        }
+
+                        JOptionPane.showMessageDialog(owner, "Your account has been registered. Please sign in.",
+                                "Registration Success :)", JOptionPane.INFORMATION_MESSAGE);
+                        FormManager.showAuthForm(new FormAuthLogin());
+                    }));
         }
 
         private void stepTwo() {
@@ -7,7 +7,11 @@
 */
 package com.github.ragudos.kompeter.app.desktop.menu;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import javax.swing.JButton;
 import javax.swing.JComponent;
@@ -29,7 +33,9 @@ import com.github.ragudos.kompeter.app.desktop.system.Form;
 import com.github.ragudos.kompeter.app.desktop.system.FormManager;
 import com.github.ragudos.kompeter.auth.Authentication;
 import com.github.ragudos.kompeter.auth.Authentication.AuthenticationException;
+import com.github.ragudos.kompeter.metrics.jfr.FlightRecording;
 import com.github.ragudos.kompeter.utilities.constants.Metadata;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 import raven.modal.drawer.DrawerPanel;
 import raven.modal.drawer.item.Item;
@@ -47,6 +53,10 @@ import raven.modal.drawer.simple.footer.SimpleFooterData;
 import raven.modal.drawer.simple.header.SimpleHeaderData;
 
 public class KompeterDrawerBuilder extends SimpleDrawerBuilder {
+    private static final int DIAGNOSTICS_START_RECORDING = 0;
+    private static final int DIAGNOSTICS_SAVE_RECORDING = 1;
+    private static final Logger LOGGER = KompeterLogger.getLogger(KompeterDrawerBuilder.class);
+
     private static KompeterDrawerBuilder instance;
 
     public static KompeterDrawerBuilder getInstance() {
@@ -69,6 +79,8 @@ public class KompeterDrawerBuilder extends SimpleDrawerBuilder {
                 new Item("Monitoring", "chart-no-axes-combined.svg")
                         .subMenu(new Item("Sales", "badge-dollar-sign.svg", FormMonitoringSales.class))
                         .subMenu(new Item("Inventory", "boxes.svg", FormMonitoringInventory.class)),
+                new Item("Diagnostics", "cpu.svg").subMenu(new Item("Start Recording", "circle-dot.svg"))
+                        .subMenu(new Item("Save Recording", "notepad-text.svg")),
                 new Item("Logout", "logout.svg") };
 
         menuOption.setMenuStyle(new MenuStyle() {
@@ -95,7 +107,17 @@ public class KompeterDrawerBuilder extends SimpleDrawerBuilder {
 
                 final int i = index[0];
 
-                if (i == 4) {
+                if (i == KompeterMenuValidation.TAB_DIAGNOSTICS) {
+                    action.consume();
+
+                    if (index.length > 1 && KompeterMenuValidation.validate(index)) {
+                        recordDiagnostics(index[1]);
+                    }
+
+                    return;
+                }
+
+                if (i == KompeterMenuValidation.TAB_LOGOUT) {
                     action.consume();
 
                     final Optional<Form> currentForm = FormManager.FORMS.current();
@@ -149,6 +171,53 @@ public class KompeterDrawerBuilder extends SimpleDrawerBuilder {
         return menuOption;
     }
 
+    /**
+     * Starts the {@link FlightRecording}, or saves what it recorded so far, off
+     * the EDT since the first recording takes a moment to set up.
+     */
+    private static void recordDiagnostics(final int action) {
+        final Thread recorder = new Thread(() -> {
+            final FlightRecording recording = FlightRecording.getInstance();
+            final String message;
+            int messageType = JOptionPane.INFORMATION_MESSAGE;
+
+            try {
+                if (action == DIAGNOSTICS_START_RECORDING) {
+                    message = recording.isRecording() ? "Already recording." : startRecording(recording);
+                } else if (action == DIAGNOSTICS_SAVE_RECORDING && recording.isRecording()) {
+                    final Path file = recording.dump();
+
+                    message = "Saved the recording to:\n\n" + file
+                            + "\n\nOpen it in JDK Mission Control, or send it to the developers.";
+                } else {
+                    message = "Nothing is being recorded. Start a recording first.";
+                    messageType = JOptionPane.WARNING_MESSAGE;
+                }
+            } catch (IOException | RuntimeException err) {
+                LOGGER.log(Level.SEVERE, "Flight recording failed", err);
+                SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(KompeterDesktopApp.getRootFrame(),
+                        err.getMessage(), "Recording Failure :(", JOptionPane.ERROR_MESSAGE));
+
+                return;
+            }
+
+            final int type = messageType;
+
+            SwingUtilities.invokeLater(() -> JOptionPane.showMessageDialog(KompeterDesktopApp.getRootFrame(),
+                    message, "Diagnostics", type));
+        }, "kompeter-flight-recording");
+
+        recorder.setDaemon(true);
+        recorder.start();
+    }
+
+    private static String startRecording(final FlightRecording recording) throws IOException {
+        recording.start();
+
+        return "Recording started. The last " + Integer.getInteger(FlightRecording.MAX_AGE_PROPERTY,
+                FlightRecording.DEFAULT_MAX_AGE_MINUTES) + " minutes are kept until saved.";
+    }
+
     private static String getDrawerBackgroundStyle() {
         return "" + "[light]background:tint($Panel.background,10%);" + "[dark]background:tint($Panel.background,5%);";
     }
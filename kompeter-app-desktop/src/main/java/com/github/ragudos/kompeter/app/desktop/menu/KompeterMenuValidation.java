@@ -7,44 +7,36 @@
 */
 package com.github.ragudos.kompeter.app.desktop.menu;
 
+import com.github.ragudos.kompeter.auth.Permission;
+import com.github.ragudos.kompeter.auth.Session;
 import com.github.ragudos.kompeter.auth.SessionManager;
-import com.github.ragudos.kompeter.database.dto.user.UserMetadataDto;
 
 import raven.modal.drawer.menu.MenuValidation;
 
 public class KompeterMenuValidation extends MenuValidation {
-    private static final int TAB_PROFILE = 0;
-    private static final int TAB_LOGOUT = 4;
-    private static final int TAB_POS = 1;
-    private static final int TAB_INVENTORY = 2;
-    private static final int TAB_MONITORING = 3;
+    static final int TAB_PROFILE = 0;
+    static final int TAB_POS = 1;
+    static final int TAB_INVENTORY = 2;
+    static final int TAB_MONITORING = 3;
+    static final int TAB_DIAGNOSTICS = 4;
+    static final int TAB_LOGOUT = 5;
 
     public static boolean validate(final int[] index) {
-        if (SessionManager.getInstance().session() == null) {
-            return false;
-        }
-
-        final UserMetadataDto user = SessionManager.getInstance().session().user();
-
-        if (user.isAdmin()) {
-            return true;
-        }
-
-        final boolean allAllowed = index[0] == TAB_PROFILE || index[0] == TAB_LOGOUT;
+        final Session session = SessionManager.getInstance().session();
 
-        if (user.isCashier()) {
-            return allAllowed || index[0] == TAB_POS;
-        }
-
-        if (user.isInventoryClerk()) {
-            return allAllowed || index[0] == TAB_INVENTORY;
-        }
-
-        if (user.isAuditor()) {
-            return allAllowed || index[0] == TAB_MONITORING;
+        if (session == null) {
+            return false;
         }
 
-        return allAllowed;
+        return switch (index[0]) {
+            case TAB_PROFILE, TAB_LOGOUT -> true;
+            case TAB_POS -> session.has(Permission.POINT_OF_SALE);
+            case TAB_INVENTORY -> session.has(Permission.INVENTORY);
+            // Recordings hold the JVM arguments, system properties, and
+            // environment, so only admins and auditors may make them.
+            case TAB_MONITORING, TAB_DIAGNOSTICS -> session.has(Permission.MONITORING);
+            default -> false;
+        };
     }
 
     @Override
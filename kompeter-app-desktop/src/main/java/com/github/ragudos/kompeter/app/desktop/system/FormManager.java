@@ -7,6 +7,9 @@
 */
 package com.github.ragudos.kompeter.app.desktop.system;
 
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
 import javax.swing.JFrame;
 import javax.swing.SwingUtilities;
 
@@ -15,13 +18,22 @@ import com.github.ragudos.kompeter.app.desktop.forms.auth.FormAuthWelcome;
 import com.github.ragudos.kompeter.app.desktop.menu.KompeterDrawerBuilder;
 import com.github.ragudos.kompeter.app.desktop.utilities.UndoRedo;
 import com.github.ragudos.kompeter.app.desktop.utilities.UndoRedo.RecentAction;
+import com.github.ragudos.kompeter.auth.Session;
 import com.github.ragudos.kompeter.auth.SessionManager;
+import com.github.ragudos.kompeter.auth.SessionService;
+import com.github.ragudos.kompeter.inventory.Catalog;
+import com.github.ragudos.kompeter.inventory.CatalogWatcher;
+import com.github.ragudos.kompeter.inventory.InventoryException;
+import com.github.ragudos.kompeter.inventory.Suggestions;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 import raven.modal.Drawer;
 
 public class FormManager {
     public static final UndoRedo<Form> AUTH_FORMS = new UndoRedo<>();
     public static final UndoRedo<Form> FORMS = new UndoRedo<>();
+
+    private static final Logger LOGGER = KompeterLogger.getLogger(FormManager.class);
     private static JFrame frame;
     private static MainAuthForm mainAuthForm;
     private static MainForm mainForm;
@@ -52,6 +64,19 @@ public class FormManager {
 
         AUTH_FORMS.clear();
 
+        final Thread catalogLoader = new Thread(() -> {
+            try {
+                CatalogWatcher.getInstance().start();
+                Catalog.getInstance().load();
+                Suggestions.getInstance().loadSales();
+            } catch (final InventoryException err) {
+                LOGGER.log(Level.WARNING, "Browsing the inventory will read from the database instead", err);
+            }
+        }, "kompeter-catalog-loader");
+
+        catalogLoader.setDaemon(true);
+        catalogLoader.start();
+
         frame.repaint();
         frame.revalidate();
     }
@@ -60,6 +85,7 @@ public class FormManager {
         Drawer.setVisible(false);
 
         MainForm.getMemoryBar().uninstallMemoryBar();
+        MainForm.getQueryStatsBar().uninstallQueryStatsBar();
         frame.getContentPane().removeAll();
         frame.getContentPane().add(getMainAuthForm());
 
@@ -68,6 +94,9 @@ public class FormManager {
 
         FORMS.clear();
         AllForms.clear();
+        CatalogWatcher.getInstance().stop();
+        Catalog.getInstance().unload();
+        Suggestions.getInstance().clear();
 
         frame.repaint();
         frame.revalidate();
@@ -102,6 +131,12 @@ public class FormManager {
     }
 
     public static void showForm(final Form form) {
+        final Session session = SessionManager.getInstance().session();
+
+        if (session != null) {
+            SessionService.getInstance().touch(session);
+        }
+
         if (FORMS.recentAction() == RecentAction.REDO || FORMS.recentAction() == RecentAction.UNDO) {
             if (FORMS.recentAction() == RecentAction.REDO) {
                 FORMS.redo();
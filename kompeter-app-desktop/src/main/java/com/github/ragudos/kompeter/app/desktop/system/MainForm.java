@@ -20,6 +20,7 @@ import javax.swing.SwingUtilities;
 import com.formdev.flatlaf.FlatClientProperties;
 import com.formdev.flatlaf.extras.FlatSVGIcon;
 import com.github.ragudos.kompeter.app.desktop.components.MemoryBar;
+import com.github.ragudos.kompeter.app.desktop.components.QueryStatsBar;
 import com.github.ragudos.kompeter.app.desktop.components.RefreshLine;
 import com.github.ragudos.kompeter.app.desktop.components.icons.SVGIconUIColor;
 import com.github.ragudos.kompeter.utilities.constants.Metadata;
@@ -30,6 +31,7 @@ import raven.modal.Drawer;
 
 public class MainForm extends JPanel {
     private static MemoryBar memoryBar;
+    private static QueryStatsBar queryStatsBar;
 
     public static MemoryBar getMemoryBar() {
         if (memoryBar == null) {
@@ -39,6 +41,14 @@ public class MainForm extends JPanel {
         return memoryBar;
     }
 
+    public static QueryStatsBar getQueryStatsBar() {
+        if (queryStatsBar == null) {
+            queryStatsBar = new QueryStatsBar();
+        }
+
+        return queryStatsBar;
+    }
+
     private JButton buttonRedo;
 
     private JButton buttonRefresh;
@@ -99,6 +109,9 @@ public class MainForm extends JPanel {
 
         panel.add(new JSeparator(JSeparator.VERTICAL));
 
+        getQueryStatsBar().installQueryStatsBar();
+        panel.add(getQueryStatsBar());
+
         getMemoryBar().installMemoryBar();
         panel.add(getMemoryBar());
 
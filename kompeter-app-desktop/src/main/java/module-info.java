@@ -7,6 +7,7 @@ module kompeter.app.desktop {
     requires kompeter.utilities;
     requires kompeter.cryptography;
     requires kompeter.inventory;
+    requires kompeter.metrics;
     requires kompeter.monitoring;
     requires kompeter.pointofsale;
     requires com.formdev.flatlaf.extras;
@@ -58,7 +58,8 @@ public final class Authentication {
             final AccountPassword accountPassword = accountDao.getAccountPassword(conn, email)
                     .orElseThrow(() -> new AuthenticationException(AuthenticationErrors.INVALID_CREDENTIALS));
             final HashedStringWithSalt hashedPassword = Hasher
-                    .hash(password, Salt.fromBase64(accountPassword.passwordSalt()))
+                    .hash(password, Salt.fromBase64(accountPassword.passwordSalt()),
+                            accountPassword.passwordIterations())
                     .orElseThrow(AuthenticationException::new);
             final byte[] accountPasswordBytes = Base64.getDecoder().decode(accountPassword.passwordHash());
 
@@ -68,9 +69,16 @@ public final class Authentication {
             }
 
             hashedPassword.clearHashedStringBytes();
-            Arrays.fill(password, '\0');
             Arrays.fill(accountPasswordBytes, (byte) 0);
 
+            // The password is only known now, so this is the one chance to bring an old hash up
+            // to the current work factor. Hash before the transaction so it does not hold the lock.
+            final HashedStringWithSalt rehashedPassword = Hasher.needsRehash(accountPassword.passwordIterations())
+                    ? Hasher.hash(password).orElse(null)
+                    : null;
+
+            Arrays.fill(password, '\0');
+
             /* ===== Sign in ===== */
 
             final UserDto userDto = userDao.getUserByEmail(conn, email).orElseThrow(AuthenticationException::new);
@@ -78,6 +86,15 @@ public final class Authentication {
             conn.setAutoCommit(false);
 
             try {
+                if (rehashedPassword != null) {
+                    accountDao.updatePasswordHash(conn, email, rehashedPassword.hashedStringToBase64(),
+                            rehashedPassword.salt().toBase64(), rehashedPassword.iterations());
+                    rehashedPassword.clearHashedStringBytes();
+
+                    LOGGER.info(String.format("Rehashed password of %s from %d to %d iterations", email,
+                            accountPassword.passwordIterations(), rehashedPassword.iterations()));
+                }
+
                 final int _sessionId = sessionDao.createSession(conn, userDto._userId(), UUID.randomUUID().toString());
 
                 if (_sessionId == -1) {
@@ -91,12 +108,17 @@ public final class Authentication {
                         userDto.displayName(), userDto.firstName(), userDto.lastName(),
                         userRoleDao.getRolesOfUserById(conn, userDto._userId()), email);
 
+                final Session session = new Session(userMetadataDto,
+                        userRoleDao.getRolesVersion(conn, userDto._userId()), sessionDto.sessionToken(),
+                        sessionDto.expiresAt(), sessionDto.ipAddress());
+
                 ApplicationConfig.getInstance().getConfig().setProperty(PropertyKey.Session.UID,
                         sessionDto.sessionToken());
-                SessionManager.getInstance().setSession(new Session(userMetadataDto, sessionDto.sessionToken(),
-                        sessionDto.expiresAt(), sessionDto.ipAddress()));
+                SessionManager.getInstance().setSession(session);
 
                 conn.commit();
+
+                SessionService.getInstance().put(session);
             } catch (SQLException | IOException | AuthenticationException err) {
                 try {
                     conn.rollback();
@@ -126,29 +148,15 @@ public final class Authentication {
         final AbstractSqlFactoryDao factory = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
 
         try (Connection conn = factory.getConnection();) {
-            final SessionDao sessionDao = factory.getSessionDao();
-            final Optional<SessionDto> maybeessionDto = sessionDao.getSessionByToken(conn, sessionToken);
+            final Optional<Session> session = SessionService.getInstance().find(conn, sessionToken);
 
-            if (maybeessionDto.isEmpty()) {
+            if (session.isEmpty()) {
                 ApplicationConfig.getInstance().getConfig().remove(PropertyKey.Session.UID);
 
                 return;
             }
 
-            final SessionDto sessionDto = maybeessionDto.get();
-
-            if (Session.isExpired(sessionDto.expiresAt())) {
-                sessionDao.removeSessionByToken(conn, sessionToken);
-                ApplicationConfig.getInstance().getConfig().remove(PropertyKey.Session.UID);
-
-                return;
-            }
-
-            final UserMetadataDto userMetadataDto = factory.getUserMetadataDao()
-                    .getUserMetadata(conn, sessionDto._userId()).orElseThrow(AuthenticationException::new);
-
-            SessionManager.getInstance().setSession(
-                    new Session(userMetadataDto, sessionToken, sessionDto.expiresAt(), sessionDto.ipAddress()));
+            SessionManager.getInstance().setSession(session.get());
         } catch (SQLException | IOException err) {
             LOGGER.log(Level.SEVERE, "Cannot sign in from stored session token", err);
             throw new AuthenticationException(AuthenticationErrors.SOMETHING_WENT_WRONG);
@@ -162,10 +170,8 @@ public final class Authentication {
         try (Connection conn = factory.getConnection();) {
             conn.setAutoCommit(false);
 
-            final SessionDao sessionDao = factory.getSessionDao();
-
             try {
-                sessionDao.removeSessionByToken(conn, sessionToken);
+                SessionService.getInstance().remove(conn, sessionToken);
                 ApplicationConfig.getInstance().getConfig().remove(PropertyKey.Session.UID);
                 SessionManager.getInstance().removeSession();
 
@@ -213,7 +219,8 @@ public final class Authentication {
                 }
 
                 final int _accountId = accountDao.createAccount(conn, _userId, email,
-                        hashedPassword.hashedStringToBase64(), hashedPassword.salt().toBase64());
+                        hashedPassword.hashedStringToBase64(), hashedPassword.salt().toBase64(),
+                        hashedPassword.iterations());
 
                 hashedPassword.clearHashedStringBytes();
 
@@ -240,7 +247,8 @@ public final class Authentication {
 
     public static enum AuthenticationErrors {
         ACCOUNT_EXISTS("Account already exists"), INVALID_CREDENTIALS("Invalid credentials"), SIGN_UP_MISMATCH_PASSWORD(
-                "Passwords do not match"), SOMETHING_WENT_WRONG("Something went wrong");
+                "Passwords do not match"), SOMETHING_WENT_WRONG("Something went wrong"), TOO_MANY_ATTEMPTS(
+                        "Too many attempts at once, please try again");
 
         public String msg;
 
@@ -259,6 +267,7 @@ public final class Authentication {
 
         public AuthenticationException(final AuthenticationErrors error) {
             super(error.msg);
+            errorType = error;
         }
     }
 }
@@ -0,0 +1,127 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.auth;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.auth.Authentication.AuthenticationErrors;
+import com.github.ragudos.kompeter.auth.Authentication.AuthenticationException;
+import com.github.ragudos.kompeter.cryptography.Hasher;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * Runs {@link Authentication} off the calling thread, which for the desktop app
+ * is the event dispatch thread.
+ *
+ * <p>
+ * Hashing a password is slow on purpose, so signing in or up straight from a
+ * button would freeze the UI for as long as a hash takes. At most
+ * {@code kompeter.auth.threads} (default 2, fewer on a single core) hashes run
+ * at once and at most {@code kompeter.auth.queueSize} (default 8) wait. Anything
+ * past that fails right away with
+ * {@link AuthenticationErrors#TOO_MANY_ATTEMPTS} instead of piling up work.
+ *
+ * <p>
+ * {@link #calibrate()} should be called once at startup. It sets
+ * {@link Hasher#workFactor()} so that a hash takes about
+ * {@code kompeter.auth.hashTargetMs} (default 250) milliseconds here.
+ */
+public final class AuthenticationExecutor {
+    private static final Logger LOGGER = KompeterLogger.getLogger(AuthenticationExecutor.class);
+    private static final Duration HASH_TARGET = Duration
+            .ofMillis(Integer.getInteger("kompeter.auth.hashTargetMs", 250));
+    private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+    private static final ThreadPoolExecutor EXECUTOR = createExecutor();
+
+    /**
+     * Calibrates {@link Hasher#workFactor()} in the background.
+     *
+     * @return the new work factor.
+     */
+    public static CompletableFuture<Integer> calibrate() {
+        final CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        try {
+            EXECUTOR.execute(() -> future.complete(Hasher.calibrate(HASH_TARGET)));
+        } catch (final RejectedExecutionException err) {
+            future.completeExceptionally(err);
+        }
+
+        return future;
+    }
+
+    /** @see Authentication#signIn(String, char[]) */
+    public static CompletableFuture<Void> signIn(final @NotNull String email, final @NotNull char[] password) {
+        return submit(() -> Authentication.signIn(email, password));
+    }
+
+    /** @see Authentication#signUp(String, String, String, String, char[]) */
+    public static CompletableFuture<Void> signUp(final @NotNull String displayName, final @NotNull String firstName,
+            final @NotNull String lastName, final @NotNull String email, final @NotNull char[] password) {
+        return submit(() -> Authentication.signUp(displayName, firstName, lastName, email, password));
+    }
+
+    private static ThreadPoolExecutor createExecutor() {
+        final int threads = Integer.getInteger("kompeter.auth.threads",
+                Math.min(2, Runtime.getRuntime().availableProcessors()));
+        final int queueSize = Integer.getInteger("kompeter.auth.queueSize", 8);
+
+        return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), (r) -> {
+                    final Thread thread = new Thread(r, "kompeter-auth-" + THREAD_COUNT.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * @return a future completed with the {@link AuthenticationException} the
+     *         task threw, if any.
+     */
+    private static CompletableFuture<Void> submit(final AuthenticationTask task) {
+        final CompletableFuture<Void> future = new CompletableFuture<>();
+
+        try {
+            EXECUTOR.execute(() -> {
+                try {
+                    task.run();
+                    future.complete(null);
+                } catch (final AuthenticationException err) {
+                    future.completeExceptionally(err);
+                } catch (final RuntimeException err) {
+                    LOGGER.log(Level.SEVERE, "Authentication task failed", err);
+                    future.completeExceptionally(new AuthenticationException());
+                }
+            });
+        } catch (final RejectedExecutionException err) {
+            LOGGER.warning("Rejected authentication task, " + EXECUTOR.getQueue().size() + " already waiting");
+            future.completeExceptionally(new AuthenticationException(AuthenticationErrors.TOO_MANY_ATTEMPTS));
+        }
+
+        return future;
+    }
+
+    private AuthenticationExecutor() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    @FunctionalInterface
+    private static interface AuthenticationTask {
+        void run() throws AuthenticationException;
+    }
+}
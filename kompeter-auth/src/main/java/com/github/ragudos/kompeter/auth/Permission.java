@@ -0,0 +1,50 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.auth;
+
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * What a signed in user may do.
+ *
+ * <p>
+ * The permissions of a {@link Session} are resolved from the role names of its
+ * user once, when the session is made, so checking one is a bit test instead
+ * of a search through role strings. A user with several roles gets every
+ * permission any of them grants.
+ */
+public enum Permission {
+    INVENTORY, MONITORING, POINT_OF_SALE;
+
+    private static final Map<String, Set<Permission>> BY_ROLE = Map.of("admin", EnumSet.allOf(Permission.class),
+            "cashier", EnumSet.of(POINT_OF_SALE), "inventory clerk", EnumSet.of(INVENTORY), "auditor",
+            EnumSet.of(MONITORING));
+
+    /**
+     * @return the permissions the roles grant together. Unknown roles grant
+     *         nothing.
+     */
+    public static @NotNull Set<Permission> ofRoles(final @NotNull String[] roles) {
+        final EnumSet<Permission> permissions = EnumSet.noneOf(Permission.class);
+
+        for (final String role : roles) {
+            final Set<Permission> granted = BY_ROLE.get(role);
+
+            if (granted != null) {
+                permissions.addAll(granted);
+            }
+        }
+
+        return Collections.unmodifiableSet(permissions);
+    }
+}
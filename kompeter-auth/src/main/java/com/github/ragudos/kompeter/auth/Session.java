@@ -10,6 +10,7 @@ package com.github.ragudos.kompeter.auth;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.Set;
 
 import org.jetbrains.annotations.NotNull;
 
@@ -20,15 +21,23 @@ public class Session {
         return ts.before(Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC)));
     }
 
-    private final @NotNull Timestamp expiresAt;
+    private volatile @NotNull Timestamp expiresAt;
     private final String ipAddress;
+    private volatile @NotNull Set<Permission> permissions;
+    private volatile int rolesVersion;
     private final @NotNull String sessionToken;
 
-    private @NotNull UserMetadataDto user;
+    private volatile @NotNull UserMetadataDto user;
 
-    public Session(@NotNull UserMetadataDto user, @NotNull String sessionToken, @NotNull Timestamp expiresAt,
-            String ipAddress) {
+    /**
+     * @param rolesVersion the version of the roles of the user when
+     *                     {@code user} was read.
+     */
+    public Session(@NotNull UserMetadataDto user, int rolesVersion, @NotNull String sessionToken,
+            @NotNull Timestamp expiresAt, String ipAddress) {
         this.user = user;
+        this.permissions = Permission.ofRoles(user.roles());
+        this.rolesVersion = rolesVersion;
         this.sessionToken = sessionToken;
         this.expiresAt = expiresAt;
         this.ipAddress = ipAddress;
@@ -42,10 +51,34 @@ public class Session {
         return ipAddress;
     }
 
+    public boolean has(final @NotNull Permission permission) {
+        return permissions.contains(permission);
+    }
+
     public boolean isExpired() {
         return isExpired(expiresAt);
     }
 
+    public @NotNull Set<Permission> permissions() {
+        return permissions;
+    }
+
+    /** @see SessionService#sweep() */
+    void refresh(final @NotNull UserMetadataDto user, final int rolesVersion) {
+        this.permissions = Permission.ofRoles(user.roles());
+        this.user = user;
+        this.rolesVersion = rolesVersion;
+    }
+
+    /** @see SessionService#touch(Session) */
+    void renew(final @NotNull Timestamp expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+
+    public int rolesVersion() {
+        return rolesVersion;
+    }
+
     public @NotNull String sessionToken() {
         return sessionToken;
     }
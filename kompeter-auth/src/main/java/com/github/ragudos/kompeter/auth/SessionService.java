@@ -0,0 +1,309 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.auth;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
+import com.github.ragudos.kompeter.database.dao.user.SessionDao;
+import com.github.ragudos.kompeter.database.dao.user.UserRoleDao;
+import com.github.ragudos.kompeter.database.dto.user.SessionDto;
+import com.github.ragudos.kompeter.database.dto.user.UserMetadataDto;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * Keeps the sessions in use in memory by token, backed by the
+ * {@code sessions} table.
+ *
+ * <p>
+ * Sessions slide: {@link #touch(Session)} pushes the expiry of a session in use
+ * back to {@link #SESSION_TTL} from now. Touching is cheap and can be done on
+ * every action. The new expiry is only recorded once at least
+ * {@link #RENEW_AFTER} of it has passed since the last renewal, and recorded
+ * renewals are written together by the sweeper rather than one at a time.
+ *
+ * <p>
+ * Every {@code kompeter.auth.sessionSweepSeconds} (default 60) seconds a
+ * daemon thread writes the pending renewals, then deletes expired sessions
+ * from the table in batches of {@link #SWEEP_BATCH_SIZE} and drops them from
+ * memory. It then refreshes the permissions, see
+ * {@link #refreshPermissions()}, of sessions whose user had a role change.
+ * Renewals still pending when the app exits are lost, which at worst makes a
+ * session expire {@link #RENEW_AFTER} early.
+ */
+public final class SessionService {
+    /** Matches the default of {@code sessions.expires_at}. */
+    public static final Duration SESSION_TTL = Duration.ofHours(1);
+    public static final Duration RENEW_AFTER = Duration.ofMinutes(5);
+    public static final int SWEEP_BATCH_SIZE = 256;
+
+    private static final Logger LOGGER = KompeterLogger.getLogger(SessionService.class);
+    private static final long SWEEP_INTERVAL_SECONDS = Long.getLong("kompeter.auth.sessionSweepSeconds", 60);
+    private static SessionService instance;
+
+    public static synchronized SessionService getInstance() {
+        if (instance == null) {
+            instance = new SessionService(AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE));
+            instance.start();
+        }
+
+        return instance;
+    }
+
+    /**
+     * The expiry a session renewed now would get, in the same UTC wall clock
+     * {@link Session#isExpired(Timestamp)} compares against.
+     */
+    private static Timestamp expiryFromNow() {
+        return Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC).plus(SESSION_TTL));
+    }
+
+    private final AbstractSqlFactoryDao factory;
+    private final Map<String, Session> pendingRenewals;
+    private final Map<String, Session> sessions;
+    private final ScheduledExecutorService sweeper;
+
+    private SessionService(final AbstractSqlFactoryDao factory) {
+        this.factory = factory;
+        pendingRenewals = new ConcurrentHashMap<>();
+        sessions = new ConcurrentHashMap<>();
+        sweeper = Executors.newSingleThreadScheduledExecutor((r) -> {
+            final Thread thread = new Thread(r, "kompeter-session-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * @return the session with the token if it exists and has not expired. An
+     *         expired session found along the way is deleted.
+     */
+    public Optional<Session> find(final @NotNull Connection conn, final @NotNull String sessionToken)
+            throws IOException, SQLException {
+        final Session cached = sessions.get(sessionToken);
+
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return Optional.of(cached);
+            }
+
+            evict(sessionToken);
+        }
+
+        final SessionDao sessionDao = factory.getSessionDao();
+        final Optional<SessionDto> maybeSessionDto = sessionDao.getSessionByToken(conn, sessionToken);
+
+        if (maybeSessionDto.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final SessionDto sessionDto = maybeSessionDto.get();
+
+        if (Session.isExpired(sessionDto.expiresAt())) {
+            sessionDao.removeSessionByToken(conn, sessionToken);
+
+            return Optional.empty();
+        }
+
+        final Optional<UserMetadataDto> userMetadataDto = factory.getUserMetadataDao().getUserMetadata(conn,
+                sessionDto._userId());
+
+        if (userMetadataDto.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final Session session = new Session(userMetadataDto.get(),
+                factory.getUserRoleDao().getRolesVersion(conn, sessionDto._userId()), sessionToken,
+                sessionDto.expiresAt(), sessionDto.ipAddress());
+
+        sessions.put(sessionToken, session);
+
+        return Optional.of(session);
+    }
+
+    /** Writes the pending renewals now instead of waiting for the sweeper. */
+    public void flushRenewals() {
+        if (pendingRenewals.isEmpty()) {
+            return;
+        }
+
+        try (Connection conn = factory.getConnection()) {
+            final SessionDao sessionDao = factory.getSessionDao();
+            final Iterator<Map.Entry<String, Session>> it = pendingRenewals.entrySet().iterator();
+
+            conn.setAutoCommit(false);
+
+            try {
+                int renewed = 0;
+
+                while (it.hasNext()) {
+                    final Map.Entry<String, Session> entry = it.next();
+
+                    it.remove();
+
+                    if (sessionDao.renewSession(conn, entry.getKey(), SESSION_TTL.toSeconds())) {
+                        ++renewed;
+                    } else {
+                        // Signed out or swept somewhere else while it was in use here.
+                        sessions.remove(entry.getKey(), entry.getValue());
+                    }
+                }
+
+                conn.commit();
+
+                LOGGER.fine("Renewed " + renewed + " sessions");
+            } catch (SQLException | IOException err) {
+                try {
+                    conn.rollback();
+                } catch (final SQLException err2) {
+                    err.addSuppressed(err2);
+                }
+
+                throw err;
+            }
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.WARNING, "Cannot renew sessions, the renewals are lost", err);
+        }
+    }
+
+    /**
+     * Re-reads the user of every cached session whose roles changed since it
+     * was made, which also resolves its {@link Permission}s again.
+     *
+     * @return the number of sessions refreshed.
+     */
+    public int refreshPermissions() {
+        if (sessions.isEmpty()) {
+            return 0;
+        }
+
+        int refreshed = 0;
+
+        try (Connection conn = factory.getConnection()) {
+            final UserRoleDao userRoleDao = factory.getUserRoleDao();
+
+            for (final Session session : sessions.values()) {
+                final int userId = session.user()._userId();
+                final int rolesVersion = userRoleDao.getRolesVersion(conn, userId);
+
+                if (rolesVersion == session.rolesVersion()) {
+                    continue;
+                }
+
+                final Optional<UserMetadataDto> user = factory.getUserMetadataDao().getUserMetadata(conn, userId);
+
+                if (user.isPresent()) {
+                    session.refresh(user.get(), rolesVersion);
+                    ++refreshed;
+
+                    LOGGER.info("Roles of user " + userId + " changed, now " + session.permissions());
+                }
+            }
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.WARNING, "Cannot refresh permissions of sessions", err);
+        }
+
+        return refreshed;
+    }
+
+    /** Caches a session that was just created. */
+    public void put(final @NotNull Session session) {
+        sessions.put(session.sessionToken(), session);
+    }
+
+    /** Deletes a session, e.g. on sign out. */
+    public void remove(final @NotNull Connection conn, final @NotNull String sessionToken)
+            throws IOException, SQLException {
+        factory.getSessionDao().removeSessionByToken(conn, sessionToken);
+        evict(sessionToken);
+    }
+
+    /**
+     * Deletes expired sessions from the table and from memory, after writing
+     * the pending renewals so none of them is deleted.
+     *
+     * @return the number of sessions deleted from the table.
+     */
+    public int sweep() {
+        flushRenewals();
+
+        sessions.entrySet().removeIf((entry) -> entry.getValue().isExpired());
+
+        int deleted = 0;
+
+        try (Connection conn = factory.getConnection()) {
+            final SessionDao sessionDao = factory.getSessionDao();
+            int batch;
+
+            do {
+                batch = sessionDao.deleteExpiredSessions(conn, SWEEP_BATCH_SIZE);
+                deleted += batch;
+            } while (batch == SWEEP_BATCH_SIZE);
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.WARNING, "Cannot sweep expired sessions", err);
+        }
+
+        if (deleted > 0) {
+            LOGGER.info("Swept " + deleted + " expired sessions");
+        }
+
+        return deleted;
+    }
+
+    /**
+     * Slides the expiry of a session in use. Does nothing to an expired
+     * session.
+     */
+    public void touch(final @NotNull Session session) {
+        if (session.isExpired()) {
+            return;
+        }
+
+        final Timestamp expiresAt = expiryFromNow();
+
+        if (expiresAt.getTime() - session.expiresAt().getTime() < RENEW_AFTER.toMillis()) {
+            return;
+        }
+
+        session.renew(expiresAt);
+        pendingRenewals.put(session.sessionToken(), session);
+    }
+
+    private void evict(final String sessionToken) {
+        sessions.remove(sessionToken);
+        pendingRenewals.remove(sessionToken);
+    }
+
+    private void start() {
+        sweeper.scheduleWithFixedDelay(() -> {
+            try {
+                sweep();
+                refreshPermissions();
+            } catch (final RuntimeException err) {
+                LOGGER.log(Level.SEVERE, "Session sweeper failed", err);
+            }
+        }, 0, SWEEP_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+}
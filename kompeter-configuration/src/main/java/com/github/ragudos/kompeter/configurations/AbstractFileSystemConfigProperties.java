@@ -11,12 +11,60 @@ import com.github.ragudos.kompeter.utilities.io.FileLoadLeniency;
 import com.github.ragudos.kompeter.utilities.io.PropertiesIO;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 
+/**
+ * Properties kept in a file in the config directory.
+ *
+ * <p>
+ * Changes are made in memory right away and written to the file later. The
+ * first change marks the config dirty and schedules a write
+ * {@code kompeter.config.flushDelayMs} (default 500) milliseconds later on a
+ * shared daemon thread, so a burst of changes is written once. Pending changes
+ * are also written when the JVM shuts down, or whenever {@link #flush()} is
+ * called.
+ *
+ * <p>
+ * Writes replace the file atomically, so a crash leaves either the old or the
+ * new file and never a truncated one. A write that fails is logged and tried
+ * again with the next change.
+ */
 public abstract class AbstractFileSystemConfigProperties extends AbstractFileSystemConfig {
+    public static final long FLUSH_DELAY_MS = Long.getLong("kompeter.config.flushDelayMs", 500);
+
+    private static final List<AbstractFileSystemConfigProperties> INSTANCES = new CopyOnWriteArrayList<>();
+    private static final ScheduledExecutorService WRITER = Executors.newSingleThreadScheduledExecutor((r) -> {
+        final Thread thread = new Thread(r, "kompeter-config-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (final AbstractFileSystemConfigProperties config : INSTANCES) {
+                config.flush();
+            }
+        }, "kompeter-config-shutdown"));
+    }
+
     protected final Properties properties = new Properties();
 
+    /** Keys changed in memory but not written yet. Guarded by {@code this}. */
+    private final Set<String> pendingKeys = new HashSet<>();
+    /** Held for a whole write or reload so they happen one at a time and in order. */
+    private final Object fileLock = new Object();
+    private boolean flushScheduled;
+
     public AbstractFileSystemConfigProperties() {
         super();
         var path = getFullPath();
@@ -32,32 +80,65 @@ public abstract class AbstractFileSystemConfigProperties extends AbstractFileSys
         } catch (IllegalArgumentException e) {
             LOGGER.log(Level.WARNING, "getFileName() or getFilePath() returned null or empty string.", e);
         }
+
+        INSTANCES.add(this);
     }
 
-    public final synchronized Object[] bulkRemove(Object[] keys)
-            throws FileNotFoundException, IOException {
+    public final Object[] bulkRemove(Object[] keys) {
         var prevVals = new Object[keys.length];
 
-        for (var i = 0; i < keys.length; i++) {
-            prevVals[i] = properties.remove(keys[i]);
-        }
-
-        try {
-            PropertiesIO.savePropertiesInFileSystem(properties, getFullPath(), getHeaderComment());
-        } catch (Exception e) {
-            LOGGER.log(
-                    Level.SEVERE, "Failed to save properties after bulk remove. Reverting changes.", e);
-
+        synchronized (this) {
             for (var i = 0; i < keys.length; i++) {
-                properties.setProperty((String) keys[i], (String) prevVals[i]);
+                prevVals[i] = properties.remove(keys[i]);
+                pendingKeys.add(String.valueOf(keys[i]));
             }
 
-            throw e;
+            scheduleFlush();
         }
 
+        onChange();
+
         return prevVals;
     }
 
+    /**
+     * Writes the pending changes now.
+     *
+     * @return whether the file is up to date with memory.
+     */
+    public final boolean flush() {
+        synchronized (fileLock) {
+            final Properties copy = new Properties();
+            final Set<String> written;
+
+            synchronized (this) {
+                flushScheduled = false;
+
+                if (pendingKeys.isEmpty()) {
+                    return true;
+                }
+
+                copy.putAll(properties);
+                written = new HashSet<>(pendingKeys);
+                pendingKeys.clear();
+            }
+
+            try {
+                PropertiesIO.savePropertiesInFileSystemAtomically(copy, getFullPath(), getHeaderComment());
+
+                return true;
+            } catch (IOException | RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Failed to save properties, will try again with the next change.", e);
+
+                synchronized (this) {
+                    pendingKeys.addAll(written);
+                }
+
+                return false;
+            }
+        }
+    }
+
     @Override
     public final String getFileExtension() {
         return ".properties";
@@ -71,33 +152,83 @@ public abstract class AbstractFileSystemConfigProperties extends AbstractFileSys
         return properties.getProperty(key, defaultValue);
     }
 
-    public final synchronized Object remove(Object key) throws FileNotFoundException, IOException {
-        var prevVal = properties.remove(key);
+    /**
+     * Reads the file again, e.g. after it was edited outside of the app. Changes
+     * that were not written yet are kept over what is in the file.
+     */
+    public final void reload() throws FileNotFoundException, IOException {
+        synchronized (fileLock) {
+            final Properties loaded = new Properties();
+
+            PropertiesIO.loadPropertiesFromFileSystem(getFullPath(), loaded, FileLoadLeniency.ALLOW_MISSING);
+
+            synchronized (this) {
+                for (final String key : pendingKeys) {
+                    final String value = properties.getProperty(key);
+
+                    if (value == null) {
+                        loaded.remove(key);
+                    } else {
+                        loaded.setProperty(key, value);
+                    }
+                }
+
+                properties.clear();
+                properties.putAll(loaded);
+            }
+        }
 
-        try {
-            PropertiesIO.savePropertiesInFileSystem(properties, getFullPath(), getHeaderComment());
-        } catch (Exception e) {
-            LOGGER.log(Level.SEVERE, "Failed to save properties after remove. Reverting changes.", e);
-            properties.setProperty((String) key, (String) prevVal);
-            throw e;
+        onChange();
+    }
+
+    public final Object remove(Object key) {
+        final Object prevVal;
+
+        synchronized (this) {
+            prevVal = properties.remove(key);
+            pendingKeys.add(String.valueOf(key));
+            scheduleFlush();
         }
 
+        onChange();
+
         return prevVal;
     }
 
-    public final synchronized Object setProperty(String key, String value)
-            throws FileNotFoundException, IOException {
-        var prevVal = properties.setProperty(key, value);
+    public final Object setProperty(String key, String value) {
+        final Object prevVal;
 
-        try {
-            PropertiesIO.savePropertiesInFileSystem(properties, getFullPath(), getHeaderComment());
-        } catch (Exception e) {
-            LOGGER.log(
-                    Level.SEVERE, "Failed to save properties after set property. Reverting changes.", e);
-            properties.setProperty(key, (String) prevVal);
-            throw e;
+        synchronized (this) {
+            prevVal = properties.setProperty(key, value);
+            pendingKeys.add(key);
+            scheduleFlush();
         }
 
+        onChange();
+
         return prevVal;
     }
+
+    /** @return a copy of the properties at this moment. */
+    public final synchronized Map<String, String> toMap() {
+        final HashMap<String, String> map = new HashMap<>(properties.size() * 2);
+
+        for (final String key : properties.stringPropertyNames()) {
+            map.put(key, properties.getProperty(key));
+        }
+
+        return map;
+    }
+
+    /** Called after the properties changed, without holding any lock. Does nothing by default. */
+    protected void onChange() {
+    }
+
+    /** Must be called holding {@code this}. */
+    private void scheduleFlush() {
+        if (!flushScheduled) {
+            flushScheduled = true;
+            WRITER.schedule(this::flush, FLUSH_DELAY_MS, TimeUnit.MILLISECONDS);
+        }
+    }
 }
@@ -10,6 +10,8 @@ package com.github.ragudos.kompeter.configurations;
 import com.github.ragudos.kompeter.utilities.io.FileLoadLeniency;
 import com.github.ragudos.kompeter.utilities.io.PropertiesIO;
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 import java.util.logging.Level;
 
@@ -58,4 +60,17 @@ public abstract class AbstractResourceConfigProperties extends AbstractResourceC
     public final synchronized String getProperty(final String key, final String defaultValue) {
         return properties.getProperty(key, defaultValue);
     }
+
+    /** @return a copy of the properties, empty if they could not be loaded. */
+    public final synchronized Map<String, String> toMap() {
+        final HashMap<String, String> map = new HashMap<>();
+
+        if (properties != null) {
+            for (final String key : properties.stringPropertyNames()) {
+                map.put(key, properties.getProperty(key));
+            }
+        }
+
+        return map;
+    }
 }
@@ -7,12 +7,54 @@
 */
 package com.github.ragudos.kompeter.configurations;
 
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.github.ragudos.kompeter.utilities.constants.Metadata;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
+/**
+ * The configuration of the app: a properties file in
+ * {@link com.github.ragudos.kompeter.utilities.constants.Directories#CONFIG_DIRECTORY}
+ * over defaults bundled as a resource.
+ *
+ * <p>
+ * Reads go through an immutable {@link Snapshot} of both merged together, so
+ * they take no lock. The snapshot is replaced whenever the file config changes,
+ * whether through {@link #getConfig()} or because the file was edited outside of
+ * the app, which a daemon thread watches for. {@link ChangeListener}s are told
+ * which keys changed.
+ */
 public class ApplicationConfig {
+    /** Told about changes to the configuration, on the thread that made them. */
+    @FunctionalInterface
+    public static interface ChangeListener {
+        /**
+         * @param keys     the keys that were added, changed, or removed.
+         * @param snapshot the configuration after the change.
+         */
+        void configChanged(Set<String> keys, Snapshot snapshot);
+    }
+
     public class FileSystemApplicationConfig extends AbstractFileSystemConfigProperties {
         public FileSystemApplicationConfig() {
         }
@@ -21,6 +63,11 @@ public class ApplicationConfig {
         public String getFileName() {
             return ApplicationConfig.class.getSimpleName() + "-" + Metadata.APP_ENV;
         }
+
+        @Override
+        protected void onChange() {
+            refresh();
+        }
     }
 
     public class ReadonlyApplicationConfig extends AbstractResourceConfigProperties {
@@ -38,25 +85,112 @@ public class ApplicationConfig {
         }
     }
 
+    /**
+     * The configuration at one moment. Values parsed by the typed getters are
+     * kept, so each is parsed at most once per snapshot.
+     */
+    public static final class Snapshot {
+        private final Map<String, Object> parsed;
+        private final Map<String, String> values;
+
+        private Snapshot(final Map<String, String> values) {
+            this.parsed = new ConcurrentHashMap<>();
+            this.values = Collections.unmodifiableMap(values);
+        }
+
+        public Map<String, String> asMap() {
+            return values;
+        }
+
+        public boolean getBoolean(final String key, final boolean defaultValue) {
+            final Boolean value = parsed(key, Boolean.class, (raw) -> switch (raw.strip().toLowerCase()) {
+                case "true", "yes", "1" -> Boolean.TRUE;
+                case "false", "no", "0" -> Boolean.FALSE;
+                default -> null;
+            });
+
+            return value == null ? defaultValue : value;
+        }
+
+        public int getInt(final String key, final int defaultValue) {
+            final Integer value = parsed(key, Integer.class, (raw) -> {
+                try {
+                    return Integer.valueOf(raw.strip());
+                } catch (final NumberFormatException err) {
+                    return null;
+                }
+            });
+
+            return value == null ? defaultValue : value;
+        }
+
+        /**
+         * @return the comma separated values of the key, without surrounding
+         *         whitespace or empty values. Empty if the key is missing.
+         */
+        @SuppressWarnings("unchecked")
+        public List<String> getList(final String key) {
+            final List<String> value = parsed(key, List.class,
+                    (raw) -> Arrays.stream(raw.split(",")).map(String::strip).filter((s) -> !s.isEmpty()).toList());
+
+            return value == null ? List.of() : value;
+        }
+
+        /** @return the value of the key, or {@code ""} if it is missing. */
+        public String getProperty(final String key) {
+            return values.getOrDefault(key, "");
+        }
+
+        private <T> T parsed(final String key, final Class<T> type, final Function<String, T> parser) {
+            final Object cached = parsed.get(key);
+
+            if (type.isInstance(cached)) {
+                return type.cast(cached);
+            }
+
+            final String raw = values.get(key);
+            final T value = raw == null ? null : parser.apply(raw);
+
+            if (value != null) {
+                parsed.put(key, value);
+            }
+
+            return value;
+        }
+    }
+
     public static final Logger LOGGER = KompeterLogger.getLogger(ApplicationConfig.class);
+    private static final long RELOAD_DELAY_MS = 100;
 
     private static ApplicationConfig instance;
 
     public static synchronized ApplicationConfig getInstance() {
         if (instance == null) {
-            return new ApplicationConfig();
+            instance = new ApplicationConfig();
+            instance.watch();
         }
 
         return instance;
     }
 
     private final FileSystemApplicationConfig config;
-
     private final ReadonlyApplicationConfig defaultConfig;
+    private final List<ChangeListener> listeners;
+    private volatile Snapshot snapshot;
 
     private ApplicationConfig() {
-        config = new FileSystemApplicationConfig();
+        listeners = new CopyOnWriteArrayList<>();
         defaultConfig = new ReadonlyApplicationConfig();
+        config = new FileSystemApplicationConfig();
+        snapshot = merge();
+    }
+
+    public void addChangeListener(final ChangeListener listener) {
+        listeners.add(listener);
+    }
+
+    public boolean getBoolean(final String key, final boolean defaultValue) {
+        return snapshot.getBoolean(key, defaultValue);
     }
 
     public FileSystemApplicationConfig getConfig() {
@@ -67,13 +201,128 @@ public class ApplicationConfig {
         return defaultConfig;
     }
 
+    public int getInt(final String key, final int defaultValue) {
+        return snapshot.getInt(key, defaultValue);
+    }
+
+    public List<String> getList(final String key) {
+        return snapshot.getList(key);
+    }
+
     public String getProperty(final String key) {
-        var value = config.getProperty(key);
+        return snapshot.getProperty(key);
+    }
+
+    public void removeChangeListener(final ChangeListener listener) {
+        listeners.remove(listener);
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private Snapshot merge() {
+        final HashMap<String, String> values = new HashMap<>(defaultConfig.toMap());
+
+        values.putAll(config.toMap());
+
+        return new Snapshot(values);
+    }
+
+    /**
+     * Replaces the snapshot and tells the listeners what changed. Nothing
+     * happens if nothing changed, e.g. when the watcher sees a write the app
+     * made itself.
+     */
+    private void refresh() {
+        final Snapshot current;
+        final Set<String> changed = new HashSet<>();
+
+        // The same lock the file config is changed under, so snapshots are made in order.
+        synchronized (config) {
+            final Snapshot previous = snapshot;
 
-        if (value == null) {
-            value = defaultConfig.getProperty(key);
+            current = merge();
+
+            for (final Map.Entry<String, String> entry : current.values.entrySet()) {
+                if (!Objects.equals(entry.getValue(), previous.values.get(entry.getKey()))) {
+                    changed.add(entry.getKey());
+                }
+            }
+
+            for (final String key : previous.values.keySet()) {
+                if (!current.values.containsKey(key)) {
+                    changed.add(key);
+                }
+            }
+
+            if (changed.isEmpty()) {
+                return;
+            }
+
+            snapshot = current;
+        }
+
+        final Set<String> keys = Collections.unmodifiableSet(changed);
+
+        for (final ChangeListener listener : listeners) {
+            try {
+                listener.configChanged(keys, current);
+            } catch (final RuntimeException err) {
+                LOGGER.log(Level.WARNING, "Configuration change listener failed", err);
+            }
+        }
+    }
+
+    /** Reloads the file config whenever the file is written outside of the app. */
+    private void watch() {
+        final Path file = Path.of(config.getFullPath());
+        final Path directory = file.getParent();
+        final WatchService watcher;
+
+        try {
+            watcher = FileSystems.getDefault().newWatchService();
+            directory.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException | RuntimeException err) {
+            LOGGER.log(Level.WARNING, "Cannot watch " + directory + ", edits to " + file.getFileName()
+                    + " need a restart", err);
+            return;
         }
 
-        return value == null ? "" : value;
+        final Thread thread = new Thread(() -> {
+            try {
+                while (true) {
+                    final WatchKey key = watcher.take();
+                    boolean touched = false;
+
+                    // Let the writer finish so a half-written file is not read. Events that come in
+                    // meanwhile are collected on the same key.
+                    Thread.sleep(RELOAD_DELAY_MS);
+
+                    for (final WatchEvent<?> event : key.pollEvents()) {
+                        touched |= event.kind() == StandardWatchEventKinds.OVERFLOW
+                                || file.getFileName().equals(event.context());
+                    }
+
+                    if (touched) {
+                        try {
+                            config.reload();
+                        } catch (final IOException err) {
+                            LOGGER.log(Level.WARNING, "Cannot reload " + file, err);
+                        }
+                    }
+
+                    if (!key.reset()) {
+                        LOGGER.warning(directory + " is no longer watched");
+                        return;
+                    }
+                }
+            } catch (final InterruptedException | ClosedWatchServiceException err) {
+                Thread.currentThread().interrupt();
+            }
+        }, "kompeter-config-watcher");
+
+        thread.setDaemon(true);
+        thread.start();
     }
 }
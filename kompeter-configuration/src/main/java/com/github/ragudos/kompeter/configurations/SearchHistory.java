@@ -8,31 +8,34 @@
 package com.github.ragudos.kompeter.configurations;
 
 import com.github.ragudos.kompeter.utilities.constants.PropertyKey;
-import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
-import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 
 public final class SearchHistory {
-    private static final Logger LOGGER = KompeterLogger.getLogger(SearchHistory.class);
+    /** Older searches are forgotten past this many. Favorites are kept. */
+    public static final int MAX_RECENT_SEARCHES = 20;
 
     public static String[] getRecentSearches(boolean favorite) {
-        String searches =
+        List<String> searches =
                 ApplicationConfig.getInstance()
-                        .getConfig()
-                        .getProperty(favorite ? PropertyKey.Search.RECENT_FAVORITE : PropertyKey.Search.RECENT);
+                        .getList(favorite ? PropertyKey.Search.RECENT_FAVORITE : PropertyKey.Search.RECENT);
 
-        if (searches == null || searches.trim().isEmpty()) {
+        if (searches.isEmpty()) {
             return null;
         }
 
-        return searches.trim().split(",");
+        return searches.toArray(String[]::new);
     }
 
     public static void addRecentSearch(String value, boolean favorite) {
+        // Searches are stored comma-separated.
+        value = value.strip().replace(',', ' ');
+
+        if (value.isEmpty()) {
+            return;
+        }
+
         String[] oldRecent = getRecentSearches(false);
         String[] oldFavorite = getRecentSearches(true);
 
@@ -42,36 +45,24 @@ public final class SearchHistory {
 
                 list.remove(value);
 
-                try {
-                    ApplicationConfig.getInstance()
-                            .getConfig()
-                            .setProperty(PropertyKey.Search.RECENT, String.join(",", list));
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Failed to save recent search", e);
-                }
+                ApplicationConfig.getInstance()
+                        .getConfig()
+                        .setProperty(PropertyKey.Search.RECENT, String.join(",", list));
             }
 
             if (oldFavorite != null) {
-                List<String> list = new ArrayList<String>(Arrays.asList(oldRecent));
+                List<String> list = new ArrayList<String>(Arrays.asList(oldFavorite));
 
                 list.remove(value);
                 list.add(0, value);
 
-                try {
-                    ApplicationConfig.getInstance()
-                            .getConfig()
-                            .setProperty(PropertyKey.Search.RECENT_FAVORITE, String.join(",", list));
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Failed to save recent search", e);
-                }
+                ApplicationConfig.getInstance()
+                        .getConfig()
+                        .setProperty(PropertyKey.Search.RECENT_FAVORITE, String.join(",", list));
             } else {
-                try {
-                    ApplicationConfig.getInstance()
-                            .getConfig()
-                            .setProperty(PropertyKey.Search.RECENT_FAVORITE, String.join(",", value));
-                } catch (IOException e) {
-                    LOGGER.log(Level.SEVERE, "Failed to save recent search", e);
-                }
+                ApplicationConfig.getInstance()
+                        .getConfig()
+                        .setProperty(PropertyKey.Search.RECENT_FAVORITE, String.join(",", value));
             }
 
             return;
@@ -86,13 +77,9 @@ public final class SearchHistory {
         }
 
         if (oldRecent == null) {
-            try {
-                ApplicationConfig.getInstance()
-                        .getConfig()
-                        .setProperty(PropertyKey.Search.RECENT, String.join(",", value));
-            } catch (IOException e) {
-                LOGGER.log(Level.SEVERE, "Failed to save recent search", e);
-            }
+            ApplicationConfig.getInstance()
+                    .getConfig()
+                    .setProperty(PropertyKey.Search.RECENT, String.join(",", value));
 
             return;
         }
@@ -102,13 +89,13 @@ public final class SearchHistory {
         list.remove(value);
         list.add(0, value);
 
-        try {
-            ApplicationConfig.getInstance()
-                    .getConfig()
-                    .setProperty(PropertyKey.Search.RECENT, String.join(",", list));
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Failed to save recent search", e);
+        if (list.size() > MAX_RECENT_SEARCHES) {
+            list.subList(MAX_RECENT_SEARCHES, list.size()).clear();
         }
+
+        ApplicationConfig.getInstance()
+                .getConfig()
+                .setProperty(PropertyKey.Search.RECENT, String.join(",", list));
     }
 
     public static void removeRecentSearch(String value, boolean favorite) {
@@ -122,14 +109,10 @@ public final class SearchHistory {
 
         list.remove(value);
 
-        try {
-            ApplicationConfig.getInstance()
-                    .getConfig()
-                    .setProperty(
-                            favorite ? PropertyKey.Search.RECENT_FAVORITE : PropertyKey.Search.RECENT,
-                            String.join(",", list));
-        } catch (IOException e) {
-            LOGGER.log(Level.SEVERE, "Failed to save recent search", e);
-        }
+        ApplicationConfig.getInstance()
+                .getConfig()
+                .setProperty(
+                        favorite ? PropertyKey.Search.RECENT_FAVORITE : PropertyKey.Search.RECENT,
+                        String.join(",", list));
     }
 }
@@ -0,0 +1,77 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.cryptography;
+
+/**
+ * Table driven text encodings of random bytes for codes people may read out
+ * or type in.
+ */
+public final class CodeEncoding {
+    /**
+     * Crockford's Base32 alphabet, which leaves out I, L, O and U so that codes
+     * cannot be misread as 1 or 0, nor spell words by accident.
+     */
+    public static final String BASE32_ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ";
+
+    private static final char[] BASE32 = BASE32_ALPHABET.toCharArray();
+    private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+
+    /**
+     * @return the first {@code length} characters of the Base32 encoding of
+     *         {@code bytes}, 5 bits per character starting from the most
+     *         significant bit of the first byte.
+     * @throws IllegalArgumentException if {@code bytes} has fewer than
+     *                                  {@code length * 5} bits.
+     */
+    public static String base32(final byte[] bytes, final int length) {
+        if ((long) length * 5 > (long) bytes.length * 8) {
+            throw new IllegalArgumentException(
+                    String.format("%s bytes are not enough for %s characters", bytes.length, length));
+        }
+
+        final char[] chars = new char[length];
+        int buffer = 0;
+        int bits = 0;
+        int next = 0;
+
+        for (int i = 0; i < length; ++i) {
+            if (bits < 5) {
+                buffer = (buffer << 8) | (bytes[next++] & 0xff);
+                bits += 8;
+            }
+
+            bits -= 5;
+            chars[i] = BASE32[(buffer >>> bits) & 0x1f];
+        }
+
+        return new String(chars);
+    }
+
+    /**
+     * @return the number of bytes needed for {@code length} Base32 characters.
+     */
+    public static int base32Bytes(final int length) {
+        return (length * 5 + 7) / 8;
+    }
+
+    /** @return {@code bytes} as upper case hexadecimal, two characters a byte. */
+    public static String hex(final byte[] bytes) {
+        final char[] chars = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; ++i) {
+            chars[i * 2] = HEX[(bytes[i] >>> 4) & 0xf];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xf];
+        }
+
+        return new String(chars);
+    }
+
+    private CodeEncoding() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+}
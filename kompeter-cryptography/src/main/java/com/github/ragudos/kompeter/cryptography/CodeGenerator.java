@@ -0,0 +1,160 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.cryptography;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Makes short random codes that people can read out and type in, like
+ * {@code S-7K3QX-9M2PD}.
+ *
+ * <p>
+ * A code is a prefix followed by random characters of
+ * {@link CodeEncoding#BASE32_ALPHABET}, 5 bits each, drawn from
+ * {@link SecureRandoms#shared()} and optionally split into dash separated
+ * groups. The last few thousand codes are remembered, and a code that was
+ * already handed out recently is drawn again. That only guards against
+ * repeats within this process, so codes should still be stored under a
+ * unique index.
+ *
+ * <p>
+ * A generator may keep a pool of codes made ahead of time on a background
+ * thread, so that taking one is only a poll of a queue. The pool is topped up
+ * whenever it falls below half full.
+ */
+public final class CodeGenerator {
+    public static final int DEFAULT_RECENT_CAPACITY = 4096;
+
+    /** 50 random bits, e.g. {@code S-7K3QX-9M2PD}. */
+    public static final CodeGenerator SALE_CODES = new CodeGenerator("S-", 10, 5, DEFAULT_RECENT_CAPACITY, 32);
+    /** 50 random bits, e.g. {@code P-7K3QX-9M2PD}. */
+    public static final CodeGenerator PAYMENT_REFERENCES = new CodeGenerator("P-", 10, 5, DEFAULT_RECENT_CAPACITY,
+            0);
+
+    private static final ExecutorService REFILLER = Executors.newSingleThreadExecutor((r) -> {
+        final Thread thread = new Thread(r, "kompeter-code-pool");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final LongAdder collisions;
+    private final int groupSize;
+    private final int length;
+    private final ArrayBlockingQueue<String> pool;
+    private final String prefix;
+    private final Map<String, Boolean> recent;
+    private final AtomicBoolean refilling;
+
+    /**
+     * @param prefix         put in front of every code.
+     * @param length         the number of random characters, each worth 5 bits.
+     * @param groupSize      how many random characters go between two dashes, or
+     *                       0 for no dashes.
+     * @param recentCapacity how many of the last codes to never repeat.
+     * @param poolSize       how many codes to make ahead of time, or 0 to make
+     *                       each one when it is asked for.
+     */
+    public CodeGenerator(final String prefix, final int length, final int groupSize, final int recentCapacity,
+            final int poolSize) {
+        if (length < 1 || groupSize < 0 || recentCapacity < 0 || poolSize < 0) {
+            throw new IllegalArgumentException("length must be positive and the rest not negative");
+        }
+
+        this.prefix = prefix == null ? "" : prefix;
+        this.length = length;
+        this.groupSize = groupSize;
+        this.collisions = new LongAdder();
+        this.pool = poolSize == 0 ? null : new ArrayBlockingQueue<>(poolSize);
+        this.refilling = new AtomicBoolean();
+        this.recent = new LinkedHashMap<>(Math.min(recentCapacity, 1 << 16) * 4 / 3 + 1) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Boolean> eldest) {
+                return size() > recentCapacity;
+            }
+        };
+    }
+
+    /**
+     * @return how many drawn codes had to be drawn again because they were
+     *         handed out recently.
+     */
+    public long collisions() {
+        return collisions.sum();
+    }
+
+    /**
+     * @return a code that was not handed out recently by this generator.
+     */
+    public String next() {
+        if (pool == null) {
+            return generate();
+        }
+
+        final String code = pool.poll();
+
+        if (pool.size() < pool.remainingCapacity() && refilling.compareAndSet(false, true)) {
+            REFILLER.execute(this::refill);
+        }
+
+        return code == null ? generate() : code;
+    }
+
+    private String format(final String random) {
+        if (groupSize == 0 || groupSize >= random.length()) {
+            return prefix + random;
+        }
+
+        final StringBuilder code = new StringBuilder(prefix.length() + random.length() * 2);
+
+        code.append(prefix);
+
+        for (int i = 0; i < random.length(); i += groupSize) {
+            if (i > 0) {
+                code.append('-');
+            }
+
+            code.append(random, i, Math.min(random.length(), i + groupSize));
+        }
+
+        return code.toString();
+    }
+
+    private String generate() {
+        final byte[] bytes = new byte[CodeEncoding.base32Bytes(length)];
+
+        while (true) {
+            SecureRandoms.shared().nextBytes(bytes);
+
+            final String code = format(CodeEncoding.base32(bytes, length));
+
+            synchronized (recent) {
+                if (recent.putIfAbsent(code, Boolean.TRUE) == null) {
+                    return code;
+                }
+            }
+
+            collisions.increment();
+        }
+    }
+
+    private void refill() {
+        try {
+            while (pool.remainingCapacity() > 0) {
+                pool.offer(generate());
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+}
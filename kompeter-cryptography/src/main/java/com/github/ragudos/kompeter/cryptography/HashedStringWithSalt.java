@@ -11,7 +11,16 @@ import com.github.ragudos.kompeter.utilities.CharUtils;
 import java.util.Base64;
 import org.jetbrains.annotations.NotNull;
 
-public final record HashedStringWithSalt(@NotNull byte[] hashedString, @NotNull Salt salt) {
+/**
+ * A hash, the salt it was made with, and the number of PBKDF2 iterations it
+ * took. The iterations are stored with the hash so it can be verified again
+ * after {@link Hasher#workFactor()} changes.
+ */
+public final record HashedStringWithSalt(@NotNull byte[] hashedString, @NotNull Salt salt, int iterations) {
+    public HashedStringWithSalt(@NotNull final byte[] hashedString, @NotNull final Salt salt) {
+        this(hashedString, salt, Hasher.DEFAULT_WORK_FACTOR_STRENGTH);
+    }
+
     public boolean equalsHashedString(@NotNull final HashedStringWithSalt hsws) {
         return CharUtils.constantTimeEquals(hsws.hashedString(), this.hashedString());
     }
@@ -7,10 +7,12 @@
 */
 package com.github.ragudos.kompeter.cryptography;
 
+import com.github.ragudos.kompeter.metrics.jfr.HashEvent;
 import com.github.ragudos.kompeter.utilities.CharUtils;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 import java.security.NoSuchAlgorithmException;
 import java.security.spec.InvalidKeySpecException;
+import java.time.Duration;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -18,16 +20,113 @@ import javax.crypto.SecretKeyFactory;
 import javax.crypto.spec.PBEKeySpec;
 import org.jetbrains.annotations.NotNull;
 
+/**
+ * Hashes passwords with PBKDF2.
+ *
+ * <p>
+ * The number of iterations new hashes use is the {@link #workFactor()}. It
+ * starts at {@link #DEFAULT_WORK_FACTOR_STRENGTH} and can be raised for the
+ * machine the app runs on with {@link #calibrate(Duration)}. Hashes record the
+ * iterations they were made with, so old hashes still verify and can be
+ * replaced once {@link #needsRehash(int)} says so.
+ *
+ * <p>
+ * {@link SecretKeyFactory#getInstance(String)} is looked up once per thread
+ * instead of on every hash since the factories are not documented to be
+ * thread-safe.
+ */
 public final class Hasher {
     public static final Logger LOGGER = KompeterLogger.getLogger(Hasher.class);
     public static final int DEFAULT_WORK_FACTOR_STRENGTH = 65_536;
+    /** Calibration never picks more iterations than this, however fast the machine. */
+    public static final int MAX_WORK_FACTOR_STRENGTH = 4_194_304;
     public static final int KEY_LENGTH = 256;
     public static final String ALGORITHM = "PBKDF2WithHmacSHA256";
 
+    private static final int CALIBRATION_ITERATIONS = 16_384;
+    private static final int CALIBRATION_ROUNDS = 3;
+    private static final ThreadLocal<SecretKeyFactory> FACTORY = new ThreadLocal<>();
+
+    private static volatile int workFactor = DEFAULT_WORK_FACTOR_STRENGTH;
+
+    /**
+     * Measures how long hashing takes here and sets the {@link #workFactor()} to
+     * the number of iterations that takes about {@code target}.
+     *
+     * <p>
+     * The estimate is rounded down to a power of two so that small differences
+     * in timing between runs do not change the work factor, and it is kept
+     * between {@link #DEFAULT_WORK_FACTOR_STRENGTH} and
+     * {@link #MAX_WORK_FACTOR_STRENGTH}.
+     *
+     * @return the new work factor.
+     */
+    public static int calibrate(@NotNull final Duration target) {
+        final char[] probe = "kompeter-calibration".toCharArray();
+        final Salt salt = SaltFactory.generateSalt();
+        long fastest = Long.MAX_VALUE;
+
+        // The first run is a warm-up so the measured ones are not interpreted.
+        for (int i = 0; i <= CALIBRATION_ROUNDS; ++i) {
+            final long start = System.nanoTime();
+            final Optional<HashedStringWithSalt> hash = hash(probe, salt, CALIBRATION_ITERATIONS);
+            final long elapsed = System.nanoTime() - start;
+
+            if (hash.isEmpty()) {
+                return workFactor;
+            }
+
+            if (i > 0) {
+                fastest = Math.min(fastest, elapsed);
+            }
+        }
+
+        final double estimate = (double) target.toNanos() * CALIBRATION_ITERATIONS / Math.max(1, fastest);
+        final int iterations = Math.max(DEFAULT_WORK_FACTOR_STRENGTH,
+                Integer.highestOneBit((int) Math.min(MAX_WORK_FACTOR_STRENGTH, estimate)));
+
+        workFactor = iterations;
+
+        LOGGER.info(String.format("PBKDF2 work factor calibrated to %d iterations (%d iterations took %.2f ms)",
+                iterations, CALIBRATION_ITERATIONS, fastest / 1_000_000.0));
+
+        return iterations;
+    }
+
+    /** Hashes with a new salt and the current {@link #workFactor()}. */
     public static Optional<HashedStringWithSalt> hash(@NotNull final char[] password) {
         return hash(password, SaltFactory.generateSalt());
     }
 
+    /** Hashes with the current {@link #workFactor()}. */
+    public static Optional<HashedStringWithSalt> hash(@NotNull final char[] password, @NotNull final Salt salt) {
+        return hash(password, salt, workFactor);
+    }
+
+    public static Optional<HashedStringWithSalt> hash(@NotNull final char[] password, @NotNull final Salt salt,
+            final int iterations) {
+        final PBEKeySpec pbeKeySpec = new PBEKeySpec(password, salt.value(), iterations, KEY_LENGTH);
+        final HashEvent event = new HashEvent();
+
+        event.begin();
+
+        try {
+            final byte[] hashedString = factory().generateSecret(pbeKeySpec).getEncoded();
+
+            event.succeeded = true;
+
+            return Optional.of(new HashedStringWithSalt(hashedString, salt, iterations));
+        } catch (NoSuchAlgorithmException | InvalidKeySpecException err) {
+            LOGGER.log(Level.SEVERE, "Cannot hash string", err);
+        } finally {
+            pbeKeySpec.clearPassword();
+            event.iterations = iterations;
+            event.commit();
+        }
+
+        return Optional.empty();
+    }
+
     public static void main(String[] args) {
         var pass = "Admin@123";
         var hashed = hash(pass.toCharArray());
@@ -37,21 +136,29 @@ public final class Hasher {
         System.out.println("Salt: " + hashed.get().salt().toBase64());
     }
 
-    public static Optional<HashedStringWithSalt> hash(
-            @NotNull final char[] password, @NotNull final Salt salt) {
-        try {
-            PBEKeySpec pbeKeySpec =
-                    new PBEKeySpec(password, salt.value(), DEFAULT_WORK_FACTOR_STRENGTH, KEY_LENGTH);
-            byte[] hashedString =
-                    SecretKeyFactory.getInstance(ALGORITHM).generateSecret(pbeKeySpec).getEncoded();
+    /**
+     * @param iterations the iterations a stored hash was made with.
+     * @return whether the hash is weaker than what new hashes get and should be
+     *         replaced the next time the password is known.
+     */
+    public static boolean needsRehash(final int iterations) {
+        return iterations < workFactor;
+    }
 
-            pbeKeySpec.clearPassword();
+    /** @return the number of iterations new hashes are made with. */
+    public static int workFactor() {
+        return workFactor;
+    }
 
-            return Optional.of(new HashedStringWithSalt(hashedString, salt));
-        } catch (NoSuchAlgorithmException | InvalidKeySpecException err) {
-            LOGGER.log(Level.SEVERE, "Cannot hash string", err);
+    private static SecretKeyFactory factory() throws NoSuchAlgorithmException {
+        SecretKeyFactory factory = FACTORY.get();
+
+        if (factory == null) {
+            factory = SecretKeyFactory.getInstance(ALGORITHM);
+
+            FACTORY.set(factory);
         }
 
-        return Optional.empty();
+        return factory;
     }
 }
@@ -10,20 +10,18 @@ package com.github.ragudos.kompeter.cryptography;
 /**
  * @author Peter M. Dela Cruz
  */
-import java.security.SecureRandom;
-
 public class PurchaseCodeGenerator {
+    /**
+     * @return 32 random bytes as 64 hexadecimal characters.
+     * @deprecated far longer than a code needs to be, use a
+     *             {@link CodeGenerator} like {@link CodeGenerator#SALE_CODES}.
+     */
+    @Deprecated
     public static String generateSecureHexToken() {
-        SecureRandom random = new SecureRandom();
-        byte[] bytes = new byte[32];
-        random.nextBytes(bytes);
+        final byte[] bytes = new byte[32];
 
-        // Convert the random bytes to a hexadecimal string
-        StringBuilder sb = new StringBuilder();
-        for (byte b : bytes) {
+        SecureRandoms.shared().nextBytes(bytes);
 
-            sb.append(String.format("%02X", b));
-        }
-        return sb.toString();
+        return CodeEncoding.hex(bytes);
     }
 }
@@ -0,0 +1,31 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.cryptography;
+
+import java.security.SecureRandom;
+
+/**
+ * The one {@link SecureRandom} of the app.
+ *
+ * <p>
+ * Making a {@link SecureRandom} is expensive and may have to wait for the
+ * operating system to seed it, so it is done once. The instance seeds itself
+ * from the operating system on first use, and is safe to share between
+ * threads.
+ */
+public final class SecureRandoms {
+    private static final SecureRandom SHARED = new SecureRandom();
+
+    public static SecureRandom shared() {
+        return SHARED;
+    }
+
+    private SecureRandoms() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+}
@@ -1,5 +1,6 @@
 module kompeter.cryptography {
     requires transitive kompeter.utilities;
+    requires kompeter.metrics;
     requires static org.jetbrains.annotations;
 
     exports com.github.ragudos.kompeter.cryptography;
@@ -0,0 +1,75 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.cryptography;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestCodeGenerator {
+    @Test
+    @DisplayName("Tests Base32 encoding to take 5 bits per character from the most significant bit")
+    void testBase32Encoding() {
+        final byte[] bytes = { (byte) 0b00001_000, (byte) 0b10_00011_0, (byte) 0b0100_0010, (byte) 0b1_11111_00 };
+
+        assertEquals("12345Z", CodeEncoding.base32(bytes, 6));
+        assertEquals("000", CodeEncoding.base32(new byte[2], 3));
+        assertEquals("ZZZZZZZZ", CodeEncoding.base32(new byte[] { -1, -1, -1, -1, -1 }, 8));
+        assertThrows(IllegalArgumentException.class, () -> CodeEncoding.base32(new byte[1], 2));
+    }
+
+    @Test
+    @DisplayName("Tests hex encoding to match the JDK")
+    void testHexEncoding() {
+        final byte[] bytes = new byte[256];
+
+        for (int i = 0; i < bytes.length; ++i) {
+            bytes[i] = (byte) i;
+        }
+
+        assertEquals(HexFormat.of().withUpperCase().formatHex(bytes), CodeEncoding.hex(bytes));
+    }
+
+    @Test
+    @DisplayName("Tests codes to be grouped, prefixed and never repeat recent ones")
+    void testCodesAreFormattedAndUnique() {
+        final CodeGenerator generator = new CodeGenerator("S-", 10, 5, 100_000, 16);
+        final Pattern format = Pattern.compile("S-[" + CodeEncoding.BASE32_ALPHABET + "]{5}-["
+                + CodeEncoding.BASE32_ALPHABET + "]{5}");
+        final Set<String> codes = new HashSet<>();
+
+        for (int i = 0; i < 100_000; ++i) {
+            final String code = generator.next();
+
+            assertTrue(format.matcher(code).matches(), code);
+            assertTrue(codes.add(code), code);
+        }
+    }
+
+    @Test
+    @DisplayName("Tests a tiny code space to be drawn again instead of repeating a recent code")
+    void testCollisionsAreRedrawn() {
+        // 2 characters are only 1024 codes
+        final CodeGenerator generator = new CodeGenerator("", 2, 0, 1000, 0);
+        final Set<String> codes = new HashSet<>();
+
+        for (int i = 0; i < 1000; ++i) {
+            assertTrue(codes.add(generator.next()));
+        }
+
+        assertTrue(generator.collisions() > 0);
+    }
+}
@@ -7,9 +7,12 @@
 */
 package com.github.ragudos.kompeter.cryptography;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
@@ -44,4 +47,27 @@ public class TestHasher {
 
         assertTrue(Hasher.hash(p, s).get().equalsHashedString(Hasher.hash(p, s).get()));
     }
+
+    @Test
+    @DisplayName("Tests hasher to record the iterations and produce different hashes for different iterations")
+    void testPasswordHashingIterations() {
+        Salt s = SaltFactory.generateSalt();
+        char[] p = "123456".toCharArray();
+        HashedStringWithSalt h = Hasher.hash(p, s, 1_024).get();
+
+        assertEquals(1_024, h.iterations());
+        assertTrue(h.equalsHashedString(Hasher.hash(p, s, 1_024).get()));
+        assertFalse(h.equalsHashedString(Hasher.hash(p, s, 2_048).get()));
+    }
+
+    @Test
+    @DisplayName("Tests calibration never goes below the default work factor")
+    void testCalibrationFloor() {
+        int iterations = Hasher.calibrate(Duration.ofNanos(1));
+
+        assertEquals(Hasher.DEFAULT_WORK_FACTOR_STRENGTH, iterations);
+        assertEquals(iterations, Hasher.workFactor());
+        assertTrue(Hasher.needsRehash(iterations - 1));
+        assertFalse(Hasher.needsRehash(iterations));
+    }
 }
@@ -25,6 +25,7 @@ import com.github.ragudos.kompeter.database.dao.inventory.ItemStockStorageLocati
 import com.github.ragudos.kompeter.database.dao.inventory.PurchaseDao;
 import com.github.ragudos.kompeter.database.dao.inventory.PurchaseItemStockDao;
 import com.github.ragudos.kompeter.database.dao.inventory.PurchasePaymentDao;
+import com.github.ragudos.kompeter.database.dao.inventory.StockLedgerDao;
 import com.github.ragudos.kompeter.database.dao.inventory.StorageLocationDao;
 import com.github.ragudos.kompeter.database.dao.inventory.SupplierDao;
 import com.github.ragudos.kompeter.database.dao.sales.SaleDao;
@@ -36,7 +37,10 @@ import com.github.ragudos.kompeter.database.dao.user.SessionDao;
 import com.github.ragudos.kompeter.database.dao.user.UserDao;
 import com.github.ragudos.kompeter.database.dao.user.UserMetadataDao;
 import com.github.ragudos.kompeter.database.dao.user.UserRoleDao;
+import com.github.ragudos.kompeter.database.instrumentation.QueryInstrumentation;
 import com.github.ragudos.kompeter.database.sqlite.SqliteFactoryDao;
+import com.github.ragudos.kompeter.metrics.Counter;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 /**
@@ -83,6 +87,8 @@ public abstract class AbstractSqlFactoryDao {
     protected static final Logger LOGGER = KompeterLogger.getLogger(AbstractSqlFactoryDao.class);
     public static final int SQLITE = 1;
 
+    private static final Counter CONNECTIONS = MetricsRegistry.getInstance().counter("database.connections");
+
     public static @NotNull AbstractSqlFactoryDao getSqlFactoryDao(int databaseType) {
         return switch (databaseType) {
             case SQLITE -> SqliteFactoryDao.getInstance();
@@ -96,11 +102,18 @@ public abstract class AbstractSqlFactoryDao {
      * <p>
      * Useful for reusing connections for fast connection to the database.
      *
+     * <p>
+     * If {@link QueryInstrumentation} is enabled, the connection records
+     * per-query statistics. Either way, connections are counted as
+     * {@code database.connections}, which is roughly one per DAO call.
+     *
      * @return A {@link Connection} wrapped around the real connection.
      */
     public @NotNull Connection getConnection() {
+        CONNECTIONS.increment();
+
         try {
-            return createConnection();
+            return QueryInstrumentation.wrap(createConnection());
         } catch (SQLException e) {
             LOGGER.log(Level.SEVERE, "", e);
             return null;
@@ -153,4 +166,6 @@ public abstract class AbstractSqlFactoryDao {
     public @NotNull abstract StorageLocationDao getStorageLocationDao();
 
     public @NotNull abstract ItemStockStorageLocationDao getItemStockStorageLocationDao();
+
+    public @NotNull abstract StockLedgerDao getStockLedgerDao();
 }
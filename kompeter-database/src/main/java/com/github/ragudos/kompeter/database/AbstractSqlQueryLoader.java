@@ -7,7 +7,9 @@
 */
 package com.github.ragudos.kompeter.database;
 
-import com.github.ragudos.kompeter.utilities.cache.LRU;
+import com.github.ragudos.kompeter.database.instrumentation.QueryInstrumentation;
+import com.github.ragudos.kompeter.database.instrumentation.QueryKey;
+import com.github.ragudos.kompeter.utilities.cache.ConcurrentCache;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 import java.io.FileNotFoundException;
 import java.io.IOException;
@@ -17,8 +19,8 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * Abstract class to load SQL queries from files. This class implements a cache for the SQL queries
- * to avoid loading them multiple times. The cache is an LRU (Least Recently Used) cache. {@link
- * LRU}
+ * to avoid loading them multiple times. The cache is a {@link ConcurrentCache}, so queries are
+ * looked up without locking.
  *
  * <p>The SQL files should be located in the resources directory under the following structure:
  *
@@ -70,7 +72,7 @@ public abstract class AbstractSqlQueryLoader {
     private static final String SQL_QUERY_DIRECTORY = "sql" + SEPARATOR;
     private static final String SQL_QUERY_FILE_EXTENSION = ".sql";
 
-    protected LRU<String, String> queryCache;
+    protected ConcurrentCache<String, String> queryCache;
 
     public @NotNull String get(
             @NotNull final String name,
@@ -88,14 +90,24 @@ public abstract class AbstractSqlQueryLoader {
                         + name
                         + SQL_QUERY_FILE_EXTENSION;
 
-        if (queryCache.containsKey(path)) {
-            return queryCache.get(path);
+        var cached = queryCache.get(path);
+
+        if (cached != null) {
+            if (QueryInstrumentation.isActive()) {
+                QueryInstrumentation.register(cached, new QueryKey(name, tableName, queryType));
+            }
+
+            return cached;
         }
 
         var query = loadQuery(path);
 
         if (query != null) {
-            queryCache.update(path, query);
+            queryCache.put(path, query);
+
+            if (QueryInstrumentation.isActive()) {
+                QueryInstrumentation.register(query, new QueryKey(name, tableName, queryType));
+            }
 
             return query;
         }
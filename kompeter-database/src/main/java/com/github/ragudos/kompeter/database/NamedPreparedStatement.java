@@ -21,6 +21,8 @@ import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
+import com.github.ragudos.kompeter.database.instrumentation.QueryInstrumentation;
+
 /**
  * A wrapper for {@link PreparedStatement} that allows named parameters in SQL.
  *
@@ -80,6 +82,9 @@ public final class NamedPreparedStatement implements AutoCloseable {
         }
 
         parsedSql = parsedSqlBuilder.toString();
+
+        QueryInstrumentation.alias(parsedSql, sql);
+
         prepStmt = conn.prepareStatement(parsedSql, autoGenerateKeysFlag);
     }
 
@@ -136,6 +141,16 @@ public final class NamedPreparedStatement implements AutoCloseable {
         }
     }
 
+    public void setLong(final String name, final long value) throws SQLException {
+        List<Integer> positions = fields.get(name);
+        if (positions == null) {
+            throw new IllegalArgumentException("Parameter not found: " + name);
+        }
+        for (int pos : positions) {
+            prepStmt.setLong(pos, value);
+        }
+    }
+
     public void setString(final String name, final String value) throws SQLException {
         List<Integer> positions = fields.get(name);
         if (positions == null) {
@@ -0,0 +1,129 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * How often and how patiently to run a transaction again when it runs into
+ * another writer.
+ *
+ * <p>
+ * With several terminals on one database, most lock waits are absorbed by the
+ * busy timeout of the connection. What is left
+ * are transactions that read first and then fail to upgrade to a write lock,
+ * which SQLite reports as busy right away instead of waiting so that the two
+ * writers do not deadlock. Those must roll back and start over, which this
+ * policy paces with a jittered exponential backoff so that the writers spread
+ * out instead of colliding again.
+ *
+ * <p>
+ * The default number of attempts can be set with
+ * {@code -Dkompeter.db.retryAttempts=8}.
+ *
+ * @see com.github.ragudos.kompeter.database.sqlite.SqliteFactoryDao
+ */
+public final class RetryPolicy {
+    public static final String MAX_ATTEMPTS_PROPERTY = "kompeter.db.retryAttempts";
+
+    public static final RetryPolicy DEFAULT = new RetryPolicy(Math.max(1, Integer.getInteger(MAX_ATTEMPTS_PROPERTY, 8)),
+            Duration.ofMillis(4), Duration.ofMillis(500));
+    /** Runs everything exactly once. */
+    public static final RetryPolicy NONE = new RetryPolicy(1, Duration.ZERO, Duration.ZERO);
+
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+
+    /**
+     * @return whether {@code err}, or anything that caused it, means that the
+     *         database was locked by another connection.
+     */
+    public static boolean isBusy(final SQLException err) {
+        for (Throwable cause = err; cause != null; cause = cause.getCause()) {
+            // the driver reports extended codes too, e.g. SQLITE_BUSY_SNAPSHOT
+            if (cause instanceof final SQLException sqlException) {
+                final int code = sqlException.getErrorCode() & 0xff;
+
+                if (code == SQLITE_BUSY || code == SQLITE_LOCKED) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private final long baseDelayNanos;
+    private final int maxAttempts;
+    private final long maxDelayNanos;
+
+    /**
+     * @param maxAttempts how many times to run a transaction at most, including
+     *                    the first time.
+     * @param baseDelay   how long to wait after the first failed attempt, at
+     *                    most. The wait doubles after each attempt.
+     * @param maxDelay    the longest to ever wait between two attempts.
+     */
+    public RetryPolicy(final int maxAttempts, @NotNull final Duration baseDelay, @NotNull final Duration maxDelay) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+
+        this.maxAttempts = maxAttempts;
+        this.baseDelayNanos = baseDelay.toNanos();
+        this.maxDelayNanos = Math.max(baseDelayNanos, maxDelay.toNanos());
+    }
+
+    /**
+     * Waits before the attempt after {@code attempt}, a random time between
+     * half and all of the current delay.
+     *
+     * @param attempt the attempt that just failed, starting at 1.
+     * @return {@code false} if the thread was interrupted while waiting.
+     */
+    public boolean backoff(final int attempt) {
+        if (baseDelayNanos == 0) {
+            return true;
+        }
+
+        final long ceiling = Math.min(maxDelayNanos, baseDelayNanos << Math.min(attempt - 1, 30));
+
+        try {
+            Thread.sleep(Duration.ofNanos(ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1)));
+
+            return true;
+        } catch (final InterruptedException err) {
+            Thread.currentThread().interrupt();
+
+            return false;
+        }
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @param attempt the attempt that just failed, starting at 1.
+     * @return whether to try again after {@code attempt} failed with
+     *         {@code err}, e.g. because the database was busy.
+     */
+    public boolean shouldRetry(final SQLException err, final int attempt) {
+        return attempt < maxAttempts && isBusy(err);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RetryPolicy[maxAttempts=%s, baseDelay=%sms, maxDelay=%sms]", maxAttempts,
+                baseDelayNanos / 1_000_000.0, maxDelayNanos / 1_000_000.0);
+    }
+}
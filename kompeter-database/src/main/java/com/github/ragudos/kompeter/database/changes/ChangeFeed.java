@@ -0,0 +1,230 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.changes;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.sqlite.SQLiteCommitListener;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.SQLiteUpdateListener;
+
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+import com.github.ragudos.kompeter.utilities.observer.Observer;
+
+/**
+ * Publishes the rows changed by every connection this application opens, so
+ * that views can patch what they show instead of reloading everything.
+ *
+ * <p>
+ * Changes are gathered with SQLite's update hook on each connection and only
+ * published once that connection commits; rolled back changes are discarded.
+ * Commits arriving within {@value #COALESCE_WINDOW_MILLIS} ms of each other
+ * are coalesced into a single {@link ChangeSet}, so a checkout touching a
+ * dozen rows wakes subscribers once.
+ *
+ * <p>
+ * The update hooks do not fire for commits of other processes sharing the
+ * database. Those are only published as far as a read model finds them by
+ * comparing itself against the database, see
+ * {@link #committedElsewhere(List)}.
+ *
+ * <p>
+ * Subscribers are called on a background thread and must hop onto the EDT
+ * themselves before touching Swing components. SQLite does not report changes
+ * to {@code WITHOUT ROWID} tables or a {@code DELETE} without a
+ * {@code WHERE} clause; none of the tables in the schema rely on either.
+ */
+public final class ChangeFeed implements Observer<ChangeSet> {
+    public static final long COALESCE_WINDOW_MILLIS = 100;
+
+    private static final Logger LOGGER = KompeterLogger.getLogger(ChangeFeed.class);
+
+    private static ChangeFeed instance;
+
+    public static synchronized ChangeFeed getInstance() {
+        if (instance == null) {
+            instance = new ChangeFeed();
+        }
+
+        return instance;
+    }
+
+    private List<TableChange> pending;
+    private final ScheduledExecutorService publisher;
+    private final CopyOnWriteArrayList<Consumer<ChangeSet>> subscribers;
+    private final AtomicLong writeCommits;
+
+    private ChangeFeed() {
+        subscribers = new CopyOnWriteArrayList<>();
+        writeCommits = new AtomicLong();
+        publisher = Executors.newSingleThreadScheduledExecutor((r) -> {
+            final Thread thread = new Thread(r, "kompeter-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts listening for changes made through the given connection. Called
+     * for every connection created by
+     * {@link com.github.ragudos.kompeter.database.sqlite.SqliteFactoryDao}.
+     */
+    public void attach(@NotNull final Connection connection) {
+        try {
+            if (!connection.isWrapperFor(SQLiteConnection.class)) {
+                return;
+            }
+
+            final SQLiteConnection sqliteConnection = connection.unwrap(SQLiteConnection.class);
+            final ConnectionListener listener = new ConnectionListener();
+
+            sqliteConnection.addUpdateListener(listener);
+            sqliteConnection.addCommitListener(listener);
+        } catch (final SQLException e) {
+            LOGGER.log(Level.WARNING, "Cannot listen for changes on connection", e);
+        }
+    }
+
+    /**
+     * Publishes changes committed by another process, which the update hooks of
+     * this one never see, along with the commits of this process.
+     *
+     * @param changes the rows found to have changed, e.g. by comparing a read
+     *                model against the database.
+     */
+    public void committedElsewhere(@NotNull final List<TableChange> changes) {
+        if (!changes.isEmpty()) {
+            committed(changes);
+        }
+    }
+
+    /**
+     * @return the number of transactions that changed rows committed through
+     *         the connections of this process so far, subscribed to or not.
+     *         It is counted as SQLite starts committing, so it may run ahead
+     *         of the database for a moment.
+     */
+    public long writeCommits() {
+        return writeCommits.get();
+    }
+
+    @Override
+    public void notifySubscribers(final ChangeSet changes) {
+        for (final Consumer<ChangeSet> subscriber : subscribers) {
+            try {
+                subscriber.accept(changes);
+            } catch (final Exception e) {
+                LOGGER.log(Level.SEVERE, "Change subscriber failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(final Consumer<ChangeSet> subscriber) {
+        subscribers.addIfAbsent(subscriber);
+    }
+
+    @Override
+    public void unsubscribe(final Consumer<ChangeSet> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    private void committed(final List<TableChange> changes) {
+        synchronized (this) {
+            if (pending != null) {
+                pending.addAll(changes);
+
+                return;
+            }
+
+            pending = new ArrayList<>(changes);
+        }
+
+        publisher.schedule(this::publish, COALESCE_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    private void publish() {
+        final List<TableChange> changes;
+
+        synchronized (this) {
+            changes = pending;
+            pending = null;
+        }
+
+        if (changes == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        final ChangeSet changeSet = ChangeSet.coalesce(changes);
+
+        if (!changeSet.isEmpty()) {
+            notifySubscribers(changeSet);
+        }
+    }
+
+    /**
+     * Buffers the changes of one connection's current transaction. SQLite calls
+     * it on the thread executing the statement, so it must not touch the
+     * database.
+     */
+    private final class ConnectionListener implements SQLiteUpdateListener, SQLiteCommitListener {
+        private final ArrayList<TableChange> transaction = new ArrayList<>();
+        private boolean wrote;
+
+        @Override
+        public void onCommit() {
+            if (wrote) {
+                writeCommits.incrementAndGet();
+                wrote = false;
+            }
+
+            if (transaction.isEmpty()) {
+                return;
+            }
+
+            if (!subscribers.isEmpty()) {
+                committed(transaction);
+            }
+
+            transaction.clear();
+        }
+
+        @Override
+        public void onRollback() {
+            transaction.clear();
+            wrote = false;
+        }
+
+        @Override
+        public void onUpdate(final Type type, final String database, final String table, final long rowId) {
+            wrote = true;
+
+            if (subscribers.isEmpty()) {
+                return;
+            }
+
+            transaction.add(new TableChange(table, rowId, switch (type) {
+                case INSERT -> ChangeOperation.INSERT;
+                case UPDATE -> ChangeOperation.UPDATE;
+                case DELETE -> ChangeOperation.DELETE;
+            }));
+        }
+    }
+}
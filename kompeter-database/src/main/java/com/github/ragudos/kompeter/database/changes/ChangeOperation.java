@@ -0,0 +1,28 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.changes;
+
+/** The kind of change made to a row. */
+public enum ChangeOperation {
+    INSERT,
+    UPDATE,
+    DELETE;
+
+    /**
+     * @return what two consecutive changes to the same row amount to, or
+     *         {@code null} if they cancel each other out (a row inserted and then
+     *         deleted).
+     */
+    public ChangeOperation then(final ChangeOperation next) {
+        return switch (this) {
+            case INSERT -> next == DELETE ? null : INSERT;
+            case UPDATE -> next == DELETE ? DELETE : UPDATE;
+            case DELETE -> next == DELETE ? DELETE : UPDATE;
+        };
+    }
+}
@@ -0,0 +1,132 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.changes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The committed changes published by {@link ChangeFeed} in one batch, with
+ * repeated changes to the same row coalesced into one.
+ *
+ * <p>
+ * A row inserted and then updated is an insert, a row updated and then deleted
+ * is a delete, a row deleted and then inserted again is an update, and a row
+ * inserted and then deleted is left out entirely.
+ */
+public final class ChangeSet {
+    public static final ChangeSet EMPTY = new ChangeSet(Map.of());
+
+    /** Coalesces the given changes in the order they were committed. */
+    static @NotNull ChangeSet coalesce(@NotNull final Iterable<TableChange> changes) {
+        final LinkedHashMap<String, LinkedHashMap<Long, ChangeOperation>> tables = new LinkedHashMap<>();
+
+        for (final TableChange change : changes) {
+            final LinkedHashMap<Long, ChangeOperation> rows = tables.computeIfAbsent(change.table(),
+                    (k) -> new LinkedHashMap<>());
+            final ChangeOperation previous = rows.get(change.rowId());
+
+            if (previous == null) {
+                rows.put(change.rowId(), change.operation());
+
+                continue;
+            }
+
+            final ChangeOperation coalesced = previous.then(change.operation());
+
+            if (coalesced == null) {
+                rows.remove(change.rowId());
+            } else {
+                rows.put(change.rowId(), coalesced);
+            }
+        }
+
+        tables.values().removeIf(Map::isEmpty);
+
+        if (tables.isEmpty()) {
+            return EMPTY;
+        }
+
+        final LinkedHashMap<String, Map<Long, ChangeOperation>> frozen = new LinkedHashMap<>();
+
+        tables.forEach((table, rows) -> frozen.put(table, Collections.unmodifiableMap(rows)));
+
+        return new ChangeSet(Collections.unmodifiableMap(frozen));
+    }
+
+    private final Map<String, Map<Long, ChangeOperation>> tables;
+
+    private ChangeSet(final Map<String, Map<Long, ChangeOperation>> tables) {
+        this.tables = tables;
+    }
+
+    /**
+     * @return the rows of the given table that changed, in the order they were
+     *         first changed, or an empty map if it did not change.
+     */
+    public @NotNull Map<Long, ChangeOperation> changes(@NotNull final String table) {
+        return tables.getOrDefault(table, Map.of());
+    }
+
+    public boolean isEmpty() {
+        return tables.isEmpty();
+    }
+
+    /**
+     * @return the rowids of the given table that the given operation was
+     *         coalesced to.
+     */
+    public @NotNull List<Long> rowIds(@NotNull final String table, @NotNull final ChangeOperation operation) {
+        final List<Long> rowIds = new ArrayList<>();
+
+        changes(table).forEach((rowId, op) -> {
+            if (op == operation) {
+                rowIds.add(rowId);
+            }
+        });
+
+        return rowIds;
+    }
+
+    /** @return the total number of changed rows across all tables. */
+    public int size() {
+        int size = 0;
+
+        for (final Map<Long, ChangeOperation> rows : tables.values()) {
+            size += rows.size();
+        }
+
+        return size;
+    }
+
+    public @NotNull Set<String> tables() {
+        return tables.keySet();
+    }
+
+    /** @return whether any of the given tables changed. */
+    public boolean touches(@NotNull final String... tables) {
+        for (final String table : tables) {
+            if (this.tables.containsKey(table)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "ChangeSet" + tables;
+    }
+}
@@ -0,0 +1,21 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.changes;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A single committed change to a row.
+ *
+ * @param table     the name of the table.
+ * @param rowId     the rowid of the changed row. For every table in the schema
+ *                  this is its integer primary key.
+ * @param operation what happened to the row.
+ */
+public record TableChange(@NotNull String table, long rowId, @NotNull ChangeOperation operation) {
+}
@@ -17,4 +17,21 @@ import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
 
 public interface InventoryDao {
     InventoryMetadataDto[] getAllInventoryItems(@NotNull Connection conn) throws SQLException, IOException;
+
+    /**
+     * @return the item stock with the given id, or {@code null} if there is
+     *         none.
+     */
+    InventoryMetadataDto getInventoryItem(@NotNull Connection conn, int _itemStockId)
+            throws SQLException, IOException;
+
+    /**
+     * Full-text search over item names, descriptions, brands, categories, and
+     * storage locations. Word prefixes match first; items that only share enough
+     * three letter fragments with the query, e.g. because of a typo, come after.
+     *
+     * @return the ids of matching item stocks, best match first.
+     */
+    int[] searchItemStockIds(@NotNull Connection conn, @NotNull String query, int limit)
+            throws SQLException, IOException;
 }
@@ -0,0 +1,54 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.dao.inventory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import com.github.ragudos.kompeter.database.dto.inventory.StockLevelDto;
+
+/**
+ * Moves stock out of storage locations without losing concurrent updates.
+ *
+ * <p>
+ * Every write to a storage location bumps its version, and
+ * {@link #decrement(Connection, int, int, int)} only applies to the version
+ * that was read, so a caller that loses a race finds out instead of
+ * overwriting the other writer.
+ */
+public interface StockLedgerDao {
+    /**
+     * Takes {@code quantity} out of a storage location if it is still at
+     * {@code version} and has at least that much.
+     *
+     * @return whether the row was updated.
+     */
+    boolean decrement(Connection conn, int _itemStockStorageLocationId, int quantity, int version)
+            throws SQLException, IOException;
+
+    /** Removes reservations that expired at or before {@code now}. */
+    int deleteExpiredReservations(Connection conn, long now) throws SQLException, IOException;
+
+    /**
+     * @return the quantity of an item stock held by unexpired reservations of
+     *         holders other than {@code excludedHolder}.
+     */
+    int getReservedQuantity(Connection conn, int _itemStockId, String excludedHolder, long now)
+            throws SQLException, IOException;
+
+    StockLevelDto[] getStockLevels(Connection conn, int _itemStockId) throws SQLException, IOException;
+
+    void releaseReservation(Connection conn, String holder, int _itemStockId) throws SQLException, IOException;
+
+    void releaseReservations(Connection conn, String holder) throws SQLException, IOException;
+
+    /** Creates or replaces the reservation of a holder on an item stock. */
+    void reserve(Connection conn, String holder, int _itemStockId, int quantity, long expiresAt)
+            throws SQLException, IOException;
+}
@@ -27,5 +27,8 @@ public interface SaleDao {
 
     SaleMetadataDto[] getAllSales(@NotNull Connection conn) throws SQLException, IOException;
 
+    /** @return the sales whose id is greater than the given one, oldest first. */
+    SaleMetadataDto[] getSalesAfter(@NotNull Connection conn, int _saleId) throws SQLException, IOException;
+
     Optional<SaleDto> getTransaction(@NotNull Connection conn, int saleId) throws SQLException, IOException;
 }
@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.Map;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
@@ -20,4 +21,12 @@ public interface SaleItemStockDao {
             @Range(from = 0, to = Integer.MAX_VALUE) int _itemStockId,
             @Range(from = 0, to = Integer.MAX_VALUE) int quantity, @NotNull BigDecimal unitPricePhp)
             throws IOException, SQLException;
+
+    /**
+     * @param days how far back to count, from now.
+     * @return the units sold of each item in that time, by item id. Items
+     *         without sales are left out.
+     */
+    @NotNull Map<Integer, Integer> getUnitsSoldByItem(@NotNull Connection conn,
+            @Range(from = 0, to = Integer.MAX_VALUE) int days) throws IOException, SQLException;
 }
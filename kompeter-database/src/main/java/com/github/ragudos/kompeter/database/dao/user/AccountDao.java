@@ -26,16 +26,33 @@ public interface AccountDao {
             int _userId,
             @NotNull String email,
             @NotNull String passwordHash,
-            @NotNull String passwordSalt)
+            @NotNull String passwordSalt,
+            int passwordIterations)
             throws IOException, SQLException;
 
     Optional<AccountDto> getAccountByEmail(@NotNull Connection conn, @NotNull String email)
             throws IOException, SQLException;
 
-    /** Get the {@link AccountPassword}. This has the encoded hashed password and password salt. */
+    /**
+     * Get the {@link AccountPassword}. This has the encoded hashed password, password salt, and the iterations
+     * the hash was made with.
+     */
     Optional<AccountPassword> getAccountPassword(@NotNull Connection conn, @NotNull String email)
             throws IOException, SQLException;
 
+    /**
+     * Replace the password hash of an account, e.g. to rehash it with more iterations.
+     *
+     * @return whether an account was updated.
+     */
+    boolean updatePasswordHash(
+            @NotNull Connection conn,
+            @NotNull String email,
+            @NotNull String passwordHash,
+            @NotNull String passwordSalt,
+            int passwordIterations)
+            throws IOException, SQLException;
+
     boolean emailExists(@NotNull Connection conn, @NotNull String email)
             throws IOException, SQLException;
 }
@@ -24,6 +24,15 @@ public interface SessionDao {
     int createSession(@NotNull Connection conn, @Range(from = 0, to = Integer.MAX_VALUE) int _userId,
             @NotNull String sessionToken, String ipAddress) throws SQLException, IOException;
 
+    /**
+     * Deletes up to {@code limit} expired sessions.
+     *
+     * @return the number of sessions deleted. Less than {@code limit} means
+     *         there are no expired sessions left.
+     */
+    int deleteExpiredSessions(@NotNull Connection conn, @Range(from = 1, to = Integer.MAX_VALUE) int limit)
+            throws IOException, SQLException;
+
     Optional<SessionDto> getSessionById(@NotNull Connection conn,
             @Range(from = 0, to = Integer.MAX_VALUE) int _sessionId) throws IOException, SQLException;
 
@@ -33,6 +42,15 @@ public interface SessionDao {
     Optional<SessionDto> getSessionByUserId(@NotNull Connection conn,
             @Range(from = 0, to = Integer.MAX_VALUE) int _userId) throws IOException, SQLException;
 
+    /**
+     * Moves the expiry of a session that has not expired yet to
+     * {@code ttlSeconds} from now.
+     *
+     * @return whether the session was renewed.
+     */
+    boolean renewSession(@NotNull Connection conn, @NotNull String sessionToken,
+            @Range(from = 1, to = Long.MAX_VALUE) long ttlSeconds) throws IOException, SQLException;
+
     void removeSessionByToken(@NotNull Connection conn, @NotNull String sessionToken) throws IOException, SQLException;
 
     boolean sessionExists(@NotNull Connection conn, @NotNull String sessionToken) throws IOException, SQLException;
@@ -19,6 +19,13 @@ public interface UserRoleDao {
             @NotNull Connection conn, @Range(from = 0, to = Integer.MAX_VALUE) int _userId)
             throws IOException, SQLException;
 
+    /**
+     * @return a number that changes whenever a role is given to or taken from
+     *         the user, 0 if that never happened.
+     */
+    int getRolesVersion(@NotNull Connection conn, @Range(from = 0, to = Integer.MAX_VALUE) int _userId)
+            throws IOException, SQLException;
+
     void removeRoleOfUser(
             @NotNull Connection conn,
             @NotNull String name,
@@ -0,0 +1,15 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.dto.inventory;
+
+/**
+ * The quantity of an item stock at one storage location, along with the
+ * version of the row it was read from.
+ */
+public record StockLevelDto(int _itemStockStorageLocationId, int quantity, int version) {
+}
@@ -17,6 +17,10 @@ public record AccountDto(
         @NotNull String passwordHash,
         @NotNull String passwordSalt,
         @NotNull String email) {
+    /**
+     * @param passwordIterations the number of PBKDF2 iterations
+     *                           {@code passwordHash} was made with.
+     */
     public static record AccountPassword(
-            @NotNull String passwordHash, @NotNull String passwordSalt) {}
+            @NotNull String passwordHash, @NotNull String passwordSalt, int passwordIterations) {}
 }
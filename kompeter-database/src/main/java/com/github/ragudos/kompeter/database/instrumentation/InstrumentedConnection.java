@@ -0,0 +1,248 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.instrumentation;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.Arrays;
+
+/**
+ * Dynamic proxies around {@link Connection}, {@link PreparedStatement}, and
+ * {@link ResultSet} that feed {@link QueryInstrumentation} and
+ * {@link SlowQueryLog}.
+ *
+ * <p>
+ * A statement's latency covers its execution and, for queries, the iteration
+ * of its result set until it is exhausted or closed, since SQLite does most of
+ * its work while stepping through rows.
+ */
+final class InstrumentedConnection implements InvocationHandler {
+    static Connection wrap(final Connection connection) {
+        if (Proxy.isProxyClass(connection.getClass())
+                && Proxy.getInvocationHandler(connection) instanceof InstrumentedConnection) {
+            return connection;
+        }
+
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] { Connection.class }, new InstrumentedConnection(connection));
+    }
+
+    private static Object invokeTarget(final Object target, final Method method, final Object[] args)
+            throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (final InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final Connection target;
+
+    private InstrumentedConnection(final Connection target) {
+        this.target = target;
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+        if ("equals".equals(method.getName()) && args != null && args.length == 1) {
+            return proxy == args[0];
+        }
+
+        final Object result = invokeTarget(target, method, args);
+
+        if (result instanceof final PreparedStatement stmt && args != null && args.length > 0
+                && args[0] instanceof final String sql) {
+            return Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                    new Class<?>[] { PreparedStatement.class },
+                    new Statement(stmt, QueryInstrumentation.keyOf(sql), sql));
+        }
+
+        return result;
+    }
+
+    private static final class Results implements InvocationHandler {
+        private final Statement owner;
+        private final ResultSet target;
+
+        private Results(final Statement owner, final ResultSet target) {
+            this.owner = owner;
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+
+            if ("equals".equals(name) && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+
+            if ("close".equals(name)) {
+                owner.finish(false);
+            }
+
+            final Object result;
+
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (final Throwable e) {
+                owner.finish(true);
+                throw e;
+            }
+
+            if ("next".equals(name)) {
+                if (Boolean.TRUE.equals(result)) {
+                    ++owner.rows;
+                } else {
+                    owner.finish(false);
+                }
+            } else if (args != null && args.length > 0 && name.startsWith("get")) {
+                owner.bytes += approximateSize(result);
+            }
+
+            return result;
+        }
+
+        private long approximateSize(final Object value) {
+            if (value == null) {
+                return 0;
+            }
+
+            if (value instanceof final String s) {
+                return s.length();
+            }
+
+            if (value instanceof final byte[] b) {
+                return b.length;
+            }
+
+            return Long.BYTES;
+        }
+    }
+
+    private static final class Statement implements InvocationHandler {
+        private long bytes;
+        private final QueryKey key;
+        private Object[] params;
+        private boolean pending;
+        private long rows;
+        private final String sql;
+        private long start;
+        private final PreparedStatement target;
+
+        private Statement(final PreparedStatement target, final QueryKey key, final String sql) {
+            this.target = target;
+            this.key = key;
+            this.sql = sql;
+            this.params = SlowQueryLog.isEnabled() ? new Object[0] : null;
+        }
+
+        @Override
+        public Object invoke(final Object proxy, final Method method, final Object[] args) throws Throwable {
+            final String name = method.getName();
+
+            if ("equals".equals(name) && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+
+            final boolean isExecute = (args == null || args.length == 0) && name.startsWith("execute");
+
+            if ("close".equals(name)) {
+                finish(false);
+            } else if (params != null) {
+                captureParam(name, args);
+            }
+
+            if (!isExecute) {
+                return invokeTarget(target, method, args);
+            }
+
+            finish(false);
+
+            rows = 0;
+            bytes = 0;
+            start = System.nanoTime();
+            pending = true;
+
+            final Object result;
+
+            try {
+                result = invokeTarget(target, method, args);
+            } catch (final Throwable e) {
+                finish(true);
+                throw e;
+            }
+
+            if (result instanceof final ResultSet rs) {
+                return Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[] { ResultSet.class },
+                        new Results(this, rs));
+            }
+
+            if (result instanceof final Integer count) {
+                rows = count;
+            } else if (result instanceof final Long count) {
+                rows = count;
+            } else if (result instanceof final int[] counts) {
+                for (final int count : counts) {
+                    rows += Math.max(0, count);
+                }
+            } else if (result instanceof final long[] counts) {
+                for (final long count : counts) {
+                    rows += Math.max(0, count);
+                }
+            }
+
+            finish(false);
+
+            return result;
+        }
+
+        /** Keeps bound parameters around for {@link SlowQueryLog}. */
+        private void captureParam(final String name, final Object[] args) {
+            if ("clearParameters".equals(name)) {
+                params = new Object[0];
+
+                return;
+            }
+
+            if (!name.startsWith("set") || args == null || args.length < 2
+                    || !(args[0] instanceof final Integer index) || index < 1) {
+                return;
+            }
+
+            if (index > params.length) {
+                params = Arrays.copyOf(params, index);
+            }
+
+            params[index - 1] = "setNull".equals(name) ? null : args[1];
+        }
+
+        private void finish(final boolean failed) {
+            if (!pending) {
+                return;
+            }
+
+            pending = false;
+
+            final long elapsed = System.nanoTime() - start;
+
+            if (QueryInstrumentation.isEnabled()) {
+                QueryInstrumentation.record(key, elapsed, rows, bytes, failed);
+            }
+
+            if (SlowQueryLog.isSlow(elapsed)) {
+                SlowQueryLog.submit(key, sql, params == null ? null : params.clone(), elapsed);
+            }
+        }
+    }
+}
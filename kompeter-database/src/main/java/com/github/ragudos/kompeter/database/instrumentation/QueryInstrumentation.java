@@ -0,0 +1,161 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.instrumentation;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToLongFunction;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+
+/**
+ * Per-query JDBC instrumentation.
+ *
+ * <p>
+ * When enabled, connections handed out by
+ * {@link com.github.ragudos.kompeter.database.AbstractSqlFactoryDao#getConnection()}
+ * are wrapped so that every prepared statement records its latency, row count,
+ * and approximate bytes read under the {@link QueryKey} it was loaded with.
+ *
+ * <p>
+ * Instrumentation is off by default and can be turned on at startup with
+ * {@code -Dkompeter.db.instrumentation=true} or at runtime through
+ * {@link #setEnabled(boolean)}. While disabled, the only cost is a volatile
+ * read when a connection is created or a query is loaded.
+ *
+ * <p>
+ * The totals over every query are also registered in the
+ * {@link MetricsRegistry} as the gauges {@code database.queries},
+ * {@code database.query_errors} and {@code database.query_ms}, which are
+ * left out while instrumentation is disabled.
+ */
+public final class QueryInstrumentation {
+    public static final String ENABLED_PROPERTY = "kompeter.db.instrumentation";
+
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+
+    private static final ConcurrentHashMap<String, QueryKey> SQL_KEYS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<QueryKey, QueryStats> STATS = new ConcurrentHashMap<>();
+
+    static {
+        final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+        registry.gauge("database.queries", () -> total(QueryStatsSnapshot::executions));
+        registry.gauge("database.query_errors", () -> total(QueryStatsSnapshot::errors));
+        registry.gauge("database.query_ms", () -> total(QueryStatsSnapshot::totalNanos) / 1_000_000.0);
+    }
+
+    /**
+     * Register a derived form of an already registered SQL string, e.g. the SQL
+     * produced by {@link com.github.ragudos.kompeter.database.NamedPreparedStatement}
+     * after replacing named parameters.
+     */
+    public static void alias(@NotNull final String derivedSql, @NotNull final String originalSql) {
+        if (!isActive() || derivedSql.equals(originalSql)) {
+            return;
+        }
+
+        final QueryKey key = SQL_KEYS.get(originalSql);
+
+        if (key != null) {
+            SQL_KEYS.putIfAbsent(derivedSql, key);
+        }
+    }
+
+    /**
+     * @return whether statistics or the {@link SlowQueryLog} need connections to
+     *         be wrapped.
+     */
+    public static boolean isActive() {
+        return enabled || SlowQueryLog.isEnabled();
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @return the key registered for the given SQL, or an ad-hoc key if it was
+     *         not loaded through a query loader.
+     */
+    public static @NotNull QueryKey keyOf(@NotNull final String sql) {
+        final QueryKey key = SQL_KEYS.get(sql);
+
+        return key == null ? QueryKey.adhoc(sql) : key;
+    }
+
+    /** Associate the given SQL string with the key it was loaded with. */
+    public static void register(@NotNull final String sql, @NotNull final QueryKey key) {
+        if (isActive()) {
+            SQL_KEYS.putIfAbsent(sql, key);
+        }
+    }
+
+    /** Clears all gathered statistics. Registered query keys are kept. */
+    public static void reset() {
+        STATS.values().forEach(QueryStats::reset);
+    }
+
+    /**
+     * Connections already open keep their current state; only connections
+     * created afterwards are affected.
+     */
+    public static void setEnabled(final boolean enabled) {
+        QueryInstrumentation.enabled = enabled;
+    }
+
+    /**
+     * @return the statistics of every query executed since the last
+     *         {@link #reset()}, slowest total time first.
+     */
+    public static @NotNull List<QueryStatsSnapshot> snapshot() {
+        final List<QueryStatsSnapshot> snapshots = new ArrayList<>(STATS.size());
+
+        for (final QueryStats stats : STATS.values()) {
+            final QueryStatsSnapshot snapshot = stats.snapshot();
+
+            if (snapshot.executions() > 0) {
+                snapshots.add(snapshot);
+            }
+        }
+
+        snapshots.sort(Comparator.comparingLong(QueryStatsSnapshot::totalNanos).reversed());
+
+        return snapshots;
+    }
+
+    /**
+     * @return the given connection wrapped for instrumentation if instrumentation
+     *         or the {@link SlowQueryLog} is enabled, otherwise the connection
+     *         itself.
+     */
+    public static Connection wrap(final Connection connection) {
+        if (!isActive() || connection == null) {
+            return connection;
+        }
+
+        return InstrumentedConnection.wrap(connection);
+    }
+
+    private static double total(final ToLongFunction<QueryStatsSnapshot> field) {
+        return isEnabled() ? snapshot().stream().mapToLong(field).sum() : Double.NaN;
+    }
+
+    static void record(final QueryKey key, final long nanos, final long rows, final long bytes,
+            final boolean failed) {
+        STATS.computeIfAbsent(key, QueryStats::new).record(nanos, rows, bytes, failed);
+    }
+
+    private QueryInstrumentation() {
+    }
+}
@@ -0,0 +1,51 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.instrumentation;
+
+import java.util.Locale;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.AbstractSqlQueryLoader.SqlQueryType;
+
+/**
+ * Identifies a query by the name, table folder, and type it was loaded with
+ * through {@link com.github.ragudos.kompeter.database.AbstractSqlQueryLoader}.
+ *
+ * <p>
+ * Statements that were not loaded through a query loader (migrations, seeders,
+ * inline SQL) are grouped under {@link #ADHOC_NAME} per query type.
+ */
+public record QueryKey(@NotNull String name, @NotNull String tableName, @NotNull SqlQueryType type) {
+    public static final String ADHOC_NAME = "adhoc";
+
+    /**
+     * @param sql the raw SQL of a statement that has no registered key.
+     * @return a key grouping the statement with other unnamed statements of the
+     *         same type.
+     */
+    public static @NotNull QueryKey adhoc(@NotNull final String sql) {
+        final String trimmed = sql.stripLeading().toUpperCase(Locale.ROOT);
+        SqlQueryType type = SqlQueryType.SELECT;
+
+        if (trimmed.startsWith("INSERT")) {
+            type = SqlQueryType.INSERT;
+        } else if (trimmed.startsWith("UPDATE")) {
+            type = SqlQueryType.UPDATE;
+        } else if (trimmed.startsWith("DELETE")) {
+            type = SqlQueryType.DELETE;
+        }
+
+        return new QueryKey(ADHOC_NAME, "", type);
+    }
+
+    @Override
+    public String toString() {
+        return type + "/" + tableName + "/" + name;
+    }
+}
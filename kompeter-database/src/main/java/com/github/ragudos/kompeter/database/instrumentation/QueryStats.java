@@ -0,0 +1,56 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.instrumentation;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.ragudos.kompeter.utilities.metrics.LogLinearHistogram;
+
+/** Lock-free accumulators for a single {@link QueryKey}. */
+final class QueryStats {
+    private final LongAdder bytes = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder executions = new LongAdder();
+    private final QueryKey key;
+    private final LogLinearHistogram latency = new LogLinearHistogram();
+    private final LongAdder rows = new LongAdder();
+
+    QueryStats(final QueryKey key) {
+        this.key = key;
+    }
+
+    void record(final long nanos, final long rowCount, final long byteCount, final boolean failed) {
+        executions.increment();
+        latency.record(nanos);
+
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+
+        if (byteCount > 0) {
+            bytes.add(byteCount);
+        }
+
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    void reset() {
+        bytes.reset();
+        errors.reset();
+        executions.reset();
+        latency.reset();
+        rows.reset();
+    }
+
+    QueryStatsSnapshot snapshot() {
+        return new QueryStatsSnapshot(key, executions.sum(), errors.sum(), rows.sum(), bytes.sum(),
+                latency.snapshot());
+    }
+}
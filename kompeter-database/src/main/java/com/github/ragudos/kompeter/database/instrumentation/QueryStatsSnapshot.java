@@ -0,0 +1,32 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.instrumentation;
+
+import com.github.ragudos.kompeter.utilities.metrics.LogLinearHistogram;
+
+/**
+ * A point-in-time copy of the statistics gathered for one {@link QueryKey}.
+ *
+ * @param key        the query these statistics belong to.
+ * @param executions how many times the query was executed.
+ * @param errors     how many executions threw an exception.
+ * @param rows       rows read (for selects) or affected (for writes).
+ * @param bytes      approximate bytes read from result sets.
+ * @param latency    execution time in nanoseconds, measured from execute to
+ *                   the result set being exhausted or closed.
+ */
+public record QueryStatsSnapshot(QueryKey key, long executions, long errors, long rows, long bytes,
+        LogLinearHistogram.Snapshot latency) {
+    public double meanRows() {
+        return executions == 0 ? 0 : (double) rows / executions;
+    }
+
+    public long totalNanos() {
+        return latency.sum();
+    }
+}
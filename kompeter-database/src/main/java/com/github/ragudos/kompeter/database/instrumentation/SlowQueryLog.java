@@ -0,0 +1,268 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.instrumentation;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.FileHandler;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+import org.sqlite.SQLiteConfig;
+
+import com.github.ragudos.kompeter.database.sqlite.SqliteFactoryDao;
+import com.github.ragudos.kompeter.utilities.constants.Directories;
+import com.github.ragudos.kompeter.utilities.io.FileUtils;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogFormatter;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * An opt-in log of statements that take longer than a threshold.
+ *
+ * <p>
+ * Each entry has the SQL, its bound parameters, how long it took, and the
+ * output of {@code EXPLAIN QUERY PLAN}. The plan is captured on a background
+ * thread using its own read-only connection, so the slow statement's caller is
+ * never held up by it. Entries go to {@code slow-queries-N.log} files in
+ * {@link Directories#LOGS_DIRECTORY}, rotated every
+ * {@value #FILE_LIMIT_BYTES} bytes.
+ *
+ * <p>
+ * Enable with {@code -Dkompeter.db.slowQueryLog=true} and optionally set
+ * {@code -Dkompeter.db.slowQueryThresholdMs=200}, or at runtime through
+ * {@link #setEnabled(boolean)} and {@link #setThresholdMillis(long)}.
+ */
+public final class SlowQueryLog {
+    public static final String ENABLED_PROPERTY = "kompeter.db.slowQueryLog";
+    public static final String THRESHOLD_PROPERTY = "kompeter.db.slowQueryThresholdMs";
+
+    public static final long DEFAULT_THRESHOLD_MILLIS = 200;
+    public static final int FILE_COUNT = 5;
+    public static final int FILE_LIMIT_BYTES = 1024 * 1024;
+    public static final String FILE_NAME_PATTERN = "slow-queries-%g.log";
+
+    private static final Logger LOGGER = KompeterLogger.getLogger(SlowQueryLog.class);
+    private static final int QUEUE_CAPACITY = 64;
+
+    private static final LongAdder DROPPED = new LongAdder();
+    private static volatile boolean enabled = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static volatile long thresholdNanos = TimeUnit.MILLISECONDS
+            .toNanos(Long.getLong(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD_MILLIS));
+
+    private static SlowQueryLog instance;
+    private static boolean shutdown;
+
+    /**
+     * @return how many slow statements were not logged because the background
+     *         writer could not keep up, or the log was shut down.
+     */
+    public static long getDroppedCount() {
+        return DROPPED.sum();
+    }
+
+    public static long getThresholdMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(thresholdNanos);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Only connections created afterwards are affected, like with
+     * {@link QueryInstrumentation#setEnabled(boolean)}.
+     */
+    public static void setEnabled(final boolean enabled) {
+        SlowQueryLog.enabled = enabled;
+    }
+
+    public static void setThresholdMillis(final long thresholdMillis) {
+        thresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, thresholdMillis));
+    }
+
+    /**
+     * Stops the background writer and closes the log file and plan connection.
+     * Slow statements afterwards are dropped rather than opening the log again.
+     */
+    public static synchronized void shutdown() {
+        shutdown = true;
+
+        if (instance != null) {
+            instance.close();
+            instance = null;
+        }
+    }
+
+    static boolean isSlow(final long nanos) {
+        return enabled && nanos >= thresholdNanos;
+    }
+
+    static void submit(@NotNull final QueryKey key, @NotNull final String sql, final Object[] params,
+            final long nanos) {
+        final SlowQueryLog log = getInstance();
+
+        if (log == null) {
+            DROPPED.increment();
+
+            return;
+        }
+
+        log.executor.execute(() -> log.write(key, sql, params, nanos));
+    }
+
+    /** @return the log, or {@code null} if it cannot be opened or was shut down. */
+    private static synchronized SlowQueryLog getInstance() {
+        if (instance == null && !shutdown) {
+            try {
+                instance = new SlowQueryLog();
+            } catch (final IOException e) {
+                LOGGER.log(Level.SEVERE, "Cannot open slow query log. Disabling it.", e);
+                enabled = false;
+            }
+        }
+
+        return instance;
+    }
+
+    private static String formatParams(final Object[] params) {
+        if (params == null || params.length == 0) {
+            return "[]";
+        }
+
+        final StringBuilder sb = new StringBuilder("[");
+
+        for (int i = 0; i < params.length; ++i) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+
+            sb.append(i + 1).append('=');
+
+            if (params[i] instanceof final String s) {
+                sb.append('\'').append(s).append('\'');
+            } else {
+                sb.append(params[i]);
+            }
+        }
+
+        return sb.append(']').toString();
+    }
+
+    private final ThreadPoolExecutor executor;
+    private final Handler handler;
+    private Connection planConnection;
+
+    private SlowQueryLog() throws IOException {
+        FileUtils.createDirectoryIfNotExists(Directories.LOGS_DIRECTORY);
+
+        handler = new FileHandler(Directories.LOGS_DIRECTORY + File.separator + FILE_NAME_PATTERN,
+                FILE_LIMIT_BYTES, FILE_COUNT, true);
+        handler.setFormatter(new KompeterLogFormatter());
+
+        executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(QUEUE_CAPACITY),
+                (r) -> {
+                    final Thread thread = new Thread(r, "kompeter-slow-query-log");
+                    thread.setDaemon(true);
+                    return thread;
+                }, (r, e) -> DROPPED.increment());
+    }
+
+    private void close() {
+        executor.shutdown();
+
+        try {
+            executor.awaitTermination(2, TimeUnit.SECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        closePlanConnection();
+        handler.close();
+    }
+
+    private void closePlanConnection() {
+        if (planConnection == null) {
+            return;
+        }
+
+        try {
+            planConnection.close();
+        } catch (final SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to close query plan connection", e);
+        }
+
+        planConnection = null;
+    }
+
+    private String explain(final String sql, final Object[] params) {
+        try {
+            if (planConnection == null || planConnection.isClosed()) {
+                final SQLiteConfig config = new SQLiteConfig();
+
+                config.setReadOnly(true);
+
+                planConnection = DriverManager.getConnection(SqliteFactoryDao.DB_URL, config.toProperties());
+            }
+
+            try (PreparedStatement stmt = planConnection.prepareStatement("EXPLAIN QUERY PLAN " + sql)) {
+                if (params != null) {
+                    for (int i = 0; i < params.length; ++i) {
+                        stmt.setObject(i + 1, params[i]);
+                    }
+                }
+
+                final ResultSet rs = stmt.executeQuery();
+                final Map<Integer, Integer> depths = new HashMap<>();
+                final StringBuilder plan = new StringBuilder();
+
+                while (rs.next()) {
+                    final int depth = depths.getOrDefault(rs.getInt("parent"), -1) + 1;
+
+                    depths.put(rs.getInt("id"), depth);
+                    plan.append("\t").append("  ".repeat(depth)).append(rs.getString("detail")).append("\n");
+                }
+
+                return plan.isEmpty() ? "\t(no plan)\n" : plan.toString();
+            }
+        } catch (final SQLException e) {
+            closePlanConnection();
+
+            return "\t(plan unavailable: " + e.getMessage() + ")\n";
+        }
+    }
+
+    private void write(final QueryKey key, final String sql, final Object[] params, final long nanos) {
+        final StringBuilder entry = new StringBuilder();
+
+        entry.append(String.format("%.3f ms", nanos / 1_000_000.0)).append(" ").append(key).append("\n");
+        entry.append("sql:\n\t").append(sql.strip().replace("\n", "\n\t")).append("\n");
+        entry.append("params: ").append(formatParams(params)).append("\n");
+        entry.append("plan:\n").append(explain(sql, params));
+
+        final LogRecord record = new LogRecord(Level.WARNING, entry.toString());
+
+        record.setSourceClassName(SlowQueryLog.class.getName());
+        record.setSourceMethodName(key.name());
+
+        handler.publish(record);
+    }
+}
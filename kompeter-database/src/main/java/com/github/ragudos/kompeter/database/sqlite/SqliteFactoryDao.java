@@ -11,10 +11,13 @@ import java.io.File;
 import java.sql.Connection;
 import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.util.Properties;
 
 import org.jetbrains.annotations.NotNull;
+import org.sqlite.SQLiteConfig;
 
 import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
+import com.github.ragudos.kompeter.database.changes.ChangeFeed;
 import com.github.ragudos.kompeter.database.dao.inventory.InventoryDao;
 import com.github.ragudos.kompeter.database.dao.inventory.ItemBrandDao;
 import com.github.ragudos.kompeter.database.dao.inventory.ItemCategoryAssignmentDao;
@@ -26,6 +29,7 @@ import com.github.ragudos.kompeter.database.dao.inventory.ItemStockStorageLocati
 import com.github.ragudos.kompeter.database.dao.inventory.PurchaseDao;
 import com.github.ragudos.kompeter.database.dao.inventory.PurchaseItemStockDao;
 import com.github.ragudos.kompeter.database.dao.inventory.PurchasePaymentDao;
+import com.github.ragudos.kompeter.database.dao.inventory.StockLedgerDao;
 import com.github.ragudos.kompeter.database.dao.inventory.StorageLocationDao;
 import com.github.ragudos.kompeter.database.dao.inventory.SupplierDao;
 import com.github.ragudos.kompeter.database.dao.sales.SaleDao;
@@ -48,6 +52,7 @@ import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqliteItemStock
 import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqlitePurchaseDao;
 import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqlitePurchaseItemStockDao;
 import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqlitePurchasePaymentDao;
+import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqliteStockLedgerDao;
 import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqliteStorageLocationDao;
 import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqliteSupplierDao;
 import com.github.ragudos.kompeter.database.sqlite.dao.sales.SqliteSaleDao;
@@ -63,17 +68,52 @@ import com.github.ragudos.kompeter.utilities.constants.Directories;
 import com.github.ragudos.kompeter.utilities.constants.Metadata;
 import com.github.ragudos.kompeter.utilities.io.FileUtils;
 
+/**
+ * Connections to the SQLite database of the current environment.
+ *
+ * <p>
+ * Several terminals, in this process or in other processes on the same
+ * machine, may share the database. Every connection puts it in write-ahead
+ * logging mode, so readers never wait for the one writer and the writer never
+ * waits for readers, and waits up to the busy timeout for a lock held by
+ * another writer instead of failing right away. Transactions that still lose a
+ * race are retried with a {@link com.github.ragudos.kompeter.database.RetryPolicy}.
+ * Write-ahead logging needs shared memory, so the database must stay on a
+ * local disk rather than a network share.
+ *
+ * <p>
+ * The update hooks behind {@link ChangeFeed} only see the commits of this
+ * process. The inventory catalog polls for the commits of other processes and
+ * publishes the item stocks they changed, but other views, such as the list of
+ * transactions, only show them once they are reloaded.
+ *
+ * <p>
+ * The busy timeout can be set with {@code -Dkompeter.db.busyTimeoutMs=5000}.
+ */
 public final class SqliteFactoryDao extends AbstractSqlFactoryDao {
+    public static final String BUSY_TIMEOUT_PROPERTY = "kompeter.db.busyTimeoutMs";
     public static final String DB_URL;
+    public static final int DEFAULT_BUSY_TIMEOUT_MILLIS = 5000;
     public static final String MAIN_DB_FILE_NAME;
 
     public static final int POOL_CONNECTION_COUNT = 1;
 
+    private static final Properties CONNECTION_PROPERTIES;
     private static SqliteFactoryDao instance = null;
 
     static {
         MAIN_DB_FILE_NAME = Directories.SQLITE_DIRECTORY + File.separator + "main-" + Metadata.APP_ENV + ".db";
         DB_URL = "jdbc:sqlite:/" + MAIN_DB_FILE_NAME;
+
+        final SQLiteConfig config = new SQLiteConfig();
+
+        config.setJournalMode(SQLiteConfig.JournalMode.WAL);
+        // a commit is still atomic and durable against crashes of the app, only
+        // a power loss may undo the last few
+        config.setSynchronous(SQLiteConfig.SynchronousMode.NORMAL);
+        config.setBusyTimeout(Math.max(0, Integer.getInteger(BUSY_TIMEOUT_PROPERTY, DEFAULT_BUSY_TIMEOUT_MILLIS)));
+
+        CONNECTION_PROPERTIES = config.toProperties();
     }
 
     public static synchronized @NotNull SqliteFactoryDao getInstance() {
@@ -176,6 +216,11 @@ public final class SqliteFactoryDao extends AbstractSqlFactoryDao {
         return new SqliteSessionDao();
     }
 
+    @Override
+    public StockLedgerDao getStockLedgerDao() {
+        return new SqliteStockLedgerDao();
+    }
+
     @Override
     public StorageLocationDao getStorageLocationDao() {
         return new SqliteStorageLocationDao();
@@ -209,6 +254,10 @@ public final class SqliteFactoryDao extends AbstractSqlFactoryDao {
             throw new RuntimeException("SQLite JDBC Driver not found", e);
         }
 
-        return DriverManager.getConnection(DB_URL);
+        final Connection connection = DriverManager.getConnection(DB_URL, CONNECTION_PROPERTIES);
+
+        ChangeFeed.getInstance().attach(connection);
+
+        return connection;
     }
 }
@@ -8,7 +8,8 @@
 package com.github.ragudos.kompeter.database.sqlite;
 
 import com.github.ragudos.kompeter.database.AbstractSqlQueryLoader;
-import com.github.ragudos.kompeter.utilities.cache.LRU;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+import com.github.ragudos.kompeter.utilities.cache.ConcurrentCache;
 
 public final class SqliteQueryLoader extends AbstractSqlQueryLoader {
     private static SqliteQueryLoader instance;
@@ -24,7 +25,9 @@ public final class SqliteQueryLoader extends AbstractSqlQueryLoader {
     private SqliteQueryLoader() {
         super();
 
-        queryCache = new LRU<>(30);
+        queryCache = ConcurrentCache.<String, String>builder().maximumWeight(30).build();
+
+        MetricsRegistry.getInstance().gauge("database.query_cache.hit_ratio", () -> queryCache.stats().hitRate());
     }
 
     @Override
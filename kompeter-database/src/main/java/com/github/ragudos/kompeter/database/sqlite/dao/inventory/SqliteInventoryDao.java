@@ -9,13 +9,18 @@ package com.github.ragudos.kompeter.database.sqlite.dao.inventory;
 
 import java.io.IOException;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.Locale;
 
 import org.jetbrains.annotations.NotNull;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.ragudos.kompeter.database.AbstractSqlQueryLoader;
+import com.github.ragudos.kompeter.database.NamedPreparedStatement;
 import com.github.ragudos.kompeter.database.dao.inventory.InventoryDao;
 import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
@@ -24,6 +29,32 @@ import com.github.ragudos.kompeter.database.sqlite.SqliteQueryLoader;
 import com.github.ragudos.kompeter.utilities.StringUtils;
 
 public class SqliteInventoryDao implements InventoryDao {
+    /**
+     * The share of the query's trigrams an item must contain to count as a typo
+     * tolerant match.
+     */
+    public static final double MIN_TRIGRAM_OVERLAP = 0.5;
+
+    /** How many trigram matches are ranked per wanted result. */
+    private static final int TRIGRAM_CANDIDATES_PER_RESULT = 4;
+
+    private static String[] tokenize(final String query) {
+        return Arrays.stream(query.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")).filter((t) -> !t.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    private static LinkedHashSet<String> trigramsOf(final String[] tokens) {
+        final LinkedHashSet<String> trigrams = new LinkedHashSet<>();
+
+        for (final String token : tokens) {
+            for (int i = 0; i + 3 <= token.length(); ++i) {
+                trigrams.add(token.substring(i, i + 3));
+            }
+        }
+
+        return trigrams;
+    }
+
     @Override
     public InventoryMetadataDto[] getAllInventoryItems(@NotNull Connection conn) throws SQLException, IOException {
         ArrayList<InventoryMetadataDto> inventory = new ArrayList<>();
@@ -35,24 +66,108 @@ public class SqliteInventoryDao implements InventoryDao {
             var rs = stmt.executeQuery();
 
             while (rs.next()) {
-                ObjectMapper objectMapper = new ObjectMapper();
-                ItemStockStorageLocationDto[] storageLocations = objectMapper
-                        .readValue(rs.getString("item_storage_locations"), ItemStockStorageLocationDto[].class);
-
-                InventoryMetadataDto metadata = new InventoryMetadataDto.InventoryMetadataDtoBuilder()
-                        .setStatus(ItemStatus.fromString(rs.getString("status")))
-                        .setItemStockId(rs.getInt("_item_stock_id")).setItemId(rs.getInt("_item_id"))
-                        .setCreatedAt(rs.getTimestamp("_created_at")).setItemName(rs.getString("name"))
-                        .setItemDescription(rs.getString("description")).setDisplayImage(rs.getString("display_image"))
-                        .setCategories(StringUtils.splitTrim(rs.getString("categories"), ","))
-                        .setBrand(rs.getString("brand")).setMinimumQuantity(rs.getInt("minimum_quantity"))
-                        .setUnitPricePhp(rs.getBigDecimal("unit_price_php")).setItemStockLocations(storageLocations)
-                        .build();
-
-                inventory.add(metadata);
+                inventory.add(readInventoryMetadata(rs));
             }
         }
 
         return inventory.toArray(new InventoryMetadataDto[inventory.size()]);
     }
+
+    @Override
+    public InventoryMetadataDto getInventoryItem(@NotNull final Connection conn, final int _itemStockId)
+            throws SQLException, IOException {
+        try (NamedPreparedStatement stmnt = new NamedPreparedStatement(conn,
+                SqliteQueryLoader.getInstance().get("select_inventory_metadata_by_item_stock_id", "items",
+                        AbstractSqlQueryLoader.SqlQueryType.SELECT))) {
+            stmnt.setInt("_item_stock_id", _itemStockId);
+
+            try (ResultSet rs = stmnt.executeQuery()) {
+                return rs.next() ? readInventoryMetadata(rs) : null;
+            }
+        }
+    }
+
+    @Override
+    public int[] searchItemStockIds(@NotNull final Connection conn, @NotNull final String query, final int limit)
+            throws SQLException, IOException {
+        final String[] tokens = tokenize(query);
+
+        if (tokens.length == 0 || limit <= 0) {
+            return new int[0];
+        }
+
+        final LinkedHashSet<Integer> ids = new LinkedHashSet<>();
+        final StringBuilder wordQuery = new StringBuilder();
+
+        for (final String token : tokens) {
+            if (!wordQuery.isEmpty()) {
+                wordQuery.append(' ');
+            }
+
+            wordQuery.append('"').append(token).append("\"*");
+        }
+
+        try (NamedPreparedStatement stmnt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("search_item_stocks_by_words", "items", AbstractSqlQueryLoader.SqlQueryType.SELECT))) {
+            stmnt.setString("query", wordQuery.toString());
+            stmnt.setInt("limit", limit);
+
+            try (ResultSet rs = stmnt.executeQuery()) {
+                while (rs.next()) {
+                    ids.add(rs.getInt("_item_stock_id"));
+                }
+            }
+        }
+
+        final LinkedHashSet<String> trigrams = trigramsOf(tokens);
+
+        if (ids.size() >= limit || trigrams.isEmpty()) {
+            return ids.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        try (NamedPreparedStatement stmnt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("search_item_stocks_by_trigrams", "items", AbstractSqlQueryLoader.SqlQueryType.SELECT))) {
+            stmnt.setString("query", String.join(" OR ", trigrams.stream().map((t) -> '"' + t + '"').toList()));
+            stmnt.setInt("limit", limit * TRIGRAM_CANDIDATES_PER_RESULT);
+
+            try (ResultSet rs = stmnt.executeQuery()) {
+                while (rs.next() && ids.size() < limit) {
+                    // bm25 ranks items by how rare the shared trigrams are, not by how
+                    // many there are, so items sharing one common trigram are dropped
+                    // here.
+                    final String document = String.join(" ", rs.getString("item_name"), rs.getString("brand"),
+                            rs.getString("categories"), rs.getString("locations")).toLowerCase(Locale.ROOT);
+                    int shared = 0;
+
+                    for (final String trigram : trigrams) {
+                        if (document.contains(trigram)) {
+                            ++shared;
+                        }
+                    }
+
+                    if (shared >= MIN_TRIGRAM_OVERLAP * trigrams.size()) {
+                        ids.add(rs.getInt("_item_stock_id"));
+                    }
+                }
+            }
+        }
+
+        return ids.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private InventoryMetadataDto readInventoryMetadata(final ResultSet rs) throws SQLException, IOException {
+        ObjectMapper objectMapper = new ObjectMapper();
+        ItemStockStorageLocationDto[] storageLocations = objectMapper
+                .readValue(rs.getString("item_storage_locations"), ItemStockStorageLocationDto[].class);
+
+        return new InventoryMetadataDto.InventoryMetadataDtoBuilder()
+                .setStatus(ItemStatus.fromString(rs.getString("status")))
+                .setItemStockId(rs.getInt("_item_stock_id")).setItemId(rs.getInt("_item_id"))
+                .setCreatedAt(rs.getTimestamp("_created_at")).setItemName(rs.getString("name"))
+                .setItemDescription(rs.getString("description")).setDisplayImage(rs.getString("display_image"))
+                .setCategories(StringUtils.splitTrim(rs.getString("categories"), ","))
+                .setBrand(rs.getString("brand")).setMinimumQuantity(rs.getInt("minimum_quantity"))
+                .setUnitPricePhp(rs.getBigDecimal("unit_price_php")).setItemStockLocations(storageLocations)
+                .build();
+    }
 }
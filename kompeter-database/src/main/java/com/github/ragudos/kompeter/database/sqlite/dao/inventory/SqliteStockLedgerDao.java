@@ -0,0 +1,116 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.database.sqlite.dao.inventory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+
+import com.github.ragudos.kompeter.database.AbstractSqlQueryLoader.SqlQueryType;
+import com.github.ragudos.kompeter.database.NamedPreparedStatement;
+import com.github.ragudos.kompeter.database.dao.inventory.StockLedgerDao;
+import com.github.ragudos.kompeter.database.dto.inventory.StockLevelDto;
+import com.github.ragudos.kompeter.database.sqlite.SqliteQueryLoader;
+
+public class SqliteStockLedgerDao implements StockLedgerDao {
+    @Override
+    public boolean decrement(final Connection conn, final int _itemStockStorageLocationId, final int quantity,
+            final int version) throws SQLException, IOException {
+        try (var stmt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance().get("decrement_quantity",
+                "item_stock_storage_locations", SqlQueryType.UPDATE))) {
+            stmt.setInt("quantity", quantity);
+            stmt.setInt("_item_stock_storage_location_id", _itemStockStorageLocationId);
+            stmt.setInt("version", version);
+
+            return stmt.executeUpdate() == 1;
+        }
+    }
+
+    @Override
+    public int deleteExpiredReservations(final Connection conn, final long now) throws SQLException, IOException {
+        try (var stmt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("delete_expired_reservations", "item_stock_reservations", SqlQueryType.DELETE))) {
+            stmt.setLong("now", now);
+
+            return stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public int getReservedQuantity(final Connection conn, final int _itemStockId, final String excludedHolder,
+            final long now) throws SQLException, IOException {
+        try (var stmt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("select_reserved_quantity", "item_stock_reservations", SqlQueryType.SELECT))) {
+            stmt.setInt("_item_stock_id", _itemStockId);
+            stmt.setString("holder", excludedHolder == null ? "" : excludedHolder);
+            stmt.setLong("now", now);
+
+            final ResultSet rs = stmt.executeQuery();
+
+            return rs.next() ? rs.getInt("reserved") : 0;
+        }
+    }
+
+    @Override
+    public StockLevelDto[] getStockLevels(final Connection conn, final int _itemStockId)
+            throws SQLException, IOException {
+        final ArrayList<StockLevelDto> levels = new ArrayList<>();
+
+        try (var stmt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance().get("select_stock_levels",
+                "item_stock_storage_locations", SqlQueryType.SELECT))) {
+            stmt.setInt("_item_stock_id", _itemStockId);
+
+            final ResultSet rs = stmt.executeQuery();
+
+            while (rs.next()) {
+                levels.add(new StockLevelDto(rs.getInt("_item_stock_storage_location_id"), rs.getInt("quantity"),
+                        rs.getInt("version")));
+            }
+        }
+
+        return levels.toArray(StockLevelDto[]::new);
+    }
+
+    @Override
+    public void releaseReservation(final Connection conn, final String holder, final int _itemStockId)
+            throws SQLException, IOException {
+        try (var stmt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("delete_reservation", "item_stock_reservations", SqlQueryType.DELETE))) {
+            stmt.setString("holder", holder);
+            stmt.setInt("_item_stock_id", _itemStockId);
+
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void releaseReservations(final Connection conn, final String holder) throws SQLException, IOException {
+        try (var stmt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("delete_reservations_by_holder", "item_stock_reservations", SqlQueryType.DELETE))) {
+            stmt.setString("holder", holder);
+
+            stmt.executeUpdate();
+        }
+    }
+
+    @Override
+    public void reserve(final Connection conn, final String holder, final int _itemStockId, final int quantity,
+            final long expiresAt) throws SQLException, IOException {
+        try (var stmt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("insert_reservation", "item_stock_reservations", SqlQueryType.INSERT))) {
+            stmt.setInt("_item_stock_id", _itemStockId);
+            stmt.setString("holder", holder);
+            stmt.setInt("quantity", quantity);
+            stmt.setLong("expires_at", expiresAt);
+
+            stmt.executeUpdate();
+        }
+    }
+}
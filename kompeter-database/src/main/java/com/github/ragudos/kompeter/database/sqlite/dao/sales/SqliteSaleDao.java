@@ -62,23 +62,20 @@ public class SqliteSaleDao implements SaleDao {
         try (final Statement stmt = conn.createStatement();
                 ResultSet rs = stmt.executeQuery(SqliteQueryLoader.getInstance().get("select_all_sales_metadata",
                         "sales", SqlQueryType.SELECT))) {
-            final ArrayList<SaleMetadataDto> sales = new ArrayList<>();
-
-            while (rs.next()) {
-                final ObjectMapper om = new ObjectMapper();
-                final SaleMetadataPayments[] payments = om.readValue(rs.getString("payments"),
-                        SaleMetadataPayments[].class);
-                final SaleItemStocks[] items = om.readValue(rs.getString("items"), SaleItemStocks[].class);
-
-                sales.add(SaleMetadataDto.builder().createdAt(rs.getTimestamp("_created_at"))
-                        .saleDate(rs.getTimestamp("sale_date")).customerName(rs.getString("customer_name"))
-                        .saleCode(rs.getString("sale_code")).saleId(rs.getInt("_sale_id")).payments(payments)
-                        .saleItemStocks(items).vatPercent(rs.getBigDecimal("vat_percent"))
-                        .discountType(rs.getString("discount_type")).discountValue(rs.getBigDecimal("discount_value"))
-                        .build());
-            }
+            return readSaleMetadata(rs);
+        }
+    }
 
-            return sales.toArray(new SaleMetadataDto[sales.size()]);
+    @Override
+    public SaleMetadataDto[] getSalesAfter(@NotNull final Connection conn, final int _saleId)
+            throws SQLException, IOException {
+        try (NamedPreparedStatement stmnt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("select_sales_metadata_after", "sales", SqlQueryType.SELECT))) {
+            stmnt.setInt("_sale_id", _saleId);
+
+            try (ResultSet rs = stmnt.executeQuery()) {
+                return readSaleMetadata(rs);
+            }
         }
     }
 
@@ -99,4 +96,24 @@ public class SqliteSaleDao implements SaleDao {
                     : Optional.empty();
         }
     }
+
+    private SaleMetadataDto[] readSaleMetadata(final ResultSet rs) throws SQLException, IOException {
+        final ObjectMapper om = new ObjectMapper();
+        final ArrayList<SaleMetadataDto> sales = new ArrayList<>();
+
+        while (rs.next()) {
+            final SaleMetadataPayments[] payments = om.readValue(rs.getString("payments"),
+                    SaleMetadataPayments[].class);
+            final SaleItemStocks[] items = om.readValue(rs.getString("items"), SaleItemStocks[].class);
+
+            sales.add(SaleMetadataDto.builder().createdAt(rs.getTimestamp("_created_at"))
+                    .saleDate(rs.getTimestamp("sale_date")).customerName(rs.getString("customer_name"))
+                    .saleCode(rs.getString("sale_code")).saleId(rs.getInt("_sale_id")).payments(payments)
+                    .saleItemStocks(items).vatPercent(rs.getBigDecimal("vat_percent"))
+                    .discountType(rs.getString("discount_type")).discountValue(rs.getBigDecimal("discount_value"))
+                    .build());
+        }
+
+        return sales.toArray(new SaleMetadataDto[sales.size()]);
+    }
 }
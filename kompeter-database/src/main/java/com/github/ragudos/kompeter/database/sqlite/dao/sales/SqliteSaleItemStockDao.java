@@ -10,7 +10,10 @@ package com.github.ragudos.kompeter.database.sqlite.dao.sales;
 import java.io.IOException;
 import java.math.BigDecimal;
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Range;
@@ -36,4 +39,23 @@ public class SqliteSaleItemStockDao implements SaleItemStockDao {
             stmnt.executeUpdate();
         }
     }
+
+    @Override
+    public @NotNull Map<Integer, Integer> getUnitsSoldByItem(@NotNull final Connection conn,
+            @Range(from = 0, to = 2147483647) final int days) throws IOException, SQLException {
+        try (NamedPreparedStatement stmnt = new NamedPreparedStatement(conn, SqliteQueryLoader.getInstance()
+                .get("select_units_sold_by_item", "sale_item_stock", SqlQueryType.SELECT))) {
+            stmnt.setInt("days", days);
+
+            try (ResultSet rs = stmnt.executeQuery()) {
+                final HashMap<Integer, Integer> unitsSold = new HashMap<>();
+
+                while (rs.next()) {
+                    unitsSold.put(rs.getInt("_item_id"), rs.getInt("units_sold"));
+                }
+
+                return unitsSold;
+            }
+        }
+    }
 }
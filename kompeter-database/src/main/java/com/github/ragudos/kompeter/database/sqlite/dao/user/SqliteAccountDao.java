@@ -29,7 +29,8 @@ public class SqliteAccountDao implements AccountDao {
             int _userId,
             @NotNull String email,
             @NotNull String passwordHash,
-            @NotNull String passwordSalt)
+            @NotNull String passwordSalt,
+            int passwordIterations)
             throws IOException, SQLException {
         try (NamedPreparedStatement stmnt =
                 new NamedPreparedStatement(
@@ -40,6 +41,7 @@ public class SqliteAccountDao implements AccountDao {
             stmnt.setString("email", email);
             stmnt.setString("password_hash", passwordHash);
             stmnt.setString("password_salt", passwordSalt);
+            stmnt.setInt("password_iterations", passwordIterations);
 
             stmnt.executeUpdate();
 
@@ -86,11 +88,36 @@ public class SqliteAccountDao implements AccountDao {
 
             return rs.next()
                     ? Optional.of(
-                            new AccountPassword(rs.getString("password_hash"), rs.getString("password_salt")))
+                            new AccountPassword(
+                                    rs.getString("password_hash"),
+                                    rs.getString("password_salt"),
+                                    rs.getInt("password_iterations")))
                     : Optional.empty();
         }
     }
 
+    @Override
+    public boolean updatePasswordHash(
+            @NotNull Connection conn,
+            @NotNull String email,
+            @NotNull String passwordHash,
+            @NotNull String passwordSalt,
+            int passwordIterations)
+            throws IOException, SQLException {
+        try (NamedPreparedStatement stmnt =
+                new NamedPreparedStatement(
+                        conn,
+                        SqliteQueryLoader.getInstance()
+                                .get("update_password_hash", "accounts", SqlQueryType.UPDATE))) {
+            stmnt.setString("email", email);
+            stmnt.setString("password_hash", passwordHash);
+            stmnt.setString("password_salt", passwordSalt);
+            stmnt.setInt("password_iterations", passwordIterations);
+
+            return stmnt.executeUpdate() > 0;
+        }
+    }
+
     @Override
     public boolean emailExists(@NotNull Connection conn, @NotNull String email)
             throws IOException, SQLException {
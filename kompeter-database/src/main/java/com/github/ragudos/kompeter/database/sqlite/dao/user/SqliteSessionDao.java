@@ -8,6 +8,7 @@
 package com.github.ragudos.kompeter.database.sqlite.dao.user;
 
 import com.github.ragudos.kompeter.database.AbstractSqlQueryLoader.SqlQueryType;
+import com.github.ragudos.kompeter.database.NamedPreparedStatement;
 import com.github.ragudos.kompeter.database.dao.user.SessionDao;
 import com.github.ragudos.kompeter.database.dto.user.SessionDto;
 import com.github.ragudos.kompeter.database.sqlite.SqliteQueryLoader;
@@ -54,6 +55,20 @@ public class SqliteSessionDao implements SessionDao {
         }
     }
 
+    @Override
+    public int deleteExpiredSessions(@NotNull Connection conn, @Range(from = 1, to = 2147483647) int limit)
+            throws IOException, SQLException {
+        try (NamedPreparedStatement stmnt =
+                new NamedPreparedStatement(
+                        conn,
+                        SqliteQueryLoader.getInstance()
+                                .get("delete_expired_sessions", "sessions", SqlQueryType.DELETE))) {
+            stmnt.setInt("limit", limit);
+
+            return stmnt.executeUpdate();
+        }
+    }
+
     @Override
     public Optional<SessionDto> getSessionById(
             @NotNull Connection conn, @Range(from = 0, to = 2147483647) int _sessionId)
@@ -128,6 +143,23 @@ public class SqliteSessionDao implements SessionDao {
         }
     }
 
+    @Override
+    public boolean renewSession(
+            @NotNull Connection conn,
+            @NotNull String sessionToken,
+            @Range(from = 1, to = Long.MAX_VALUE) long ttlSeconds)
+            throws IOException, SQLException {
+        try (NamedPreparedStatement stmnt =
+                new NamedPreparedStatement(
+                        conn,
+                        SqliteQueryLoader.getInstance().get("renew_session", "sessions", SqlQueryType.UPDATE))) {
+            stmnt.setString("session_token", sessionToken);
+            stmnt.setLong("ttl_seconds", ttlSeconds);
+
+            return stmnt.executeUpdate() > 0;
+        }
+    }
+
     @Override
     public void removeSessionByToken(@NotNull Connection conn, @NotNull String sessionToken)
             throws IOException, SQLException {
@@ -40,10 +40,7 @@ public class SqliteUserMetadataDao implements UserMetadataDao {
 
             String roles = rs.getString("roles");
 
-            if (roles == null) {
-                return Optional.empty();
-            }
-
+            // A user without roles still exists, it just has no permissions.
             return Optional.of(
                     new UserMetadataDto(
                             _userId,
@@ -51,7 +48,7 @@ public class SqliteUserMetadataDao implements UserMetadataDao {
                             rs.getString("display_name"),
                             rs.getString("first_name"),
                             rs.getString("last_name"),
-                            Optional.of(StringUtils.splitTrim(roles, ",")),
+                            roles == null ? Optional.empty() : Optional.of(StringUtils.splitTrim(roles, ",")),
                             rs.getString("email")));
         }
     }
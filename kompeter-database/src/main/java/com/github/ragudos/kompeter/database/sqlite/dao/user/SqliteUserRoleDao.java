@@ -48,6 +48,21 @@ public class SqliteUserRoleDao implements UserRoleDao {
         }
     }
 
+    @Override
+    public int getRolesVersion(@NotNull Connection conn, @Range(from = 0, to = 2147483647) int _userId)
+            throws IOException, SQLException {
+        try (PreparedStatement stmnt =
+                conn.prepareStatement(
+                        SqliteQueryLoader.getInstance()
+                                .get("select_roles_version", "user_role_versions", SqlQueryType.SELECT))) {
+            stmnt.setInt(1, _userId);
+
+            ResultSet rs = stmnt.executeQuery();
+
+            return rs.next() ? rs.getInt("version") : 0;
+        }
+    }
+
     @Override
     public void removeRoleOfUser(
             @NotNull Connection conn, @NotNull String name, @Range(from = 0, to = 2147483647) int _userId)
@@ -10,6 +10,7 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
+import com.github.ragudos.kompeter.database.RetryPolicy;
 import com.github.ragudos.kompeter.database.SqlScriptParser;
 import com.github.ragudos.kompeter.database.SqlScriptParser.SqlStatement;
 import com.github.ragudos.kompeter.database.migrations.Migrator;
@@ -37,11 +38,10 @@ public class SqliteMigrator implements Migrator {
             VALUES (?, ?);
             """;
 
-    private void createMigrationTableIfNotExists() throws SQLException {
+    private void createMigrationTableIfNotExists(final Connection conn) throws SQLException {
         LOGGER.info("Ensuring migration table exists...");
 
-        try (Connection conn = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE).getConnection();
-                PreparedStatement statement = conn.prepareStatement(QUERY_CREATE_MIGRATION_TABLE_IF_NOT_EXISTS);) {
+        try (PreparedStatement statement = conn.prepareStatement(QUERY_CREATE_MIGRATION_TABLE_IF_NOT_EXISTS);) {
             statement.executeUpdate();
         }
     }
@@ -53,59 +53,93 @@ public class SqliteMigrator implements Migrator {
 
     @Override
     public void migrate() throws SQLException {
+        try (Connection conn = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE).getConnection();) {
+            migrate(conn);
+        }
+    }
+
+    /**
+     * Applies the migrations that have not been applied yet to the database of
+     * the given connection, which is left in manual commit mode.
+     *
+     * @param conn a connection to the database to migrate.
+     */
+    public void migrate(final Connection conn) throws SQLException {
         final List<ParsedSqlMigration> migrations = SqliteMigratorFactory.getMigrationQueries();
 
         LOGGER.info("Starting database migration...");
 
-        createMigrationTableIfNotExists();
+        createMigrationTableIfNotExists(conn);
 
-        try (Connection conn = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE).getConnection();) {
-            conn.setAutoCommit(false);
+        conn.setAutoCommit(false);
 
-            for (final ParsedSqlMigration queryMigration : migrations) {
-                final PreparedStatement checkIfMigrationExistsStatement = conn
-                        .prepareStatement(QUERY_CHECK_MIGRATION_EXISTS);
+        for (final ParsedSqlMigration queryMigration : migrations) {
+            // another terminal may be migrating the same database right now, in
+            // which case one of us loses the race for the write lock and has to
+            // check again whether the migration is still needed
+            for (int attempt = 1;; ++attempt) {
+                try {
+                    migrate(conn, queryMigration);
 
-                checkIfMigrationExistsStatement.setInt(1, queryMigration.versionNumber());
-                checkIfMigrationExistsStatement.setString(2, queryMigration.name());
+                    break;
+                } catch (final SQLException err) {
+                    conn.rollback();
 
-                final ResultSet rs = checkIfMigrationExistsStatement.executeQuery();
+                    if (!RetryPolicy.DEFAULT.shouldRetry(err, attempt) || !RetryPolicy.DEFAULT.backoff(attempt)) {
+                        throw err;
+                    }
 
-                if (rs.next() && rs.getBoolean(1)) {
-                    continue;
+                    LOGGER.log(Level.INFO, "Database is busy, retrying migration {0}", queryMigration.name());
                 }
+            }
+        }
+    }
 
-                try (PreparedStatement insertMigrationStatement = conn.prepareStatement(QUERY_INSERT_MIGRATION);) {
-                    for (final String rawSqlStatement : splitStatements(queryMigration.query())) {
-                        final String trimmed = rawSqlStatement.trim();
+    private void migrate(final Connection conn, final ParsedSqlMigration queryMigration) throws SQLException {
+        try (PreparedStatement checkIfMigrationExistsStatement = conn.prepareStatement(QUERY_CHECK_MIGRATION_EXISTS)) {
+            checkIfMigrationExistsStatement.setInt(1, queryMigration.versionNumber());
+            checkIfMigrationExistsStatement.setString(2, queryMigration.name());
 
-                        if (trimmed.isEmpty()) {
-                            continue;
-                        }
+            final ResultSet rs = checkIfMigrationExistsStatement.executeQuery();
 
-                        try (PreparedStatement rawSqlQueryStatement = conn.prepareStatement(trimmed)) {
-                            final SqlStatement parsedSqlStatement = SqlScriptParser.parseSqlStatement(trimmed);
+            if (rs.next() && rs.getBoolean(1)) {
+                // end the read so that the next migration sees a fresh snapshot
+                conn.commit();
 
-                            LOGGER.log(Level.INFO, "Type: {0} | Name: {1}\n\n-----\n {2} \n-----\n\n",
-                                    new Object[] { parsedSqlStatement.type(), queryMigration.name(), trimmed });
+                return;
+            }
+        }
 
-                            rawSqlQueryStatement.execute();
-                        }
-                    }
+        try (PreparedStatement insertMigrationStatement = conn.prepareStatement(QUERY_INSERT_MIGRATION);) {
+            for (final String rawSqlStatement : splitStatements(queryMigration.query())) {
+                final String trimmed = rawSqlStatement.trim();
 
-                    insertMigrationStatement.setInt(1, queryMigration.versionNumber());
-                    insertMigrationStatement.setString(2, queryMigration.name());
-                    insertMigrationStatement.executeUpdate();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
 
-                    conn.commit();
-                } catch (final SQLException err) {
-                    conn.rollback();
+                try (PreparedStatement rawSqlQueryStatement = conn.prepareStatement(trimmed)) {
+                    final SqlStatement parsedSqlStatement = SqlScriptParser.parseSqlStatement(trimmed);
+
+                    LOGGER.log(Level.FINE, "Type: {0} | Name: {1}\n\n-----\n {2} \n-----\n\n",
+                            new Object[] { parsedSqlStatement.type(), queryMigration.name(), trimmed });
 
-                    LOGGER.log(Level.SEVERE, "Failed to execute migration {0} - {1}: {2}",
-                            new Object[] { queryMigration.versionNumber(), queryMigration.name(), err });
-                    throw err;
+                    rawSqlQueryStatement.execute();
                 }
             }
+
+            insertMigrationStatement.setInt(1, queryMigration.versionNumber());
+            insertMigrationStatement.setString(2, queryMigration.name());
+            insertMigrationStatement.executeUpdate();
+
+            conn.commit();
+        } catch (final SQLException err) {
+            conn.rollback();
+
+            LOGGER.log(RetryPolicy.isBusy(err) ? Level.INFO : Level.SEVERE,
+                    "Failed to execute migration {0} - {1}: {2}",
+                    new Object[] { queryMigration.versionNumber(), queryMigration.name(), err });
+            throw err;
         }
     }
 
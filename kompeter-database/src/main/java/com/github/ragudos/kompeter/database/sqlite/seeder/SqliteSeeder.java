@@ -37,7 +37,7 @@ public class SqliteSeeder implements Seeder {
                     .toArray(String[]::new);
 
             for (int i = 0; i < queries.length; ++i) {
-                LOGGER.info("Seeding... \n\n-----\n" + queries[i] + "\n-----\n\n");
+                LOGGER.fine("Seeding... \n\n-----\n" + queries[i] + "\n-----\n\n");
 
                 stmnt.executeUpdate(queries[i]);
                 try {
@@ -1,6 +1,7 @@
 module kompeter.database {
     requires transitive java.sql;
     requires transitive kompeter.utilities;
+    requires kompeter.metrics;
     requires org.xerial.sqlitejdbc;
     requires io.github.classgraph;
     requires com.fasterxml.jackson.core;
@@ -10,6 +11,7 @@ module kompeter.database {
     requires static org.jetbrains.annotations;
 
     exports com.github.ragudos.kompeter.database;
+    exports com.github.ragudos.kompeter.database.changes;
     exports com.github.ragudos.kompeter.database.dao.inventory;
     exports com.github.ragudos.kompeter.database.dao.sales;
     exports com.github.ragudos.kompeter.database.dao.user;
@@ -17,6 +19,7 @@ module kompeter.database {
     exports com.github.ragudos.kompeter.database.dto.sales;
     exports com.github.ragudos.kompeter.database.dto.user;
     exports com.github.ragudos.kompeter.database.dto.enums;
+    exports com.github.ragudos.kompeter.database.instrumentation;
     exports com.github.ragudos.kompeter.database.migrations;
     exports com.github.ragudos.kompeter.database.seeder;
     exports com.github.ragudos.kompeter.database.sqlite;
@@ -0,0 +1 @@
+DELETE FROM item_stock_reservations WHERE expires_at <= :now;
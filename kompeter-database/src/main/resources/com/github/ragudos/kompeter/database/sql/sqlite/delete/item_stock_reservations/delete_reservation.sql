@@ -0,0 +1 @@
+DELETE FROM item_stock_reservations WHERE holder = :holder AND _item_stock_id = :_item_stock_id;
@@ -0,0 +1 @@
+DELETE FROM item_stock_reservations WHERE holder = :holder;
@@ -0,0 +1,13 @@
+-- Deletes a limited number of expired sessions so a large backlog is removed in
+-- short transactions instead of one long one.
+DELETE FROM sessions
+WHERE
+    _session_id IN (
+        SELECT
+            _session_id
+        FROM
+            sessions
+        WHERE
+            expires_at <= DATETIME('now')
+        LIMIT :limit
+    );
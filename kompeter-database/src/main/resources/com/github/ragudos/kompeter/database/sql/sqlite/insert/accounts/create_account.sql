@@ -2,11 +2,13 @@ INSERT INTO accounts(
     _user_id,
     email,
     password_hash,
-    password_salt
+    password_salt,
+    password_iterations
 )
 VALUES(
 :_user_id,
 :email,
 :password_hash,
-:password_salt
+:password_salt,
+:password_iterations
 );
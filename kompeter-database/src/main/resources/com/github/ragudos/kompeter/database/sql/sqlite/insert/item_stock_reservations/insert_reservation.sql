@@ -0,0 +1,21 @@
+INSERT INTO
+    item_stock_reservations (
+        _item_stock_id,
+        holder,
+        quantity,
+        expires_at
+    )
+VALUES (
+    :_item_stock_id,
+    :holder,
+    :quantity,
+    :expires_at
+)
+ON
+    CONFLICT(
+        holder,
+        _item_stock_id
+    )
+DO UPDATE SET
+    quantity = excluded.quantity,
+    expires_at = excluded.expires_at;
@@ -1,5 +1,5 @@
 SELECT
-    password_hash, password_salt
+    password_hash, password_salt, password_iterations
 FROM
     accounts
 WHERE
@@ -0,0 +1,8 @@
+SELECT
+    COALESCE(SUM(quantity), 0) AS reserved
+FROM
+    item_stock_reservations
+WHERE
+    _item_stock_id = :_item_stock_id
+    AND expires_at > :now
+    AND holder <> :holder;
@@ -0,0 +1,10 @@
+SELECT
+    _item_stock_storage_location_id,
+    quantity,
+    version
+FROM
+    item_stock_storage_locations
+WHERE
+    _item_stock_id = :_item_stock_id
+ORDER BY
+    _item_stock_storage_location_id;
@@ -0,0 +1,16 @@
+-- Column weights favour the item name, then brand, then categories.
+SELECT
+    rowid AS _item_stock_id,
+    bm25(item_stock_search_trigram, 10.0, 1.0, 4.0, 2.0, 1.0) AS score,
+    item_name,
+    brand,
+    categories,
+    locations
+FROM
+    item_stock_search_trigram
+WHERE
+    item_stock_search_trigram MATCH :query
+ORDER BY
+    score
+LIMIT
+    :limit;
@@ -0,0 +1,12 @@
+-- Column weights favour the item name, then brand, then categories.
+SELECT
+    rowid AS _item_stock_id,
+    bm25(item_stock_search, 10.0, 1.0, 4.0, 2.0, 1.0) AS score
+FROM
+    item_stock_search
+WHERE
+    item_stock_search MATCH :query
+ORDER BY
+    score
+LIMIT
+    :limit;
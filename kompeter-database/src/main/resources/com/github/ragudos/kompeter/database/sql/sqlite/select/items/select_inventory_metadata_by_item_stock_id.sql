@@ -0,0 +1 @@
+SELECT * FROM inventory_metadata WHERE _item_stock_id = :_item_stock_id;
@@ -0,0 +1,18 @@
+-- Units sold per item over the last few days, summed across its stocks.
+SELECT
+    ist._item_id,
+    SUM(sis.quantity) AS units_sold
+FROM
+    sale_item_stocks AS sis
+INNER JOIN
+    item_stocks AS ist
+    ON
+        sis._item_stock_id = ist._item_stock_id
+INNER JOIN
+    sales AS s
+    ON
+        sis._sale_id = s._sale_id
+WHERE
+    s.sale_date >= DATETIME('now', '-' || :days || ' days')
+GROUP BY
+    ist._item_id;
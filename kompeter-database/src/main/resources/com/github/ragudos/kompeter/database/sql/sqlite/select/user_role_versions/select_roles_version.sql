@@ -0,0 +1,12 @@
+SELECT
+    COALESCE(
+        (
+            SELECT
+                version
+            FROM
+                user_role_versions
+            WHERE
+                _user_id = ?
+        ),
+        0
+    ) AS version;
@@ -0,0 +1,6 @@
+UPDATE accounts SET
+    password_hash = :password_hash,
+    password_salt = :password_salt,
+    password_iterations = :password_iterations
+WHERE
+    email = :email;
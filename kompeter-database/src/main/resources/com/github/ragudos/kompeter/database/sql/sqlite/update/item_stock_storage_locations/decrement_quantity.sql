@@ -0,0 +1,9 @@
+-- Only succeeds if nobody wrote to the row since it was read and there is
+-- still enough of it, so stock can never go below zero.
+UPDATE item_stock_storage_locations SET
+    quantity = quantity - :quantity,
+    version = version + 1
+WHERE
+    _item_stock_storage_location_id = :_item_stock_storage_location_id
+    AND version = :version
+    AND quantity >= :quantity;
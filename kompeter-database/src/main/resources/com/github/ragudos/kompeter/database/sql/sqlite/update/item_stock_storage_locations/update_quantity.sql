@@ -18,5 +18,6 @@ DO UPDATE SET
     -- since our update's logic literally just a replace and not an addition,
     -- we just make the quantity to that
     quantity = excluded.quantity,
+    version = version + 1,
     _restock_date = DATETIME('now');
 
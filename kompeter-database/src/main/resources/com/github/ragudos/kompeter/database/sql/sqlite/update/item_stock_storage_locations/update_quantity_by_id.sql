@@ -1,4 +1,5 @@
 UPDATE item_stock_storage_locations SET
     quantity = :quantity,
+    version = version + 1,
     _restock_date = DATETIME('now') WHERE
         _item_stock_storage_location_id = :_item_stock_storage_location_id;
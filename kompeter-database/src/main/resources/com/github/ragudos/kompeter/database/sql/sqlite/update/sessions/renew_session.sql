@@ -0,0 +1,6 @@
+-- Does nothing to a session that has already expired.
+UPDATE sessions SET
+    expires_at = DATETIME('now', '+' || :ttl_seconds || ' seconds')
+WHERE
+    session_token = :session_token
+    AND expires_at > DATETIME('now');
@@ -0,0 +1,301 @@
+-- ========================================================= --
+-- =====                                             ======= --
+-- =====              PRODUCT SEARCH INDEX           ======= --
+-- =====                                             ======= --
+-- ========================================================= --
+
+-- One document per item stock, keyed by _item_stock_id, with everything a
+-- cashier or stock clerk might type into a search box.
+CREATE VIEW
+    item_stock_search_documents
+AS
+    SELECT
+        item_stock._item_stock_id,
+        item.name AS item_name,
+        COALESCE(item.description, '') AS description,
+        item_brand.name AS brand,
+        COALESCE(
+            (
+                SELECT GROUP_CONCAT(item_category.name, ' ')
+                FROM item_category_assignments AS item_category_assignment
+                INNER JOIN item_categories AS item_category
+                    ON item_category_assignment._item_category_id = item_category._item_category_id
+                WHERE item_category_assignment._item_id = item._item_id
+            ),
+            ''
+        ) AS categories,
+        COALESCE(
+            (
+                SELECT GROUP_CONCAT(storage_location.name, ' ')
+                FROM item_stock_storage_locations AS item_storage_location
+                INNER JOIN storage_locations AS storage_location
+                    ON item_storage_location._storage_location_id = storage_location._storage_location_id
+                WHERE item_storage_location._item_stock_id = item_stock._item_stock_id
+            ),
+            ''
+        ) AS locations
+    FROM
+        item_stocks AS item_stock
+    INNER JOIN
+        items AS item
+        ON
+            item._item_id = item_stock._item_id
+    INNER JOIN
+        item_brands AS item_brand
+        ON
+            item_brand._item_brand_id = item_stock._item_brand_id;
+
+-- Whole words and their 2 and 3 character prefixes, for as-you-type matching.
+CREATE VIRTUAL TABLE
+    item_stock_search
+USING fts5(
+    item_name, description, brand, categories, locations,
+    tokenize = 'unicode61 remove_diacritics 2',
+    prefix = '2 3'
+);
+
+-- Every 3 character substring, for matching inside words and tolerating typos.
+CREATE VIRTUAL TABLE
+    item_stock_search_trigram
+USING fts5(
+    item_name, description, brand, categories, locations,
+    tokenize = 'trigram'
+);
+
+INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+    SELECT _item_stock_id, item_name, description, brand, categories, locations
+    FROM item_stock_search_documents;
+
+INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+    SELECT _item_stock_id, item_name, description, brand, categories, locations
+    FROM item_stock_search_documents;
+
+-- ========================================================= --
+-- =====                                             ======= --
+-- =====           PRODUCT SEARCH INDEX TRIGGERS     ======= --
+-- =====                                             ======= --
+-- ========================================================= --
+
+CREATE TRIGGER IF NOT EXISTS item_stocks_search_insert
+AFTER INSERT ON item_stocks
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid = NEW._item_stock_id;
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = NEW._item_stock_id;
+    DELETE FROM item_stock_search_trigram WHERE rowid = NEW._item_stock_id;
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = NEW._item_stock_id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_stocks_search_update
+AFTER UPDATE OF _item_id, _item_brand_id ON item_stocks
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid = NEW._item_stock_id;
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = NEW._item_stock_id;
+    DELETE FROM item_stock_search_trigram WHERE rowid = NEW._item_stock_id;
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = NEW._item_stock_id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_stocks_search_delete
+AFTER DELETE ON item_stocks
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid = OLD._item_stock_id;
+    DELETE FROM item_stock_search_trigram WHERE rowid = OLD._item_stock_id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS items_search_update
+AFTER UPDATE OF name, description ON items
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_brands_search_update
+AFTER UPDATE OF name ON item_brands
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_brand_id = NEW._item_brand_id);
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_brand_id = NEW._item_brand_id);
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_brand_id = NEW._item_brand_id);
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_brand_id = NEW._item_brand_id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_categories_search_update
+AFTER UPDATE OF name ON item_categories
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT item_stock._item_stock_id
+            FROM item_stocks AS item_stock
+            INNER JOIN item_category_assignments AS item_category_assignment
+                ON item_category_assignment._item_id = item_stock._item_id
+            WHERE item_category_assignment._item_category_id = NEW._item_category_id);
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT item_stock._item_stock_id
+            FROM item_stocks AS item_stock
+            INNER JOIN item_category_assignments AS item_category_assignment
+                ON item_category_assignment._item_id = item_stock._item_id
+            WHERE item_category_assignment._item_category_id = NEW._item_category_id);
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT item_stock._item_stock_id
+            FROM item_stocks AS item_stock
+            INNER JOIN item_category_assignments AS item_category_assignment
+                ON item_category_assignment._item_id = item_stock._item_id
+            WHERE item_category_assignment._item_category_id = NEW._item_category_id);
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT item_stock._item_stock_id
+            FROM item_stocks AS item_stock
+            INNER JOIN item_category_assignments AS item_category_assignment
+                ON item_category_assignment._item_id = item_stock._item_id
+            WHERE item_category_assignment._item_category_id = NEW._item_category_id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_category_assignments_search_insert
+AFTER INSERT ON item_category_assignments
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = NEW._item_id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_category_assignments_search_update
+AFTER UPDATE ON item_category_assignments
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id IN (OLD._item_id, NEW._item_id));
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id IN (OLD._item_id, NEW._item_id));
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id IN (OLD._item_id, NEW._item_id));
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id IN (OLD._item_id, NEW._item_id));
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_category_assignments_search_delete
+AFTER DELETE ON item_category_assignments
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = OLD._item_id);
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = OLD._item_id);
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = OLD._item_id);
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_id = OLD._item_id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS storage_locations_search_update
+AFTER UPDATE OF name ON storage_locations
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT _item_stock_id
+            FROM item_stock_storage_locations
+            WHERE _storage_location_id = NEW._storage_location_id);
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id
+            FROM item_stock_storage_locations
+            WHERE _storage_location_id = NEW._storage_location_id);
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT _item_stock_id
+            FROM item_stock_storage_locations
+            WHERE _storage_location_id = NEW._storage_location_id);
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id
+            FROM item_stock_storage_locations
+            WHERE _storage_location_id = NEW._storage_location_id);
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_stock_storage_locations_search_insert
+AFTER INSERT ON item_stock_storage_locations
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid = NEW._item_stock_id;
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = NEW._item_stock_id;
+    DELETE FROM item_stock_search_trigram WHERE rowid = NEW._item_stock_id;
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = NEW._item_stock_id;
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_stock_storage_locations_search_update
+AFTER UPDATE OF _item_stock_id, _storage_location_id ON item_stock_storage_locations
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_stock_id IN (OLD._item_stock_id, NEW._item_stock_id));
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_stock_id IN (OLD._item_stock_id, NEW._item_stock_id));
+    DELETE FROM item_stock_search_trigram WHERE rowid IN (SELECT _item_stock_id FROM item_stocks WHERE _item_stock_id IN (OLD._item_stock_id, NEW._item_stock_id));
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id IN (SELECT _item_stock_id FROM item_stocks WHERE _item_stock_id IN (OLD._item_stock_id, NEW._item_stock_id));
+END;
+
+CREATE TRIGGER IF NOT EXISTS item_stock_storage_locations_search_delete
+AFTER DELETE ON item_stock_storage_locations
+FOR EACH ROW
+BEGIN
+    DELETE FROM item_stock_search WHERE rowid = OLD._item_stock_id;
+    INSERT INTO item_stock_search (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = OLD._item_stock_id;
+    DELETE FROM item_stock_search_trigram WHERE rowid = OLD._item_stock_id;
+    INSERT INTO item_stock_search_trigram (rowid, item_name, description, brand, categories, locations)
+        SELECT _item_stock_id, item_name, description, brand, categories, locations
+        FROM item_stock_search_documents
+        WHERE _item_stock_id = OLD._item_stock_id;
+END;
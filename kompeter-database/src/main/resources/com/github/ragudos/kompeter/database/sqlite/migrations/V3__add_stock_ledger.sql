@@ -0,0 +1,27 @@
+-- ========================================================= --
+-- =====                                             ======= --
+-- =====                 STOCK LEDGER                ======= --
+-- =====                                             ======= --
+-- ========================================================= --
+
+-- Bumped on every write to a row so that a checkout can tell whether the
+-- quantity it read is still the one it is about to decrement.
+ALTER TABLE item_stock_storage_locations ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+
+-- Short-lived holds on stock placed by carts that have not checked out yet.
+-- holder identifies the cart and expires_at is in epoch milliseconds.
+CREATE TABLE IF NOT EXISTS item_stock_reservations (
+    _item_stock_reservation_id INTEGER PRIMARY KEY AUTOINCREMENT,
+    _item_stock_id INTEGER NOT NULL,
+    holder TEXT NOT NULL,
+    quantity INTEGER NOT NULL CHECK (quantity > 0),
+    expires_at INTEGER NOT NULL,
+    FOREIGN KEY (_item_stock_id) REFERENCES item_stocks(_item_stock_id) ON DELETE CASCADE,
+    UNIQUE (holder, _item_stock_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_item_stock_reservations_item_stock_id_expires_at
+    ON item_stock_reservations(_item_stock_id, expires_at);
+
+CREATE INDEX IF NOT EXISTS idx_item_stock_reservations_expires_at
+    ON item_stock_reservations(expires_at);
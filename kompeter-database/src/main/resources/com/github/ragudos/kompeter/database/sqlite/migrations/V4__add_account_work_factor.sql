@@ -0,0 +1,10 @@
+-- ========================================================= --
+-- =====                                             ======= --
+-- =====             PASSWORD WORK FACTOR            ======= --
+-- =====                                             ======= --
+-- ========================================================= --
+
+-- The number of PBKDF2 iterations password_hash was made with. Accounts
+-- created before this column existed were all hashed with the old fixed
+-- count, which is the default.
+ALTER TABLE accounts ADD COLUMN password_iterations INTEGER NOT NULL DEFAULT 65536;
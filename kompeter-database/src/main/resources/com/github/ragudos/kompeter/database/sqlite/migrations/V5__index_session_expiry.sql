@@ -0,0 +1,9 @@
+-- ========================================================= --
+-- =====                                             ======= --
+-- =====                SESSION EXPIRY               ======= --
+-- =====                                             ======= --
+-- ========================================================= --
+
+-- Lets the session sweeper find expired sessions without scanning the table.
+-- session_token is already indexed through its UNIQUE constraint.
+CREATE INDEX IF NOT EXISTS idx_sessions_expires_at ON sessions (expires_at);
@@ -0,0 +1,42 @@
+-- ========================================================= --
+-- =====                                             ======= --
+-- =====              USER ROLE VERSIONS             ======= --
+-- =====                                             ======= --
+-- ========================================================= --
+
+-- Counts the changes to the roles of each user so that permissions resolved
+-- from them at sign in can tell when they are out of date. A user whose roles
+-- never changed has no row, which reads as version 0.
+CREATE TABLE IF NOT EXISTS user_role_versions (
+    _user_id INTEGER PRIMARY KEY,
+    version INTEGER NOT NULL DEFAULT 0,
+    FOREIGN KEY (_user_id) REFERENCES users (_user_id) ON DELETE CASCADE
+);
+
+CREATE TRIGGER IF NOT EXISTS user_roles_version_insert
+AFTER INSERT ON user_roles
+FOR EACH ROW
+WHEN NEW._user_id IS NOT NULL
+BEGIN
+    INSERT INTO user_role_versions (_user_id, version) VALUES (NEW._user_id, 1)
+    ON CONFLICT (_user_id) DO UPDATE SET version = version + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_roles_version_update
+AFTER UPDATE ON user_roles
+FOR EACH ROW
+BEGIN
+    INSERT INTO user_role_versions (_user_id, version)
+    SELECT _user_id, 1 FROM users WHERE _user_id IN (OLD._user_id, NEW._user_id)
+    ON CONFLICT (_user_id) DO UPDATE SET version = version + 1;
+END;
+
+CREATE TRIGGER IF NOT EXISTS user_roles_version_delete
+AFTER DELETE ON user_roles
+FOR EACH ROW
+WHEN OLD._user_id IS NOT NULL
+BEGIN
+    INSERT INTO user_role_versions (_user_id, version)
+    SELECT _user_id, 1 FROM users WHERE _user_id = OLD._user_id
+    ON CONFLICT (_user_id) DO UPDATE SET version = version + 1;
+END;
@@ -0,0 +1,968 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
+import com.github.ragudos.kompeter.database.changes.ChangeOperation;
+import com.github.ragudos.kompeter.database.changes.TableChange;
+import com.github.ragudos.kompeter.database.dao.inventory.InventoryDao;
+import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
+import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
+import com.github.ragudos.kompeter.database.dto.inventory.ItemStockStorageLocationDto;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+import com.github.ragudos.kompeter.metrics.Timer;
+import com.github.ragudos.kompeter.metrics.jfr.CatalogLoadEvent;
+import com.github.ragudos.kompeter.utilities.collections.IntObjectHashMap;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * An in-memory read model of every item stock, so that browsing, filtering,
+ * and searching the catalog does not rebuild it from SQLite each time.
+ *
+ * <p>
+ * The catalog is loaded once after signing in and dropped when signing out.
+ * While loaded, the write paths of {@link Inventory} and the point of sale
+ * apply their changes to it after committing them. Item stocks are kept in an
+ * {@link IntObjectHashMap} keyed by id, and each stock keeps its quantities in
+ * an array indexed by storage location, so a stock movement only replaces one
+ * element. {@link InventoryMetadataDto}s are built from these only when read,
+ * and the array of all of them is reused until the next change.
+ *
+ * <p>
+ * Every stock also has a dense row number. Brands, categories, storage
+ * locations holding units of the stock, and statuses are indexed by row in
+ * bitsets, so that {@link #filter(Filter)} combines bitsets instead of
+ * comparing strings for every stock. The same bitsets give
+ * {@link #facetCounts(Filter, int[])} by their cardinality.
+ *
+ * <p>
+ * Writes made by other processes are applied by {@link #refresh()}, which
+ * {@link CatalogWatcher} calls whenever another process commits. Writes in
+ * this process through code that does not update the catalog are not seen
+ * until then, or until {@link #verify()} compares the catalog against the
+ * database to catch those.
+ */
+public final class Catalog {
+    private static final Timer LOAD = MetricsRegistry.getInstance().timer("inventory.catalog.load");
+    private static final Logger LOGGER = KompeterLogger.getLogger(Catalog.class);
+    private static final String ITEM_STOCKS = "item_stocks";
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    private static Catalog instance;
+
+    public static synchronized Catalog getInstance() {
+        if (instance == null) {
+            instance = new Catalog();
+        }
+
+        return instance;
+    }
+
+    private static boolean sameLocations(final ItemStockStorageLocationDto[] a, final ItemStockStorageLocationDto[] b) {
+        if (a.length != b.length) {
+            return false;
+        }
+
+        for (int i = 0; i < a.length; ++i) {
+            if (a[i]._storageLocationId() != b[i]._storageLocationId() || a[i].quantity() != b[i].quantity()
+                    || a[i].isInitialized() != b[i].isInitialized()) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static boolean sameStock(final InventoryMetadataDto a, final InventoryMetadataDto b) {
+        return a._itemId() == b._itemId() && a.minimumQuantity() == b.minimumQuantity()
+                && a.status() == b.status() && a.itemName().equals(b.itemName())
+                && a.itemDescription().equals(b.itemDescription()) && a.brand().equals(b.brand())
+                && Objects.equals(a.displayImage(), b.displayImage())
+                && a.unitPricePhp().compareTo(b.unitPricePhp()) == 0
+                && Arrays.equals(a.categories(), b.categories())
+                && sameLocations(a.itemStockLocations(), b.itemStockLocations());
+    }
+
+    private final FacetIndex brands;
+    private final FacetIndex categories;
+    /** Rows of stocks still in the catalog. */
+    private final BitSet live;
+    private final ReentrantReadWriteLock lock;
+    /** Storage locations by id, giving each its index in {@link Stock#quantities}. */
+    private final IntObjectHashMap<Location> locations;
+    private final ArrayList<Location> locationsByIndex;
+    private volatile boolean loaded;
+    private volatile boolean loading;
+    /** Whether a write was skipped because the catalog was still loading. */
+    private volatile boolean missedWrite;
+    /** Stocks by row, with {@code null} for rows of removed stocks. */
+    private final ArrayList<Stock> rows;
+    /** Every item stock in row order, or {@code null} after a change. */
+    private volatile InventoryMetadataDto[] snapshot;
+    /** Rows by status ordinal. */
+    private final BitSet[] statuses;
+    private final IntObjectHashMap<Stock> stocks;
+    /** Storage locations holding at least one unit of a stock. */
+    private final FacetIndex storageLocations;
+    private volatile long namesVersion;
+    private volatile long version;
+
+    private Catalog() {
+        brands = new FacetIndex();
+        categories = new FacetIndex();
+        live = new BitSet();
+        lock = new ReentrantReadWriteLock();
+        locations = new IntObjectHashMap<>();
+        locationsByIndex = new ArrayList<>();
+        rows = new ArrayList<>();
+        statuses = new BitSet[ItemStatus.values().length];
+        stocks = new IntObjectHashMap<>();
+        storageLocations = new FacetIndex();
+
+        for (int i = 0; i < statuses.length; ++i) {
+            statuses[i] = new BitSet();
+        }
+    }
+
+    /**
+     * Write paths that need to query the database before updating the catalog
+     * call this first to skip the query when there is nothing to update.
+     *
+     * @return whether the catalog is loaded. If it is still loading, the write is
+     *         remembered so that the catalog is read again.
+     */
+    public boolean acceptsWrites() {
+        if (loading) {
+            missedWrite = true;
+        }
+
+        return loaded;
+    }
+
+    /**
+     * Counts how many item stocks each brand, category, storage location, and
+     * status would show. Each facet is counted among the stocks matching the
+     * search and the other facets of the filter, but not its own.
+     *
+     * @param filter        the values currently chosen.
+     * @param _itemStockIds the item stocks matching the current search, or
+     *                      {@code null} if nothing is searched.
+     */
+    public FacetCounts facetCounts(@NotNull final Filter filter, final int[] _itemStockIds) {
+        lock.readLock().lock();
+
+        try {
+            BitSet searched = null;
+
+            if (_itemStockIds != null) {
+                searched = new BitSet(rows.size());
+
+                for (final int _itemStockId : _itemStockIds) {
+                    final Stock stock = stocks.get(_itemStockId);
+
+                    if (stock != null) {
+                        searched.set(stock.row);
+                    }
+                }
+            }
+
+            final BitSet brandRows = brandsOf(filter);
+            final BitSet categoryRows = categoriesOf(filter);
+            final BitSet storageLocationRows = storageLocationsOf(filter);
+            final BitSet statusRows = statusesOf(filter);
+            final BitSet forStatuses = intersect(searched, brandRows, categoryRows, storageLocationRows);
+            final EnumMap<ItemStatus, Integer> statusCounts = new EnumMap<>(ItemStatus.class);
+
+            for (final ItemStatus status : ItemStatus.values()) {
+                final BitSet bits = statuses[status.ordinal()];
+
+                if (forStatuses == null) {
+                    statusCounts.put(status, bits.cardinality());
+                } else {
+                    final BitSet within = (BitSet) bits.clone();
+
+                    within.and(forStatuses);
+                    statusCounts.put(status, within.cardinality());
+                }
+            }
+
+            return new FacetCounts(brands.counts(intersect(searched, categoryRows, storageLocationRows, statusRows)),
+                    categories.counts(intersect(searched, brandRows, storageLocationRows, statusRows)),
+                    storageLocations.counts(intersect(searched, brandRows, categoryRows, statusRows)),
+                    statusCounts);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the item stocks matching the filter, in the same order as
+     *         {@link #items()}.
+     */
+    public InventoryMetadataDto[] filter(@NotNull final Filter filter) {
+        lock.readLock().lock();
+
+        try {
+            final BitSet selected = selectionOf(filter);
+
+            final InventoryMetadataDto[] items = new InventoryMetadataDto[selected.cardinality()];
+            int i = 0;
+
+            for (int row = selected.nextSetBit(0); row >= 0; row = selected.nextSetBit(row + 1)) {
+                items[i++] = rows.get(row).toDto(locations.size());
+            }
+
+            return items;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Selects the item stocks matching the filter without building them, so
+     * that they can be paged through. Only a bitset of the selected rows is
+     * kept, and a page materializes only its own stocks.
+     *
+     * @param _itemStockIds the order to keep the stocks in, e.g. search results,
+     *                      or {@code null} to keep them in the order of
+     *                      {@link #items()}. Stocks not in it are not selected.
+     */
+    public PageSource select(@NotNull final Filter filter, final int[] _itemStockIds) {
+        lock.readLock().lock();
+
+        try {
+            final BitSet selected = selectionOf(filter);
+
+            if (_itemStockIds == null) {
+                return new RowSelection(selected.toLongArray(), selected.cardinality());
+            }
+
+            final int[] ids = Arrays.stream(_itemStockIds).filter((id) -> {
+                final Stock stock = stocks.get(id);
+
+                return stock != null && selected.get(stock.row);
+            }).toArray();
+
+            return new IdSelection(ids);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return the item stock with the given id, or {@code null} if it does not
+     *         exist or the catalog is not loaded.
+     */
+    public InventoryMetadataDto get(final int _itemStockId) {
+        lock.readLock().lock();
+
+        try {
+            final Stock stock = stocks.get(_itemStockId);
+
+            return stock == null ? null : stock.toDto(locations.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Every item stock, ordered the same way as
+     * {@link InventoryDao#getAllInventoryItems(Connection)}. The returned array
+     * is shared between callers until the next change and must not be modified.
+     */
+    public InventoryMetadataDto[] items() {
+        final InventoryMetadataDto[] items = snapshot;
+
+        if (items != null) {
+            return items;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            if (snapshot == null) {
+                snapshot = materialize();
+            }
+
+            return snapshot;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the catalog with the current contents of the database. Writes
+     * committed while the catalog is being read cannot be applied to it, so it
+     * is read again if any happened.
+     */
+    public synchronized void load() throws InventoryException {
+        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
+
+        final CatalogLoadEvent event = new CatalogLoadEvent();
+
+        unload();
+        loading = true;
+        event.begin();
+
+        try (Connection conn = factoryDao.getConnection()) {
+            final long start = Timer.start();
+            InventoryMetadataDto[] items;
+            int attempts = 0;
+
+            do {
+                missedWrite = false;
+                items = inventoryDao.getAllInventoryItems(conn);
+            } while (missedWrite && ++attempts < MAX_LOAD_ATTEMPTS);
+
+            replace(items);
+
+            event.attempts = attempts + 1;
+            event.rows = items.length;
+            LOGGER.info(String.format("Loaded %d item stocks into the catalog in %d ms", items.length,
+                    LOAD.recordSince(start) / 1_000_000));
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.SEVERE, "Failed to load catalog", err);
+            throw new InventoryException("Failed to load the inventory catalog", err);
+        } finally {
+            loading = false;
+            event.commit();
+        }
+    }
+
+    /** Adds an item stock, or replaces it if it is already in the catalog. */
+    public void put(@NotNull final InventoryMetadataDto item) {
+        if (!acceptsWrites()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            store(toStock(item));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the commits of other processes, which the write paths of this one
+     * do not see, by comparing the catalog against the database like
+     * {@link #verify()}. A catalog that is still loading is read again instead.
+     *
+     * @return the item stocks that were added, changed, or dropped.
+     */
+    public List<TableChange> refresh() throws InventoryException {
+        if (!acceptsWrites()) {
+            return List.of();
+        }
+
+        return sync();
+    }
+
+    /**
+     * Sets how many units of an item stock a storage location holds.
+     *
+     * @return {@code false} if the catalog has no such stock and location, or
+     *         the location had no row for the stock yet and the stock should be
+     *         reloaded with {@link #put(InventoryMetadataDto)} to learn its id.
+     */
+    public boolean setQuantity(final int _itemStockId, final int _storageLocationId, final int quantity) {
+        if (!acceptsWrites()) {
+            return false;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            final Stock stock = stocks.get(_itemStockId);
+            final Location location = locations.get(_storageLocationId);
+
+            if (stock == null || location == null || location.index >= stock.quantities.length
+                    || stock.stockLocationIds[location.index] == 0) {
+                return false;
+            }
+
+            reindex(stock, () -> stock.quantities[location.index] = quantity);
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Sets the quantity of an item stock's storage location row, as identified
+     * by {@code _item_stock_storage_location_id}.
+     */
+    public void setQuantityOfStockLocation(final int _itemStockId, final int _itemStockStorageLocationId,
+            final int quantity) {
+        if (!acceptsWrites()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            final Stock stock = stocks.get(_itemStockId);
+
+            if (stock == null) {
+                return;
+            }
+
+            for (int i = 0; i < stock.stockLocationIds.length; ++i) {
+                if (stock.stockLocationIds[i] == _itemStockStorageLocationId) {
+                    final int index = i;
+
+                    reindex(stock, () -> stock.quantities[index] = quantity);
+
+                    return;
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Sets the status of every stock of the item with the given name. */
+    public void setStatusByName(@NotNull final String itemName, @NotNull final ItemStatus status) {
+        update((stock) -> stock.name.equals(itemName), (stock) -> {
+            stock.status = status;
+            ++namesVersion;
+        });
+    }
+
+    /**
+     * @return a number that changes whenever stocks are added or removed, or
+     *         their names, brands, or statuses change, but not when only their
+     *         quantities do. Results derived from names alone, e.g. search
+     *         suggestions, can use it to tell when they are stale.
+     */
+    public long namesVersion() {
+        return namesVersion;
+    }
+
+    /**
+     * @return a number that changes whenever the catalog does, so that results
+     *         derived from it can tell when they are stale.
+     */
+    public long version() {
+        return version;
+    }
+
+    /** Drops the catalog, e.g. when signing out. */
+    public void unload() {
+        lock.writeLock().lock();
+
+        try {
+            loaded = false;
+            clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Compares the catalog against the database. Stocks that differ are
+     * replaced with their database version, and ones that no longer exist are
+     * dropped.
+     *
+     * @return the ids of the item stocks that differed, were missing, or were
+     *         extra.
+     */
+    public int[] verify() throws InventoryException {
+        if (!loaded) {
+            return new int[0];
+        }
+
+        final int[] inconsistent = sync().stream().mapToLong(TableChange::rowId).mapToInt(Math::toIntExact)
+                .toArray();
+
+        if (inconsistent.length > 0) {
+            LOGGER.warning("Catalog was out of sync with the database for item stocks "
+                    + Arrays.toString(inconsistent));
+        }
+
+        return inconsistent;
+    }
+
+    /** @return the rows of stocks having any of the filter's brands, or {@code null} if it has none. */
+    private BitSet brandsOf(final Filter filter) {
+        return filter.brands() == null || filter.brands().length == 0 ? null : brands.anyOf(filter.brands());
+    }
+
+    private BitSet categoriesOf(final Filter filter) {
+        return filter.categories() == null || filter.categories().length == 0 ? null
+                : categories.anyOf(filter.categories());
+    }
+
+    private void changed() {
+        snapshot = null;
+        ++version;
+    }
+
+    private void clear() {
+        changed();
+        ++namesVersion;
+        stocks.clear();
+        locations.clear();
+        locationsByIndex.clear();
+        rows.clear();
+        live.clear();
+        brands.clear();
+        categories.clear();
+        storageLocations.clear();
+
+        for (final BitSet bits : statuses) {
+            bits.clear();
+        }
+    }
+
+    private void index(final Stock stock) {
+        live.set(stock.row);
+        brands.add(stock.row, stock.item.brand());
+        statuses[stock.status.ordinal()].set(stock.row);
+
+        for (final String category : stock.item.categories()) {
+            categories.add(stock.row, category);
+        }
+
+        for (int i = 0; i < stock.quantities.length; ++i) {
+            if (stock.quantities[i] > 0) {
+                storageLocations.add(stock.row, locationsByIndex.get(i).source.name());
+            }
+        }
+    }
+
+    /**
+     * @return the live rows in every given set, or {@code null} if every set is
+     *         {@code null}, meaning all live rows.
+     */
+    private BitSet intersect(final BitSet... sets) {
+        BitSet result = null;
+
+        for (final BitSet set : sets) {
+            if (set == null) {
+                continue;
+            }
+
+            if (result == null) {
+                result = (BitSet) live.clone();
+            }
+
+            result.and(set);
+        }
+
+        return result;
+    }
+
+    private InventoryMetadataDto[] materialize() {
+        final InventoryMetadataDto[] items = new InventoryMetadataDto[live.cardinality()];
+        int i = 0;
+
+        for (int row = live.nextSetBit(0); row >= 0; row = live.nextSetBit(row + 1)) {
+            items[i++] = rows.get(row).toDto(locations.size());
+        }
+
+        return items;
+    }
+
+    /** Applies a change to a stock that may affect what it is indexed under. */
+    private void reindex(final Stock stock, final Runnable change) {
+        unindex(stock);
+        change.run();
+        index(stock);
+        stock.dto = null;
+        changed();
+    }
+
+    /** Replaces the catalog with the given item stocks, e.g. as read by {@link #load()}. */
+    void replace(@NotNull final InventoryMetadataDto[] items) {
+        lock.writeLock().lock();
+
+        try {
+            clear();
+
+            for (final InventoryMetadataDto item : items) {
+                store(toStock(item));
+            }
+
+            changed();
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private BitSet selectionOf(final Filter filter) {
+        final BitSet selected = (BitSet) live.clone();
+
+        for (final BitSet facet : new BitSet[] { brandsOf(filter), categoriesOf(filter), storageLocationsOf(filter),
+                statusesOf(filter) }) {
+            if (facet != null) {
+                selected.and(facet);
+            }
+        }
+
+        return selected;
+    }
+
+    private BitSet statusesOf(final Filter filter) {
+        if (filter.statuses() == null || filter.statuses().isEmpty()) {
+            return null;
+        }
+
+        final BitSet withStatus = new BitSet();
+
+        for (final ItemStatus status : filter.statuses()) {
+            withStatus.or(statuses[status.ordinal()]);
+        }
+
+        return withStatus;
+    }
+
+    private BitSet storageLocationsOf(final Filter filter) {
+        return filter.storageLocations() == null || filter.storageLocations().length == 0 ? null
+                : storageLocations.anyOf(filter.storageLocations());
+    }
+
+    /** Adds a stock, taking over the row of the stock it replaces if any. */
+    private void store(final Stock stock) {
+        final Stock previous = stocks.put(stock.item._itemStockId(), stock);
+
+        if (previous != null) {
+            unindex(previous);
+            stock.row = previous.row;
+            rows.set(stock.row, stock);
+        } else {
+            stock.row = rows.size();
+            rows.add(stock);
+        }
+
+        if (previous == null || !previous.name.equals(stock.name) || !previous.item.brand().equals(stock.item.brand())
+                || previous.status != stock.status) {
+            ++namesVersion;
+        }
+
+        index(stock);
+        changed();
+    }
+
+    /**
+     * Replaces the stocks that differ from the database with their database
+     * version, and drops the ones that no longer exist.
+     *
+     * @return the item stocks that were added, changed, or dropped.
+     */
+    private List<TableChange> sync() throws InventoryException {
+        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
+        final InventoryMetadataDto[] expected;
+
+        try (Connection conn = factoryDao.getConnection()) {
+            expected = inventoryDao.getAllInventoryItems(conn);
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.SEVERE, "Failed to verify catalog", err);
+            throw new InventoryException("Failed to verify the inventory catalog", err);
+        }
+
+        final List<TableChange> changes = new ArrayList<>();
+
+        lock.writeLock().lock();
+
+        try {
+            final IntObjectHashMap<Boolean> seen = new IntObjectHashMap<>(expected.length);
+
+            for (final InventoryMetadataDto item : expected) {
+                final Stock stock = stocks.get(item._itemStockId());
+                final Stock fresh = toStock(item);
+
+                seen.put(item._itemStockId(), Boolean.TRUE);
+
+                if (stock == null) {
+                    changes.add(new TableChange(ITEM_STOCKS, item._itemStockId(), ChangeOperation.INSERT));
+                    store(fresh);
+                } else if (!sameStock(stock.toDto(locations.size()), fresh.toDto(locations.size()))) {
+                    changes.add(new TableChange(ITEM_STOCKS, item._itemStockId(), ChangeOperation.UPDATE));
+                    store(fresh);
+                }
+            }
+
+            for (final Stock stock : stocks.values()) {
+                if (!seen.containsKey(stock.item._itemStockId())) {
+                    changes.add(new TableChange(ITEM_STOCKS, stock.item._itemStockId(), ChangeOperation.DELETE));
+                    unindex(stock);
+                    rows.set(stock.row, null);
+                    stocks.remove(stock.item._itemStockId());
+                    ++namesVersion;
+                }
+            }
+
+            if (!changes.isEmpty()) {
+                changed();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        return changes;
+    }
+
+    /**
+     * Converts a stock read from the database, registering storage locations
+     * not seen before. Locations are listed once per category of the item by
+     * the database, so repeated locations are skipped.
+     */
+    private Stock toStock(final InventoryMetadataDto item) {
+        final ItemStockStorageLocationDto[] itemLocations = item.itemStockLocations() == null
+                ? new ItemStockStorageLocationDto[0]
+                : item.itemStockLocations();
+
+        for (final ItemStockStorageLocationDto loc : itemLocations) {
+            if (!locations.containsKey(loc._storageLocationId())) {
+                final Location location = new Location(locations.size(), loc);
+
+                locations.put(loc._storageLocationId(), location);
+                locationsByIndex.add(location);
+            }
+        }
+
+        final Stock stock = new Stock(item, locations.size());
+
+        for (final ItemStockStorageLocationDto loc : itemLocations) {
+            final int index = locations.get(loc._storageLocationId()).index;
+
+            if (loc.isInitialized()) {
+                stock.stockLocationIds[index] = loc._itemStockStorageLocationId();
+                stock.locationRows[index] = loc;
+            }
+
+            stock.quantities[index] = loc.quantity();
+        }
+
+        return stock;
+    }
+
+    private void update(final Predicate<Stock> filter, final Consumer<Stock> change) {
+        if (!acceptsWrites()) {
+            return;
+        }
+
+        lock.writeLock().lock();
+
+        try {
+            for (final Stock stock : stocks.values()) {
+                if (filter.test(stock)) {
+                    reindex(stock, () -> change.accept(stock));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void unindex(final Stock stock) {
+        live.clear(stock.row);
+        brands.remove(stock.row, stock.item.brand());
+        statuses[stock.status.ordinal()].clear(stock.row);
+
+        for (final String category : stock.item.categories()) {
+            categories.remove(stock.row, category);
+        }
+
+        for (int i = 0; i < stock.quantities.length; ++i) {
+            storageLocations.remove(stock.row, locationsByIndex.get(i).source.name());
+        }
+    }
+
+    /**
+     * What to keep in {@link Catalog#filter(Filter)}. Within each facet, a
+     * stock needs any of the values; across facets, it needs all of them. A
+     * {@code null} or empty facet does not filter.
+     *
+     * @param brands           brand names.
+     * @param categories       category names.
+     * @param storageLocations names of storage locations holding at least one
+     *                         unit of the stock.
+     * @param statuses         stock statuses.
+     */
+    public record Filter(String[] brands, String[] categories, String[] storageLocations,
+            Set<ItemStatus> statuses) {
+    }
+
+    /** Stocks in a given order, looked up by id when a slice is read. */
+    private final class IdSelection implements PageSource {
+        private final int[] ids;
+
+        private IdSelection(final int[] ids) {
+            this.ids = ids;
+        }
+
+        @Override
+        public int size() {
+            return ids.length;
+        }
+
+        @Override
+        public InventoryMetadataDto[] slice(final int from, final int to) {
+            lock.readLock().lock();
+
+            try {
+                final ArrayList<InventoryMetadataDto> items = new ArrayList<>(to - from);
+
+                for (int i = from; i < to; ++i) {
+                    final Stock stock = stocks.get(ids[i]);
+
+                    if (stock != null) {
+                        items.add(stock.toDto(locations.size()));
+                    }
+                }
+
+                return items.toArray(InventoryMetadataDto[]::new);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+
+    private record Location(int index, ItemStockStorageLocationDto source) {
+    }
+
+    /**
+     * Stocks in row order, as the words of a bitset of their rows. Jumping to a
+     * slice skips whole words by their bit count instead of visiting every row
+     * before it.
+     */
+    private final class RowSelection implements PageSource {
+        private final int size;
+        private final long[] words;
+
+        private RowSelection(final long[] words, final int size) {
+            this.words = words;
+            this.size = size;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public InventoryMetadataDto[] slice(final int from, final int to) {
+            final ArrayList<InventoryMetadataDto> items = new ArrayList<>(to - from);
+            int word = 0;
+            int skipped = 0;
+
+            while (word < words.length && skipped + Long.bitCount(words[word]) <= from) {
+                skipped += Long.bitCount(words[word++]);
+            }
+
+            lock.readLock().lock();
+
+            try {
+                for (int index = skipped; word < words.length && index < to; ++word) {
+                    for (long bits = words[word]; bits != 0 && index < to; bits &= bits - 1, ++index) {
+                        if (index < from) {
+                            continue;
+                        }
+
+                        final int row = word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                        final Stock stock = row < rows.size() && live.get(row) ? rows.get(row) : null;
+
+                        if (stock != null) {
+                            items.add(stock.toDto(locations.size()));
+                        }
+                    }
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+
+            return items.toArray(InventoryMetadataDto[]::new);
+        }
+    }
+
+    private final class Stock {
+        private volatile InventoryMetadataDto dto;
+        private final InventoryMetadataDto item;
+        /** The storage location rows as read, for their creation dates. */
+        private final ItemStockStorageLocationDto[] locationRows;
+        private final String name;
+        private final int[] quantities;
+        private int row;
+        private ItemStatus status;
+        /** {@code _item_stock_storage_location_id} per location, or 0 if none. */
+        private final int[] stockLocationIds;
+
+        private Stock(final InventoryMetadataDto item, final int locationCount) {
+            this.item = item;
+            this.name = item.itemName();
+            this.status = item.status();
+            this.quantities = new int[locationCount];
+            this.stockLocationIds = new int[locationCount];
+            this.locationRows = new ItemStockStorageLocationDto[locationCount];
+        }
+
+        /**
+         * Builds the stock with a row for each of the given number of storage
+         * locations. The result is cached until the stock changes or a storage
+         * location is added. Readers may build it at the same time under the
+         * read lock; they build equal DTOs, and the volatile field publishes
+         * whichever is written last.
+         */
+        private InventoryMetadataDto toDto(final int locationCount) {
+            final InventoryMetadataDto cached = dto;
+
+            if (cached != null && cached.itemStockLocations().length == locationCount) {
+                return cached;
+            }
+
+            final ItemStockStorageLocationDto[] itemLocations = new ItemStockStorageLocationDto[locationCount];
+
+            locations.forEach((location, _storageLocationId) -> {
+                final int i = location.index;
+                final boolean initialized = i < stockLocationIds.length && stockLocationIds[i] != 0;
+                final ItemStockStorageLocationDto source = initialized ? locationRows[i] : location.source;
+
+                itemLocations[i] = new ItemStockStorageLocationDto(initialized ? stockLocationIds[i] : 0,
+                        item._itemStockId(), _storageLocationId, source._createdAt(), source.name(),
+                        source.description(), i < quantities.length ? quantities[i] : 0, initialized);
+            });
+
+            final InventoryMetadataDto built = new InventoryMetadataDto(item._itemId(), item._itemStockId(),
+                    item._createdAt(), name, item.itemDescription(), item.displayImage(), item.minimumQuantity(),
+                    item.unitPricePhp(), item.categories(), item.brand(), itemLocations, status);
+
+            dto = built;
+
+            return built;
+        }
+    }
+}
@@ -0,0 +1,253 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
+import com.github.ragudos.kompeter.database.changes.ChangeFeed;
+import com.github.ragudos.kompeter.database.changes.TableChange;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * Keeps the {@link Catalog} up to date with the commits of other processes
+ * sharing the database, such as another terminal on the same machine.
+ *
+ * <p>
+ * SQLite's {@code PRAGMA data_version} changes whenever another connection
+ * commits to the database, so it is polled on a dedicated connection that never
+ * writes. A change makes the catalog compare itself against the database with
+ * {@link Catalog#refresh()}, and the item stocks it had to update are published
+ * through the {@link ChangeFeed} as if they were committed here. The name index
+ * and search suggestions follow the catalog on their next use.
+ *
+ * <p>
+ * Commits of this process change the version too, although the catalog is
+ * already updated by them. A change is therefore skipped when the database
+ * file's change counter, which SQLite increments once per commit, has moved
+ * exactly as many commits as {@link ChangeFeed#writeCommits()} counted here
+ * since the catalog was last refreshed. When in doubt, e.g. in WAL mode where
+ * the counter does not move, the catalog is refreshed. The interval can be set
+ * with {@code -Dkompeter.catalog.pollIntervalMs=1000}.
+ */
+public final class CatalogWatcher {
+    public static final long DEFAULT_POLL_INTERVAL_MILLIS = 1000;
+    public static final String POLL_INTERVAL_PROPERTY = "kompeter.catalog.pollIntervalMs";
+
+    private static final int CHANGE_COUNTER_OFFSET = 24;
+    private static final Logger LOGGER = KompeterLogger.getLogger(CatalogWatcher.class);
+    private static final long UNKNOWN_VERSION = -1;
+
+    private static CatalogWatcher instance;
+
+    public static synchronized CatalogWatcher getInstance() {
+        if (instance == null) {
+            instance = new CatalogWatcher();
+        }
+
+        return instance;
+    }
+
+    private Path databaseFile;
+    /** The file change counter when the catalog was last refreshed. */
+    private long fileCommits;
+    /** {@link ChangeFeed#writeCommits()} when the catalog was last refreshed. */
+    private long localCommits;
+    private ScheduledExecutorService poller;
+    /** The data version the catalog was last brought up to date at. */
+    private volatile long version;
+    private Connection versionConnection;
+
+    private CatalogWatcher() {
+        version = UNKNOWN_VERSION;
+    }
+
+    /**
+     * Starts polling, e.g. after signing in. Call it before loading the
+     * catalog, so that commits made while it loads are not missed.
+     */
+    public synchronized void start() {
+        if (poller != null) {
+            return;
+        }
+
+        final long interval = Math.max(1, Long.getLong(POLL_INTERVAL_PROPERTY, DEFAULT_POLL_INTERVAL_MILLIS));
+
+        poller = Executors.newSingleThreadScheduledExecutor((r) -> {
+            final Thread thread = new Thread(r, "kompeter-catalog-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        version = currentVersion();
+        // the file is read before the local count, which runs ahead of it
+        fileCommits = currentFileCommits();
+        localCommits = ChangeFeed.getInstance().writeCommits();
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /** Stops polling, e.g. when signing out. */
+    public synchronized void stop() {
+        if (poller == null) {
+            return;
+        }
+
+        poller.shutdownNow();
+        poller = null;
+        version = UNKNOWN_VERSION;
+        closeVersionConnection();
+    }
+
+    private void closeVersionConnection() {
+        if (versionConnection == null) {
+            return;
+        }
+
+        try {
+            versionConnection.close();
+        } catch (final SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to close data version connection", e);
+        }
+
+        versionConnection = null;
+        databaseFile = null;
+    }
+
+    /**
+     * @return the change counter in the header of the database file, or
+     *         {@value #UNKNOWN_VERSION} if it cannot be read, e.g. for an
+     *         in-memory database.
+     */
+    private synchronized long currentFileCommits() {
+        if (versionConnection == null) {
+            return UNKNOWN_VERSION;
+        }
+
+        try {
+            if (databaseFile == null) {
+                try (Statement stmt = versionConnection.createStatement();
+                        ResultSet rs = stmt.executeQuery("PRAGMA database_list")) {
+                    final String file = rs.next() ? rs.getString("file") : null;
+
+                    if (file == null || file.isEmpty()) {
+                        return UNKNOWN_VERSION;
+                    }
+
+                    databaseFile = Path.of(file);
+                }
+            }
+
+            try (FileChannel channel = FileChannel.open(databaseFile, StandardOpenOption.READ)) {
+                final ByteBuffer counter = ByteBuffer.allocate(Integer.BYTES);
+
+                while (counter.hasRemaining()) {
+                    if (channel.read(counter, CHANGE_COUNTER_OFFSET + counter.position()) < 0) {
+                        return UNKNOWN_VERSION;
+                    }
+                }
+
+                return Integer.toUnsignedLong(counter.getInt(0));
+            }
+        } catch (final SQLException | IOException | InvalidPathException e) {
+            LOGGER.log(Level.FINE, "Cannot read the database file's change counter", e);
+
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private synchronized long currentVersion() {
+        if (poller == null) {
+            return UNKNOWN_VERSION;
+        }
+
+        try {
+            if (versionConnection == null || versionConnection.isClosed()) {
+                versionConnection = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE)
+                        .getConnection();
+            }
+
+            if (versionConnection == null) {
+                return UNKNOWN_VERSION;
+            }
+
+            try (Statement stmt = versionConnection.createStatement();
+                    ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                return rs.next() ? rs.getLong(1) : UNKNOWN_VERSION;
+            }
+        } catch (final SQLException e) {
+            LOGGER.log(Level.WARNING, "Cannot read data version. Checking the catalog on the next poll.", e);
+            closeVersionConnection();
+
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    /**
+     * @return whether every commit since the catalog was last refreshed was
+     *         made by this process. A commit of this process that is counted
+     *         but not yet written makes it return {@code false}, or hide a
+     *         commit of another process until it is written and the version
+     *         changes again.
+     */
+    private boolean onlyLocalCommits() {
+        final long file = currentFileCommits();
+        final long local = ChangeFeed.getInstance().writeCommits() - localCommits;
+
+        if (file == UNKNOWN_VERSION || fileCommits == UNKNOWN_VERSION || local <= 0) {
+            return false;
+        }
+
+        // the counter is an unsigned 32-bit integer that may wrap around
+        return ((file - fileCommits) & 0xFFFFFFFFL) == local;
+    }
+
+    private void poll() {
+        final long current = currentVersion();
+
+        // the catalog is checked once the version can be read again, if it
+        // changed meanwhile
+        if (current == UNKNOWN_VERSION || current == version) {
+            return;
+        }
+
+        if (onlyLocalCommits()) {
+            version = current;
+            return;
+        }
+
+        // counted before the catalog reads the database, so that commits made
+        // while it reads are looked at again
+        final long file = currentFileCommits();
+        final long local = ChangeFeed.getInstance().writeCommits();
+
+        try {
+            final List<TableChange> changes = Catalog.getInstance().refresh();
+
+            version = current;
+            fileCommits = file;
+            localCommits = local;
+            ChangeFeed.getInstance().committedElsewhere(changes);
+        } catch (final InventoryException err) {
+            LOGGER.log(Level.WARNING, "Failed to refresh the catalog, trying again on the next poll", err);
+        }
+    }
+}
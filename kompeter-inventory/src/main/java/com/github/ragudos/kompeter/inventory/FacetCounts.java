@@ -0,0 +1,45 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.util.Map;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
+
+/**
+ * How many item stocks each filter value would show, given the current search
+ * and the values chosen in the other facets. Values chosen in a facet do not
+ * narrow that facet's own counts, so the other choices in it stay visible.
+ *
+ * @param brands           counts by brand name, sorted by name.
+ * @param categories       counts by category name, sorted by name.
+ * @param storageLocations counts by the name of a storage location holding at
+ *                         least one unit, sorted by name.
+ * @param statuses         counts by status.
+ */
+public record FacetCounts(@NotNull Map<String, Integer> brands, @NotNull Map<String, Integer> categories,
+        @NotNull Map<String, Integer> storageLocations, @NotNull Map<ItemStatus, Integer> statuses) {
+    /** @return the count of a value, compared case-insensitively, or 0. */
+    public static int countOf(@NotNull final Map<String, Integer> counts, @NotNull final String value) {
+        final Integer count = counts.get(value.strip());
+
+        if (count != null) {
+            return count;
+        }
+
+        for (final Map.Entry<String, Integer> entry : counts.entrySet()) {
+            if (entry.getKey().equalsIgnoreCase(value.strip())) {
+                return entry.getValue();
+            }
+        }
+
+        return 0;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A bitset index over one facet of the {@link Catalog}, e.g. brand.
+ *
+ * <p>
+ * Each distinct value is given a small int code the first time it is seen,
+ * comparing values case-insensitively and ignoring surrounding whitespace the
+ * same way {@link com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto#isBrandOf(String[])}
+ * does. Every code has a bitset of the catalog rows that have the value, so
+ * matching any of several values is an OR of their bitsets. Codes are never
+ * reused; a value without rows keeps an empty bitset.
+ *
+ * <p>
+ * The number of rows per value is kept up to date as rows are added and
+ * removed, so counts over the whole catalog need no bitset operations.
+ */
+final class FacetIndex {
+    private static String normalize(final String value) {
+        return value.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private final HashMap<String, Integer> codes;
+    /** The spelling each value was first seen with, by code. */
+    private final ArrayList<String> labels;
+    private final ArrayList<BitSet> rows;
+    private int[] totals;
+
+    FacetIndex() {
+        codes = new HashMap<>();
+        labels = new ArrayList<>();
+        rows = new ArrayList<>();
+        totals = new int[8];
+    }
+
+    void add(final int row, final String value) {
+        if (value == null) {
+            return;
+        }
+
+        final int code = codeOf(value);
+        final BitSet bits = rows.get(code);
+
+        if (!bits.get(row)) {
+            bits.set(row);
+            ++totals[code];
+        }
+    }
+
+    /**
+     * @return the rows having any of the given values. Unknown and {@code null}
+     *         values match nothing.
+     */
+    BitSet anyOf(final String[] values) {
+        final BitSet result = new BitSet();
+
+        for (final String value : values) {
+            final BitSet bits = value == null ? null : rowsOf(value);
+
+            if (bits != null) {
+                result.or(bits);
+            }
+        }
+
+        return result;
+    }
+
+    void clear() {
+        codes.clear();
+        labels.clear();
+        rows.clear();
+        Arrays.fill(totals, 0);
+    }
+
+    /**
+     * @param within the rows to count, or {@code null} to count all of them.
+     * @return the number of rows having each value, by its first seen spelling,
+     *         sorted case-insensitively.
+     */
+    Map<String, Integer> counts(final BitSet within) {
+        final Integer[] order = new Integer[labels.size()];
+
+        for (int i = 0; i < order.length; ++i) {
+            order[i] = i;
+        }
+
+        Arrays.sort(order, (a, b) -> String.CASE_INSENSITIVE_ORDER.compare(labels.get(a), labels.get(b)));
+
+        final LinkedHashMap<String, Integer> counts = new LinkedHashMap<>(order.length * 2);
+
+        for (final int code : order) {
+            final int count;
+
+            if (within == null) {
+                count = totals[code];
+            } else {
+                final BitSet bits = (BitSet) rows.get(code).clone();
+
+                bits.and(within);
+                count = bits.cardinality();
+            }
+
+            counts.put(labels.get(code), count);
+        }
+
+        return counts;
+    }
+
+    void remove(final int row, final String value) {
+        final Integer code = value == null ? null : codes.get(normalize(value));
+
+        if (code != null && rows.get(code).get(row)) {
+            rows.get(code).clear(row);
+            --totals[code];
+        }
+    }
+
+    private int codeOf(final String value) {
+        return codes.computeIfAbsent(normalize(value), (k) -> {
+            if (rows.size() == totals.length) {
+                totals = Arrays.copyOf(totals, totals.length * 2);
+            }
+
+            labels.add(value.strip());
+            rows.add(new BitSet());
+
+            return rows.size() - 1;
+        });
+    }
+
+    private BitSet rowsOf(final String value) {
+        final Integer code = codes.get(normalize(value));
+
+        return code == null ? null : rows.get(code);
+    }
+}
@@ -14,10 +14,19 @@ import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
-import org.apache.commons.text.similarity.JaroWinklerSimilarity;
 import org.jetbrains.annotations.NotNull;
 
 import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
@@ -33,14 +42,33 @@ import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemBrandDto;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
 import com.github.ragudos.kompeter.database.dto.inventory.StorageLocationDto;
+import com.github.ragudos.kompeter.metrics.Counter;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+import com.github.ragudos.kompeter.metrics.Timer;
+import com.github.ragudos.kompeter.metrics.jfr.InventoryQueryEvent;
+import com.github.ragudos.kompeter.metrics.jfr.SearchEvent;
 import com.github.ragudos.kompeter.utilities.ImageUtils;
 import com.github.ragudos.kompeter.utilities.constants.Directories;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 public final class Inventory {
+    private static final Counter CATALOG_HITS = MetricsRegistry.getInstance().counter("inventory.catalog.hits");
+    private static final Counter CATALOG_MISSES = MetricsRegistry.getInstance().counter("inventory.catalog.misses");
+    private static final Timer ITEMS = MetricsRegistry.getInstance().timer("inventory.items");
     private static final Logger LOGGER = KompeterLogger.getLogger(Inventory.class);
+    private static final Timer PRODUCT_LIST = MetricsRegistry.getInstance().timer("inventory.product_list");
+    private static final Timer SEARCH = MetricsRegistry.getInstance().timer("inventory.search");
+    private static final Counter SEARCH_CACHE_HITS = MetricsRegistry.getInstance()
+            .counter("inventory.search_cache.hits");
+    private static final Counter SEARCH_CACHE_MISSES = MetricsRegistry.getInstance()
+            .counter("inventory.search_cache.misses");
 
     private static Inventory instance;
+    private static final ExecutorService PAGE_PREFETCHER = Executors.newSingleThreadExecutor((r) -> {
+        final Thread thread = new Thread(r, "kompeter-page-prefetcher");
+        thread.setDaemon(true);
+        return thread;
+    });
 
     public static synchronized Inventory getInstance() {
         if (instance == null) {
@@ -50,14 +78,87 @@ public final class Inventory {
         return instance;
     }
 
-    public final int DEFAULT_ROWS_PER_PAGE = 10;
+    public static final int SEARCH_RESULT_LIMIT = 500;
+    public static final double SEARCH_SIMILARITY_THRESHOLD = 0.7;
+
+    private static boolean isAnyOf(final String value, final String[] values) {
+        for (final String v : values) {
+            if (v != null && v.strip().equalsIgnoreCase(value.strip())) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * The same as {@link Catalog#filter(Catalog.Filter)} for a single item, for
+     * when the catalog is not loaded.
+     */
+    private static boolean matches(final InventoryMetadataDto item, final Catalog.Filter filter) {
+        if (filter.brands() != null && filter.brands().length > 0 && !item.isBrandOf(filter.brands())) {
+            return false;
+        }
+
+        if (filter.categories() != null && filter.categories().length > 0
+                && !item.isCategoryOf(filter.categories())) {
+            return false;
+        }
+
+        if (filter.storageLocations() != null && filter.storageLocations().length > 0
+                && Arrays.stream(item.itemStockLocations())
+                        .noneMatch((loc) -> loc.quantity() > 0 && isAnyOf(loc.name(), filter.storageLocations()))) {
+            return false;
+        }
 
-    public final double SEARCH_SIMILARITY_THRESHOLD = 0.7;
+        return filter.statuses() == null || filter.statuses().isEmpty() || filter.statuses().contains(item.status());
+    }
+
+    /** @return the given status, or every status but archived if none. */
+    private static EnumSet<ItemStatus> statusesToShow(final ItemStatus filterStatus) {
+        return filterStatus == null ? EnumSet.complementOf(EnumSet.of(ItemStatus.ARCHIVED)) : EnumSet.of(filterStatus);
+    }
+
+    /**
+     * Orders items by their position in the given search ranks, or keeps their
+     * order if there was no search.
+     */
+    private static Comparator<InventoryMetadataDto> byRank(final Map<Integer, SearchRank> ranks) {
+        return ranks == null
+                ? (a, b) -> 0
+                : Comparator.comparingInt((item) -> ranks.get(item._itemStockId()).position());
+    }
+
+    /**
+     * @return the items matching the search, best first, with their score. All
+     *         items score 1 if there is no search.
+     */
+    private static List<SearchPage.Hit> rank(final InventoryMetadataDto[] items, final Map<Integer, SearchRank> ranks) {
+        if (ranks == null) {
+            return Arrays.stream(items).map((item) -> new SearchPage.Hit(item, 1)).toList();
+        }
+
+        return Arrays.stream(items).filter((item) -> ranks.containsKey(item._itemStockId())).sorted(byRank(ranks))
+                .map((item) -> new SearchPage.Hit(item, ranks.get(item._itemStockId()).score())).toList();
+    }
+
+    public final int DEFAULT_ROWS_PER_PAGE = 10;
 
-    private final JaroWinklerSimilarity fuzzySimilarity;
+    private final Catalog catalog;
+    /** The ranks of the last search answered from the catalog. */
+    private volatile CatalogSearch lastSearch;
+    private final ItemNameIndex nameIndex;
+    /** The catalog names version the name index was last synced with, or -1. */
+    private volatile long nameIndexVersion;
 
     private Inventory() {
-        fuzzySimilarity = new JaroWinklerSimilarity();
+        catalog = Catalog.getInstance();
+        nameIndex = new ItemNameIndex();
+        nameIndexVersion = -1;
+
+        MetricsRegistry.getInstance().hitRatio("inventory.catalog.hit_ratio", CATALOG_HITS, CATALOG_MISSES);
+        MetricsRegistry.getInstance().hitRatio("inventory.search_cache.hit_ratio", SEARCH_CACHE_HITS,
+                SEARCH_CACHE_MISSES);
     }
 
     public void addProduct(final String name, final String description, final ItemBrandDto chosenBrand,
@@ -68,6 +169,7 @@ public final class Inventory {
         final ItemStockStorageLocationDao itemStockStorageLocationDao = factoryDao.getItemStockStorageLocationDao();
         final ItemStockDao itemStockDao = factoryDao.getItemStockDao();
         final ItemCategoryAssignmentDao itemCategoryAssignmentDao = factoryDao.getItemCategoryAssignmentDao();
+        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
 
         Path imagePath = null;
 
@@ -98,6 +200,11 @@ public final class Inventory {
                 }
 
                 conn.commit();
+                nameIndex.put(_itemId, name);
+
+                if (catalog.acceptsWrites()) {
+                    catalog.put(inventoryDao.getInventoryItem(conn, _itemStockId));
+                }
             } catch (SQLException | IOException err) {
                 try {
                     conn.rollback();
@@ -157,6 +264,34 @@ public final class Inventory {
         }
     }
 
+    /**
+     * Counts the item stocks each filter value would show, with the same
+     * arguments as
+     * {@link #getProductList(int, String, String[], String[], String[], ItemStatus)}.
+     * Counts are taken from the {@link Catalog}, so the database is only
+     * queried if the search is not the one last made.
+     *
+     * @return the counts, or {@code null} if the catalog is not loaded.
+     */
+    public FacetCounts getFacetCounts(final String nameFilter, final String[] categoryFilters,
+            final String[] brandFilters, final String[] storageLocationFilters, final ItemStatus filterStatus)
+            throws InventoryException {
+        if (!catalog.isLoaded()) {
+            return null;
+        }
+
+        try {
+            final Map<Integer, SearchRank> ranks = catalogSearchRanks(nameFilter);
+
+            return catalog.facetCounts(new Catalog.Filter(brandFilters, categoryFilters, storageLocationFilters,
+                    statusesToShow(filterStatus)),
+                    ranks == null ? null : ranks.keySet().stream().mapToInt(Integer::intValue).toArray());
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.SEVERE, "Failed to count items", err);
+            throw new InventoryException("Failed to count inventory items", err);
+        }
+    }
+
     public InventoryMetadataDto[] getInventoryItemsWithTotalQuantities() throws InventoryException {
         return getInventoryItemsWithTotalQuantities("", null, null, null);
     }
@@ -169,29 +304,28 @@ public final class Inventory {
     public InventoryMetadataDto[] getInventoryItemsWithTotalQuantities(final String nameFilter,
             final String[] categoryFilters, final String[] brandFilters, final ItemStatus filterStatus)
             throws InventoryException {
-        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
-        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
+        return getInventoryItemsWithTotalQuantities(nameFilter, categoryFilters, brandFilters, null, filterStatus);
+    }
 
-        try (Connection conn = factoryDao.getConnection()) {
-            final InventoryMetadataDto[] items = inventoryDao.getAllInventoryItems(conn);
-
-            return Arrays.stream(items).filter((item) -> {
-                final double similarity = nameFilter.isEmpty()
-                        ? SEARCH_SIMILARITY_THRESHOLD
-                        : fuzzySimilarity.apply(item.itemName(), nameFilter);
-                final boolean isInBrandScope = brandFilters != null
-                        ? (brandFilters.length == 0 || item.isBrandOf(brandFilters))
-                        : true;
-                final boolean isInCategoryScope = categoryFilters != null
-                        ? (categoryFilters.length == 0 || item.isCategoryOf(categoryFilters))
-                        : true;
-                final boolean statusFilter = filterStatus == null ? true : item.status() == filterStatus;
-
-                return similarity >= SEARCH_SIMILARITY_THRESHOLD && isInBrandScope && isInCategoryScope && statusFilter;
-            }).toArray(InventoryMetadataDto[]::new);
+    public InventoryMetadataDto[] getInventoryItemsWithTotalQuantities(final String nameFilter,
+            final String[] categoryFilters, final String[] brandFilters, final String[] storageLocationFilters,
+            final ItemStatus filterStatus) throws InventoryException {
+        final InventoryQueryEvent event = beginQuery("items", nameFilter);
+        final long start = Timer.start();
+
+        try {
+            final InventoryMetadataDto[] items = find(nameFilter, new Catalog.Filter(brandFilters, categoryFilters,
+                    storageLocationFilters, filterStatus == null ? null : EnumSet.of(filterStatus)));
+
+            event.rows = items.length;
+
+            return items;
         } catch (SQLException | IOException err) {
             LOGGER.log(Level.SEVERE, "Failed to get items", err);
             throw new InventoryException("Failed to get inventory items", err);
+        } finally {
+            ITEMS.recordSince(start);
+            event.commit();
         }
     }
 
@@ -203,33 +337,33 @@ public final class Inventory {
     public InventoryProductListData getProductList(final int rowsPerPage, final String nameFilter,
             final String[] categoryFilters, final String[] brandFilters, final ItemStatus filterStatus)
             throws InventoryException {
-        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
-        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
+        return getProductList(rowsPerPage, nameFilter, categoryFilters, brandFilters, null, filterStatus);
+    }
 
-        try (Connection conn = factoryDao.getConnection()) {
-            final InventoryMetadataDto[] items = inventoryDao.getAllInventoryItems(conn);
-
-            final InventoryMetadataDto[] itemsWithStockLocations = Arrays.stream(items).filter((item) -> {
-                final double similarity = nameFilter.isEmpty()
-                        ? SEARCH_SIMILARITY_THRESHOLD
-                        : fuzzySimilarity.apply(item.itemName().toLowerCase(), nameFilter.toLowerCase());
-                final boolean isInBrandScope = brandFilters != null
-                        ? (brandFilters.length == 0 || item.isBrandOf(brandFilters))
-                        : true;
-                final boolean isInCategoryScope = categoryFilters != null
-                        ? (categoryFilters.length == 0 || item.isCategoryOf(categoryFilters))
-                        : true;
-                final boolean statusFilter = filterStatus == null
-                        ? item.status() != ItemStatus.ARCHIVED
-                        : item.status() == filterStatus;
-
-                return similarity >= SEARCH_SIMILARITY_THRESHOLD && isInBrandScope && isInCategoryScope && statusFilter;
-            }).toArray(InventoryMetadataDto[]::new);
-
-            return new InventoryProductListData(rowsPerPage, itemsWithStockLocations);
+    /**
+     * @param filterStatus the status to show, or {@code null} to show everything
+     *                     but archived items.
+     */
+    public InventoryProductListData getProductList(final int rowsPerPage, final String nameFilter,
+            final String[] categoryFilters, final String[] brandFilters, final String[] storageLocationFilters,
+            final ItemStatus filterStatus) throws InventoryException {
+        final InventoryQueryEvent event = beginQuery("productList", nameFilter);
+        final long start = Timer.start();
+
+        try {
+            final InventoryProductListData data = new InventoryProductListData(rowsPerPage,
+                    pages(nameFilter, new Catalog.Filter(brandFilters, categoryFilters, storageLocationFilters,
+                            statusesToShow(filterStatus))));
+
+            event.rows = data.getTotalItems();
+
+            return data;
         } catch (SQLException | IOException err) {
             LOGGER.log(Level.SEVERE, "Failed to get items", err);
             throw new InventoryException("Failed to get inventory items", err);
+        } finally {
+            PRODUCT_LIST.recordSince(start);
+            event.commit();
         }
     }
 
@@ -244,6 +378,67 @@ public final class Inventory {
         }
     }
 
+    /**
+     * Searches item stocks like
+     * {@link #getProductList(int, String, String[], String[], String[], ItemStatus)},
+     * returning one page of the results, best match first, with how well each
+     * matched.
+     *
+     * @param page     the page to return, starting at 0.
+     * @param pageSize the number of results per page.
+     */
+    public SearchPage searchItems(final String query, final String[] categoryFilters, final String[] brandFilters,
+            final String[] storageLocationFilters, final ItemStatus filterStatus, final int page, final int pageSize)
+            throws InventoryException {
+        if (page < 0 || pageSize <= 0) {
+            throw new IllegalArgumentException("Page cannot be negative and page size must be positive");
+        }
+
+        try {
+            final Catalog.Filter filter = new Catalog.Filter(brandFilters, categoryFilters, storageLocationFilters,
+                    statusesToShow(filterStatus));
+            // one more than fit on the pages up to this one, to tell whether
+            // there is a next page
+            final long wanted = (long) (page + 1) * pageSize + 1;
+            RankedHits ranked = findRanked(query, filter, SEARCH_RESULT_LIMIT);
+
+            // Searches are capped before the filters apply, so search deeper
+            // while the filters leave too few hits.
+            for (int limit = SEARCH_RESULT_LIMIT * 2; ranked.hits().size() < wanted && !ranked.complete()
+                    && limit > 0; limit *= 2) {
+                ranked = findRanked(query, filter, limit);
+            }
+
+            final List<SearchPage.Hit> hits = ranked.hits();
+            final int from = (int) Math.min((long) page * pageSize, hits.size());
+
+            return new SearchPage(hits.subList(from, Math.min(from + pageSize, hits.size())), page, pageSize,
+                    hits.size());
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.SEVERE, "Failed to search items", err);
+            throw new InventoryException("Failed to search inventory items", err);
+        }
+    }
+
+    /**
+     * Searches item names, descriptions, brands, categories, and storage
+     * locations through the full-text index.
+     *
+     * @return the ids of at most {@link #SEARCH_RESULT_LIMIT} matching item
+     *         stocks, best match first.
+     */
+    public int[] searchItemStockIds(@NotNull final String query) throws InventoryException {
+        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
+
+        try (Connection conn = factoryDao.getConnection()) {
+            return inventoryDao.searchItemStockIds(conn, query, SEARCH_RESULT_LIMIT);
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.SEVERE, "Failed to search items", err);
+            throw new InventoryException("Failed to search inventory items", err);
+        }
+    }
+
     public void setStatusOfItemsByName(final String[] itemNames, final ItemStatus status) throws InventoryException {
         final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
         final ItemStockDao itemStockDao = factoryDao.getItemStockDao();
@@ -276,6 +471,11 @@ public final class Inventory {
 
                 throw err1;
             }
+
+            for (final String name : itemNames) {
+                nameIndex.setArchived(name, status == ItemStatus.ARCHIVED);
+                catalog.setStatusByName(name, status);
+            }
         } catch (SQLException | IOException err) {
             LOGGER.log(Level.SEVERE, "Failed to archive items", err);
             throw new InventoryException(err.getMessage(), err);
@@ -285,9 +485,18 @@ public final class Inventory {
     public void updateStockQtyOfItemIn(final int id, final int storageId, final int qty) throws InventoryException {
         final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
         final ItemStockStorageLocationDao itemStockStorageLocationDao = factoryDao.getItemStockStorageLocationDao();
+        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
 
         try (Connection conn = factoryDao.getConnection()) {
             itemStockStorageLocationDao.updateItemStockQuantity(conn, qty, id, storageId);
+
+            if (catalog.acceptsWrites() && !catalog.setQuantity(id, storageId, qty)) {
+                final InventoryMetadataDto item = inventoryDao.getInventoryItem(conn, id);
+
+                if (item != null) {
+                    catalog.put(item);
+                }
+            }
         } catch (SQLException | IOException err) {
             LOGGER.log(Level.SEVERE, "Failed to add quantity to item", err);
 
@@ -295,6 +504,254 @@ public final class Inventory {
         }
     }
 
+    /**
+     * Counts whether the catalog answers a listing, and starts timing it as an
+     * {@link InventoryQueryEvent}.
+     */
+    private InventoryQueryEvent beginQuery(final String query, final String nameFilter) {
+        final InventoryQueryEvent event = new InventoryQueryEvent();
+
+        event.catalogHit = catalog.isLoaded();
+        event.query = query;
+        event.search = nameFilter;
+        (event.catalogHit ? CATALOG_HITS : CATALOG_MISSES).increment();
+        event.begin();
+
+        return event;
+    }
+
+    private InventoryMetadataDto[] find(final String nameFilter, final Catalog.Filter filter)
+            throws SQLException, IOException {
+        if (catalog.isLoaded() && (nameFilter == null || nameFilter.isBlank())) {
+            return catalog.filter(filter);
+        }
+
+        return findRanked(nameFilter, filter, SEARCH_RESULT_LIMIT).hits().stream().map(SearchPage.Hit::item)
+                .toArray(InventoryMetadataDto[]::new);
+    }
+
+    /**
+     * {@link #find(String, Catalog.Filter)} as a {@link PageSource}. If the
+     * catalog is loaded, the item stocks are only built a page at a time.
+     */
+    private PageSource pages(final String nameFilter, final Catalog.Filter filter) throws SQLException, IOException {
+        if (!catalog.isLoaded()) {
+            return PageSource.of(find(nameFilter, filter));
+        }
+
+        final Map<Integer, SearchRank> ranks = catalogSearchRanks(nameFilter);
+
+        return catalog.select(filter, ranks == null ? null
+                : ranks.entrySet().stream()
+                        .sorted(Comparator.comparingInt((Map.Entry<Integer, SearchRank> e) -> e.getValue().position())
+                                .thenComparing(Map.Entry::getKey))
+                        .mapToInt(Map.Entry::getKey).toArray());
+    }
+
+    /**
+     * @param limit the most item stocks and items each way of searching finds,
+     *              before the filter applies.
+     * @return the item stocks matching the filter and search, best match first
+     *         if searching. Filters are answered by the {@link Catalog} if it is
+     *         loaded, so the database is then only queried to search.
+     */
+    private RankedHits findRanked(final String nameFilter, final Catalog.Filter filter, final int limit)
+            throws SQLException, IOException {
+        if (catalog.isLoaded()) {
+            final Map<Integer, SearchRank> ranks = catalogSearchRanks(nameFilter, limit);
+
+            return new RankedHits(rank(catalog.filter(filter), ranks), ranks == null || ranks.size() < limit);
+        }
+
+        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+        final InventoryDao inventoryDao = factoryDao.getInventoryDao();
+
+        try (Connection conn = factoryDao.getConnection()) {
+            final InventoryMetadataDto[] allItems = inventoryDao.getAllInventoryItems(conn);
+            final InventoryMetadataDto[] items = Arrays.stream(allItems).filter((item) -> matches(item, filter))
+                    .toArray(InventoryMetadataDto[]::new);
+
+            final Map<Integer, SearchRank> ranks = searchRanks(inventoryDao, conn, nameFilter, allItems, -1, limit);
+
+            return new RankedHits(rank(items, ranks), ranks == null || ranks.size() < limit);
+        }
+    }
+
+    /**
+     * {@link #catalogSearchRanks(String, int)} up to
+     * {@link #SEARCH_RESULT_LIMIT}.
+     */
+    private Map<Integer, SearchRank> catalogSearchRanks(final String nameFilter) throws SQLException, IOException {
+        return catalogSearchRanks(nameFilter, SEARCH_RESULT_LIMIT);
+    }
+
+    /**
+     * {@link #searchRanks(InventoryDao, Connection, String, InventoryMetadataDto[], long, int)}
+     * over the catalog. The ranks of the last search are reused until the
+     * search, its limit, or the catalog changes, so that counting and listing
+     * the results of a search only query the database once.
+     */
+    private Map<Integer, SearchRank> catalogSearchRanks(final String nameFilter, final int limit)
+            throws SQLException, IOException {
+        if (nameFilter == null || nameFilter.isBlank()) {
+            return null;
+        }
+
+        final long version = catalog.version();
+        final long namesVersion = catalog.namesVersion();
+        final CatalogSearch last = lastSearch;
+
+        if (last != null && last.version() == version && last.limit() == limit
+                && last.nameFilter().equals(nameFilter)) {
+            final SearchEvent event = new SearchEvent();
+
+            SEARCH_CACHE_HITS.increment();
+            event.cacheHit = true;
+            event.rows = last.ranks().size();
+            event.search = nameFilter;
+            event.commit();
+
+            return last.ranks();
+        }
+
+        SEARCH_CACHE_MISSES.increment();
+
+        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+
+        try (Connection conn = factoryDao.getConnection()) {
+            final Map<Integer, SearchRank> ranks = Collections.unmodifiableMap(searchRanks(
+                    factoryDao.getInventoryDao(), conn, nameFilter, catalog.items(), namesVersion, limit));
+
+            lastSearch = new CatalogSearch(nameFilter, version, limit, ranks);
+
+            return ranks;
+        }
+    }
+
+    /**
+     * @param namesVersion the {@link Catalog#namesVersion()} the items were
+     *                     read at, or -1 if they were read from the database.
+     * @param limit        the most item stocks the full-text search, and items
+     *                     the similarity search, may find.
+     * @return the rank of every item stock matching the given search, keyed by
+     *         id, or {@code null} if there is nothing to search for. Full-text
+     *         matches come first in the order of the full-text index and score
+     *         1. Items whose name is merely similar to the search, e.g. because
+     *         of a typo, follow by their similarity, which is their score.
+     */
+    private Map<Integer, SearchRank> searchRanks(final InventoryDao inventoryDao, final Connection conn,
+            final String nameFilter, final InventoryMetadataDto[] items, final long namesVersion, final int limit)
+            throws SQLException, IOException {
+        if (nameFilter == null || nameFilter.isBlank()) {
+            return null;
+        }
+
+        final SearchEvent event = new SearchEvent();
+        final long start = Timer.start();
+
+        event.begin();
+
+        try {
+            final Map<Integer, SearchRank> ranks = rankSearch(inventoryDao, conn, nameFilter, items, namesVersion,
+                    limit);
+
+            event.rows = ranks.size();
+
+            return ranks;
+        } finally {
+            SEARCH.recordSince(start);
+            event.search = nameFilter;
+            event.commit();
+        }
+    }
+
+    /** The search of {@link #searchRanks}, timed by it as {@code inventory.search}. */
+    private Map<Integer, SearchRank> rankSearch(final InventoryDao inventoryDao, final Connection conn,
+            final String nameFilter, final InventoryMetadataDto[] items, final long namesVersion, final int limit)
+            throws SQLException, IOException {
+        final int[] ids = inventoryDao.searchItemStockIds(conn, nameFilter, limit);
+        final HashMap<Integer, SearchRank> ranks = new HashMap<>(ids.length * 2);
+
+        for (int i = 0; i < ids.length; ++i) {
+            ranks.putIfAbsent(ids[i], new SearchRank(i, 1));
+        }
+
+        syncNameIndex(items, namesVersion);
+
+        final List<ItemNameIndex.Hit> similarItems = nameIndex.top(nameFilter, SEARCH_SIMILARITY_THRESHOLD, true,
+                limit);
+
+        if (similarItems.isEmpty()) {
+            return ranks;
+        }
+
+        final HashMap<Integer, SearchRank> similarityRanks = new HashMap<>(similarItems.size() * 2);
+
+        for (int i = 0; i < similarItems.size(); ++i) {
+            final ItemNameIndex.Hit hit = similarItems.get(i);
+
+            similarityRanks.put(hit.id(), new SearchRank(ids.length + i, hit.score()));
+        }
+
+        for (final InventoryMetadataDto item : items) {
+            final SearchRank rank = similarityRanks.get(item._itemId());
+
+            if (rank != null) {
+                ranks.putIfAbsent(item._itemStockId(), rank);
+            }
+        }
+
+        return ranks;
+    }
+
+    /**
+     * Builds the name index from the given items the first time, and otherwise
+     * applies the items added, removed, renamed, archived or unarchived since,
+     * e.g. without going through this class. Nothing is compared while the
+     * names in the catalog have not changed since the last time.
+     */
+    private void syncNameIndex(final InventoryMetadataDto[] items, final long namesVersion) {
+        if (namesVersion != -1 && namesVersion == nameIndexVersion && nameIndex.isLoaded()) {
+            return;
+        }
+
+        final LinkedHashMap<Integer, ItemNameIndex.Entry> entries = new LinkedHashMap<>();
+
+        for (final InventoryMetadataDto item : items) {
+            final boolean archived = item.status() == ItemStatus.ARCHIVED;
+
+            entries.merge(item._itemId(), new ItemNameIndex.Entry(item._itemId(), item.itemName(), archived),
+                    (a, b) -> a.archived() && b.archived() ? a : new ItemNameIndex.Entry(a.id(), a.name(), false));
+        }
+
+        if (nameIndex.isLoaded()) {
+            nameIndex.sync(List.copyOf(entries.values()));
+        } else {
+            nameIndex.rebuild(List.copyOf(entries.values()));
+        }
+
+        nameIndexVersion = namesVersion;
+    }
+
+    private record CatalogSearch(String nameFilter, long version, int limit, Map<Integer, SearchRank> ranks) {
+    }
+
+    /**
+     * @param complete whether every match was found, rather than only as many
+     *                 as the search's limit allowed.
+     */
+    private record RankedHits(List<SearchPage.Hit> hits, boolean complete) {
+    }
+
+    private record SearchRank(int position, double score) {
+    }
+
+    /**
+     * Pages through a {@link PageSource}, keeping only the current page and the
+     * pages on either side of it. Moving to a page starts reading the pages next
+     * to it in the background, so that stepping through pages does not wait for
+     * them. Jumping to any page reads only that page.
+     */
     public class InventoryProductListData {
         public static final int DEFAULT_ROWS_PER_PAGE = 20;
 
@@ -305,84 +762,120 @@ public final class Inventory {
         }
 
         private int currentPage;
-        private final InventoryMetadataDto[] flatItems; // keep a flat version for repagination
-        private InventoryMetadataDto[][] items;
-
         private int rowsPerPage;
+        private final PageSource source;
+        /** The current page and its neighbors, by page number. */
+        private final HashMap<Integer, CompletableFuture<InventoryMetadataDto[]>> window;
 
         public InventoryProductListData(final int rowsPerPage, final InventoryMetadataDto[] allItems) {
+            this(rowsPerPage, allItems == null ? null : PageSource.of(allItems));
+        }
+
+        public InventoryProductListData(final int rowsPerPage, final PageSource source) {
             if (rowsPerPage <= 0) {
                 throw new IllegalArgumentException("rowsPerPage must be > 0");
             }
 
-            if (allItems == null) {
-                throw new IllegalArgumentException("allItems cannot be null");
+            if (source == null) {
+                throw new IllegalArgumentException("source cannot be null");
             }
 
-            if (allItems.length < rowsPerPage) {
-                this.rowsPerPage = allItems.length;
-            } else {
-                this.rowsPerPage = rowsPerPage;
-            }
-
-            this.flatItems = allItems;
+            this.rowsPerPage = Math.min(rowsPerPage, source.size());
+            this.source = source;
+            this.window = new HashMap<>();
             this.currentPage = 1;
 
-            paginate();
+            moveWindow();
         }
 
-        public int getCurrentPage() {
+        public synchronized int getCurrentPage() {
             return currentPage;
         }
 
         public InventoryMetadataDto[] getItemsAtCurrentPage() {
-            return items[currentPage - 1];
+            final CompletableFuture<InventoryMetadataDto[]> page;
+
+            synchronized (this) {
+                page = window.get(currentPage);
+            }
+
+            return page == null ? new InventoryMetadataDto[0] : page.join();
         }
 
-        public int getRowsPerPage() {
+        public synchronized int getRowsPerPage() {
             return rowsPerPage;
         }
 
         public int getTotalItems() {
-            return flatItems.length;
+            return source.size();
         }
 
-        public int getTotalPages() {
-            return items.length;
+        public synchronized int getTotalPages() {
+            return rowsPerPage == 0 ? 0 : (source.size() + rowsPerPage - 1) / rowsPerPage;
         }
 
-        public void setCurrentPage(final int currentPage) {
-            if (currentPage <= 0 || currentPage > items.length) {
+        public synchronized void setCurrentPage(final int currentPage) {
+            final int totalPages = getTotalPages();
+
+            if (currentPage <= 0 || currentPage > totalPages) {
                 throw new IllegalArgumentException(
-                        String.format("currentPage argument must be > %d and <= %d", 0, items.length));
+                        String.format("currentPage argument must be > %d and <= %d", 0, totalPages));
             }
 
             this.currentPage = currentPage;
+
+            moveWindow();
         }
 
-        public void setRowsPerPage(final int rowsPerPage) {
-            if (rowsPerPage <= 0 || rowsPerPage > flatItems.length) {
+        public synchronized void setRowsPerPage(final int rowsPerPage) {
+            if (rowsPerPage <= 0 || rowsPerPage > source.size()) {
                 throw new IllegalArgumentException("rowsPerPage must be > 0");
             }
 
             this.rowsPerPage = rowsPerPage;
 
-            paginate();
+            window.clear();
+
+            if (currentPage > getTotalPages()) {
+                currentPage = getTotalPages();
+            }
+
+            moveWindow();
         }
 
-        private void paginate() {
-            final int pageCount = (int) Math.ceil((double) flatItems.length / rowsPerPage);
-            items = new InventoryMetadataDto[pageCount][];
+        /**
+         * Reads the current page if it is not in the window yet, starts reading
+         * its neighbors, and drops pages that are no longer next to it.
+         */
+        private void moveWindow() {
+            final int totalPages = getTotalPages();
+
+            window.keySet().removeIf((page) -> Math.abs(page - currentPage) > 1);
 
-            for (int i = 0; i < pageCount; i++) {
-                final int start = i * rowsPerPage;
-                final int end = Math.min(start + rowsPerPage, flatItems.length);
-                items[i] = Arrays.copyOfRange(flatItems, start, end);
+            if (totalPages == 0) {
+                return;
             }
 
-            if (currentPage > items.length) {
-                currentPage = items.length;
+            window.computeIfAbsent(currentPage, (page) -> CompletableFuture.completedFuture(read(page)));
+
+            for (final int neighbor : new int[] { currentPage + 1, currentPage - 1 }) {
+                if (neighbor >= 1 && neighbor <= totalPages) {
+                    final int size = rowsPerPage;
+
+                    window.computeIfAbsent(neighbor,
+                            (page) -> CompletableFuture.supplyAsync(() -> read(page, size), PAGE_PREFETCHER));
+                }
             }
         }
+
+        private InventoryMetadataDto[] read(final int page) {
+            return read(page, rowsPerPage);
+        }
+
+        private InventoryMetadataDto[] read(final int page, final int size) {
+            final int from = (page - 1) * size;
+
+            return source.slice(from, Math.min(from + size, source.size()));
+        }
     }
 }
@@ -0,0 +1,512 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.IntStream;
+
+import org.apache.commons.text.similarity.JaroWinklerSimilarity;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An in-memory trigram index over item names for fuzzy name search.
+ *
+ * <p>
+ * Scoring every name with Jaro-Winkler is linear in the size of the catalog.
+ * Instead, names are normalized once, split into trigrams, and kept in
+ * posting lists, so a query only visits names that share enough trigrams with
+ * it. Only those candidates are scored with Jaro-Winkler. Names are padded
+ * with two leading spaces, so that queries shorter than three characters
+ * still match names that start with them.
+ *
+ * <p>
+ * Names that share less than {@value #MIN_SHARED_TRIGRAMS} of the query's
+ * trigrams are never scored. Jaro-Winkler is not a trigram measure, and a typo
+ * in a short word breaks most of its few trigrams: "muose" shares only 2 of 6
+ * with "mouse", yet scores 0.94. So queries of at most
+ * {@value #SHORT_QUERY_LENGTH} characters only need to share one trigram. In
+ * longer queries a typo breaks a smaller share of the trigrams, but a name
+ * this drops could still in theory have passed the similarity threshold.
+ *
+ * <p>
+ * Only the best matches are kept, in a heap bounded by the number asked for,
+ * so a query that hundreds of names pass costs no full sort. When there are
+ * at least {@value #MIN_CANDIDATES_TO_PARALLELIZE} candidates, they are
+ * scored in parallel on the common fork-join pool, each worker keeping its
+ * own heap, and the heaps are merged at the end.
+ *
+ * <p>
+ * Items are keyed by their item id. Archived items are kept but excluded from
+ * searches unless asked for. Renaming or removing an item leaves a dead slot
+ * behind that is reclaimed once dead slots outnumber live ones.
+ */
+public final class ItemNameIndex {
+    public static final int MIN_CANDIDATES_TO_PARALLELIZE = 2048;
+    public static final double MIN_SHARED_TRIGRAMS = 0.5;
+    public static final int SHORT_QUERY_LENGTH = 6;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int MIN_SLOTS_TO_COMPACT = 1024;
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    /** Best first: higher scores, then names in alphabetical order. */
+    private static final Comparator<Hit> RANKING = Comparator.comparingDouble(Hit::score).reversed()
+            .thenComparing(Hit::name, String.CASE_INSENSITIVE_ORDER).thenComparingInt(Hit::id);
+
+    /** Packs three UTF-16 characters into one key. */
+    private static long key(final String s, final int i) {
+        return ((long) s.charAt(i) << 32) | ((long) s.charAt(i + 1) << 16) | s.charAt(i + 2);
+    }
+
+    static String normalize(final String name) {
+        return WHITESPACE.matcher(name.strip().toLowerCase(Locale.ROOT)).replaceAll(" ");
+    }
+
+    /** @return the distinct trigrams of the padded, normalized name. */
+    private static long[] trigramsOf(final String normalized) {
+        final String padded = "  " + normalized + " ";
+        final long[] keys = new long[padded.length() - 2];
+
+        for (int i = 0; i < keys.length; ++i) {
+            keys[i] = key(padded, i);
+        }
+
+        Arrays.sort(keys);
+
+        int distinct = 0;
+
+        for (int i = 0; i < keys.length; ++i) {
+            if (i == 0 || keys[i] != keys[i - 1]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private boolean[] excluded;
+    private int[] ids;
+    private final ReentrantReadWriteLock lock;
+    private boolean loaded;
+    private String[] names;
+    private final HashMap<Long, IntList> postings;
+    /** Reused by every query of a thread instead of allocating counts per query. */
+    private final ThreadLocal<SharedCounts> sharedCounts;
+    private final JaroWinklerSimilarity similarity;
+    private final HashMap<Integer, Integer> slotOfId;
+    private final HashMap<String, Integer> slotOfName;
+    private int slots;
+    private String[] storedNames;
+
+    public ItemNameIndex() {
+        lock = new ReentrantReadWriteLock();
+        postings = new HashMap<>();
+        sharedCounts = ThreadLocal.withInitial(SharedCounts::new);
+        similarity = new JaroWinklerSimilarity();
+        slotOfId = new HashMap<>();
+        slotOfName = new HashMap<>();
+        ids = new int[INITIAL_CAPACITY];
+        names = new String[INITIAL_CAPACITY];
+        storedNames = new String[INITIAL_CAPACITY];
+        excluded = new boolean[INITIAL_CAPACITY];
+    }
+
+    /** @return whether {@link #rebuild(List)} has been called at least once. */
+    public boolean isLoaded() {
+        lock.readLock().lock();
+
+        try {
+            return loaded;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Adds an item or, if it is already indexed, renames it. */
+    public void put(final int id, @NotNull final String name) {
+        lock.writeLock().lock();
+
+        try {
+            final Integer previous = slotOfId.get(id);
+            boolean wasExcluded = false;
+
+            if (previous != null) {
+                if (names[previous].equals(normalize(name))) {
+                    slotOfName.remove(storedNames[previous], previous);
+                    slotOfName.put(name, previous);
+                    storedNames[previous] = name;
+
+                    return;
+                }
+
+                wasExcluded = excluded[previous];
+                kill(previous);
+            }
+
+            insert(id, name, wasExcluded);
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the whole index.
+     *
+     * @param entries every item with its name and whether it is archived.
+     */
+    public void rebuild(@NotNull final List<Entry> entries) {
+        lock.writeLock().lock();
+
+        try {
+            clear();
+
+            for (final Entry entry : entries) {
+                insert(entry.id(), entry.name(), entry.archived());
+            }
+
+            loaded = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(final int id) {
+        lock.writeLock().lock();
+
+        try {
+            final Integer slot = slotOfId.get(id);
+
+            if (slot != null) {
+                kill(slot);
+                compactIfSparse();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Brings the index in line with the given items one by one, renaming,
+     * archiving or unarchiving the items that changed and removing the ones
+     * that are gone. Unlike {@link #rebuild(List)}, unchanged items are left as
+     * they are.
+     *
+     * @param entries every item with its name and whether it is archived.
+     */
+    public void sync(@NotNull final List<Entry> entries) {
+        lock.writeLock().lock();
+
+        try {
+            final HashSet<Integer> live = new HashSet<>(entries.size() * 2);
+
+            for (final Entry entry : entries) {
+                final Integer slot = slotOfId.get(entry.id());
+
+                live.add(entry.id());
+
+                if (slot == null || !storedNames[slot].equals(entry.name())) {
+                    if (slot != null) {
+                        kill(slot);
+                    }
+
+                    insert(entry.id(), entry.name(), entry.archived());
+                } else {
+                    excluded[slot] = entry.archived();
+                }
+            }
+
+            for (final Integer id : List.copyOf(slotOfId.keySet())) {
+                if (!live.contains(id)) {
+                    kill(slotOfId.get(id));
+                }
+            }
+
+            loaded = true;
+            compactIfSparse();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the items whose name is most similar to the query.
+     *
+     * @param threshold       the minimum Jaro-Winkler similarity between the
+     *                        normalized name and query.
+     * @param includeArchived whether archived items may be returned.
+     * @param limit           the maximum number of results.
+     * @return at most {@code limit} matches, best first: by score, then by
+     *         name.
+     */
+    public List<Hit> top(@NotNull final String query, final double threshold, final boolean includeArchived,
+            final int limit) {
+        final String normalizedQuery = normalize(query);
+
+        if (normalizedQuery.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        final long[] queryTrigrams = trigramsOf(normalizedQuery);
+        final int minShared = normalizedQuery.length() <= SHORT_QUERY_LENGTH ? 1
+                : Math.max(1, (int) Math.ceil(queryTrigrams.length * MIN_SHARED_TRIGRAMS));
+
+        lock.readLock().lock();
+
+        try {
+            final SharedCounts shared = sharedCounts.get();
+            final IntList candidates = new IntList();
+
+            shared.reset(slots);
+
+            for (final long trigram : queryTrigrams) {
+                final IntList posting = postings.get(trigram);
+
+                if (posting == null) {
+                    continue;
+                }
+
+                for (int i = 0; i < posting.size; ++i) {
+                    final int slot = posting.values[i];
+
+                    // Counts that reach the minimum exactly once, so every
+                    // candidate is listed once.
+                    if (shared.increment(slot) == minShared) {
+                        candidates.add(slot);
+                    }
+                }
+            }
+
+            IntStream slotsToScore = Arrays.stream(candidates.values, 0, candidates.size);
+
+            if (candidates.size >= MIN_CANDIDATES_TO_PARALLELIZE) {
+                slotsToScore = slotsToScore.parallel();
+            }
+
+            final TopK best = slotsToScore.collect(() -> new TopK(limit), (top, slot) -> {
+                if (names[slot] == null || (!includeArchived && excluded[slot])) {
+                    return;
+                }
+
+                final double score = similarity.apply(names[slot], normalizedQuery);
+
+                if (score >= threshold) {
+                    top.offer(new Hit(ids[slot], storedNames[slot], score));
+                }
+            }, TopK::merge);
+
+            return best.toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Marks an item as archived or not by its exact name, the way
+     * {@link Inventory#setStatusOfItemsByName(String[], com.github.ragudos.kompeter.database.dto.inventory.ItemStatus)}
+     * identifies items.
+     */
+    public void setArchived(@NotNull final String name, final boolean archived) {
+        lock.writeLock().lock();
+
+        try {
+            final Integer slot = slotOfName.get(name);
+
+            if (slot != null) {
+                excluded[slot] = archived;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** @return the number of indexed items, archived ones included. */
+    public int size() {
+        lock.readLock().lock();
+
+        try {
+            return slotOfId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        slotOfId.clear();
+        slotOfName.clear();
+        Arrays.fill(names, 0, slots, null);
+        Arrays.fill(storedNames, 0, slots, null);
+        slots = 0;
+    }
+
+    private void compactIfSparse() {
+        final int live = slotOfId.size();
+
+        if (slots < MIN_SLOTS_TO_COMPACT || slots - live <= live) {
+            return;
+        }
+
+        final List<Entry> entries = new ArrayList<>(live);
+
+        slotOfId.forEach((id, slot) -> entries.add(new Entry(id, storedNames[slot], excluded[slot])));
+
+        clear();
+
+        for (final Entry entry : entries) {
+            insert(entry.id(), entry.name(), entry.archived());
+        }
+    }
+
+    private void insert(final int id, final String name, final boolean archived) {
+        if (slots == ids.length) {
+            final int capacity = ids.length * 2;
+
+            ids = Arrays.copyOf(ids, capacity);
+            names = Arrays.copyOf(names, capacity);
+            storedNames = Arrays.copyOf(storedNames, capacity);
+            excluded = Arrays.copyOf(excluded, capacity);
+        }
+
+        final int slot = slots++;
+        final String normalized = normalize(name);
+
+        ids[slot] = id;
+        names[slot] = normalized;
+        storedNames[slot] = name;
+        excluded[slot] = archived;
+        slotOfId.put(id, slot);
+        slotOfName.put(name, slot);
+
+        for (final long trigram : trigramsOf(normalized)) {
+            postings.computeIfAbsent(trigram, (k) -> new IntList()).add(slot);
+        }
+    }
+
+    /** Leaves the slot's postings in place; searches skip slots without a name. */
+    private void kill(final int slot) {
+        slotOfId.remove(ids[slot]);
+        slotOfName.remove(storedNames[slot], slot);
+        names[slot] = null;
+        storedNames[slot] = null;
+    }
+
+    /**
+     * An item matching a search.
+     *
+     * @param id    the item id.
+     * @param name  the item name as stored.
+     * @param score the Jaro-Winkler similarity between the normalized name and
+     *              query, from 0 to 1.
+     */
+    public record Hit(int id, @NotNull String name, double score) {
+    }
+
+    /**
+     * An item to index.
+     *
+     * @param id       the item id.
+     * @param name     the item name as stored.
+     * @param archived whether every stock of the item is archived.
+     */
+    public record Entry(int id, @NotNull String name, boolean archived) {
+    }
+
+    private static final class IntList {
+        private int size;
+        private int[] values = new int[4];
+
+        void add(final int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+
+            values[size++] = value;
+        }
+    }
+
+    /**
+     * How many of the query's trigrams each slot shares. Every count is tagged
+     * with the query it belongs to, so that starting a new query does not have
+     * to clear the counts of the last one.
+     */
+    private static final class SharedCounts {
+        private int[] counts = new int[0];
+        private int query;
+        private int[] queries = new int[0];
+
+        /** @return the slot's count for the current query, after adding one. */
+        private int increment(final int slot) {
+            if (queries[slot] != query) {
+                queries[slot] = query;
+                counts[slot] = 0;
+            }
+
+            return ++counts[slot];
+        }
+
+        /** Starts counting for a new query over the given number of slots. */
+        private void reset(final int slots) {
+            if (counts.length < slots) {
+                final int capacity = Math.max(slots, counts.length * 2);
+
+                counts = new int[capacity];
+                queries = new int[capacity];
+                query = 0;
+            }
+
+            if (++query == 0) {
+                Arrays.fill(queries, 0);
+                query = 1;
+            }
+        }
+    }
+
+    /** The best hits seen so far, bounded to a fixed number. */
+    private static final class TopK {
+        private final int k;
+        /** Worst hit on top, so it is the one dropped for a better one. */
+        private final PriorityQueue<Hit> heap;
+
+        private TopK(final int k) {
+            this.k = k;
+            this.heap = new PriorityQueue<>(Math.min(k, 64) + 1, RANKING.reversed());
+        }
+
+        private void merge(final TopK other) {
+            for (final Hit hit : other.heap) {
+                offer(hit);
+            }
+        }
+
+        private void offer(final Hit hit) {
+            if (heap.size() < k) {
+                heap.add(hit);
+            } else if (RANKING.compare(hit, heap.peek()) < 0) {
+                heap.poll();
+                heap.add(hit);
+            }
+        }
+
+        private List<Hit> toList() {
+            final List<Hit> hits = new ArrayList<>(heap);
+
+            hits.sort(RANKING);
+
+            return hits;
+        }
+    }
+}
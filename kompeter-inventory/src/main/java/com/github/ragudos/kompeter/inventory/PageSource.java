@@ -0,0 +1,46 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.util.Arrays;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
+
+/**
+ * A list of item stocks that is read one slice at a time, so that paging
+ * through it never copies the whole list.
+ */
+public interface PageSource {
+    /** @return a source over an array that is already in memory. */
+    static PageSource of(@NotNull final InventoryMetadataDto[] items) {
+        return new PageSource() {
+            @Override
+            public int size() {
+                return items.length;
+            }
+
+            @Override
+            public InventoryMetadataDto[] slice(final int from, final int to) {
+                return Arrays.copyOfRange(items, from, to);
+            }
+        };
+    }
+
+    int size();
+
+    /**
+     * @param from the index of the first item, inclusive.
+     * @param to   the index of the last item, exclusive.
+     * @return the items in the range. Sources that follow changes to the
+     *         {@link Catalog} may return fewer if items were removed since the
+     *         source was made.
+     */
+    InventoryMetadataDto[] slice(int from, int to);
+}
@@ -0,0 +1,42 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.util.List;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
+
+/**
+ * One page of ranked search results.
+ *
+ * @param hits      the results on this page, best first.
+ * @param page      the page number, starting at 0.
+ * @param pageSize  the most results a page holds.
+ * @param totalHits the number of results on all pages.
+ */
+public record SearchPage(@NotNull List<Hit> hits, int page, int pageSize, int totalHits) {
+    public boolean hasNextPage() {
+        return (long) (page + 1) * pageSize < totalHits;
+    }
+
+    public int totalPages() {
+        return (totalHits + pageSize - 1) / pageSize;
+    }
+
+    /**
+     * An item stock matching a search.
+     *
+     * @param item  the item stock.
+     * @param score how well it matched, from 0 to 1. Full-text matches score 1,
+     *              and items found by a similar name score their similarity.
+     */
+    public record Hit(@NotNull InventoryMetadataDto item, double score) {
+    }
+}
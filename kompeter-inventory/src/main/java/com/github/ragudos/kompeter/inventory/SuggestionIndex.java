@@ -0,0 +1,323 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.PriorityQueue;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * An immutable type-ahead index of weighted terms, e.g. item names, brands,
+ * and past searches.
+ *
+ * <p>
+ * Terms are normalized the same way as in {@link ItemNameIndex}, and every
+ * word of a term starts a key of its own, so both "log" and "mou" complete
+ * "Logitech Mouse". The keys are kept in one sorted array, so the keys that
+ * complete a prefix are one contiguous range found by two binary searches.
+ *
+ * <p>
+ * A segment tree over the array holds the key of the heaviest term in each
+ * range. The best completions are taken from a heap of ranges: the heaviest
+ * range is split around its best key, and both halves go back in. Asking for
+ * {@code n} completions therefore costs {@code O(n log n log k)} for {@code k}
+ * keys, however many keys the prefix matches, and the index takes three ints
+ * per key besides the keys themselves.
+ *
+ * <p>
+ * Instances are built with a {@link Builder} and can be shared between
+ * threads.
+ */
+public final class SuggestionIndex {
+    public static final SuggestionIndex EMPTY = new Builder().build();
+    /** The most words of a term that start a key of their own. */
+    public static final int MAX_WORDS_PER_TERM = 8;
+
+    private static boolean contains(final int[] values, final int length, final int value) {
+        for (int i = 0; i < length; ++i) {
+            if (values[i] == value) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private final String[] keys;
+    private final Kind[] kinds;
+    private final String[] labels;
+    private final int[] termOfKey;
+    /** The key of the heaviest term in each node's range, leaves first at {@code keys.length}. */
+    private final int[] tree;
+    private final double[] weights;
+
+    private SuggestionIndex(final String[] keys, final int[] termOfKey, final String[] labels, final Kind[] kinds,
+            final double[] weights) {
+        this.keys = keys;
+        this.termOfKey = termOfKey;
+        this.labels = labels;
+        this.kinds = kinds;
+        this.weights = weights;
+
+        final int n = keys.length;
+
+        tree = new int[2 * n];
+
+        for (int i = 0; i < n; ++i) {
+            tree[n + i] = i;
+        }
+
+        for (int i = n - 1; i > 0; --i) {
+            tree[i] = better(tree[2 * i], tree[2 * i + 1]);
+        }
+    }
+
+    public boolean isEmpty() {
+        return labels.length == 0;
+    }
+
+    /** @return the number of distinct terms. */
+    public int size() {
+        return labels.length;
+    }
+
+    /**
+     * @param prefix what has been typed so far. Blank prefixes complete
+     *               nothing.
+     * @param limit  the most completions to return.
+     * @return the heaviest terms having a word that starts with the prefix,
+     *         heaviest first.
+     */
+    public Suggestion[] suggest(@NotNull final String prefix, final int limit) {
+        final String normalized = ItemNameIndex.normalize(prefix);
+
+        if (normalized.isEmpty() || limit <= 0 || keys.length == 0) {
+            return new Suggestion[0];
+        }
+
+        final int from = lowerBound(normalized);
+        final int to = endOfPrefix(normalized, from);
+
+        if (from == to) {
+            return new Suggestion[0];
+        }
+
+        final PriorityQueue<int[]> ranges = new PriorityQueue<>(
+                (a, b) -> a[2] == b[2] ? 0 : better(a[2], b[2]) == a[2] ? -1 : 1);
+        final ArrayList<Suggestion> suggestions = new ArrayList<>(limit);
+        // Limits are small, so a linear scan beats hashing here.
+        final int[] seen = new int[limit];
+
+        ranges.add(new int[] { from, to, bestIn(from, to) });
+
+        while (!ranges.isEmpty() && suggestions.size() < limit) {
+            final int[] range = ranges.poll();
+            final int key = range[2];
+            final int term = termOfKey[key];
+
+            if (!contains(seen, suggestions.size(), term)) {
+                seen[suggestions.size()] = term;
+                suggestions.add(new Suggestion(labels[term], kinds[term]));
+            }
+
+            if (range[0] < key) {
+                ranges.add(new int[] { range[0], key, bestIn(range[0], key) });
+            }
+
+            if (key + 1 < range[1]) {
+                ranges.add(new int[] { key + 1, range[1], bestIn(key + 1, range[1]) });
+            }
+        }
+
+        return suggestions.toArray(Suggestion[]::new);
+    }
+
+    /** @return whichever key has the heavier term, or the earlier one on ties. */
+    private int better(final int a, final int b) {
+        if (a < 0) {
+            return b;
+        }
+
+        if (b < 0) {
+            return a;
+        }
+
+        final double weightOfA = weights[termOfKey[a]];
+        final double weightOfB = weights[termOfKey[b]];
+
+        return weightOfA > weightOfB || (weightOfA == weightOfB && a < b) ? a : b;
+    }
+
+    /** @return the best key in {@code [from, to)}. */
+    private int bestIn(final int from, final int to) {
+        final int n = keys.length;
+        int best = -1;
+
+        for (int l = from + n, r = to + n; l < r; l >>= 1, r >>= 1) {
+            if ((l & 1) == 1) {
+                best = better(best, tree[l++]);
+            }
+
+            if ((r & 1) == 1) {
+                best = better(best, tree[--r]);
+            }
+        }
+
+        return best;
+    }
+
+    /** @return the first key from {@code from} on that does not start with the prefix. */
+    private int endOfPrefix(final String prefix, final int from) {
+        int low = from;
+        int high = keys.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (keys[mid].startsWith(prefix)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /** @return the first key not less than the prefix. */
+    private int lowerBound(final String prefix) {
+        int low = 0;
+        int high = keys.length;
+
+        while (low < high) {
+            final int mid = (low + high) >>> 1;
+
+            if (keys[mid].compareTo(prefix) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+
+        return low;
+    }
+
+    /**
+     * Collects terms for a {@link SuggestionIndex}. Adding a term that is
+     * already there, compared after normalizing, adds to its weight. It keeps
+     * the spelling it was first added with, and the kind that contributed the
+     * most weight.
+     */
+    public static final class Builder {
+        private final ArrayList<String> keys;
+        private final ArrayList<Kind> kinds;
+        private final ArrayList<String> labels;
+        /** The weight the term's kind contributed, by term. */
+        private final ArrayList<Double> kindWeights;
+        private final HashMap<String, Integer> termOf;
+        private final ArrayList<Double> weights;
+
+        public Builder() {
+            keys = new ArrayList<>();
+            kinds = new ArrayList<>();
+            labels = new ArrayList<>();
+            kindWeights = new ArrayList<>();
+            termOf = new HashMap<>();
+            weights = new ArrayList<>();
+        }
+
+        /**
+         * @param text   the term as it should be shown. Blank terms are
+         *               ignored.
+         * @param kind   where the term comes from.
+         * @param weight how strongly to prefer the term. Higher is better.
+         */
+        public Builder add(final String text, @NotNull final Kind kind, final double weight) {
+            if (text == null || text.isBlank()) {
+                return this;
+            }
+
+            final String key = ItemNameIndex.normalize(text);
+            final Integer term = termOf.get(key);
+
+            if (term == null) {
+                termOf.put(key, keys.size());
+                keys.add(key);
+                labels.add(text.strip());
+                kinds.add(kind);
+                kindWeights.add(weight);
+                weights.add(weight);
+            } else {
+                weights.set(term, weights.get(term) + weight);
+
+                if (weight > kindWeights.get(term)) {
+                    kinds.set(term, kind);
+                    kindWeights.set(term, weight);
+                }
+            }
+
+            return this;
+        }
+
+        public SuggestionIndex build() {
+            final int terms = keys.size();
+            final ArrayList<String> wordKeys = new ArrayList<>(terms * 2);
+            final ArrayList<Integer> wordTerms = new ArrayList<>(terms * 2);
+
+            for (int term = 0; term < terms; ++term) {
+                final String key = keys.get(term);
+                int start = 0;
+
+                for (int words = 0; words < MAX_WORDS_PER_TERM && start >= 0; ++words) {
+                    wordKeys.add(key.substring(start));
+                    wordTerms.add(term);
+
+                    final int space = key.indexOf(' ', start);
+
+                    start = space < 0 ? -1 : space + 1;
+                }
+            }
+
+            final Integer[] order = new Integer[wordKeys.size()];
+
+            for (int i = 0; i < order.length; ++i) {
+                order[i] = i;
+            }
+
+            Arrays.sort(order, (a, b) -> wordKeys.get(a).compareTo(wordKeys.get(b)));
+
+            final String[] sortedKeys = new String[order.length];
+            final int[] termOfKey = new int[order.length];
+
+            for (int i = 0; i < order.length; ++i) {
+                sortedKeys[i] = wordKeys.get(order[i]);
+                termOfKey[i] = wordTerms.get(order[i]);
+            }
+
+            final double[] termWeights = new double[terms];
+
+            for (int term = 0; term < terms; ++term) {
+                termWeights[term] = weights.get(term);
+            }
+
+            return new SuggestionIndex(sortedKeys, termOfKey, labels.toArray(String[]::new),
+                    kinds.toArray(Kind[]::new), termWeights);
+        }
+    }
+
+    /** Where a suggested term comes from. */
+    public enum Kind {
+        BRAND, FAVORITE, ITEM, RECENT
+    }
+
+    public record Suggestion(String text, Kind kind) {
+    }
+}
@@ -0,0 +1,229 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
+import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
+import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
+import com.github.ragudos.kompeter.inventory.SuggestionIndex.Kind;
+import com.github.ragudos.kompeter.inventory.SuggestionIndex.Suggestion;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+import com.github.ragudos.kompeter.metrics.Timer;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * Type-ahead completions for the search fields, over the item names and
+ * brands of the {@link Catalog} and the searches made before.
+ *
+ * <p>
+ * Each term weighs {@value #BASE_WEIGHT}, plus {@value #SALES_WEIGHT} times
+ * the log of one more than the units of it sold in the last
+ * {@value #SALES_WINDOW_DAYS} days. A brand counts the units of all its
+ * items. Recent searches add {@value #RECENT_WEIGHT} for the latest one,
+ * decaying by {@value #RECENT_DECAY} per older search, and favorite searches
+ * add {@value #FAVORITE_WEIGHT}. Archived items are not suggested.
+ *
+ * <p>
+ * The {@link SuggestionIndex} is rebuilt in the background on the next
+ * keystroke after the names, brands, or statuses in the catalog, the sales,
+ * or the searches change, and is shared until then. The previous index keeps
+ * answering while the new one is built, so typing never waits for it.
+ * Quantity changes, e.g. from sales, do not rebuild it; see
+ * {@link Catalog#namesVersion()}.
+ * Searches are kept by the caller, e.g. in the application config, and handed
+ * in with {@link #setSearches(String[], String[])}.
+ */
+public final class Suggestions {
+    public static final double BASE_WEIGHT = 1;
+    public static final double FAVORITE_WEIGHT = 12;
+    public static final double RECENT_DECAY = 0.85;
+    public static final double RECENT_WEIGHT = 10;
+    public static final double SALES_WEIGHT = 1;
+    public static final int SALES_WINDOW_DAYS = 90;
+
+    private static final Logger LOGGER = KompeterLogger.getLogger(Suggestions.class);
+    private static final Timer SUGGEST = MetricsRegistry.getInstance().timer("inventory.suggest");
+
+    private static Suggestions instance;
+
+    public static synchronized Suggestions getInstance() {
+        if (instance == null) {
+            instance = new Suggestions();
+        }
+
+        return instance;
+    }
+
+    private final ExecutorService builder;
+    private final Catalog catalog;
+    private String[] favoriteSearches;
+    private volatile SuggestionIndex index;
+    private volatile long indexedVersion;
+    private String[] recentSearches;
+    private final AtomicBoolean rebuilding;
+    private volatile boolean stale;
+    private Map<Integer, Integer> unitsSold;
+
+    private Suggestions() {
+        builder = Executors.newSingleThreadExecutor((r) -> {
+            final Thread thread = new Thread(r, "kompeter-suggestions");
+            thread.setDaemon(true);
+            return thread;
+        });
+        catalog = Catalog.getInstance();
+        favoriteSearches = new String[0];
+        index = SuggestionIndex.EMPTY;
+        indexedVersion = -1;
+        recentSearches = new String[0];
+        rebuilding = new AtomicBoolean();
+        stale = true;
+        unitsSold = Map.of();
+    }
+
+    /** Forgets the sales, e.g. when signing out. */
+    public synchronized void clear() {
+        unitsSold = Map.of();
+        stale = true;
+    }
+
+    /**
+     * Reads how much of each item sold lately, so that best sellers are
+     * suggested first. Failures are logged and leave the previous counts.
+     */
+    public void loadSales() {
+        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+
+        try (Connection conn = factoryDao.getConnection()) {
+            final Map<Integer, Integer> sold = factoryDao.getSaleItemStockDao().getUnitsSoldByItem(conn,
+                    SALES_WINDOW_DAYS);
+
+            synchronized (this) {
+                unitsSold = sold;
+                stale = true;
+            }
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.WARNING, "Failed to read sales for search suggestions", err);
+        }
+    }
+
+    /**
+     * @param recent    past searches, latest first. {@code null} means none.
+     * @param favorites searches marked as favorites. {@code null} means none.
+     */
+    public synchronized void setSearches(final String[] recent, final String[] favorites) {
+        recentSearches = recent == null ? new String[0] : recent.clone();
+        favoriteSearches = favorites == null ? new String[0] : favorites.clone();
+        stale = true;
+    }
+
+    /**
+     * @param prefix what has been typed so far.
+     * @param limit  the most completions to return.
+     * @return the best completions of the prefix, best first, from the index
+     *         built last.
+     */
+    public Suggestion[] suggest(@NotNull final String prefix, final int limit) {
+        final long start = Timer.start();
+
+        try {
+            return index().suggest(prefix, limit);
+        } finally {
+            SUGGEST.recordSince(start);
+        }
+    }
+
+    private SuggestionIndex build(final Map<Integer, Integer> sold, final String[] recent, final String[] favorites) {
+        final SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+        final HashMap<String, Integer> unitsSoldByBrand = new HashMap<>();
+        final HashSet<String> brandedItems = new HashSet<>();
+        final HashMap<Integer, String> names = new HashMap<>();
+
+        for (final InventoryMetadataDto item : catalog.items()) {
+            if (item.status() == ItemStatus.ARCHIVED) {
+                continue;
+            }
+
+            names.putIfAbsent(item._itemId(), item.itemName());
+            // An item sold under several stocks of one brand counts once.
+            unitsSoldByBrand.merge(item.brand(), brandedItems.add(item.brand() + '\0' + item._itemId())
+                    ? sold.getOrDefault(item._itemId(), 0)
+                    : 0, Integer::sum);
+        }
+
+        names.forEach((_itemId, name) -> builder.add(name, Kind.ITEM,
+                BASE_WEIGHT + SALES_WEIGHT * Math.log1p(sold.getOrDefault(_itemId, 0))));
+        unitsSoldByBrand.forEach(
+                (brand, units) -> builder.add(brand, Kind.BRAND, BASE_WEIGHT + SALES_WEIGHT * Math.log1p(units)));
+
+        double recency = RECENT_WEIGHT;
+
+        for (final String search : recent) {
+            builder.add(search, Kind.RECENT, recency);
+            recency *= RECENT_DECAY;
+        }
+
+        for (final String search : favorites) {
+            builder.add(search, Kind.FAVORITE, FAVORITE_WEIGHT);
+        }
+
+        return builder.build();
+    }
+
+    /** @return the index built last, starting a rebuild if it is out of date. */
+    private SuggestionIndex index() {
+        if ((stale || indexedVersion != catalog.namesVersion()) && rebuilding.compareAndSet(false, true)) {
+            builder.execute(this::rebuild);
+        }
+
+        return index;
+    }
+
+    private void rebuild() {
+        try {
+            final long version = catalog.namesVersion();
+            final Map<Integer, Integer> sold;
+            final String[] recent;
+            final String[] favorites;
+
+            // changes made while building leave it stale for the next rebuild
+            synchronized (this) {
+                stale = false;
+                sold = unitsSold;
+                recent = recentSearches;
+                favorites = favoriteSearches;
+            }
+
+            final long start = System.nanoTime();
+            final SuggestionIndex built = build(sold, recent, favorites);
+
+            index = built;
+            indexedVersion = version;
+
+            LOGGER.fine(String.format("Indexed %d search suggestions in %d us", built.size(),
+                    (System.nanoTime() - start) / 1_000));
+        } catch (final RuntimeException err) {
+            LOGGER.log(Level.WARNING, "Failed to index search suggestions", err);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+}
@@ -2,6 +2,7 @@ module kompeter.inventory {
     requires transitive kompeter.database;
     requires org.jetbrains.annotations;
     requires kompeter.cryptography;
+    requires kompeter.metrics;
     requires org.apache.commons.text;
     requires lombok;
 
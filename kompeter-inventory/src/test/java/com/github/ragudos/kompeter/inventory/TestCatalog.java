@@ -0,0 +1,212 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
+import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
+import com.github.ragudos.kompeter.database.dto.inventory.ItemStockStorageLocationDto;
+
+public class TestCatalog {
+    private static final int SHELF = 1;
+    private static final int WAREHOUSE = 2;
+    private static final int BACKROOM = 3;
+
+    private static ItemStockStorageLocationDto location(final int _itemStockId, final int _storageLocationId,
+            final String name, final int quantity) {
+        return new ItemStockStorageLocationDto(_itemStockId * 10 + _storageLocationId, _itemStockId,
+                _storageLocationId, new Timestamp(0), name, "", quantity, true);
+    }
+
+    private static InventoryMetadataDto stock(final int id, final String brand, final String category,
+            final ItemStatus status, final ItemStockStorageLocationDto... locations) {
+        return new InventoryMetadataDto(id, id, new Timestamp(0), "Item " + id, "", null, 0, BigDecimal.ONE,
+                new String[] { category }, brand, locations, status);
+    }
+
+    private static int[] stockIds(final InventoryMetadataDto[] items) {
+        return Arrays.stream(items).mapToInt(InventoryMetadataDto::_itemStockId).toArray();
+    }
+
+    private Catalog catalog;
+
+    @BeforeEach
+    void setUp() {
+        catalog = Catalog.getInstance();
+        catalog.replace(new InventoryMetadataDto[] {
+                stock(1, "Logitech", "Mouse", ItemStatus.ACTIVE, location(1, SHELF, "Shelf", 5),
+                        location(1, WAREHOUSE, "Warehouse", 0)),
+                stock(2, "logitech ", "Keyboard", ItemStatus.ACTIVE, location(2, WAREHOUSE, "Warehouse", 3)),
+                stock(3, "Razer", "Mouse", ItemStatus.ARCHIVED, location(3, SHELF, "Shelf", 1)) });
+    }
+
+    @AfterEach
+    void tearDown() {
+        catalog.unload();
+    }
+
+    @Test
+    @DisplayName("Test stocks read before a storage location is added show it afterwards")
+    void testDtoAfterNewLocation() {
+        final InventoryMetadataDto before = catalog.get(1);
+
+        assertEquals(2, before.itemStockLocations().length);
+        assertSame(before, catalog.get(1), "unchanged stocks are not rebuilt");
+
+        catalog.put(stock(4, "Razer", "Headset", ItemStatus.ACTIVE, location(4, BACKROOM, "Backroom", 7)));
+
+        for (final InventoryMetadataDto item : catalog.items()) {
+            assertEquals(3, item.itemStockLocations().length, "stock " + item._itemStockId());
+        }
+
+        final ItemStockStorageLocationDto backroom = catalog.get(1).itemStockLocations()[2];
+
+        assertEquals("Backroom", backroom.name());
+        assertEquals(0, backroom.quantity());
+        assertFalse(backroom.isInitialized());
+    }
+
+    @Test
+    @DisplayName("Test facet counts leave out each facet's own choices")
+    void testFacetCounts() {
+        final FacetCounts all = catalog.facetCounts(new Catalog.Filter(null, null, null, null), null);
+
+        assertEquals(Map.of("Logitech", 2, "Razer", 1), all.brands());
+        assertEquals(List.of("Keyboard", "Mouse"), new ArrayList<>(all.categories().keySet()));
+        assertEquals(Map.of("Shelf", 2, "Warehouse", 1), all.storageLocations());
+        assertEquals(1, all.statuses().get(ItemStatus.ARCHIVED));
+
+        final FacetCounts mice = catalog.facetCounts(new Catalog.Filter(new String[] { "razer" },
+                new String[] { "Mouse" }, null, EnumSet.of(ItemStatus.ACTIVE)), new int[] { 1, 2, 3 });
+
+        assertEquals(Map.of("Logitech", 1, "Razer", 0), mice.brands());
+        assertEquals(Map.of("Keyboard", 0, "Mouse", 0), mice.categories());
+        assertEquals(1, mice.statuses().get(ItemStatus.ARCHIVED));
+        assertEquals(0, mice.statuses().get(ItemStatus.ACTIVE));
+    }
+
+    @Test
+    @DisplayName("Test filters combine facets and match values case-insensitively")
+    void testFilter() {
+        assertArrayEquals(new int[] { 1, 2 },
+                stockIds(catalog.filter(new Catalog.Filter(new String[] { " LOGITECH" }, null, null, null))));
+        assertArrayEquals(new int[] { 1 }, stockIds(catalog.filter(new Catalog.Filter(null,
+                new String[] { "mouse" }, new String[] { "Shelf" }, EnumSet.of(ItemStatus.ACTIVE)))));
+        assertArrayEquals(new int[] { 2 },
+                stockIds(catalog.filter(new Catalog.Filter(null, null, new String[] { "Warehouse" }, null))));
+        assertArrayEquals(new int[0],
+                stockIds(catalog.filter(new Catalog.Filter(new String[] { "Unknown" }, null, null, null))));
+    }
+
+    @Test
+    @DisplayName("Test the names version only changes with names, brands, statuses, and stocks")
+    void testNamesVersion() {
+        final long namesVersion = catalog.namesVersion();
+
+        catalog.setQuantity(1, SHELF, 2);
+        catalog.put(stock(2, "logitech ", "Keyboard", ItemStatus.ACTIVE, location(2, WAREHOUSE, "Warehouse", 9)));
+
+        assertEquals(namesVersion, catalog.namesVersion());
+
+        catalog.setStatusByName("Item 2", ItemStatus.ARCHIVED);
+
+        assertNotEquals(namesVersion, catalog.namesVersion());
+
+        final long archived = catalog.namesVersion();
+
+        catalog.put(stock(2, "Razer", "Keyboard", ItemStatus.ARCHIVED, location(2, WAREHOUSE, "Warehouse", 9)));
+
+        assertNotEquals(archived, catalog.namesVersion());
+    }
+
+    @Test
+    @DisplayName("Test readers never see older stocks than they have seen while the catalog changes")
+    void testReadersDuringWrites() throws InterruptedException {
+        final int writes = 2_000;
+        final AtomicBoolean stop = new AtomicBoolean();
+        final AtomicBoolean stale = new AtomicBoolean();
+        final List<Thread> readers = new ArrayList<>();
+
+        for (int t = 0; t < 4; ++t) {
+            readers.add(Thread.ofPlatform().start(() -> {
+                int locations = 0;
+                int quantity = 0;
+
+                while (!stop.get()) {
+                    final InventoryMetadataDto item = catalog.get(1);
+                    final ItemStockStorageLocationDto[] itemLocations = item.itemStockLocations();
+
+                    // Quantities and storage locations only grow.
+                    if (itemLocations.length < locations || itemLocations[1].quantity() < quantity) {
+                        stale.set(true);
+                    }
+
+                    locations = itemLocations.length;
+                    quantity = itemLocations[1].quantity();
+                }
+            }));
+        }
+
+        for (int i = 1; i <= writes; ++i) {
+            catalog.setQuantity(1, WAREHOUSE, i);
+
+            if (i % 100 == 0) {
+                catalog.put(stock(100 + i, "Razer", "Headset", ItemStatus.ACTIVE,
+                        location(100 + i, 100 + i, "Bin " + i, 1)));
+            }
+        }
+
+        stop.set(true);
+
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+
+        assertFalse(stale.get());
+        assertEquals(writes + 5, catalog.get(1).totalQuantity());
+        assertEquals(2 + writes / 100, catalog.get(1).itemStockLocations().length);
+    }
+
+    @Test
+    @DisplayName("Test setting a quantity updates the stock, its storage locations and the version")
+    void testSetQuantity() {
+        final long version = catalog.version();
+        final InventoryMetadataDto[] items = catalog.items();
+
+        assertSame(items, catalog.items());
+        assertTrue(catalog.setQuantity(1, SHELF, 0));
+        assertNotEquals(version, catalog.version());
+        assertNotSame(items, catalog.items());
+        assertEquals(0, catalog.get(1).totalQuantity());
+        assertEquals(Map.of("Shelf", 1, "Warehouse", 1),
+                catalog.facetCounts(new Catalog.Filter(null, null, null, null), null).storageLocations());
+        assertFalse(catalog.setQuantity(2, SHELF, 1), "stock 2 has no shelf row yet");
+        assertFalse(catalog.setQuantity(99, SHELF, 1));
+    }
+}
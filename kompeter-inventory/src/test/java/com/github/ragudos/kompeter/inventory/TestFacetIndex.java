@@ -0,0 +1,73 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestFacetIndex {
+    private static BitSet rows(final int... rows) {
+        final BitSet bits = new BitSet();
+
+        for (final int row : rows) {
+            bits.set(row);
+        }
+
+        return bits;
+    }
+
+    @Test
+    @DisplayName("Test values match case-insensitively and any of several values ORs their rows")
+    void testAnyOf() {
+        final FacetIndex index = new FacetIndex();
+
+        index.add(0, "Logitech");
+        index.add(1, " logitech ");
+        index.add(2, "Razer");
+        index.add(3, null);
+
+        assertEquals(rows(0, 1), index.anyOf(new String[] { "LOGITECH" }));
+        assertEquals(rows(0, 1, 2), index.anyOf(new String[] { "razer", "Logitech", null, "Unknown" }));
+        assertEquals(rows(), index.anyOf(new String[0]));
+    }
+
+    @Test
+    @DisplayName("Test counts follow added and removed rows and keep the first spelling")
+    void testCounts() {
+        final FacetIndex index = new FacetIndex();
+
+        for (int row = 0; row < 20; ++row) {
+            index.add(row, "Value " + (char) ('A' + row % 10));
+        }
+
+        index.add(0, "value a");
+        index.add(20, "value a");
+        index.remove(1, "VALUE B");
+        index.remove(11, "Value B");
+        index.remove(2, "Unknown");
+
+        final Map<String, Integer> counts = index.counts(null);
+
+        assertEquals(10, counts.size());
+        assertEquals("Value A", counts.keySet().iterator().next());
+        assertEquals(3, counts.get("Value A"));
+        assertEquals(0, counts.get("Value B"), "values without rows are still counted");
+        assertEquals(2, counts.get("Value C"));
+        assertEquals(List.of(2, 0, 1), index.counts(rows(0, 1, 2, 20)).values().stream().limit(3).toList());
+
+        index.clear();
+
+        assertEquals(Map.of(), index.counts(null));
+    }
+}
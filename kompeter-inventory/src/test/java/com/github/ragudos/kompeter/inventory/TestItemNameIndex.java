@@ -0,0 +1,145 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestItemNameIndex {
+    private static final double THRESHOLD = 0.7;
+
+    private static List<Integer> ids(final List<ItemNameIndex.Hit> hits) {
+        return hits.stream().map(ItemNameIndex.Hit::id).toList();
+    }
+
+    private static ItemNameIndex indexOf(final ItemNameIndex.Entry... entries) {
+        final ItemNameIndex index = new ItemNameIndex();
+
+        index.rebuild(List.of(entries));
+
+        return index;
+    }
+
+    @Test
+    @DisplayName("Test archived items are only found when asked for")
+    void testArchived() {
+        final ItemNameIndex index = indexOf(new ItemNameIndex.Entry(1, "Logitech Mouse", false),
+                new ItemNameIndex.Entry(2, "Logitech Mouse Pad", true));
+
+        assertEquals(List.of(1), ids(index.top("logitech mouse", THRESHOLD, false, 10)));
+        assertEquals(List.of(1, 2), ids(index.top("logitech mouse", THRESHOLD, true, 10)));
+
+        index.setArchived("Logitech Mouse", true);
+        index.setArchived("Logitech Mouse Pad", false);
+
+        assertEquals(List.of(2), ids(index.top("logitech mouse", THRESHOLD, false, 10)));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Test hits are ranked by score, then by name, and bounded by the limit")
+    void testRanking() {
+        final ItemNameIndex index = indexOf(new ItemNameIndex.Entry(1, "Keyboard", false),
+                new ItemNameIndex.Entry(2, "Keyboards", false), new ItemNameIndex.Entry(3, "Monitor", false),
+                new ItemNameIndex.Entry(4, "keyboard", false), new ItemNameIndex.Entry(5, "Keybaord Cover", false));
+
+        final List<ItemNameIndex.Hit> hits = index.top("  KEYBOARD ", THRESHOLD, false, 10);
+
+        assertEquals(List.of(1, 4), ids(hits.subList(0, 2)), "exact matches first, by name then id");
+        assertEquals(1.0, hits.get(0).score());
+        assertEquals(2, hits.get(2).id());
+        assertFalse(ids(hits).contains(3));
+
+        for (int i = 1; i < hits.size(); ++i) {
+            assertTrue(hits.get(i - 1).score() >= hits.get(i).score());
+        }
+
+        assertEquals(ids(hits.subList(0, 2)), ids(index.top("keyboard", THRESHOLD, false, 2)));
+        assertEquals(List.of(), index.top("keyboard", THRESHOLD, false, 0));
+        assertEquals(List.of(), index.top("   ", THRESHOLD, false, 10));
+    }
+
+    @Test
+    @DisplayName("Test renaming an item finds it by its new name only")
+    void testRename() {
+        final ItemNameIndex index = indexOf(new ItemNameIndex.Entry(1, "Gaming Chair", false),
+                new ItemNameIndex.Entry(2, "Office Desk", true));
+
+        index.put(1, "Standing Desk");
+        index.put(2, "office  DESK");
+
+        assertEquals(List.of(), index.top("gaming chair", THRESHOLD, true, 10));
+        assertEquals(List.of(1), ids(index.top("standing desk", THRESHOLD, true, 10)));
+        assertEquals("office  DESK", index.top("office desk", THRESHOLD, true, 10).get(0).name());
+        assertEquals(List.of(), index.top("office desk", THRESHOLD, false, 10), "renaming keeps it archived");
+        assertEquals(2, index.size());
+
+        index.remove(1);
+
+        assertEquals(List.of(), index.top("standing desk", THRESHOLD, true, 10));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    @DisplayName("Test syncing applies renames and status changes of items changed elsewhere")
+    void testSync() {
+        final ItemNameIndex index = indexOf(new ItemNameIndex.Entry(1, "Gaming Chair", false),
+                new ItemNameIndex.Entry(2, "Office Desk", false), new ItemNameIndex.Entry(3, "Desk Lamp", false));
+
+        index.sync(List.of(new ItemNameIndex.Entry(1, "Ergonomic Chair", false),
+                new ItemNameIndex.Entry(2, "Office Desk", true)));
+
+        assertEquals(List.of(), index.top("gaming chair", THRESHOLD, true, 10));
+        assertEquals(List.of(1), ids(index.top("ergonomic chair", THRESHOLD, false, 10)));
+        assertEquals(List.of(), index.top("office desk", THRESHOLD, false, 10));
+        assertEquals(List.of(2), ids(index.top("office desk", THRESHOLD, true, 10)));
+        assertEquals(List.of(), index.top("desk lamp", THRESHOLD, true, 10));
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    @DisplayName("Test short queries with transposed letters still find the item")
+    void testTransposition() {
+        final ItemNameIndex index = indexOf(new ItemNameIndex.Entry(1, "Mouse", false),
+                new ItemNameIndex.Entry(2, "Monitor", false));
+
+        assertEquals(List.of(1), ids(index.top("muose", THRESHOLD, false, 10)));
+    }
+
+    @Test
+    @DisplayName("Test queries give the same results as the index grows and dead slots are compacted")
+    void testRepeatedQueries() {
+        final List<ItemNameIndex.Entry> entries = new ArrayList<>();
+
+        for (int i = 0; i < 2_000; ++i) {
+            entries.add(new ItemNameIndex.Entry(i, "Product " + i, false));
+        }
+
+        final ItemNameIndex index = new ItemNameIndex();
+
+        index.rebuild(entries);
+
+        assertEquals(List.of(1234), ids(index.top("product 1234", 0.99, false, 5)));
+
+        for (int i = 0; i < 1_500; ++i) {
+            index.put(i, "Renamed " + i);
+        }
+
+        assertEquals(List.of(), index.top("product 1234", 0.99, false, 5));
+        assertEquals(List.of(1234), ids(index.top("renamed 1234", 0.99, false, 5)));
+        assertEquals(List.of(1999), ids(index.top("product 1999", 0.99, false, 5)));
+        assertEquals(2_000, index.size());
+    }
+}
@@ -0,0 +1,86 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.inventory;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import com.github.ragudos.kompeter.inventory.SuggestionIndex.Kind;
+import com.github.ragudos.kompeter.inventory.SuggestionIndex.Suggestion;
+
+public class TestSuggestionIndex {
+    private static List<String> texts(final Suggestion[] suggestions) {
+        return Arrays.stream(suggestions).map(Suggestion::text).toList();
+    }
+
+    @Test
+    @DisplayName("Test blank, missing, and out of range prefixes complete nothing")
+    void testEmptyAndMissingPrefixes() {
+        final SuggestionIndex index = new SuggestionIndex.Builder().add("Logitech Mouse", Kind.ITEM, 1)
+                .add("Razer", Kind.BRAND, 1).add("  ", Kind.RECENT, 5).add(null, Kind.RECENT, 5).build();
+
+        assertEquals(2, index.size());
+        assertArrayEquals(new Suggestion[0], index.suggest("", 5));
+        assertArrayEquals(new Suggestion[0], index.suggest("   ", 5));
+        assertArrayEquals(new Suggestion[0], index.suggest("keyboard", 5));
+        assertArrayEquals(new Suggestion[0], index.suggest("a", 5), "before the first key");
+        assertArrayEquals(new Suggestion[0], index.suggest("zzz", 5), "after the last key");
+        assertArrayEquals(new Suggestion[0], index.suggest("logitech mousepad", 5), "longer than the key");
+        assertArrayEquals(new Suggestion[0], index.suggest("log", 0));
+        assertTrue(SuggestionIndex.EMPTY.isEmpty());
+        assertArrayEquals(new Suggestion[0], SuggestionIndex.EMPTY.suggest("log", 5));
+    }
+
+    @Test
+    @DisplayName("Test a prefix completes every term having a word that starts with it")
+    void testPrefixRanges() {
+        final SuggestionIndex index = new SuggestionIndex.Builder().add("Logitech Mouse", Kind.ITEM, 1)
+                .add("Logitech Keyboard", Kind.ITEM, 1).add("Razer Mouse", Kind.ITEM, 1)
+                .add("Log Cabin", Kind.ITEM, 1).add("Mouse Pad Mouse", Kind.ITEM, 1).add("Logo", Kind.BRAND, 1)
+                .build();
+
+        assertEquals(List.of("Log Cabin", "Logitech Keyboard", "Logitech Mouse", "Logo"),
+                texts(index.suggest("LOG", 10)).stream().sorted().toList());
+        assertEquals(List.of("Logitech Mouse", "Mouse Pad Mouse", "Razer Mouse"),
+                texts(index.suggest("mou", 10)).stream().sorted().toList(), "each term is suggested once");
+        assertEquals(List.of("Logitech Mouse"), texts(index.suggest("logitech  m", 10)));
+        assertEquals(List.of("Mouse Pad Mouse"), texts(index.suggest("pad", 10)));
+    }
+
+    @Test
+    @DisplayName("Test the heaviest completions come first and repeated terms add up")
+    void testTopK() {
+        final SuggestionIndex.Builder builder = new SuggestionIndex.Builder();
+
+        for (int i = 0; i < 1_000; ++i) {
+            builder.add(String.format("Cable %04d", i), Kind.ITEM, i % 100);
+        }
+
+        builder.add("Cable 0001", Kind.RECENT, 500).add("cable  0001", Kind.ITEM, 1).add("Cables", Kind.BRAND, 99);
+
+        final SuggestionIndex index = builder.build();
+        final Suggestion[] best = index.suggest("cab", 4);
+
+        assertEquals(1_001, index.size());
+        assertEquals(new Suggestion("Cable 0001", Kind.RECENT), best[0], "keeps the first spelling");
+        // Ties keep the order of the keys.
+        assertEquals(List.of("Cable 0001", "Cable 0099", "Cable 0199", "Cable 0299"), texts(best));
+        assertEquals(List.of("Cables"), texts(index.suggest("cables", 5)));
+        assertEquals(List.of("Cable 0001", "Cable 0099", "Cable 0199", "Cable 0299", "Cable 0399", "Cable 0499",
+                "Cable 0599", "Cable 0699", "Cable 0799", "Cable 0899", "Cable 0999", "Cables", "Cable 0098"),
+                texts(index.suggest("c", 13)));
+        assertEquals(1_001, index.suggest("c", 2_000).length);
+    }
+}
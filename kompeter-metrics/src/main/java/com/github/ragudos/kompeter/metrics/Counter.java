@@ -0,0 +1,42 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A count that only goes up, e.g. of cache hits or failed checkouts.
+ *
+ * <p>
+ * Backed by a {@link LongAdder}, so that threads incrementing it at the same
+ * time do not contend on one memory location.
+ */
+public final class Counter {
+    private final LongAdder count = new LongAdder();
+    private final String name;
+
+    Counter(final String name) {
+        this.name = name;
+    }
+
+    public void add(final long amount) {
+        count.add(amount);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public void increment() {
+        count.increment();
+    }
+
+    public String name() {
+        return name;
+    }
+}
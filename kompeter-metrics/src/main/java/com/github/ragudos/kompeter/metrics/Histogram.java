@@ -0,0 +1,44 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics;
+
+import com.github.ragudos.kompeter.utilities.metrics.LogLinearHistogram;
+
+/**
+ * The distribution of a non-negative value, e.g. the number of items per
+ * sale.
+ *
+ * <p>
+ * Values go into a {@link LogLinearHistogram}, so recording never blocks or
+ * allocates, and percentiles are accurate to within an eighth of the value.
+ */
+public class Histogram {
+    private final LogLinearHistogram histogram = new LogLinearHistogram();
+    private final String name;
+
+    Histogram(final String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public void record(final long value) {
+        histogram.record(value);
+    }
+
+    public LogLinearHistogram.Snapshot snapshot() {
+        return histogram.snapshot();
+    }
+
+    /** @return a summary of the recorded values, in the unit they were recorded in. */
+    public MetricsSnapshot.Summary summarize() {
+        return MetricsSnapshot.Summary.of(snapshot(), 1);
+    }
+}
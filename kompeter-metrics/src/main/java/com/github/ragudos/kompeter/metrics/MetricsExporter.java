@@ -0,0 +1,154 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Formatter;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import com.github.ragudos.kompeter.utilities.constants.Directories;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+import com.github.ragudos.kompeter.utilities.logger.RollingFileHandler;
+
+/**
+ * Periodically appends a {@link MetricsSnapshot} of the
+ * {@link MetricsRegistry} as one JSON line to {@code metrics.jsonl} in
+ * {@link Directories#LOGS_DIRECTORY}, rolling the file over like the logs.
+ *
+ * <p>
+ * Values are cumulative since startup, so the difference between two lines is
+ * what happened in between. A last line is written when the JVM shuts down.
+ * The export can be changed with system properties:
+ * <ul>
+ * <li>{@code -Dkompeter.metrics.export=true}, or {@code false} to only keep
+ * metrics in memory</li>
+ * <li>{@code -Dkompeter.metrics.exportSeconds=60}</li>
+ * </ul>
+ */
+public final class MetricsExporter {
+    public static final String EXPORT_PROPERTY = "kompeter.metrics.export";
+    public static final String EXPORT_SECONDS_PROPERTY = "kompeter.metrics.exportSeconds";
+
+    public static final int DEFAULT_EXPORT_SECONDS = 60;
+    public static final String FILE_NAME = "metrics";
+
+    private static final int FILE_COUNT = 5;
+    private static final long FILE_LIMIT_BYTES = 5L * 1024 * 1024;
+    private static final Logger LOGGER = KompeterLogger.getLogger(MetricsExporter.class);
+
+    private static MetricsExporter instance;
+
+    public static synchronized MetricsExporter getInstance() {
+        if (instance == null) {
+            instance = new MetricsExporter();
+        }
+
+        return instance;
+    }
+
+    private ScheduledExecutorService executor;
+    private RollingFileHandler file;
+    private Thread shutdownHook;
+
+    private MetricsExporter() {
+    }
+
+    /** Writes a snapshot now, if the exporter is running. */
+    public synchronized void export() {
+        if (file == null) {
+            return;
+        }
+
+        final LogRecord record = new LogRecord(Level.INFO, MetricsRegistry.getInstance().snapshot().toJson());
+
+        file.publish(record);
+        file.flush();
+    }
+
+    public synchronized boolean isRunning() {
+        return file != null;
+    }
+
+    /**
+     * Starts exporting unless it is turned off or already running. Also
+     * registers gauges of the JVM heap.
+     */
+    public synchronized void start() {
+        if (file != null || !Boolean.parseBoolean(System.getProperty(EXPORT_PROPERTY, "true"))) {
+            return;
+        }
+
+        try {
+            file = new RollingFileHandler(Path.of(Directories.LOGS_DIRECTORY), FILE_NAME, "jsonl", FILE_LIMIT_BYTES,
+                    FILE_COUNT, new Formatter() {
+                        @Override
+                        public String format(final LogRecord record) {
+                            return record.getMessage() + "\n";
+                        }
+                    });
+        } catch (final IOException e) {
+            LOGGER.log(Level.WARNING, "Cannot open the metrics file in " + Directories.LOGS_DIRECTORY, e);
+
+            return;
+        }
+
+        final Runtime runtime = Runtime.getRuntime();
+        final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+        registry.gauge("jvm.heap.max", runtime::maxMemory);
+        registry.gauge("jvm.heap.used", () -> runtime.totalMemory() - runtime.freeMemory());
+
+        final long seconds = Math.max(1, Integer.getInteger(EXPORT_SECONDS_PROPERTY, DEFAULT_EXPORT_SECONDS));
+
+        executor = Executors.newSingleThreadScheduledExecutor((r) -> {
+            final Thread thread = new Thread(r, "kompeter-metrics-exporter");
+
+            thread.setDaemon(true);
+
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::exportQuietly, seconds, seconds, TimeUnit.SECONDS);
+        shutdownHook = new Thread(this::stop, "kompeter-metrics-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+    }
+
+    /** Writes a last snapshot and stops exporting. */
+    public synchronized void stop() {
+        if (file == null) {
+            return;
+        }
+
+        executor.shutdownNow();
+        exportQuietly();
+        file.close();
+        file = null;
+        executor = null;
+
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (final IllegalStateException e) {
+            // Already shutting down, which is what called this.
+        }
+
+        shutdownHook = null;
+    }
+
+    private void exportQuietly() {
+        try {
+            export();
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to export metrics", e);
+        }
+    }
+}
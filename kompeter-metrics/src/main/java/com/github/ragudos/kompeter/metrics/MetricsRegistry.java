@@ -0,0 +1,147 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics;
+
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * Holds every metric of the application by name.
+ *
+ * <p>
+ * Metrics are created the first time they are asked for and the same instance
+ * is returned afterwards, so callers can keep them in static fields:
+ *
+ * <pre>
+ * private static final Timer CHECKOUT = MetricsRegistry.getInstance().timer("pos.checkout");
+ * </pre>
+ *
+ * <p>
+ * Names are dotted, starting with the module, e.g.
+ * {@code inventory.search}. A name belongs to one kind of metric; asking for a
+ * counter under the name of a timer throws.
+ */
+public final class MetricsRegistry {
+    private static final Logger LOGGER = KompeterLogger.getLogger(MetricsRegistry.class);
+
+    private static MetricsRegistry instance;
+
+    public static synchronized MetricsRegistry getInstance() {
+        if (instance == null) {
+            instance = new MetricsRegistry();
+        }
+
+        return instance;
+    }
+
+    private static double ratio(final Counter hits, final Counter misses) {
+        final long h = hits.count();
+        final long total = h + misses.count();
+
+        return total == 0 ? Double.NaN : (double) h / total;
+    }
+
+    private final ConcurrentHashMap<String, Object> metrics = new ConcurrentHashMap<>();
+
+    private MetricsRegistry() {
+    }
+
+    public Counter counter(final String name) {
+        return get(name, Counter.class, Counter::new);
+    }
+
+    /**
+     * Registers a value that is read when a snapshot is taken, e.g. the size of
+     * a cache. Registering a name again replaces the previous gauge.
+     */
+    public void gauge(final String name, final DoubleSupplier value) {
+        final Object previous = metrics.get(name);
+
+        if (previous != null && !(previous instanceof Gauge)) {
+            throw new IllegalArgumentException(name + " is already a " + previous.getClass().getSimpleName());
+        }
+
+        metrics.put(name, new Gauge(value));
+    }
+
+    /**
+     * Registers a gauge of {@code hits / (hits + misses)}, which is missing from
+     * snapshots until either has been counted.
+     */
+    public void hitRatio(final String name, final Counter hits, final Counter misses) {
+        gauge(name, () -> ratio(hits, misses));
+    }
+
+    public Histogram histogram(final String name) {
+        return get(name, Histogram.class, Histogram::new);
+    }
+
+    /**
+     * @return the current value of every metric. Gauges are read on the
+     *         calling thread, and left out if they are not a number.
+     */
+    public MetricsSnapshot snapshot() {
+        final TreeMap<String, Long> counters = new TreeMap<>();
+        final TreeMap<String, Double> gauges = new TreeMap<>();
+        final TreeMap<String, MetricsSnapshot.Summary> histograms = new TreeMap<>();
+
+        for (final Map.Entry<String, Object> metric : metrics.entrySet()) {
+            final Object value = metric.getValue();
+
+            if (value instanceof final Counter counter) {
+                counters.put(metric.getKey(), counter.count());
+            } else if (value instanceof final Histogram histogram) {
+                histograms.put(metric.getKey(), histogram.summarize());
+            } else if (value instanceof final Gauge gauge) {
+                final double read = gauge.read(metric.getKey());
+
+                if (!Double.isNaN(read)) {
+                    gauges.put(metric.getKey(), read);
+                }
+            }
+        }
+
+        return new MetricsSnapshot(Instant.now(), Collections.unmodifiableMap(counters),
+                Collections.unmodifiableMap(gauges), Collections.unmodifiableMap(histograms));
+    }
+
+    public Timer timer(final String name) {
+        return get(name, Timer.class, Timer::new);
+    }
+
+    private <T> T get(final String name, final Class<T> kind, final Function<String, T> factory) {
+        final Object metric = metrics.computeIfAbsent(name, factory);
+
+        if (metric.getClass() != kind) {
+            throw new IllegalArgumentException(name + " is already a " + metric.getClass().getSimpleName());
+        }
+
+        return kind.cast(metric);
+    }
+
+    private record Gauge(DoubleSupplier value) {
+        double read(final String name) {
+            try {
+                return value.getAsDouble();
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.WARNING, "Failed to read gauge " + name, e);
+
+                return Double.NaN;
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics;
+
+import java.time.Instant;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.Map;
+
+import com.github.ragudos.kompeter.utilities.metrics.LogLinearHistogram;
+
+/**
+ * The values of every metric in a {@link MetricsRegistry} at one point in
+ * time, sorted by name.
+ *
+ * @param time       when the snapshot was taken.
+ * @param counters   the count of every counter.
+ * @param gauges     the value of every gauge that has one.
+ * @param histograms a summary of every histogram and timer.
+ */
+public record MetricsSnapshot(Instant time, Map<String, Long> counters, Map<String, Double> gauges,
+        Map<String, Summary> histograms) {
+    private static void appendName(final StringBuilder sb, final String name) {
+        sb.append('"');
+
+        for (int i = 0; i < name.length(); ++i) {
+            final char c = name.charAt(i);
+
+            if (c == '"' || c == '\\') {
+                sb.append('\\');
+            }
+
+            sb.append(c >= 0x20 ? c : '?');
+        }
+
+        sb.append("\":");
+    }
+
+    private static void appendNumber(final StringBuilder sb, final double value) {
+        if (Double.isFinite(value)) {
+            sb.append(value == Math.rint(value) && Math.abs(value) < 1e15 ? Long.toString((long) value)
+                    : String.format(Locale.ROOT, "%.3f", value));
+        } else {
+            sb.append("null");
+        }
+    }
+
+    /**
+     * @return this snapshot as one line of JSON, without a line break, e.g.
+     *         <pre>
+     * {"time":"...","counters":{"pos.checkouts":3},"gauges":{...},
+     * "histograms":{"pos.checkout":{"count":3,"min":4.2,...,"max":9.8}}}
+     *         </pre>
+     */
+    public String toJson() {
+        final StringBuilder sb = new StringBuilder(1024);
+
+        sb.append("{\"time\":\"").append(DateTimeFormatter.ISO_INSTANT.format(time)).append("\",\"counters\":{");
+
+        String separator = "";
+
+        for (final Map.Entry<String, Long> counter : counters.entrySet()) {
+            sb.append(separator);
+            appendName(sb, counter.getKey());
+            sb.append(counter.getValue());
+            separator = ",";
+        }
+
+        sb.append("},\"gauges\":{");
+        separator = "";
+
+        for (final Map.Entry<String, Double> gauge : gauges.entrySet()) {
+            sb.append(separator);
+            appendName(sb, gauge.getKey());
+            appendNumber(sb, gauge.getValue());
+            separator = ",";
+        }
+
+        sb.append("},\"histograms\":{");
+        separator = "";
+
+        for (final Map.Entry<String, Summary> histogram : histograms.entrySet()) {
+            final Summary summary = histogram.getValue();
+
+            sb.append(separator);
+            appendName(sb, histogram.getKey());
+            sb.append("{\"count\":").append(summary.count()).append(",\"min\":");
+            appendNumber(sb, summary.min());
+            sb.append(",\"mean\":");
+            appendNumber(sb, summary.mean());
+            sb.append(",\"p50\":");
+            appendNumber(sb, summary.p50());
+            sb.append(",\"p90\":");
+            appendNumber(sb, summary.p90());
+            sb.append(",\"p99\":");
+            appendNumber(sb, summary.p99());
+            sb.append(",\"max\":");
+            appendNumber(sb, summary.max());
+            sb.append('}');
+            separator = ",";
+        }
+
+        return sb.append("}}").toString();
+    }
+
+    /**
+     * The percentiles of a histogram, scaled to the unit it is reported in,
+     * e.g. milliseconds for a {@link Timer}.
+     */
+    public record Summary(long count, double min, double mean, double p50, double p90, double p99, double max) {
+        public static Summary of(final LogLinearHistogram.Snapshot snapshot, final double scale) {
+            return new Summary(snapshot.count(), snapshot.min() * scale, snapshot.mean() * scale,
+                    snapshot.percentile(50) * scale, snapshot.percentile(90) * scale,
+                    snapshot.percentile(99) * scale, snapshot.max() * scale);
+        }
+    }
+}
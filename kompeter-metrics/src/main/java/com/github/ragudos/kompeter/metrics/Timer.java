@@ -0,0 +1,67 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics;
+
+import java.util.concurrent.Callable;
+
+/**
+ * A {@link Histogram} of durations, recorded in nanoseconds and summarized in
+ * milliseconds.
+ *
+ * <pre>
+ * final long start = Timer.start();
+ *
+ * try {
+ *     ...
+ * } finally {
+ *     timer.recordSince(start);
+ * }
+ * </pre>
+ */
+public final class Timer extends Histogram {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    /** @return the current time to pass to {@link #recordSince(long)}. */
+    public static long start() {
+        return System.nanoTime();
+    }
+
+    Timer(final String name) {
+        super(name);
+    }
+
+    /**
+     * Records how long it has been since {@link #start()} returned the given
+     * time.
+     *
+     * @return the recorded duration in nanoseconds.
+     */
+    public long recordSince(final long startNanos) {
+        final long nanos = System.nanoTime() - startNanos;
+
+        record(nanos);
+
+        return nanos;
+    }
+
+    @Override
+    public MetricsSnapshot.Summary summarize() {
+        return MetricsSnapshot.Summary.of(snapshot(), 1 / NANOS_PER_MILLI);
+    }
+
+    /** Times the given task, whether or not it throws. */
+    public <T> T time(final Callable<T> task) throws Exception {
+        final long start = start();
+
+        try {
+            return task.call();
+        } finally {
+            recordSince(start);
+        }
+    }
+}
@@ -0,0 +1,30 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Emitted while loading every item stock into the catalog. */
+@Name("kompeter.CatalogLoad")
+@Label("Catalog Load")
+@Category({ "KomPeter", "Inventory" })
+@Description("Loading every item stock into the catalog.")
+@StackTrace(false)
+public final class CatalogLoadEvent extends Event {
+    @Label("Attempts")
+    @Description("Reads of the inventory, more than one if a write was missed")
+    public int attempts;
+
+    @Label("Rows")
+    public int rows;
+}
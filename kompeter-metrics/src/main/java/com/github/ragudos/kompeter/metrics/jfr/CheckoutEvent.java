@@ -0,0 +1,37 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Emitted while recording a sale and taking it out of stock. */
+@Name("kompeter.Checkout")
+@Label("Checkout")
+@Category({ "KomPeter", "Point of Sale" })
+@Description("Recording a sale and taking it out of stock.")
+@StackTrace(false)
+public final class CheckoutEvent extends Event {
+    @Label("Basket Size")
+    @Description("Units in the cart")
+    public int basketSize;
+
+    @Label("Lines")
+    @Description("Distinct item stocks in the cart")
+    public int lines;
+
+    @Label("Sale Id")
+    public int saleId;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
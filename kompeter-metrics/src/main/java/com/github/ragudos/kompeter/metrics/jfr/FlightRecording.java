@@ -0,0 +1,153 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.ragudos.kompeter.utilities.constants.Directories;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+
+/**
+ * A continuous flight recording of the JVM and the KomPeter events, kept on
+ * disk for the last while and dumped to a file on demand, e.g. after a
+ * cashier reports that the register froze. Dumps can be opened in JDK Mission
+ * Control.
+ *
+ * <p>
+ * The recording uses the JDK's low-overhead {@code default} settings. How
+ * much it keeps can be changed with system properties:
+ * <ul>
+ * <li>{@code -Dkompeter.jfr.maxAgeMinutes=30}</li>
+ * <li>{@code -Dkompeter.jfr.maxSizeBytes=104857600}</li>
+ * </ul>
+ */
+public final class FlightRecording {
+    public static final String MAX_AGE_PROPERTY = "kompeter.jfr.maxAgeMinutes";
+    public static final String MAX_SIZE_PROPERTY = "kompeter.jfr.maxSizeBytes";
+
+    public static final int DEFAULT_MAX_AGE_MINUTES = 30;
+    public static final long DEFAULT_MAX_SIZE_BYTES = 100L * 1024 * 1024;
+    public static final Path RECORDINGS_DIRECTORY = Path.of(Directories.LOGS_DIRECTORY, "recordings");
+
+    private static final DateTimeFormatter FILE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+    private static final Logger LOGGER = KompeterLogger.getLogger(FlightRecording.class);
+    private static final String NAME = "kompeter";
+
+    private static FlightRecording instance;
+
+    public static synchronized FlightRecording getInstance() {
+        if (instance == null) {
+            instance = new FlightRecording();
+        }
+
+        return instance;
+    }
+
+    /** @return whether this JVM can record at all. */
+    public static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    private Recording recording;
+
+    private FlightRecording() {
+    }
+
+    /**
+     * Writes everything recorded so far to a new file in
+     * {@link #RECORDINGS_DIRECTORY}. The recording keeps going.
+     *
+     * @return the file written to.
+     * @throws IllegalStateException if nothing is being recorded.
+     */
+    public synchronized Path dump() throws IOException {
+        if (!isRecording()) {
+            throw new IllegalStateException("Nothing is being recorded");
+        }
+
+        Files.createDirectories(RECORDINGS_DIRECTORY);
+
+        final Path file = RECORDINGS_DIRECTORY.resolve(NAME + "-" + FILE_TIME.format(LocalDateTime.now()) + ".jfr");
+
+        recording.dump(file);
+        LOGGER.info("Dumped the flight recording to " + file);
+
+        return file;
+    }
+
+    public synchronized boolean isRecording() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+
+    /**
+     * Starts recording unless already recording.
+     *
+     * @throws IllegalStateException if this JVM cannot record.
+     */
+    public synchronized void start() throws IOException {
+        if (isRecording()) {
+            return;
+        }
+
+        if (!isAvailable()) {
+            throw new IllegalStateException("Flight recording is not available in this JVM");
+        }
+
+        final Recording recording;
+
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (final ParseException e) {
+            throw new IOException("Cannot read the default recording settings", e);
+        }
+
+        recording.setName(NAME);
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofMinutes(Integer.getInteger(MAX_AGE_PROPERTY, DEFAULT_MAX_AGE_MINUTES)));
+        recording.setMaxSize(Long.getLong(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE_BYTES));
+
+        recording.enable(CatalogLoadEvent.class);
+        recording.enable(CheckoutEvent.class);
+        recording.enable(FormLoadEvent.class);
+        recording.enable(HashEvent.class);
+        recording.enable(InventoryQueryEvent.class);
+        recording.enable(ReportEvent.class);
+        recording.enable(SearchEvent.class);
+        recording.start();
+        this.recording = recording;
+        LOGGER.info("Started a flight recording");
+    }
+
+    /** Stops and discards the recording, without dumping it. */
+    public synchronized void stop() {
+        if (recording == null) {
+            return;
+        }
+
+        try {
+            recording.close();
+        } catch (final RuntimeException e) {
+            LOGGER.log(Level.WARNING, "Failed to close the flight recording", e);
+        }
+
+        recording = null;
+    }
+}
@@ -0,0 +1,29 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Emitted while loading the data a form shows. */
+@Name("kompeter.FormLoad")
+@Label("Form Load")
+@Category({ "KomPeter", "Desktop" })
+@Description("Loading the data a form shows.")
+@StackTrace(false)
+public final class FormLoadEvent extends Event {
+    @Label("Form")
+    public String form;
+
+    @Label("Rows")
+    public int rows;
+}
@@ -0,0 +1,29 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Emitted while hashing a password with PBKDF2. */
+@Name("kompeter.Hash")
+@Label("Password Hash")
+@Category({ "KomPeter", "Security" })
+@Description("Hashing a password with PBKDF2.")
+@StackTrace(false)
+public final class HashEvent extends Event {
+    @Label("Iterations")
+    public int iterations;
+
+    @Label("Succeeded")
+    public boolean succeeded;
+}
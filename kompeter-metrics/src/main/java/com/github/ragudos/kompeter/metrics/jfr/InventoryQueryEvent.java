@@ -0,0 +1,37 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Emitted while listing item stocks, from the catalog or the database. */
+@Name("kompeter.InventoryQuery")
+@Label("Inventory Query")
+@Category({ "KomPeter", "Inventory" })
+@Description("Listing item stocks, from the catalog or the database.")
+@StackTrace(false)
+public final class InventoryQueryEvent extends Event {
+    @Label("Catalog Hit")
+    @Description("Whether the catalog answered the filters instead of the database")
+    public boolean catalogHit;
+
+    @Label("Query")
+    @Description("What was listed, e.g. productList")
+    public String query;
+
+    @Label("Rows")
+    public int rows;
+
+    @Label("Search")
+    public String search;
+}
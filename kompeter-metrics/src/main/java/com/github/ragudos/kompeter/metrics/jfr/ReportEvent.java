@@ -0,0 +1,38 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Emitted while generating a monitoring report, or serving it from the report cache. */
+@Name("kompeter.Report")
+@Label("Report")
+@Category({ "KomPeter", "Monitoring" })
+@Description("Generating a monitoring report, or serving it from the report cache.")
+@StackTrace(false)
+public final class ReportEvent extends Event {
+    @Label("Cache Hit")
+    @Description("Whether the report was served from the cache rather than computed")
+    public boolean cacheHit;
+
+    @Label("Report")
+    public String report;
+
+    @Label("Rows")
+    @Description("Rows in the report, or -1 if it is not a list")
+    public int rows;
+
+    @Label("Stale")
+    @Description("Whether the report served from the cache was out of date and is being recomputed")
+    public boolean stale;
+}
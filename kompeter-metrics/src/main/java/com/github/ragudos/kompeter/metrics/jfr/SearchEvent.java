@@ -0,0 +1,34 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/** Emitted while ranking item stocks by how well they match a search. */
+@Name("kompeter.Search")
+@Label("Search")
+@Category({ "KomPeter", "Inventory" })
+@Description("Ranking item stocks by how well they match a search.")
+@StackTrace(false)
+public final class SearchEvent extends Event {
+    @Label("Cache Hit")
+    @Description("Whether the ranks of the last search were reused")
+    public boolean cacheHit;
+
+    @Label("Rows")
+    @Description("Item stocks that matched")
+    public int rows;
+
+    @Label("Search")
+    public String search;
+}
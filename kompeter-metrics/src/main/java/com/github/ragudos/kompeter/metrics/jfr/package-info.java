@@ -0,0 +1,14 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+/**
+ * Java Flight Recorder events of the application, under the "KomPeter"
+ * category in JDK Mission Control, and
+ * {@link com.github.ragudos.kompeter.metrics.jfr.FlightRecording} to record
+ * them.
+ */
+package com.github.ragudos.kompeter.metrics.jfr;
@@ -0,0 +1,14 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+/**
+ * Counters, gauges, histograms and timers that can be left on in production,
+ * kept in one {@link com.github.ragudos.kompeter.metrics.MetricsRegistry} and
+ * periodically written to a file by
+ * {@link com.github.ragudos.kompeter.metrics.MetricsExporter}.
+ */
+package com.github.ragudos.kompeter.metrics;
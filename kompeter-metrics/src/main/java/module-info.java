@@ -0,0 +1,7 @@
+module kompeter.metrics {
+    requires transitive jdk.jfr;
+    requires transitive kompeter.utilities;
+
+    exports com.github.ragudos.kompeter.metrics;
+    exports com.github.ragudos.kompeter.metrics.jfr;
+}
@@ -0,0 +1,106 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestMetricsRegistry {
+    private final MetricsRegistry registry = MetricsRegistry.getInstance();
+
+    @Test
+    @DisplayName("Test counters from many threads add up")
+    void testConcurrentCounter() throws InterruptedException {
+        final Counter counter = registry.counter("test.concurrent");
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; ++t) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; ++i) {
+                    counter.increment();
+                }
+            }));
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, counter.count());
+        assertSame(counter, registry.counter("test.concurrent"));
+    }
+
+    @Test
+    @DisplayName("Test a name belongs to one kind of metric")
+    void testKindConflict() {
+        registry.timer("test.kind");
+
+        assertThrows(IllegalArgumentException.class, () -> registry.counter("test.kind"));
+        assertThrows(IllegalArgumentException.class, () -> registry.histogram("test.kind"));
+        assertThrows(IllegalArgumentException.class, () -> registry.gauge("test.kind", () -> 1));
+    }
+
+    @Test
+    @DisplayName("Test snapshots summarize timers in milliseconds and skip unknown ratios")
+    void testSnapshot() {
+        final Timer timer = registry.timer("test.timer");
+        final Counter hits = registry.counter("test.hits");
+        final Counter misses = registry.counter("test.misses");
+
+        for (int i = 1; i <= 100; ++i) {
+            timer.record(i * 1_000_000L);
+        }
+
+        registry.hitRatio("test.hit_ratio", hits, misses);
+        registry.gauge("test.failing", () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        MetricsSnapshot snapshot = registry.snapshot();
+        final MetricsSnapshot.Summary summary = snapshot.histograms().get("test.timer");
+
+        assertEquals(100, summary.count());
+        assertEquals(1, summary.min(), 0.001);
+        assertEquals(100, summary.max(), 0.001);
+        assertEquals(50.5, summary.mean(), 0.001);
+        assertTrue(Math.abs(summary.p90() - 90) <= 90 / 8.0, "p90 " + summary.p90());
+        assertFalse(snapshot.gauges().containsKey("test.hit_ratio"));
+        assertFalse(snapshot.gauges().containsKey("test.failing"));
+
+        hits.add(3);
+        misses.increment();
+        snapshot = registry.snapshot();
+
+        assertEquals(0.75, snapshot.gauges().get("test.hit_ratio"), 0.0001);
+    }
+
+    @Test
+    @DisplayName("Test snapshots are one line of JSON")
+    void testJson() {
+        registry.counter("test.\"quoted\"").increment();
+        registry.histogram("test.items").record(3);
+
+        final String json = registry.snapshot().toJson();
+
+        assertEquals(1, json.lines().count());
+        assertTrue(json.startsWith("{\"time\":\""));
+        assertTrue(json.endsWith("}}"));
+        assertTrue(json.contains("\"test.\\\"quoted\\\"\":1"));
+        assertTrue(json.contains("\"test.items\":{\"count\":1,\"min\":3,\"mean\":3,\"p50\":3,\"p90\":3,\"p99\":3,"
+                + "\"max\":3}"));
+    }
+}
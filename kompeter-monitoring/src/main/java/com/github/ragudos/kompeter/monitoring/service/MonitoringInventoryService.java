@@ -10,16 +10,20 @@ package com.github.ragudos.kompeter.monitoring.service;
 import java.sql.SQLException;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import com.github.ragudos.kompeter.database.dto.monitoring.InventoryCountDto;
 import com.github.ragudos.kompeter.database.sqlite.dao.monitoring.SqliteInventoryDao;
+import com.github.ragudos.kompeter.metrics.jfr.ReportEvent;
+import com.github.ragudos.kompeter.monitoring.service.MonitoringReportCache.ReportKey;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 public class MonitoringInventoryService {
 
     private static final Logger LOGGER = KompeterLogger.getLogger(MonitoringInventoryService.class);
+    private static final String INVENTORY_COUNT_REPORT = "inventory_count";
 
     private final SqliteInventoryDao inventoryDAO;
 
@@ -27,12 +31,41 @@ public class MonitoringInventoryService {
         this.inventoryDAO = inventoryDAO;
     }
 
+    /**
+     * Same as {@link #getInventoryCountReport()}, but served from the
+     * {@link MonitoringReportCache}.
+     *
+     * @param onRefreshed called from a background thread with a newer report if
+     *                    the returned one was stale.
+     */
+    public List<InventoryCountDto> getCachedInventoryCountReport(
+            final Consumer<List<InventoryCountDto>> onRefreshed) {
+        try {
+            return MonitoringReportCache.getInstance().get(ReportKey.of(INVENTORY_COUNT_REPORT),
+                    this::getInventoryCountReport, onRefreshed);
+        } catch (final Exception e) {
+            LOGGER.log(Level.SEVERE, "Error fetching inventory count report (range)", e);
+            return Collections.emptyList();
+        }
+    }
+
     public List<InventoryCountDto> getInventoryCountReport() {
+        final ReportEvent event = new ReportEvent();
+
+        event.begin();
+
         try {
-            return inventoryDAO.getInventoryCount();
+            final List<InventoryCountDto> counts = inventoryDAO.getInventoryCount();
+
+            event.rows = counts.size();
+
+            return counts;
         } catch (final SQLException e) {
             LOGGER.log(Level.SEVERE, "Error fetching inventory count report (range)", e);
             return Collections.emptyList();
+        } finally {
+            event.report = INVENTORY_COUNT_REPORT;
+            event.commit();
         }
     }
 }
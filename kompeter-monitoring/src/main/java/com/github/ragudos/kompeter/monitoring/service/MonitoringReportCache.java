@@ -0,0 +1,246 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.monitoring.service;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.ragudos.kompeter.database.sqlite.SqliteFactoryDao;
+import com.github.ragudos.kompeter.metrics.Counter;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+import com.github.ragudos.kompeter.metrics.Timer;
+import com.github.ragudos.kompeter.metrics.jfr.ReportEvent;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * A cache of monitoring report results, versioned by SQLite's
+ * {@code PRAGMA data_version}.
+ *
+ * <p>
+ * {@code data_version} changes whenever another connection commits to the
+ * database, so it is read from a dedicated connection that never writes. A
+ * cached result is fresh as long as the version it was computed at is still
+ * the current one. A result computed on another day is treated as missing,
+ * and replaced under the same key, so reports depending on the current day
+ * neither show yesterday's figures nor pile up.
+ *
+ * <p>
+ * Stale results are served immediately while a single background thread
+ * recomputes them, after which the caller is told about the new result. Only a
+ * missing result is computed on the calling thread.
+ *
+ * <p>
+ * Fresh, stale and missing results are counted in the {@link MetricsRegistry}
+ * under {@code monitoring.report_cache}, and every computation is timed as
+ * {@code monitoring.report.<report>}. Every result is also emitted as a
+ * {@link ReportEvent}, telling whether it was served from the cache and
+ * whether it was stale.
+ */
+public final class MonitoringReportCache {
+    private static final Counter FRESH = MetricsRegistry.getInstance().counter("monitoring.report_cache.fresh");
+    private static final Logger LOGGER = KompeterLogger.getLogger(MonitoringReportCache.class);
+    private static final Counter MISSES = MetricsRegistry.getInstance().counter("monitoring.report_cache.misses");
+    private static final Counter STALE = MetricsRegistry.getInstance().counter("monitoring.report_cache.stale");
+    private static final long UNKNOWN_VERSION = -1;
+
+    private static MonitoringReportCache instance;
+
+    public static synchronized MonitoringReportCache getInstance() {
+        if (instance == null) {
+            instance = new MonitoringReportCache();
+        }
+
+        return instance;
+    }
+
+    private static <V> V compute(final ReportKey key, final Callable<V> loader) throws Exception {
+        return MetricsRegistry.getInstance().timer("monitoring.report." + key.report()).time(loader);
+    }
+
+    private final ConcurrentHashMap<ReportKey, Entry<?>> entries;
+    private final ExecutorService refresher;
+    private final ConcurrentHashMap<ReportKey, Boolean> refreshing;
+    private Connection versionConnection;
+
+    private MonitoringReportCache() {
+        // A stale result is served, but is not a hit since it gets recomputed.
+        MetricsRegistry.getInstance().gauge("monitoring.report_cache.hit_ratio", () -> {
+            final long total = FRESH.count() + STALE.count() + MISSES.count();
+
+            return total == 0 ? Double.NaN : (double) FRESH.count() / total;
+        });
+
+        entries = new ConcurrentHashMap<>();
+        refreshing = new ConcurrentHashMap<>();
+        refresher = Executors.newSingleThreadExecutor((r) -> {
+            final Thread thread = new Thread(r, "kompeter-report-cache");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the result of a report.
+     *
+     * @param key         identifies the report and its parameters.
+     * @param loader      computes the report.
+     * @param onRefreshed called from a background thread with the new result
+     *                    when a stale result was returned and has since been
+     *                    recomputed.
+     * @return the cached result, possibly stale, or a freshly computed one if
+     *         nothing was cached today.
+     * @throws Exception whatever the loader throws when computing a missing
+     *                   result.
+     */
+    @SuppressWarnings("unchecked")
+    public <V> V get(final ReportKey key, final Callable<V> loader, final Consumer<V> onRefreshed)
+            throws Exception {
+        final ReportEvent event = new ReportEvent();
+
+        event.begin();
+
+        final long version = currentVersion();
+        final LocalDate today = LocalDate.now();
+        final Entry<V> entry = (Entry<V>) entries.get(key);
+
+        try {
+            final V value;
+
+            if (entry == null || !entry.day().equals(today)) {
+                MISSES.increment();
+
+                value = compute(key, loader);
+                entries.put(key, new Entry<>(value, version, today));
+            } else {
+                if (version == UNKNOWN_VERSION || entry.version() != version) {
+                    STALE.increment();
+                    event.stale = true;
+                    refreshInBackground(key, loader, onRefreshed);
+                } else {
+                    FRESH.increment();
+                }
+
+                event.cacheHit = true;
+                value = entry.value();
+            }
+
+            event.rows = value instanceof final Collection<?> rows ? rows.size() : -1;
+
+            return value;
+        } finally {
+            event.report = key.report();
+            event.commit();
+        }
+    }
+
+    /** Drops every cached result. */
+    public void invalidateAll() {
+        entries.clear();
+    }
+
+    /**
+     * Stops background refreshes and closes the version connection. Cached
+     * results stay available.
+     */
+    public synchronized void shutdown() {
+        refresher.shutdownNow();
+        closeVersionConnection();
+    }
+
+    private void closeVersionConnection() {
+        if (versionConnection == null) {
+            return;
+        }
+
+        try {
+            versionConnection.close();
+        } catch (final SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to close data version connection", e);
+        }
+
+        versionConnection = null;
+    }
+
+    private synchronized long currentVersion() {
+        try {
+            if (versionConnection == null || versionConnection.isClosed()) {
+                versionConnection = SqliteFactoryDao.getInstance().getConnection();
+            }
+
+            if (versionConnection == null) {
+                return UNKNOWN_VERSION;
+            }
+
+            try (Statement stmt = versionConnection.createStatement();
+                    ResultSet rs = stmt.executeQuery("PRAGMA data_version")) {
+                return rs.next() ? rs.getLong(1) : UNKNOWN_VERSION;
+            }
+        } catch (final SQLException e) {
+            LOGGER.log(Level.WARNING, "Cannot read data version. Treating cached reports as stale.", e);
+            closeVersionConnection();
+
+            return UNKNOWN_VERSION;
+        }
+    }
+
+    private <V> void refreshInBackground(final ReportKey key, final Callable<V> loader,
+            final Consumer<V> onRefreshed) {
+        if (refreshing.putIfAbsent(key, Boolean.TRUE) != null || refresher.isShutdown()) {
+            return;
+        }
+
+        refresher.execute(() -> {
+            try {
+                final long version = currentVersion();
+                final LocalDate today = LocalDate.now();
+                final V value = compute(key, loader);
+
+                entries.put(key, new Entry<>(value, version, today));
+
+                if (onRefreshed != null) {
+                    onRefreshed.accept(value);
+                }
+            } catch (final Exception e) {
+                LOGGER.log(Level.SEVERE, "Failed to refresh report " + key, e);
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    /**
+     * Identifies a report and the parameters it was computed with.
+     *
+     * @param report a name unique to the report.
+     * @param params anything the report's result depends on besides the data
+     *               and the current day, e.g. a date range.
+     */
+    public record ReportKey(String report, List<Object> params) {
+        public static ReportKey of(final String report, final Object... params) {
+            return new ReportKey(report, List.of(params));
+        }
+    }
+
+    /**
+     * @param day the day the value was computed on.
+     */
+    private record Entry<V>(V value, long version, LocalDate day) {
+    }
+}
@@ -4,8 +4,10 @@ import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -15,11 +17,17 @@ import com.github.ragudos.kompeter.database.dto.monitoring.ProfitDto;
 import com.github.ragudos.kompeter.database.dto.monitoring.RevenueDto;
 import com.github.ragudos.kompeter.database.dto.monitoring.Top10SellingItemsDto;
 import com.github.ragudos.kompeter.database.sqlite.dao.monitoring.SqliteSalesDao;
+import com.github.ragudos.kompeter.metrics.jfr.ReportEvent;
+import com.github.ragudos.kompeter.monitoring.service.MonitoringReportCache.ReportKey;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 public class MonitoringSalesService {
 
     private static final Logger LOGGER = KompeterLogger.getLogger(MonitoringInventoryService.class);
+    private static final String REVENUE_PREDICTION_REPORT = "revenue_prediction";
+    private static final String REVENUE_REPORT = "revenue";
+    private static final String TOP_10_SELLING_ITEMS_REPORT = "top_10_selling_items";
+
     private final SqliteSalesDao salesDAO;
     private final SalesRegressionProcessor salesRegression;
     private final PredictedValues predictedValues;
@@ -42,9 +50,62 @@ public class MonitoringSalesService {
     public record ProfitPredictionReport(List<ProfitDto> actualData, List<PredictionPoint> predictedData) {
     }
 
+    /**
+     * Same as {@link #getRevenuePredictionReport()}, but served from the
+     * {@link MonitoringReportCache}.
+     *
+     * @param onRefreshed called from a background thread with a newer report if
+     *                    the returned one was stale.
+     */
+    public RevenuePredictionReport getCachedRevenuePredictionReport(
+            final Consumer<RevenuePredictionReport> onRefreshed) throws SQLException {
+        try {
+            return MonitoringReportCache.getInstance().get(ReportKey.of(REVENUE_PREDICTION_REPORT),
+                    this::getRevenuePredictionReport, onRefreshed);
+        } catch (final SQLException e) {
+            throw e;
+        } catch (final Exception e) {
+            throw new SQLException("Failed to get revenue prediction report", e);
+        }
+    }
+
+    /**
+     * Same as {@link #getTop10SellingItemsReport()}, but served from the
+     * {@link MonitoringReportCache}.
+     *
+     * @param onRefreshed called from a background thread with a newer report if
+     *                    the returned one was stale.
+     */
+    public List<Top10SellingItemsDto> getCachedTop10SellingItemsReport(
+            final Consumer<List<Top10SellingItemsDto>> onRefreshed) {
+        try {
+            return MonitoringReportCache.getInstance().get(ReportKey.of(TOP_10_SELLING_ITEMS_REPORT),
+                    this::getTop10SellingItemsReport, onRefreshed);
+        } catch (final Exception e) {
+            LOGGER.log(Level.SEVERE, "Error fetching top 10 selling items sales report (range)", e);
+            return Collections.emptyList();
+        }
+    }
+
     public RevenuePredictionReport getRevenuePredictionReport()
             throws SQLException {
+        final ReportEvent event = new ReportEvent();
+
+        event.begin();
+
+        try {
+            final RevenuePredictionReport report = predictRevenue();
+
+            event.rows = report.actualData().size() + report.predictedData().size();
 
+            return report;
+        } finally {
+            event.report = REVENUE_PREDICTION_REPORT;
+            event.commit();
+        }
+    }
+
+    private RevenuePredictionReport predictRevenue() throws SQLException {
         final List<RevenueDto> actualData = getRevenueReport();
         final List<MappedRevenueDto> predictedMappedData = predictedValues.getPredictedRevenue(7);
 
@@ -86,20 +147,42 @@ public class MonitoringSalesService {
     }
 
     public List<RevenueDto> getRevenueReport() {
+        final ReportEvent event = new ReportEvent();
+
+        event.begin();
+
         try {
-            return salesDAO.getRevenue();
+            final List<RevenueDto> revenue = salesDAO.getRevenue();
+
+            event.rows = revenue.size();
+
+            return revenue;
         } catch (final SQLException e) {
             LOGGER.log(Level.SEVERE, "Error fetching revenue sales report (range)", e);
-            return java.util.Collections.emptyList();
+            return Collections.emptyList();
+        } finally {
+            event.report = REVENUE_REPORT;
+            event.commit();
         }
     }
 
     public List<Top10SellingItemsDto> getTop10SellingItemsReport() {
+        final ReportEvent event = new ReportEvent();
+
+        event.begin();
+
         try {
-            return salesDAO.getTop10SellingItems();
+            final List<Top10SellingItemsDto> items = salesDAO.getTop10SellingItems();
+
+            event.rows = items.size();
+
+            return items;
         } catch (final SQLException e) {
             LOGGER.log(Level.SEVERE, "Error fetching top 10 selling items sales report (range)", e);
-            return java.util.Collections.emptyList();
+            return Collections.emptyList();
+        } finally {
+            event.report = TOP_10_SELLING_ITEMS_REPORT;
+            event.commit();
         }
     }
 }
@@ -1,6 +1,7 @@
 module kompeter.monitoring {
     requires transitive kompeter.database;
     requires kompeter.utilities;
+    requires kompeter.metrics;
     requires java.logging;
 
     exports com.github.ragudos.kompeter.monitoring.service;
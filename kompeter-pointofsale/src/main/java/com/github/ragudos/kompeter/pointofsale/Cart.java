@@ -7,23 +7,70 @@
 */
 package com.github.ragudos.kompeter.pointofsale;
 
+import java.io.IOException;
 import java.math.BigDecimal;
+import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 import com.github.ragudos.kompeter.utilities.observer.Observer;
 
+/**
+ * The items a customer is about to buy.
+ *
+ * <p>
+ * A cart made with a {@link StockLedger} also reserves what is in it for a
+ * short while, see {@link StockLedger#reserve(String, int, int)}, so that
+ * other carts cannot take the same stock before it is checked out. Adding to
+ * such a cart fails with an {@link InsufficientStockException} if the stock is
+ * in another cart.
+ *
+ * <p>
+ * Reserving and releasing stock is a database transaction, so a change to the
+ * cart on the event dispatch thread is preceded by {@link #reserve(int, int)},
+ * {@link #release(int)} or {@link #releaseAll()} on a background thread. The
+ * cart remembers what it holds and only goes to the database when a change
+ * needs a different reservation.
+ */
 public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Cart.CartEvent> {
+    private static final Logger LOGGER = KompeterLogger.getLogger(Cart.class);
+
+    private final String holder;
     private final AtomicReference<ArrayList<CartItem>> items = new AtomicReference<>(new ArrayList<>());
+    private final StockLedger ledger;
+    /** What this cart holds in the ledger, by item stock id. */
+    private final Map<Integer, Integer> reserved = new ConcurrentHashMap<>();
     private final AtomicReference<ArrayList<Consumer<CartEvent>>> subscribers = new AtomicReference<>(
             new ArrayList<>());
 
     public record CartEvent(CartEventType eventType, CartItem payload, CartItem previousPayload) {
     }
 
-    public void addItem(final CartItem item) {
+    /** Creates a cart that does not reserve stock. */
+    public Cart() {
+        this(null);
+    }
+
+    /**
+     * @param ledger where to reserve the stock in the cart, or {@code null} to
+     *               not reserve it.
+     */
+    public Cart(final StockLedger ledger) {
+        this.holder = UUID.randomUUID().toString();
+        this.ledger = ledger;
+    }
+
+    public void addItem(final CartItem item) throws InsufficientStockException {
+        reserve(item._itemStockId(), item.qty());
         items.getAcquire().add(item);
 
         notifySubscribers(new CartEvent(CartEventType.ADD_ITEM, item, null));
@@ -31,6 +78,7 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
 
     public void clearCart() {
         items.getAcquire().clear();
+        releaseAll();
 
         notifySubscribers(new CartEvent(CartEventType.CLEAR, null, null));
     }
@@ -41,6 +89,7 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
 
         final CartItem prev = cartItem.clone();
         cartItem.decreaseQty(qty);
+        shrinkReservation(cartItem);
 
         notifySubscribers(new CartEvent(CartEventType.DECREASE_ITEM_QTY, cartItem, prev));
     }
@@ -51,12 +100,14 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
 
         final CartItem prev = cartItem.clone();
         cartItem.decrement();
+        shrinkReservation(cartItem);
 
         notifySubscribers(new CartEvent(CartEventType.DECREMENT_ITEM, cartItem, prev));
     }
 
     public void destroy() {
         items.getAcquire().clear();
+        releaseAll();
     }
 
     public boolean exists(final int _itemStockId) {
@@ -81,6 +132,11 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
         return items.getAcquire().getLast();
     }
 
+    /** @return the id this cart reserves stock under. */
+    public String holder() {
+        return holder;
+    }
+
     public void increaseItemQty(final int _itemStockId, final int qty) throws InsufficientStockException {
         final CartItem cartItem = items.getAcquire().stream().filter((item) -> item._itemStockId() == _itemStockId)
                 .findFirst().orElseThrow();
@@ -88,6 +144,14 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
         final CartItem prev = cartItem.clone();
         cartItem.increaseQty(qty);
 
+        try {
+            reserve(_itemStockId, cartItem.qty());
+        } catch (final InsufficientStockException err) {
+            cartItem.setQty(prev.qty());
+
+            throw err;
+        }
+
         notifySubscribers(new CartEvent(CartEventType.INCREASE_ITEM_QTY, cartItem, prev));
     }
 
@@ -98,6 +162,14 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
         final CartItem prev = cartItem.clone();
         cartItem.increment();
 
+        try {
+            reserve(_itemStockId, cartItem.qty());
+        } catch (final InsufficientStockException err) {
+            cartItem.setQty(prev.qty());
+
+            throw err;
+        }
+
         notifySubscribers(new CartEvent(CartEventType.INCREMENT_ITEM, cartItem, prev));
     }
 
@@ -112,8 +184,55 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
         }
     }
 
+    /**
+     * Gives up the reservation of the stock, if this cart holds one.
+     *
+     * <p>
+     * It blocks on the database, so the shop calls it off the event dispatch
+     * thread before removing the item, which then does not release it again.
+     */
+    public void release(final int _itemStockId) {
+        if (ledger == null || reserved.remove(_itemStockId) == null) {
+            return;
+        }
+
+        try {
+            ledger.release(holder, _itemStockId);
+        } catch (SQLException | IOException err) {
+            // it expires by itself anyway
+            LOGGER.log(Level.WARNING, "Failed to release reservation", err);
+        }
+    }
+
+    /**
+     * Gives up every reservation this cart holds, see
+     * {@link #release(int)}.
+     */
+    public void releaseAll() {
+        if (ledger == null || reserved.isEmpty()) {
+            return;
+        }
+
+        reserved.clear();
+
+        try {
+            ledger.releaseAll(holder);
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.WARNING, "Failed to release reservations", err);
+        }
+    }
+
+    /**
+     * Forgets the reservations of this cart after a checkout gave them up
+     * along with the sale.
+     */
+    void released() {
+        reserved.clear();
+    }
+
     public void removeItem(final CartItem item) {
         items.getAcquire().remove(item);
+        release(item._itemStockId());
 
         notifySubscribers(new CartEvent(CartEventType.REMOVE_ITEM, item, null));
     }
@@ -126,10 +245,39 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
         }
 
         items.getAcquire().remove(item.get());
+        release(id);
 
         notifySubscribers(new CartEvent(CartEventType.REMOVE_ITEM, item.get(), null));
     }
 
+    /**
+     * Reserves this many units of the stock for this cart in place of what it
+     * held of it before.
+     *
+     * <p>
+     * It blocks on the database, so the shop calls it off the event dispatch
+     * thread before changing the item, which then does not reserve it again.
+     *
+     * @throws InsufficientStockException if other carts hold the stock, in
+     *                                    which case the reservation this cart
+     *                                    held stays as it was.
+     */
+    public void reserve(final int _itemStockId, final int qty) throws InsufficientStockException {
+        if (ledger == null || Objects.equals(reserved.get(_itemStockId), qty)) {
+            return;
+        }
+
+        try {
+            ledger.reserve(holder, _itemStockId, qty);
+
+            reserved.put(_itemStockId, qty);
+        } catch (SQLException | IOException err) {
+            // a reservation is only a courtesy to other carts, checkout still
+            // checks the stock
+            LOGGER.log(Level.WARNING, "Failed to reserve stock", err);
+        }
+    }
+
     @Override
     public void subscribe(final Consumer<CartEvent> subscriber) {
         subscribers.get().add(subscriber);
@@ -149,6 +297,14 @@ public class Cart implements Observer<com.github.ragudos.kompeter.pointofsale.Ca
         subscribers.get().remove(subscriber);
     }
 
+    private void shrinkReservation(final CartItem item) {
+        try {
+            reserve(item._itemStockId(), item.qty());
+        } catch (final InsufficientStockException err) {
+            LOGGER.log(Level.WARNING, "Failed to update reservation", err);
+        }
+    }
+
     public enum CartEventType {
         ADD_ITEM, CLEAR, DECREASE_ITEM_QTY, DECREMENT_ITEM, INCREASE_ITEM_QTY, INCREMENT_ITEM, REMOVE_ITEM;
     }
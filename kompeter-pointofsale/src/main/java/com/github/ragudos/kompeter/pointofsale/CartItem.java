@@ -98,6 +98,11 @@ public class CartItem implements Cloneable {
         return qty;
     }
 
+    /** Restores a quantity this item had before, without checking the stock. */
+    void setQty(final int qty) {
+        this.qty = qty;
+    }
+
     public int stockQty() {
         return stockQty;
     }
@@ -0,0 +1,326 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.pointofsale;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.jetbrains.annotations.NotNull;
+
+import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
+import com.github.ragudos.kompeter.database.RetryPolicy;
+import com.github.ragudos.kompeter.database.dao.inventory.StockLedgerDao;
+import com.github.ragudos.kompeter.database.dto.inventory.StockLevelDto;
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * Takes stock out of storage locations so that concurrent checkouts can
+ * neither oversell nor overwrite each other.
+ *
+ * <p>
+ * A withdrawal reads the quantity and version of every storage location of an
+ * item stock, then decrements each location it takes from only if the
+ * location is still at the version that was read and still has enough. If
+ * another writer got there first, the whole transaction is rolled back and
+ * run again from the start with fresh quantities, as often and as patiently
+ * as its {@link RetryPolicy} allows. The same happens when SQLite reports that
+ * the database is busy, e.g. because another terminal is writing to it.
+ *
+ * <p>
+ * Carts may also place soft reservations which expire after
+ * {@link #RESERVATION_TTL}. Stock reserved by other carts is not available to
+ * a withdrawal, so two cashiers cannot both sell the last unit.
+ */
+public final class StockLedger {
+    public static final Duration RESERVATION_TTL = Duration.ofMinutes(15);
+
+    private static StockLedger instance;
+    private static final Logger LOGGER = KompeterLogger.getLogger(StockLedger.class);
+
+    public static synchronized StockLedger getInstance() {
+        if (instance == null) {
+            final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao
+                    .getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+
+            instance = new StockLedger(factoryDao::getConnection, factoryDao.getStockLedgerDao(),
+                    RetryPolicy.DEFAULT);
+        }
+
+        return instance;
+    }
+
+    private final ConnectionSource connections;
+    private final StockLedgerDao dao;
+    private final RetryPolicy retryPolicy;
+    private final LongAdder retries;
+
+    StockLedger(@NotNull final ConnectionSource connections, @NotNull final StockLedgerDao dao,
+            @NotNull final RetryPolicy retryPolicy) {
+        this.connections = connections;
+        this.dao = dao;
+        this.retryPolicy = retryPolicy;
+        this.retries = new LongAdder();
+    }
+
+    /**
+     * @return the quantity of an item stock that is neither sold nor reserved by
+     *         holders other than {@code holder}.
+     */
+    public int available(@NotNull final Connection conn, final String holder, final int _itemStockId)
+            throws SQLException, IOException {
+        int total = 0;
+
+        for (final StockLevelDto level : dao.getStockLevels(conn, _itemStockId)) {
+            total += level.quantity();
+        }
+
+        return total - dao.getReservedQuantity(conn, _itemStockId, holder, System.currentTimeMillis());
+    }
+
+    /**
+     * Runs {@code work} in a transaction of its own, running it again on a new
+     * connection if it loses a race with another writer.
+     *
+     * <p>
+     * {@code work} may therefore run more than once and must not have side
+     * effects outside of the connection it is given.
+     *
+     * @throws SQLException if the transaction still conflicts after as many
+     *                      attempts as the {@link RetryPolicy} allows, or fails
+     *                      for any other reason.
+     */
+    public <T> T inTransaction(@NotNull final Work<T> work)
+            throws SQLException, IOException, InsufficientStockException {
+        for (int attempt = 1;; ++attempt) {
+            Exception retryable;
+
+            try (Connection conn = connections.open()) {
+                if (conn == null) {
+                    throw new SQLException("Could not connect to the database.");
+                }
+
+                conn.setAutoCommit(false);
+
+                try {
+                    final T result = work.run(conn);
+
+                    conn.commit();
+
+                    return result;
+                } catch (SQLException | IOException | InsufficientStockException | RuntimeException err) {
+                    rollback(conn, err);
+
+                    throw err;
+                } catch (final StockConflictException err) {
+                    rollback(conn, err);
+
+                    retryable = err;
+                }
+            } catch (final SQLException err) {
+                if (!retryPolicy.shouldRetry(err, attempt)) {
+                    throw err;
+                }
+
+                retryable = err;
+            }
+
+            if (attempt >= retryPolicy.maxAttempts()) {
+                throw new SQLException(String.format("Stock kept changing, gave up after %s attempts.", attempt),
+                        retryable);
+            }
+
+            LOGGER.log(Level.FINE, "Retrying stock transaction, attempt {0}", attempt);
+            retries.increment();
+
+            if (!retryPolicy.backoff(attempt)) {
+                throw new SQLException("Interrupted while waiting to retry.", retryable);
+            }
+        }
+    }
+
+    /**
+     * Releases the reservation of {@code holder} on an item stock, if any.
+     */
+    public void release(@NotNull final String holder, final int _itemStockId) throws SQLException, IOException {
+        try {
+            inTransaction((conn) -> {
+                dao.releaseReservation(conn, holder, _itemStockId);
+
+                return null;
+            });
+        } catch (final InsufficientStockException err) {
+            throw new AssertionError(err);
+        }
+    }
+
+    /** Releases every reservation of {@code holder}. */
+    public void releaseAll(@NotNull final String holder) throws SQLException, IOException {
+        try {
+            inTransaction((conn) -> {
+                dao.releaseReservations(conn, holder);
+
+                return null;
+            });
+        } catch (final InsufficientStockException err) {
+            throw new AssertionError(err);
+        }
+    }
+
+    /**
+     * Releases every reservation of {@code holder} within the transaction of
+     * {@code conn}, e.g. the one it checked out in.
+     */
+    public void releaseAll(@NotNull final Connection conn, @NotNull final String holder)
+            throws SQLException, IOException {
+        dao.releaseReservations(conn, holder);
+    }
+
+    /**
+     * Sets the reservation of {@code holder} on an item stock to
+     * {@code quantity} for the next {@link #RESERVATION_TTL}, releasing it if
+     * {@code quantity} is 0.
+     *
+     * @throws InsufficientStockException if there is not enough stock left that
+     *                                    is not reserved by someone else.
+     */
+    public void reserve(@NotNull final String holder, final int _itemStockId, final int quantity)
+            throws SQLException, IOException, InsufficientStockException {
+        if (quantity <= 0) {
+            release(holder, _itemStockId);
+
+            return;
+        }
+
+        inTransaction((conn) -> {
+            final long now = System.currentTimeMillis();
+
+            dao.deleteExpiredReservations(conn, now);
+
+            final int available = available(conn, holder, _itemStockId);
+
+            if (available < quantity) {
+                throw new InsufficientStockException(String.format(
+                        "Only %s left that is not in another cart, but %s was requested.", Math.max(0, available),
+                        quantity));
+            }
+
+            dao.reserve(conn, holder, _itemStockId, quantity, now + RESERVATION_TTL.toMillis());
+
+            return null;
+        });
+    }
+
+    /**
+     * @return how many times a transaction was run again since this ledger was
+     *         made.
+     */
+    public long retries() {
+        return retries.sum();
+    }
+
+    /**
+     * Takes {@code quantity} of an item stock out of its storage locations,
+     * emptying them in order. Meant to be called from
+     * {@link #inTransaction(Work)}.
+     *
+     * @param holder the holder whose own reservations may be sold, or
+     *               {@code null}.
+     * @return the storage locations that were taken from and what is left.
+     * @throws InsufficientStockException if there is not enough stock left that
+     *                                    is not reserved by someone else.
+     * @throws StockConflictException     if another writer changed a storage
+     *                                    location after it was read.
+     */
+    public Withdrawal take(@NotNull final Connection conn, final String holder, final int _itemStockId,
+            final int quantity) throws SQLException, IOException, InsufficientStockException, StockConflictException {
+        final StockLevelDto[] levels = dao.getStockLevels(conn, _itemStockId);
+        int total = 0;
+
+        for (final StockLevelDto level : levels) {
+            total += level.quantity();
+        }
+
+        final int available = total
+                - dao.getReservedQuantity(conn, _itemStockId, holder, System.currentTimeMillis());
+
+        if (available < quantity) {
+            throw new InsufficientStockException(String.format("Only %s left in stock, but %s was requested.",
+                    Math.max(0, available), quantity));
+        }
+
+        final StockLevelDto[] taken = new StockLevelDto[levels.length];
+        int remaining = quantity;
+        int count = 0;
+
+        for (final StockLevelDto level : levels) {
+            if (remaining == 0) {
+                break;
+            }
+
+            final int toTake = Math.min(remaining, level.quantity());
+
+            if (toTake == 0) {
+                continue;
+            }
+
+            if (!dao.decrement(conn, level._itemStockStorageLocationId(), toTake, level.version())) {
+                throw new StockConflictException();
+            }
+
+            remaining -= toTake;
+            taken[count++] = new StockLevelDto(level._itemStockStorageLocationId(), level.quantity() - toTake,
+                    level.version() + 1);
+        }
+
+        return new Withdrawal(Arrays.copyOf(taken, count), total - quantity);
+    }
+
+    private void rollback(final Connection conn, final Exception err) {
+        try {
+            conn.rollback();
+        } catch (final SQLException err2) {
+            err.addSuppressed(err2);
+        }
+    }
+
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection open() throws SQLException;
+    }
+
+    /**
+     * Thrown when a storage location changed between being read and being
+     * decremented. {@link StockLedger#inTransaction(Work)} retries on it.
+     */
+    public static final class StockConflictException extends Exception {
+        public StockConflictException() {
+            super("Stock was changed by someone else.");
+        }
+    }
+
+    /**
+     * @param taken     the storage locations that were taken from, with their
+     *                  new quantities and versions.
+     * @param remaining the quantity of the item stock left over all of its
+     *                  storage locations.
+     */
+    public record Withdrawal(StockLevelDto[] taken, int remaining) {
+    }
+
+    /** Work done in a transaction of {@link StockLedger#inTransaction(Work)}. */
+    @FunctionalInterface
+    public interface Work<T> {
+        T run(Connection conn) throws SQLException, IOException, InsufficientStockException, StockConflictException;
+    }
+}
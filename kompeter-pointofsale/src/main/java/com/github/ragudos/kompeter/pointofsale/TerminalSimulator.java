@@ -0,0 +1,254 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.pointofsale;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.github.ragudos.kompeter.database.AbstractMigratorFactory;
+import com.github.ragudos.kompeter.database.RetryPolicy;
+import com.github.ragudos.kompeter.database.dto.enums.PaymentMethod;
+import com.github.ragudos.kompeter.database.dto.inventory.InventoryMetadataDto;
+import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
+import com.github.ragudos.kompeter.database.sqlite.SqliteFactoryDao;
+import com.github.ragudos.kompeter.inventory.Catalog;
+import com.github.ragudos.kompeter.utilities.constants.Metadata;
+import com.github.ragudos.kompeter.utilities.metrics.LogLinearHistogram;
+
+/**
+ * A headless stand-in for several checkout counters, for measuring how many
+ * checkouts per second the database sustains and how long they take.
+ *
+ * <p>
+ * Every terminal is a thread that fills a {@link Cart} with a few random items
+ * in stock and checks it out through {@link Transaction}, over and over, until
+ * the time is up. Several simulators may run at once against the same
+ * database to measure the contention between terminals in separate processes.
+ * The items to choose from are read once at the start, so a simulator keeps
+ * trying items that other simulators sold out, and counts those carts as out of
+ * stock.
+ *
+ * <p>
+ * The checkouts are real and sell real stock, so it refuses to run in the
+ * production environment unless given {@code --allow-production}.
+ *
+ * <pre>
+ * java -Dapp.env=development ... com.github.ragudos.kompeter.pointofsale.TerminalSimulator \
+ *     --terminals=4 --duration=30 --max-items=3 --reserve
+ * </pre>
+ */
+public final class TerminalSimulator {
+    /** A terminal gives up once this many carts in a row could not be checked out for lack of stock. */
+    private static final int MAX_CONSECUTIVE_OUT_OF_STOCK = 100;
+    private static final BigDecimal PAYMENT = new BigDecimal("1000000000.00");
+
+    public static void main(final String[] args) throws Exception {
+        final Options options = Options.parse(args);
+
+        if ("production".equalsIgnoreCase(Metadata.APP_ENV) && !options.allowProduction()) {
+            System.err.println("Refusing to sell stock in the production database, pass --allow-production to"
+                    + " do it anyway.");
+            System.exit(2);
+        }
+
+        AbstractMigratorFactory.setupSqlite();
+        Catalog.getInstance().load();
+
+        final InventoryMetadataDto[] candidates = Arrays.stream(Catalog.getInstance().items())
+                .filter((item) -> item.status() == ItemStatus.ACTIVE && item.totalQuantity() > 0)
+                .toArray(InventoryMetadataDto[]::new);
+
+        if (candidates.length == 0) {
+            System.err.println("Nothing is in stock in " + SqliteFactoryDao.MAIN_DB_FILE_NAME);
+            System.exit(1);
+        }
+
+        System.out.printf("Running %s terminals for %ss against %s (%s items in stock, %s)%n", options.terminals(),
+                options.duration().toSeconds(), SqliteFactoryDao.MAIN_DB_FILE_NAME, candidates.length,
+                RetryPolicy.DEFAULT);
+
+        final Report report = new TerminalSimulator(candidates, options).run();
+
+        report.print(options.duration());
+    }
+
+    private final InventoryMetadataDto[] candidates;
+    private final Options options;
+
+    TerminalSimulator(final InventoryMetadataDto[] candidates, final Options options) {
+        this.candidates = candidates;
+        this.options = options;
+    }
+
+    Report run() throws InterruptedException {
+        final Report report = new Report();
+        final ExecutorService terminals = Executors.newFixedThreadPool(options.terminals(), (r) -> {
+            final Thread thread = new Thread(r, "kompeter-terminal-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        final long deadline = System.nanoTime() + options.duration().toNanos();
+        final long retriesBefore = StockLedger.getInstance().retries();
+
+        for (int i = 0; i < options.terminals(); ++i) {
+            terminals.execute(() -> runTerminal(deadline, report));
+        }
+
+        terminals.shutdown();
+
+        if (!terminals.awaitTermination(options.duration().toSeconds() + 60, TimeUnit.SECONDS)) {
+            terminals.shutdownNow();
+        }
+
+        report.retries.add(StockLedger.getInstance().retries() - retriesBefore);
+
+        return report;
+    }
+
+    private Cart fillCart() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final Cart cart = new Cart(options.reserve() ? StockLedger.getInstance() : null);
+        final int distinctItems = random.nextInt(1, options.maxItems() + 1);
+
+        for (int i = 0; i < distinctItems; ++i) {
+            final InventoryMetadataDto item = candidates[random.nextInt(candidates.length)];
+
+            if (cart.exists(item._itemStockId())) {
+                continue;
+            }
+
+            try {
+                cart.addItem(new CartItem(item._itemStockId(), item.itemName(), item.totalQuantity(),
+                        random.nextInt(1, 3), item.unitPricePhp()));
+            } catch (InsufficientStockException | NegativeQuantityException err) {
+                // another terminal has it, try the next one
+            }
+        }
+
+        return cart;
+    }
+
+    private void runTerminal(final long deadline, final Report report) {
+        int consecutiveOutOfStock = 0;
+
+        while (System.nanoTime() < deadline && consecutiveOutOfStock < MAX_CONSECUTIVE_OUT_OF_STOCK) {
+            final Cart cart = fillCart();
+
+            if (cart.isEmpty()) {
+                report.outOfStock.increment();
+                ++consecutiveOutOfStock;
+                continue;
+            }
+
+            final long start = System.nanoTime();
+
+            try {
+                Transaction.createTransaction(cart, "Terminal Simulator", PAYMENT, PaymentMethod.CASH, null,
+                        BigDecimal.ZERO);
+                report.latencies.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start));
+                report.checkouts.increment();
+                consecutiveOutOfStock = 0;
+            } catch (final Exception err) {
+                if (err.getCause() instanceof InsufficientStockException) {
+                    report.outOfStock.increment();
+                    ++consecutiveOutOfStock;
+                } else {
+                    report.failures.increment();
+                    report.addFailure(err);
+                }
+            } finally {
+                cart.destroy();
+            }
+        }
+    }
+
+    /**
+     * @param terminals how many checkout counters to simulate.
+     * @param duration  for how long.
+     * @param maxItems  the most distinct items in one cart.
+     * @param reserve   whether carts reserve their items, like the shop does.
+     */
+    record Options(int terminals, Duration duration, int maxItems, boolean reserve, boolean allowProduction) {
+        static Options parse(final String[] args) {
+            int terminals = 4;
+            int seconds = 30;
+            int maxItems = 3;
+            boolean reserve = false;
+            boolean allowProduction = false;
+
+            for (final String arg : args) {
+                final String[] pair = arg.split("=", 2);
+
+                switch (pair[0]) {
+                    case "--terminals" -> terminals = Integer.parseInt(pair[1]);
+                    case "--duration" -> seconds = Integer.parseInt(pair[1]);
+                    case "--max-items" -> maxItems = Integer.parseInt(pair[1]);
+                    case "--reserve" -> reserve = true;
+                    case "--allow-production" -> allowProduction = true;
+                    default -> throw new IllegalArgumentException("Unknown argument: " + arg);
+                }
+            }
+
+            if (terminals < 1 || seconds < 1 || maxItems < 1) {
+                throw new IllegalArgumentException("--terminals, --duration and --max-items must be positive");
+            }
+
+            return new Options(terminals, Duration.ofSeconds(seconds), maxItems, reserve, allowProduction);
+        }
+    }
+
+    static final class Report {
+        private static final int MAX_FAILURES_KEPT = 5;
+
+        final LongAdder checkouts = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        /** Checkout latencies in microseconds. */
+        final LogLinearHistogram latencies = new LogLinearHistogram();
+        final LongAdder outOfStock = new LongAdder();
+        final LongAdder retries = new LongAdder();
+
+        private final List<String> firstFailures = new ArrayList<>();
+
+        synchronized void addFailure(final Exception err) {
+            if (firstFailures.size() < MAX_FAILURES_KEPT) {
+                final Throwable[] suppressed = err.getSuppressed();
+
+                firstFailures.add(suppressed.length == 0 ? err.toString() : suppressed[0].toString());
+            }
+        }
+
+        synchronized void print(final Duration duration) {
+            final LogLinearHistogram.Snapshot snapshot = latencies.snapshot();
+
+            System.out.printf("checkouts:      %s (%.1f/s)%n", checkouts.sum(),
+                    checkouts.sum() / (double) duration.toSeconds());
+
+            if (snapshot.count() > 0) {
+                System.out.printf("latency (ms):   p50 %.2f  p90 %.2f  p99 %.2f  max %.2f  mean %.2f%n",
+                        snapshot.percentile(50) / 1000.0, snapshot.percentile(90) / 1000.0,
+                        snapshot.percentile(99) / 1000.0, snapshot.max() / 1000.0, snapshot.mean() / 1000.0);
+            }
+
+            System.out.printf("out of stock:   %s%n", outOfStock.sum());
+            System.out.printf("retries:        %s%n", retries.sum());
+            System.out.printf("failures:       %s%n", failures.sum());
+
+            for (final String failure : firstFailures) {
+                System.out.println("  " + failure);
+            }
+        }
+    }
+}
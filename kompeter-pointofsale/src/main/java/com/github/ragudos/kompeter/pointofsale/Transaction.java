@@ -14,99 +14,135 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.jetbrains.annotations.NotNull;
 
-import com.github.ragudos.kompeter.cryptography.PurchaseCodeGenerator;
+import com.github.ragudos.kompeter.cryptography.CodeGenerator;
 import com.github.ragudos.kompeter.database.AbstractSqlFactoryDao;
 import com.github.ragudos.kompeter.database.dao.inventory.ItemStockDao;
-import com.github.ragudos.kompeter.database.dao.inventory.ItemStockStorageLocationDao;
 import com.github.ragudos.kompeter.database.dao.sales.SaleDao;
 import com.github.ragudos.kompeter.database.dao.sales.SaleItemStockDao;
 import com.github.ragudos.kompeter.database.dao.sales.SalePaymentDao;
 import com.github.ragudos.kompeter.database.dto.enums.DiscountType;
 import com.github.ragudos.kompeter.database.dto.enums.PaymentMethod;
 import com.github.ragudos.kompeter.database.dto.inventory.ItemStatus;
-import com.github.ragudos.kompeter.database.dto.inventory.ItemStockStorageLocationDto;
+import com.github.ragudos.kompeter.database.dto.inventory.StockLevelDto;
 import com.github.ragudos.kompeter.database.dto.sales.SaleMetadataDto;
+import com.github.ragudos.kompeter.inventory.Catalog;
+import com.github.ragudos.kompeter.metrics.Counter;
+import com.github.ragudos.kompeter.metrics.Histogram;
+import com.github.ragudos.kompeter.metrics.MetricsRegistry;
+import com.github.ragudos.kompeter.metrics.Timer;
+import com.github.ragudos.kompeter.metrics.jfr.CheckoutEvent;
+import com.github.ragudos.kompeter.pointofsale.StockLedger.Withdrawal;
 import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
 
 public class Transaction {
     public static final BigDecimal VAT_RATE = new BigDecimal("0.12");
 
+    private static final Timer CHECKOUT = MetricsRegistry.getInstance().timer("pos.checkout");
+    private static final Counter CHECKOUT_FAILURES = MetricsRegistry.getInstance().counter("pos.checkout.failures");
+    private static final Histogram ITEMS_PER_SALE = MetricsRegistry.getInstance().histogram("pos.items_per_sale");
     private static final Logger LOGGER = KompeterLogger.getLogger(Transaction.class);
 
+    /**
+     * Records the sale of everything in {@code cart} and takes it out of stock
+     * through the {@link StockLedger}, releasing the reservations of the cart.
+     *
+     * <p>
+     * The sale is retried from the start if another checkout or restock changes
+     * the same stock at the same time, so stock never goes below zero and no
+     * update is lost.
+     *
+     * <p>
+     * Every checkout is timed as {@code pos.checkout}, including retries and
+     * failures, and the quantity sold is recorded in
+     * {@code pos.items_per_sale}, and emitted as a {@link CheckoutEvent}.
+     *
+     * @return the id of the sale.
+     */
     public static int createTransaction(@NotNull final Cart cart, final String customerName,
             @NotNull final BigDecimal paymentAmount, @NotNull final PaymentMethod paymentMethod,
             @NotNull final DiscountType discountType, @NotNull final BigDecimal discountAmount) throws Exception {
         final Timestamp saleDate = Timestamp.valueOf(LocalDateTime.now(ZoneOffset.UTC));
-        final String saleCode = PurchaseCodeGenerator.generateSecureHexToken();
+        final String saleCode = CodeGenerator.SALE_CODES.next();
+        final String referenceNumber = paymentMethod == PaymentMethod.CASH ? ""
+                : CodeGenerator.PAYMENT_REFERENCES.next();
         final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
         final SaleDao saleDao = factoryDao.getSaleDao();
         final SalePaymentDao salePaymentDao = factoryDao.getSalePaymentDao();
         final SaleItemStockDao saleItemStockDao = factoryDao.getSaleItemStockDao();
-        final ItemStockStorageLocationDao itemStockStorageLocationDao = factoryDao.getItemStockStorageLocationDao();
         final ItemStockDao itemStockDao = factoryDao.getItemStockDao();
-        final Connection conn = factoryDao.getConnection();
+        final StockLedger ledger = StockLedger.getInstance();
+        final List<StockMovement> movements = new ArrayList<>();
+        final List<String> soldOut = new ArrayList<>();
+        final int quantity = cart.totalQuantity();
+        final CheckoutEvent event = new CheckoutEvent();
+        final long start = Timer.start();
+
+        event.begin();
 
         try {
-            conn.setAutoCommit(false);
-            final int _saleId = saleDao.createSale(conn, customerName, saleDate, saleCode, VAT_RATE, discountType,
-                    discountAmount);
+            final int _saleId = ledger.inTransaction((conn) -> {
+                // a retry starts over, so forget what the failed attempt took
+                movements.clear();
+                soldOut.clear();
 
-            for (final CartItem item : cart.getAllItems()) {
-                saleItemStockDao.createSaleItemStock(conn, _saleId, item._itemStockId(), item.qty(), item.price());
+                final int id = saleDao.createSale(conn, customerName, saleDate, saleCode, VAT_RATE, discountType,
+                        discountAmount);
 
-                final ItemStockStorageLocationDto[] locations = itemStockStorageLocationDao.getAllData(conn,
-                        item._itemStockId());
-                int totalRemaining = item.qty();
-                int newQuantity = item.stockQty();
+                for (final CartItem item : cart.getAllItems()) {
+                    saleItemStockDao.createSaleItemStock(conn, id, item._itemStockId(), item.qty(), item.price());
 
-                for (final ItemStockStorageLocationDto loc : locations) {
-                    if (totalRemaining <= 0) {
-                        break;
-                    }
+                    final Withdrawal withdrawal = ledger.take(conn, cart.holder(), item._itemStockId(),
+                            item.qty());
 
-                    if (loc.quantity() == 0) {
-                        continue;
+                    for (final StockLevelDto level : withdrawal.taken()) {
+                        movements.add(new StockMovement(item._itemStockId(), level._itemStockStorageLocationId(),
+                                level.quantity()));
                     }
 
-                    final int available = loc.quantity();
-                    final int toTake = Math.min(totalRemaining, available);
-
-                    newQuantity -= toTake;
-                    totalRemaining -= toTake;
-
-                    itemStockStorageLocationDao.updateItemStockQuantity(conn, (loc.quantity() - toTake),
-                            loc._itemStockStorageLocationId());
+                    if (withdrawal.remaining() <= 0) {
+                        itemStockDao.setItemStocksStatusByName(conn, item.name(), ItemStatus.INACTIVE);
+                        soldOut.add(item.name());
+                    }
                 }
 
-                if (newQuantity <= 0) {
-                    itemStockDao.setItemStocksStatusByName(conn, item.name(), ItemStatus.INACTIVE);
-                }
-            }
+                salePaymentDao.createPayment(conn, id, paymentMethod, referenceNumber, paymentAmount, saleDate);
+                ledger.releaseAll(conn, cart.holder());
 
-            salePaymentDao.createPayment(conn, _saleId, paymentMethod,
-                    (paymentMethod == PaymentMethod.CASH ? "" : PurchaseCodeGenerator.generateSecureHexToken()),
-                    paymentAmount, saleDate);
+                return id;
+            });
 
-            conn.commit();
+            cart.released();
+            updateCatalog(movements, soldOut);
+            ITEMS_PER_SALE.record(quantity);
+            event.saleId = _saleId;
+            event.succeeded = true;
 
             return _saleId;
+        } catch (final InsufficientStockException err) {
+            CHECKOUT_FAILURES.increment();
+
+            throw new Exception(err.getMessage(), err);
         } catch (SQLException | IOException err) {
-            try {
-                conn.rollback();
-            } catch (final SQLException err2) {
-                err.addSuppressed(err2);
-            }
+            LOGGER.log(Level.SEVERE, "Checkout failed for sale " + saleCode + " of " + quantity + " units", err);
+            CHECKOUT_FAILURES.increment();
 
             final Exception exception = new Exception("Failed to process transaction!");
 
             exception.addSuppressed(err);
 
             throw exception;
+        } finally {
+            CHECKOUT.recordSince(start);
+            event.basketSize = quantity;
+            event.lines = cart.getAllItems().size();
+            event.commit();
         }
     }
 
@@ -117,9 +153,43 @@ public class Transaction {
         try (Connection conn = factoryDao.getConnection()) {
             return saleDao.getAllSales(conn);
         } catch (SQLException | IOException err) {
-            LOGGER.log(Level.SEVERE, "", err);
+            LOGGER.log(Level.SEVERE, "Failed to get transactions", err);
 
             throw new Exception("Failed to get transactions");
         }
     }
+
+    /**
+     * @return the transactions made after the one with the given id, for views
+     *         that already show the older ones.
+     */
+    public static SaleMetadataDto[] getTransactionsAfter(final int _saleId) throws Exception {
+        final AbstractSqlFactoryDao factoryDao = AbstractSqlFactoryDao.getSqlFactoryDao(AbstractSqlFactoryDao.SQLITE);
+        final SaleDao saleDao = factoryDao.getSaleDao();
+
+        try (Connection conn = factoryDao.getConnection()) {
+            return saleDao.getSalesAfter(conn, _saleId);
+        } catch (SQLException | IOException err) {
+            LOGGER.log(Level.SEVERE, "Failed to get transactions after sale " + _saleId, err);
+
+            throw new Exception("Failed to get transactions");
+        }
+    }
+
+    /** Applies a committed sale to the in-memory catalog. */
+    private static void updateCatalog(final List<StockMovement> movements, final List<String> soldOut) {
+        final Catalog catalog = Catalog.getInstance();
+
+        for (final StockMovement movement : movements) {
+            catalog.setQuantityOfStockLocation(movement._itemStockId(), movement._itemStockStorageLocationId(),
+                    movement.quantity());
+        }
+
+        for (final String name : soldOut) {
+            catalog.setStatusByName(name, ItemStatus.INACTIVE);
+        }
+    }
+
+    private record StockMovement(int _itemStockId, int _itemStockStorageLocationId, int quantity) {
+    }
 }
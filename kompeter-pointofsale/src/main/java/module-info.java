@@ -3,6 +3,8 @@ module kompeter.pointofsale {
     requires transitive kompeter.utilities;
     requires org.jetbrains.annotations;
     requires kompeter.cryptography;
+    requires kompeter.inventory;
+    requires kompeter.metrics;
 
     exports com.github.ragudos.kompeter.pointofsale;
 }
@@ -0,0 +1,220 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.pointofsale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.ragudos.kompeter.database.RetryPolicy;
+import com.github.ragudos.kompeter.database.dto.inventory.StockLevelDto;
+import com.github.ragudos.kompeter.database.sqlite.dao.inventory.SqliteStockLedgerDao;
+import com.github.ragudos.kompeter.database.sqlite.migrations.SqliteMigrator;
+
+public class TestStockLedger {
+    private static final int ITEM_STOCK_ID = 1;
+    private static final int[] LOCATION_QUANTITIES = { 40, 35, 25 };
+    private static final int TOTAL = 100;
+
+    private String url;
+    private StockLedger ledger;
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        url = "jdbc:sqlite:" + directory.resolve("ledger.db");
+        ledger = new StockLedger(this::open, new SqliteStockLedgerDao(), RetryPolicy.DEFAULT);
+
+        try (Connection conn = open()) {
+            new SqliteMigrator().migrate(conn);
+
+            try (Statement stmt = conn.createStatement()) {
+                stmt.executeUpdate("INSERT INTO items (name) VALUES ('Mouse')");
+                stmt.executeUpdate("INSERT INTO item_brands (name) VALUES ('Logitech')");
+                stmt.executeUpdate(String.format("INSERT INTO item_stocks (_item_stock_id, _item_id, _item_brand_id,"
+                        + " unit_price_php) VALUES (%s, 1, 1, 500)", ITEM_STOCK_ID));
+
+                for (int i = 0; i < LOCATION_QUANTITIES.length; ++i) {
+                    stmt.executeUpdate(String.format(
+                            "INSERT INTO storage_locations (_storage_location_id, name) VALUES (%s, 'Shelf %s')",
+                            i + 1, i + 1));
+                    stmt.executeUpdate(String.format("INSERT INTO item_stock_storage_locations (_item_stock_id,"
+                            + " _storage_location_id, quantity) VALUES (%s, %s, %s)", ITEM_STOCK_ID, i + 1,
+                            LOCATION_QUANTITIES[i]));
+                }
+            }
+
+            conn.commit();
+        }
+    }
+
+    @Test
+    @DisplayName("Tests a cart to only go to the ledger when a change needs a different reservation")
+    void testCartReservesAhead() throws Exception {
+        final Cart a = new Cart(ledger);
+        final Cart b = new Cart(ledger);
+
+        a.reserve(ITEM_STOCK_ID, TOTAL - 5);
+        assertThrows(InsufficientStockException.class, () -> b.reserve(ITEM_STOCK_ID, 6));
+
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("DELETE FROM item_stock_reservations");
+        }
+
+        a.addItem(new CartItem(ITEM_STOCK_ID, "Mouse", TOTAL, TOTAL - 5, BigDecimal.ONE));
+
+        assertEquals(0, reservations(), "the item was reserved ahead");
+
+        a.decrementItem(ITEM_STOCK_ID);
+
+        assertEquals(1, reservations());
+
+        a.release(ITEM_STOCK_ID);
+        a.removeItem(ITEM_STOCK_ID);
+        b.reserve(ITEM_STOCK_ID, TOTAL);
+
+        assertEquals(1, reservations());
+    }
+
+    @Test
+    @DisplayName("Tests concurrent checkouts to never oversell nor lose a decrement")
+    void testConcurrentCheckouts() throws Exception {
+        final int threads = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<Integer>> sold = new ArrayList<>();
+
+        for (int i = 0; i < threads; ++i) {
+            final int perCheckout = 1 + i % 3;
+            final String holder = "cart-" + i;
+
+            sold.add(executor.submit(() -> {
+                int units = 0;
+
+                start.await();
+
+                while (true) {
+                    try {
+                        ledger.inTransaction((conn) -> ledger.take(conn, holder, ITEM_STOCK_ID, perCheckout));
+                    } catch (final InsufficientStockException err) {
+                        return units;
+                    }
+
+                    units += perCheckout;
+                }
+            }));
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(2, TimeUnit.MINUTES));
+
+        int totalSold = 0;
+
+        for (final Future<Integer> future : sold) {
+            totalSold += future.get();
+        }
+
+        final int remaining = remaining();
+
+        assertEquals(TOTAL, totalSold + remaining);
+        assertTrue(remaining < 3, "Stock was left over that a checkout could have taken: " + remaining);
+
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            final ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM item_stock_storage_locations"
+                    + " WHERE quantity < 0");
+
+            assertTrue(rs.next());
+            assertEquals(0, rs.getInt(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Tests a decrement against a version that was already written to be rejected")
+    void testStaleVersionIsRejected() throws Exception {
+        final SqliteStockLedgerDao dao = new SqliteStockLedgerDao();
+
+        try (Connection conn = open()) {
+            final StockLevelDto level = dao.getStockLevels(conn, ITEM_STOCK_ID)[0];
+
+            assertTrue(dao.decrement(conn, level._itemStockStorageLocationId(), 1, level.version()));
+            assertFalse(dao.decrement(conn, level._itemStockStorageLocationId(), 1, level.version()));
+            assertFalse(dao.decrement(conn, level._itemStockStorageLocationId(), level.quantity(),
+                    level.version() + 1));
+        }
+
+        assertEquals(TOTAL - 1, remaining());
+    }
+
+    @Test
+    @DisplayName("Tests stock reserved by one cart to be unavailable to others until released")
+    void testReservationsHoldStock() throws Exception {
+        ledger.reserve("a", ITEM_STOCK_ID, TOTAL - 5);
+
+        assertThrows(InsufficientStockException.class, () -> ledger.reserve("b", ITEM_STOCK_ID, 6));
+        assertThrows(InsufficientStockException.class,
+                () -> ledger.inTransaction((conn) -> ledger.take(conn, "b", ITEM_STOCK_ID, 6)));
+
+        ledger.inTransaction((conn) -> ledger.take(conn, "b", ITEM_STOCK_ID, 5));
+        ledger.inTransaction((conn) -> ledger.take(conn, "a", ITEM_STOCK_ID, TOTAL - 5));
+
+        assertEquals(0, remaining());
+
+        ledger.releaseAll("a");
+        ledger.reserve("b", ITEM_STOCK_ID, 0);
+    }
+
+    private Connection open() throws SQLException {
+        final Connection conn = DriverManager.getConnection(url);
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = 5000");
+        }
+
+        return conn;
+    }
+
+    private int remaining() throws SQLException {
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            final ResultSet rs = stmt.executeQuery("SELECT SUM(quantity) FROM item_stock_storage_locations");
+
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    private int reservations() throws SQLException {
+        try (Connection conn = open(); Statement stmt = conn.createStatement()) {
+            final ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM item_stock_reservations");
+
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.cache;
+
+/**
+ * What a {@link ConcurrentCache} has done since it was built.
+ *
+ * @param hits           lookups that found a live entry.
+ * @param misses         lookups that found nothing or an expired entry.
+ * @param evictions      entries removed or turned away for
+ *                       {@link RemovalCause#SIZE}.
+ * @param evictionWeight the total weight of those entries.
+ * @param expirations    entries removed for {@link RemovalCause#EXPIRED}.
+ */
+public record CacheStats(long hits, long misses, long evictions, long evictionWeight, long expirations) {
+    /** @return {@code hits / (hits + misses)}, or NaN before any lookup. */
+    public double hitRate() {
+        final long requests = hits + misses;
+
+        return requests == 0 ? Double.NaN : (double) hits / requests;
+    }
+
+    public long requests() {
+        return hits + misses;
+    }
+}
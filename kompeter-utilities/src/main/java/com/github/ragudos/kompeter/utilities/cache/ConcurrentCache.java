@@ -0,0 +1,526 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.cache;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import com.github.ragudos.kompeter.utilities.logger.KompeterLogger;
+
+/**
+ * A thread-safe cache bounded by the total weight of its entries, e.g. a
+ * number of entries or a number of bytes.
+ *
+ * <p>
+ * Entries live in a {@link ConcurrentHashMap}, so reads never lock. A read
+ * only sets the entry's reference bit and records the key in a
+ * {@link FrequencySketch}. Writes take one lock to keep the weight and the
+ * eviction order consistent. When the cache grows past its maximum weight, a
+ * CLOCK hand sweeps the entries in insertion order, giving entries that were
+ * read since the last sweep a second chance, and picks the first one that was
+ * not as the victim.
+ *
+ * <p>
+ * Before a new entry evicts the victim, the two are compared TinyLFU-style:
+ * if the new key was looked up fewer times recently than the victim, the new
+ * entry is turned away instead. A burst of keys that are used once, e.g.
+ * scrolling past every product, therefore cannot flush out the keys that are
+ * used all the time. Frequency is counted on lookups, so a key should be
+ * looked up with {@link #get(Object)} before it is put, as
+ * {@link #get(Object, Function)} does.
+ *
+ * <p>
+ * Entries can expire a fixed time after they were put. Expired entries are
+ * never returned, and are removed when they are looked up, swept past, or
+ * {@link #cleanUp()} is called.
+ *
+ * <p>
+ * Every entry that leaves the cache is handed to the {@link RemovalListener},
+ * if any, after the lock is released, and hits, misses, evictions and
+ * expirations are counted in {@link #stats()}.
+ *
+ * @param <K> The type of the keys in the cache.
+ * @param <V> The type of the values in the cache.
+ */
+public final class ConcurrentCache<K, V> {
+    private static final int COMPACT_THRESHOLD = 16;
+    private static final Logger LOGGER = KompeterLogger.getLogger(ConcurrentCache.class);
+    private static final int WEIGHED_EXPECTED_SIZE = 1024;
+
+    public static <K, V> Builder<K, V> builder() {
+        return new Builder<>();
+    }
+
+    /** Guarded by {@link #lock}. In insertion order, with dead nodes left in. */
+    private final ArrayDeque<Node<K, V>> clock;
+    /** How many nodes in {@link #clock} are no longer in the map. */
+    private int dead;
+    private final LongAdder evictions;
+    private final LongAdder evictionWeight;
+    private final long expireAfterWriteNanos;
+    private final LongAdder expirations;
+    private final LongAdder hits;
+    private final RemovalListener<? super K, ? super V> listener;
+    private final ReentrantLock lock;
+    private final ConcurrentHashMap<K, Node<K, V>> map;
+    private final long maximumWeight;
+    private final LongAdder misses;
+    private final FrequencySketch sketch;
+    private final LongSupplier ticker;
+    /** Only written while holding {@link #lock}. */
+    private volatile long weight;
+    private final Weigher<? super K, ? super V> weigher;
+
+    private ConcurrentCache(final Builder<K, V> builder) {
+        clock = new ArrayDeque<>();
+        evictions = new LongAdder();
+        evictionWeight = new LongAdder();
+        expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        expirations = new LongAdder();
+        hits = new LongAdder();
+        listener = builder.listener;
+        lock = new ReentrantLock();
+        map = new ConcurrentHashMap<>();
+        maximumWeight = builder.maximumWeight;
+        misses = new LongAdder();
+        sketch = new FrequencySketch(builder.weigher == null ? (int) Math.min(maximumWeight, Integer.MAX_VALUE)
+                : WEIGHED_EXPECTED_SIZE);
+        ticker = builder.ticker;
+        weigher = builder.weigher == null ? (k, v) -> 1 : builder.weigher;
+    }
+
+    /** Removes every expired entry. */
+    public void cleanUp() {
+        if (expireAfterWriteNanos == 0) {
+            return;
+        }
+
+        final ArrayList<Removal<K, V>> removals = new ArrayList<>();
+
+        lock.lock();
+
+        try {
+            final long now = ticker.getAsLong();
+
+            for (final Node<K, V> node : clock) {
+                if (node.alive && isExpired(node, now)) {
+                    map.remove(node.key, node);
+                    retire(node, RemovalCause.EXPIRED, removals);
+                    ++dead;
+                }
+            }
+
+            compact();
+        } finally {
+            lock.unlock();
+        }
+
+        notifyListener(removals);
+    }
+
+    /** Removes every entry, telling the listener about each. */
+    public void clear() {
+        final ArrayList<Removal<K, V>> removals = new ArrayList<>();
+
+        lock.lock();
+
+        try {
+            for (final Node<K, V> node : clock) {
+                if (node.alive) {
+                    retire(node, RemovalCause.EXPLICIT, removals);
+                }
+            }
+
+            clock.clear();
+            map.clear();
+            dead = 0;
+            weight = 0;
+        } finally {
+            lock.unlock();
+        }
+
+        notifyListener(removals);
+    }
+
+    /** Unlike {@link #get(Object)}, this does not count as a use of the key. */
+    public boolean containsKey(final K key) {
+        final Node<K, V> node = map.get(key);
+
+        return node != null && !isExpired(node, ticker.getAsLong());
+    }
+
+    /** @return the cached value, or {@code null} if there is none. */
+    public V get(final K key) {
+        final Node<K, V> node = map.get(key);
+
+        sketch.increment(key);
+
+        if (node == null) {
+            misses.increment();
+
+            return null;
+        }
+
+        if (isExpired(node, ticker.getAsLong())) {
+            misses.increment();
+            expire(node);
+
+            return null;
+        }
+
+        hits.increment();
+
+        if (!node.referenced) {
+            node.referenced = true;
+        }
+
+        return node.value;
+    }
+
+    /**
+     * Looks the key up, and on a miss loads it and puts the result, unless it
+     * is {@code null}. The loader runs without any lock held, so two threads
+     * missing the same key at once may both load it.
+     *
+     * @return the cached or loaded value.
+     */
+    public V get(final K key, final Function<? super K, ? extends V> loader) {
+        final V cached = get(key);
+
+        if (cached != null) {
+            return cached;
+        }
+
+        final V value = loader.apply(key);
+
+        if (value != null) {
+            put(key, value);
+        }
+
+        return value;
+    }
+
+    public long maximumWeight() {
+        return maximumWeight;
+    }
+
+    /**
+     * Puts the entry, replacing any entry with the same key, and evicts entries
+     * until the cache fits its maximum weight again. The entry itself may be
+     * turned away, see {@link ConcurrentCache}.
+     *
+     * @throws IllegalArgumentException if the weigher returns a negative weight.
+     */
+    public void put(final K key, final V value) {
+        Objects.requireNonNull(key, "key");
+        Objects.requireNonNull(value, "value");
+
+        final int entryWeight = weigher.weigh(key, value);
+
+        if (entryWeight < 0) {
+            throw new IllegalArgumentException("Negative weight for " + key + ": " + entryWeight);
+        }
+
+        final Node<K, V> node = new Node<>(key, value, entryWeight,
+                expireAfterWriteNanos == 0 ? 0 : ticker.getAsLong() + expireAfterWriteNanos);
+        final ArrayList<Removal<K, V>> removals = new ArrayList<>(1);
+
+        lock.lock();
+
+        try {
+            // Too heavy an entry could only be put by evicting everything, itself included.
+            final Node<K, V> previous = entryWeight > maximumWeight ? map.remove(key) : map.put(key, node);
+
+            if (previous != null) {
+                retire(previous, RemovalCause.REPLACED, removals);
+                ++dead;
+            }
+
+            if (entryWeight > maximumWeight) {
+                weight += entryWeight;
+                retire(node, RemovalCause.SIZE, removals);
+            } else {
+                clock.addLast(node);
+                weight += entryWeight;
+                evict(node, previous == null, removals);
+            }
+
+            compact();
+        } finally {
+            lock.unlock();
+        }
+
+        notifyListener(removals);
+    }
+
+    /** @return the removed value, or {@code null} if there was none or it had expired. */
+    public V remove(final K key) {
+        final ArrayList<Removal<K, V>> removals = new ArrayList<>(1);
+        final Node<K, V> node;
+        final boolean expired;
+
+        lock.lock();
+
+        try {
+            node = map.remove(key);
+
+            if (node == null) {
+                return null;
+            }
+
+            expired = isExpired(node, ticker.getAsLong());
+            retire(node, expired ? RemovalCause.EXPIRED : RemovalCause.EXPLICIT, removals);
+            ++dead;
+            compact();
+        } finally {
+            lock.unlock();
+        }
+
+        notifyListener(removals);
+
+        return expired ? null : node.value;
+    }
+
+    /** @return how many entries are cached, including expired ones not yet removed. */
+    public int size() {
+        return map.size();
+    }
+
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), evictionWeight.sum(), expirations.sum());
+    }
+
+    /** @return the total weight of the cached entries. */
+    public long weightedSize() {
+        return weight;
+    }
+
+    /** Drops dead nodes from the clock once they make up most of it. */
+    private void compact() {
+        if (dead > COMPACT_THRESHOLD && dead > clock.size() / 2) {
+            clock.removeIf((node) -> !node.alive);
+            dead = 0;
+        }
+    }
+
+    /**
+     * @param admit whether the candidate must be used at least as often as a
+     *              victim to evict it. Replacements are always admitted.
+     */
+    private void evict(final Node<K, V> candidate, final boolean admit, final List<Removal<K, V>> removals) {
+        final long now = ticker.getAsLong();
+
+        while (weight > maximumWeight) {
+            final Node<K, V> victim = nextVictim(candidate);
+
+            if (victim == null) {
+                return;
+            }
+
+            if (isExpired(victim, now)) {
+                map.remove(victim.key, victim);
+                retire(victim, RemovalCause.EXPIRED, removals);
+
+                continue;
+            }
+
+            if (admit && victim != candidate && candidate.alive
+                    && sketch.frequency(candidate.key) < sketch.frequency(victim.key)) {
+                clock.addFirst(victim);
+                map.remove(candidate.key, candidate);
+                retire(candidate, RemovalCause.SIZE, removals);
+                ++dead;
+
+                continue;
+            }
+
+            map.remove(victim.key, victim);
+            retire(victim, RemovalCause.SIZE, removals);
+        }
+    }
+
+    private void expire(final Node<K, V> node) {
+        final ArrayList<Removal<K, V>> removals = new ArrayList<>(1);
+
+        lock.lock();
+
+        try {
+            if (node.alive && map.remove(node.key, node)) {
+                retire(node, RemovalCause.EXPIRED, removals);
+                ++dead;
+                compact();
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        notifyListener(removals);
+    }
+
+    private boolean isExpired(final Node<K, V> node, final long now) {
+        return expireAfterWriteNanos != 0 && now - node.expiresAt >= 0;
+    }
+
+    /**
+     * Moves the clock hand to the next live node that was not read since the
+     * hand last passed it, clearing the reference bits on the way, and takes
+     * it off the clock.
+     */
+    private Node<K, V> nextVictim(final Node<K, V> candidate) {
+        Node<K, V> node;
+
+        while ((node = clock.pollFirst()) != null) {
+            if (!node.alive) {
+                --dead;
+
+                continue;
+            }
+
+            if (node.referenced && node != candidate) {
+                node.referenced = false;
+                clock.addLast(node);
+
+                continue;
+            }
+
+            return node;
+        }
+
+        return null;
+    }
+
+    private void notifyListener(final List<Removal<K, V>> removals) {
+        if (listener == null) {
+            return;
+        }
+
+        for (final Removal<K, V> removal : removals) {
+            try {
+                listener.onRemoval(removal.key(), removal.value(), removal.cause());
+            } catch (final RuntimeException e) {
+                LOGGER.log(Level.WARNING, "A removal listener failed", e);
+            }
+        }
+    }
+
+    /** Must hold {@link #lock}, and the node must already be out of the map. */
+    private void retire(final Node<K, V> node, final RemovalCause cause, final List<Removal<K, V>> removals) {
+        node.alive = false;
+        weight -= node.weight;
+
+        switch (cause) {
+            case SIZE -> {
+                evictions.increment();
+                evictionWeight.add(node.weight);
+            }
+            case EXPIRED -> expirations.increment();
+            default -> {
+            }
+        }
+
+        removals.add(new Removal<>(node.key, node.value, cause));
+    }
+
+    public static final class Builder<K, V> {
+        private long expireAfterWriteNanos;
+        private RemovalListener<? super K, ? super V> listener;
+        private long maximumWeight = -1;
+        private LongSupplier ticker = System::nanoTime;
+        private Weigher<? super K, ? super V> weigher;
+
+        private Builder() {
+        }
+
+        /**
+         * @throws IllegalStateException if no maximum weight was given.
+         */
+        public ConcurrentCache<K, V> build() {
+            if (maximumWeight < 0) {
+                throw new IllegalStateException("A maximum weight is required");
+            }
+
+            return new ConcurrentCache<>(this);
+        }
+
+        /** Entries expire this long after they were put. They never do by default. */
+        public Builder<K, V> expireAfterWrite(final Duration timeToLive) {
+            if (timeToLive.isNegative() || timeToLive.isZero()) {
+                throw new IllegalArgumentException("Time to live must be positive: " + timeToLive);
+            }
+
+            expireAfterWriteNanos = timeToLive.toNanos();
+
+            return this;
+        }
+
+        /**
+         * The most the entries may weigh together. Without a {@link Weigher},
+         * every entry weighs one, so this is the number of entries.
+         */
+        public Builder<K, V> maximumWeight(final long maximumWeight) {
+            if (maximumWeight < 0) {
+                throw new IllegalArgumentException("Maximum weight must not be negative: " + maximumWeight);
+            }
+
+            this.maximumWeight = maximumWeight;
+
+            return this;
+        }
+
+        public Builder<K, V> removalListener(final RemovalListener<? super K, ? super V> listener) {
+            this.listener = listener;
+
+            return this;
+        }
+
+        public Builder<K, V> weigher(final Weigher<? super K, ? super V> weigher) {
+            this.weigher = weigher;
+
+            return this;
+        }
+
+        /** Replaces {@link System#nanoTime()} as the source of time, for tests. */
+        Builder<K, V> ticker(final LongSupplier ticker) {
+            this.ticker = ticker;
+
+            return this;
+        }
+    }
+
+    private static final class Node<K, V> {
+        /** Guarded by the cache's lock. */
+        boolean alive;
+        final long expiresAt;
+        final K key;
+        /** The CLOCK bit, set by reads and cleared as the hand passes. */
+        volatile boolean referenced;
+        final V value;
+        final int weight;
+
+        Node(final K key, final V value, final int weight, final long expiresAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.expiresAt = expiresAt;
+            alive = true;
+        }
+    }
+
+    private record Removal<K, V>(K key, V value, RemovalCause cause) {
+    }
+}
@@ -0,0 +1,121 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Estimates how often a key was seen recently, in a fixed amount of memory.
+ *
+ * <p>
+ * This is a count-min sketch of four rows of 4-bit counters, sixteen to a
+ * long. A key increments one counter per row and its frequency is the
+ * smallest of the four, which can only overestimate. Counters saturate at 15,
+ * and every counter is halved after {@code 10 * width} increments so that
+ * keys that were popular long ago fade away.
+ *
+ * <p>
+ * Counters are updated with compare-and-set, so any thread may record a key
+ * without locking. A halving that races with an increment may lose it, which
+ * only makes the estimate a little lower.
+ */
+final class FrequencySketch {
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long[] SEEDS = { 0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL,
+            0xcbf29ce484222325L };
+
+    private static long mix(final int hash, final int row) {
+        long m = (hash + SEEDS[row]) * SEEDS[row];
+
+        m ^= m >>> 32;
+
+        return m;
+    }
+
+    private static int spread(final int hash) {
+        final int h = hash * 0x9e3779b9;
+
+        return h ^ (h >>> 16);
+    }
+
+    private final AtomicInteger additions;
+    private final int mask;
+    private final int sampleSize;
+    private final AtomicLongArray table;
+
+    /**
+     * @param expectedSize roughly how many distinct keys are worth telling
+     *                     apart, e.g. how many entries fit in the cache.
+     */
+    FrequencySketch(final int expectedSize) {
+        final int clamped = Math.max(64, Math.min(expectedSize, 1 << 24));
+        final int width = Integer.highestOneBit(clamped) == clamped ? clamped : Integer.highestOneBit(clamped) << 1;
+
+        additions = new AtomicInteger();
+        mask = width - 1;
+        sampleSize = 10 * width;
+        table = new AtomicLongArray(width);
+    }
+
+    /** @return the estimated number of times the key was recorded, at most 15. */
+    int frequency(final Object key) {
+        final int hash = spread(key.hashCode());
+        int frequency = 15;
+
+        for (int row = 0; row < SEEDS.length; ++row) {
+            final long m = mix(hash, row);
+            final int shift = (int) (m >>> 60) << 2;
+
+            frequency = Math.min(frequency, (int) ((table.get((int) m & mask) >>> shift) & 0xf));
+        }
+
+        return frequency;
+    }
+
+    void increment(final Object key) {
+        final int hash = spread(key.hashCode());
+        boolean added = false;
+
+        for (int row = 0; row < SEEDS.length; ++row) {
+            final long m = mix(hash, row);
+            final int slot = (int) m & mask;
+            final int shift = (int) (m >>> 60) << 2;
+
+            while (true) {
+                final long value = table.get(slot);
+
+                if (((value >>> shift) & 0xf) == 0xf) {
+                    break;
+                }
+
+                if (table.compareAndSet(slot, value, value + (1L << shift))) {
+                    added = true;
+
+                    break;
+                }
+            }
+        }
+
+        if (added && additions.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    private void reset() {
+        for (int slot = 0; slot < table.length(); ++slot) {
+            long value;
+
+            do {
+                value = table.get(slot);
+            } while (!table.compareAndSet(slot, value, (value >>> 1) & RESET_MASK));
+        }
+
+        additions.addAndGet(-sampleSize / 2);
+    }
+}
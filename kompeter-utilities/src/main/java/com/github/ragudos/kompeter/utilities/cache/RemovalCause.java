@@ -0,0 +1,23 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.cache;
+
+/** Why an entry left a {@link ConcurrentCache}. */
+public enum RemovalCause {
+    /** It was removed or the cache was cleared. */
+    EXPLICIT,
+    /** It was older than the time to live. */
+    EXPIRED,
+    /** Another value was put under its key. */
+    REPLACED,
+    /**
+     * The cache was over its maximum weight, so it was evicted, or it was
+     * turned away on arrival for being used less than what it would evict.
+     */
+    SIZE
+}
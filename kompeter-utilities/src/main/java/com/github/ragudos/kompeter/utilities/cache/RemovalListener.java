@@ -0,0 +1,18 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.cache;
+
+/**
+ * Told about every entry that leaves a {@link ConcurrentCache}, on the thread
+ * that removed it, after the cache has released its lock. A listener may
+ * therefore use the cache itself.
+ */
+@FunctionalInterface
+public interface RemovalListener<K, V> {
+    void onRemoval(K key, V value, RemovalCause cause);
+}
@@ -0,0 +1,18 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.cache;
+
+/**
+ * Tells how much of a {@link ConcurrentCache}'s maximum weight an entry takes
+ * up, e.g. the bytes of an image. Entries are weighed once, when they are put.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+    /** @return the weight of the entry, not negative. */
+    int weigh(K key, V value);
+}
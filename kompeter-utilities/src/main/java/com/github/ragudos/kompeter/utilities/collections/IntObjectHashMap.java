@@ -0,0 +1,199 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.collections;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A map from {@code int} keys to objects using open addressing with linear
+ * probing.
+ *
+ * <p>
+ * Unlike a {@code HashMap<Integer, V>}, keys are not boxed and entries are not
+ * separate objects, so lookups touch two arrays instead of chasing pointers.
+ * Removal shifts later entries of the same probe sequence back instead of
+ * leaving tombstones, so lookups never slow down after many removals.
+ *
+ * <p>
+ * Values must not be {@code null}. This class is not thread-safe.
+ *
+ * @param <V> The type of the values in the map.
+ */
+public class IntObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final float LOAD_FACTOR = 0.7f;
+
+    private static int capacityFor(final int expectedSize) {
+        final int needed = (int) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR);
+
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(needed - 1) << 1);
+    }
+
+    private int[] keys;
+    private int mask;
+    private int resizeAt;
+    private int size;
+    private Object[] values;
+
+    public IntObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param expectedSize the number of entries the map should hold without
+     *                     resizing.
+     */
+    public IntObjectHashMap(final int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+
+        allocate(capacityFor(expectedSize));
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    public boolean containsKey(final int key) {
+        return values[indexOf(key)] != null;
+    }
+
+    /** Calls the action with every value and its key, in no particular order. */
+    @SuppressWarnings("unchecked")
+    public void forEach(@NotNull final ObjIntConsumer<V> action) {
+        for (int i = 0; i < values.length; ++i) {
+            if (values[i] != null) {
+                action.accept((V) values[i], keys[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(final int key) {
+        return (V) values[indexOf(key)];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** @return the previous value of the key, or {@code null} if there was none. */
+    @SuppressWarnings("unchecked")
+    public V put(final int key, @NotNull final V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Values cannot be null");
+        }
+
+        final int index = indexOf(key);
+        final V previous = (V) values[index];
+
+        keys[index] = key;
+        values[index] = value;
+
+        if (previous == null && ++size > resizeAt) {
+            rehash(values.length << 1);
+        }
+
+        return previous;
+    }
+
+    /** @return the removed value, or {@code null} if the key was absent. */
+    @SuppressWarnings("unchecked")
+    public V remove(final int key) {
+        int index = indexOf(key);
+        final V previous = (V) values[index];
+
+        if (previous == null) {
+            return null;
+        }
+
+        values[index] = null;
+        --size;
+
+        // Move back entries that probed past the freed slot, so that every
+        // entry stays reachable from its home slot without tombstones.
+        for (int next = (index + 1) & mask; values[next] != null; next = (next + 1) & mask) {
+            final int home = slotOf(keys[next]);
+
+            if (((next - home) & mask) >= ((next - index) & mask)) {
+                keys[index] = keys[next];
+                values[index] = values[next];
+                values[next] = null;
+                index = next;
+            }
+        }
+
+        return previous;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** @return the values in no particular order. */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        final ArrayList<V> result = new ArrayList<>(size);
+
+        for (final Object value : values) {
+            if (value != null) {
+                result.add((V) value);
+            }
+        }
+
+        return result;
+    }
+
+    private void allocate(final int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /** @return the slot holding the key, or the empty slot where it would go. */
+    private int indexOf(final int key) {
+        int index = slotOf(key);
+
+        while (values[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+
+        return index;
+    }
+
+    private void rehash(final int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+
+        allocate(capacity);
+
+        for (int i = 0; i < oldValues.length; ++i) {
+            if (oldValues[i] != null) {
+                final int index = indexOf(oldKeys[i]);
+
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    /** Spreads sequential ids, which are the common case, across the table. */
+    private int slotOf(final int key) {
+        final int h = key * 0x9E3779B9;
+
+        return (h ^ (h >>> 16)) & mask;
+    }
+}
@@ -0,0 +1 @@
+package com.github.ragudos.kompeter.utilities.collections;
@@ -14,6 +14,10 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -198,6 +202,32 @@ public class PropertiesIO {
         }
     }
 
+    /**
+     * Saves the properties so that the file at {@code filePath} is either left as
+     * it was or fully replaced, never half written: they are written and synced to
+     * a temporary file next to it, which is then renamed over it.
+     */
+    public static final void savePropertiesInFileSystemAtomically(
+            @NotNull final Properties properties,
+            @NotNull final String filePath,
+            final String headerComment)
+            throws IOException {
+        final Path target = Path.of(filePath);
+        final Path temporary = target.resolveSibling(target.getFileName() + ".tmp");
+
+        try (var outputStream = new FileOutputStream(temporary.toFile())) {
+            properties.store(outputStream, headerComment == null || headerComment.isEmpty() ? null : headerComment);
+            outputStream.getFD().sync();
+        }
+
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final AtomicMoveNotSupportedException e) {
+            LOGGER.warning("Cannot atomically replace " + filePath + ", replacing it non-atomically");
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
     private PropertiesIO() {
         throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
     }
@@ -0,0 +1,84 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.logger;
+
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.time.format.DateTimeFormatter;
+import java.util.logging.Formatter;
+import java.util.logging.LogRecord;
+
+/**
+ * Formats each record as one line of JSON, so that logs can be searched and
+ * aggregated by field instead of by pattern.
+ *
+ * <p>
+ * Every line has {@code time} as an ISO-8601 instant, {@code level},
+ * {@code logger}, {@code source} as {@code Class.method}, {@code thread} as
+ * the thread id, and {@code message} with its parameters filled in. Records
+ * with a throwable also have {@code thrown}, its full stack trace.
+ */
+public class KompeterJsonLogFormatter extends Formatter {
+    private static void appendField(final StringBuilder sb, final String name, final String value) {
+        if (sb.length() > 1) {
+            sb.append(',');
+        }
+
+        sb.append('"').append(name).append("\":");
+
+        if (value == null) {
+            sb.append("null");
+
+            return;
+        }
+
+        sb.append('"');
+
+        for (int i = 0; i < value.length(); ++i) {
+            final char c = value.charAt(i);
+
+            switch (c) {
+                case '"' -> sb.append("\\\"");
+                case '\\' -> sb.append("\\\\");
+                case '\n' -> sb.append("\\n");
+                case '\r' -> sb.append("\\r");
+                case '\t' -> sb.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+                }
+            }
+        }
+
+        sb.append('"');
+    }
+
+    @Override
+    public String format(final LogRecord record) {
+        final StringBuilder sb = new StringBuilder(256).append('{');
+
+        appendField(sb, "time", DateTimeFormatter.ISO_INSTANT.format(record.getInstant()));
+        appendField(sb, "level", record.getLevel().getName());
+        appendField(sb, "logger", record.getLoggerName());
+        appendField(sb, "source", record.getSourceClassName() + "." + record.getSourceMethodName());
+        sb.append(",\"thread\":").append(record.getLongThreadID());
+        appendField(sb, "message", formatMessage(record));
+
+        if (record.getThrown() != null) {
+            final StringWriter trace = new StringWriter();
+
+            record.getThrown().printStackTrace(new PrintWriter(trace));
+            appendField(sb, "thrown", trace.toString());
+        }
+
+        return sb.append("}\n").toString();
+    }
+}
@@ -7,6 +7,324 @@
 */
 package com.github.ragudos.kompeter.utilities.logger;
 
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
 import java.util.logging.ConsoleHandler;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
 
-public class KompeterLogHandler extends ConsoleHandler {}
+import com.github.ragudos.kompeter.utilities.constants.Directories;
+
+/**
+ * Hands records to other handlers on a background thread, so that logging
+ * never makes the caller, e.g. the EDT, wait on the console or the disk.
+ *
+ * <p>
+ * Records go through a bounded, lock-free {@link RingBuffer} that the
+ * "kompeter-log-writer" daemon drains into the target handlers, flushing them
+ * whenever it runs out of records after writing some. The caller of a record
+ * is looked up before it is queued, since it can only be found from the thread
+ * that logged it. When the buffer fills up, the {@link OverflowPolicy}
+ * decides whether records are dropped or their callers wait, and both are
+ * counted.
+ *
+ * <p>
+ * By default, records are written to the console and to a
+ * {@link RollingFileHandler} in {@link Directories#LOGS_DIRECTORY}. The
+ * targets format records themselves. The default can be changed with system
+ * properties:
+ * <ul>
+ * <li>{@code -Dkompeter.log.bufferSize=8192}, rounded up to a power of
+ * two</li>
+ * <li>{@code -Dkompeter.log.overflow=drop-debug}, or {@code block}</li>
+ * <li>{@code -Dkompeter.log.format=text}, or {@code json} for JSON lines in
+ * {@code kompeter.jsonl} instead of {@code kompeter.log}</li>
+ * <li>{@code -Dkompeter.log.fileLimitBytes=5242880}</li>
+ * <li>{@code -Dkompeter.log.fileCount=10}</li>
+ * <li>{@code -Dkompeter.log.console=true}</li>
+ * </ul>
+ *
+ * <p>
+ * The log manager closes this handler when the JVM shuts down, which writes
+ * out whatever is still buffered.
+ */
+public class KompeterLogHandler extends Handler {
+    public static final String BUFFER_SIZE_PROPERTY = "kompeter.log.bufferSize";
+    public static final String CONSOLE_PROPERTY = "kompeter.log.console";
+    public static final String FILE_COUNT_PROPERTY = "kompeter.log.fileCount";
+    public static final String FILE_LIMIT_PROPERTY = "kompeter.log.fileLimitBytes";
+    public static final String FORMAT_PROPERTY = "kompeter.log.format";
+    public static final String OVERFLOW_PROPERTY = "kompeter.log.overflow";
+
+    public static final int DEFAULT_BUFFER_SIZE = 8192;
+    public static final int DEFAULT_FILE_COUNT = 10;
+    public static final long DEFAULT_FILE_LIMIT_BYTES = 5L * 1024 * 1024;
+    public static final String FILE_NAME = "kompeter";
+
+    private static final long CLOSE_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(2);
+    private static final long FLUSH_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final long WAIT_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+
+    private static Handler[] defaultTargets() {
+        final ArrayList<Handler> targets = new ArrayList<>(2);
+
+        if (Boolean.parseBoolean(System.getProperty(CONSOLE_PROPERTY, "true"))) {
+            final ConsoleHandler console = new ConsoleHandler();
+
+            console.setLevel(Level.ALL);
+            console.setFormatter(new KompeterLogFormatter());
+            targets.add(console);
+        }
+
+        final boolean json = "json".equalsIgnoreCase(System.getProperty(FORMAT_PROPERTY));
+
+        try {
+            targets.add(new RollingFileHandler(Path.of(Directories.LOGS_DIRECTORY), FILE_NAME, json ? "jsonl" : "log",
+                    Long.getLong(FILE_LIMIT_PROPERTY, DEFAULT_FILE_LIMIT_BYTES),
+                    Integer.getInteger(FILE_COUNT_PROPERTY, DEFAULT_FILE_COUNT),
+                    json ? new KompeterJsonLogFormatter() : new KompeterLogFormatter()));
+        } catch (final IOException | RuntimeException e) {
+            new ErrorManager().error("Cannot open the log file in " + Directories.LOGS_DIRECTORY
+                    + ". Logging to the console only.", e, ErrorManager.OPEN_FAILURE);
+        }
+
+        return targets.toArray(Handler[]::new);
+    }
+
+    private static boolean isDebug(final LogRecord record) {
+        return record.getLevel().intValue() < Level.INFO.intValue();
+    }
+
+    private final LongAdder blocked;
+    private final RingBuffer<LogRecord> buffer;
+    private volatile boolean closed;
+    private final LongAdder dropped;
+    private volatile boolean idle;
+    private final OverflowPolicy overflowPolicy;
+    /** How many records every target has been given. */
+    private volatile long published;
+    private final Handler[] targets;
+    private final Thread writer;
+
+    public KompeterLogHandler() {
+        this(Integer.getInteger(BUFFER_SIZE_PROPERTY, DEFAULT_BUFFER_SIZE),
+                OverflowPolicy.fromString(System.getProperty(OVERFLOW_PROPERTY)), defaultTargets());
+    }
+
+    /**
+     * @param capacity       how many records can wait to be written.
+     * @param overflowPolicy what to do with records that do not fit.
+     * @param targets        the handlers to write records to.
+     */
+    public KompeterLogHandler(final int capacity, final OverflowPolicy overflowPolicy, final Handler... targets) {
+        this.overflowPolicy = overflowPolicy;
+        this.targets = targets.clone();
+        blocked = new LongAdder();
+        buffer = new RingBuffer<>(capacity);
+        dropped = new LongAdder();
+        writer = new Thread(this::drain, "kompeter-log-writer");
+
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * Writes out the buffered records, waiting up to two seconds for them, and
+     * closes the targets. Records published afterwards are dropped.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+
+        closed = true;
+        LockSupport.unpark(writer);
+
+        try {
+            writer.join(TimeUnit.NANOSECONDS.toMillis(CLOSE_TIMEOUT_NANOS));
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        for (final Handler target : targets) {
+            target.close();
+        }
+    }
+
+    /**
+     * Waits up to a second for the records published so far to reach the
+     * targets, then flushes them.
+     */
+    @Override
+    public void flush() {
+        if (Thread.currentThread() != writer) {
+            final long target = buffer.added();
+            final long deadline = System.nanoTime() + FLUSH_TIMEOUT_NANOS;
+
+            while (published < target && writer.isAlive() && System.nanoTime() - deadline < 0) {
+                wake();
+                LockSupport.parkNanos(this, WAIT_PARK_NANOS);
+            }
+        }
+
+        flushTargets();
+    }
+
+    /** @return how many times a caller had to wait for room in the buffer. */
+    public long getBlockedCount() {
+        return blocked.sum();
+    }
+
+    /** @return how many records were dropped because the buffer was full or closed. */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    /** @return roughly how many records are waiting to be written. */
+    public int getPendingCount() {
+        return buffer.size();
+    }
+
+    @Override
+    public void publish(final LogRecord record) {
+        if (record == null || closed || !isLoggable(record)) {
+            return;
+        }
+
+        // Infers the caller while still on its thread.
+        record.getSourceClassName();
+
+        // Debug records leave the last quarter of the buffer to the rest.
+        if (overflowPolicy == OverflowPolicy.DROP_DEBUG && isDebug(record)
+                && buffer.size() >= buffer.capacity() - buffer.capacity() / 4) {
+            dropped.increment();
+
+            return;
+        }
+
+        if (buffer.offer(record)) {
+            wake();
+
+            return;
+        }
+
+        // The writer cannot wait on itself, e.g. when a target logs.
+        if (Thread.currentThread() == writer) {
+            dropped.increment();
+
+            return;
+        }
+
+        blocked.increment();
+
+        do {
+            wake();
+            LockSupport.parkNanos(this, WAIT_PARK_NANOS);
+
+            if (closed) {
+                dropped.increment();
+
+                return;
+            }
+        } while (!buffer.offer(record));
+
+        wake();
+    }
+
+    private void drain() {
+        long count = 0;
+        long flushed = 0;
+
+        while (true) {
+            final LogRecord record = buffer.poll();
+
+            if (record != null) {
+                for (final Handler target : targets) {
+                    try {
+                        target.publish(record);
+                    } catch (final RuntimeException e) {
+                        reportError("A log target failed", e, ErrorManager.WRITE_FAILURE);
+                    }
+                }
+
+                published = ++count;
+
+                continue;
+            }
+
+            // only once new records were written, not on every idle pass
+            if (flushed != count) {
+                flushTargets();
+                flushed = count;
+            }
+
+            if (closed && buffer.size() == 0) {
+                return;
+            }
+
+            idle = true;
+
+            if (buffer.size() == 0 && !closed) {
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+
+            idle = false;
+        }
+    }
+
+    private void flushTargets() {
+        for (final Handler target : targets) {
+            try {
+                target.flush();
+            } catch (final RuntimeException e) {
+                reportError("A log target failed to flush", e, ErrorManager.FLUSH_FAILURE);
+            }
+        }
+    }
+
+    private void wake() {
+        if (idle) {
+            LockSupport.unpark(writer);
+        }
+    }
+
+    /** What to do with a record when the buffer is full. */
+    public enum OverflowPolicy {
+        /**
+         * Callers wait for room, however important their record. Nothing is
+         * lost, but a burst of logging slows every thread down to the speed of
+         * the slowest target.
+         */
+        BLOCK,
+        /**
+         * Records below {@link Level#INFO} are dropped once the buffer is
+         * three quarters full, and callers of the rest wait for room.
+         */
+        DROP_DEBUG;
+
+        /** @return the policy named by e.g. {@code drop-debug}, or {@link #DROP_DEBUG} if unknown. */
+        public static OverflowPolicy fromString(final String s) {
+            if (s == null) {
+                return DROP_DEBUG;
+            }
+
+            return switch (s.strip().toLowerCase(Locale.ROOT)) {
+                case "block" -> BLOCK;
+                default -> DROP_DEBUG;
+            };
+        }
+    }
+}
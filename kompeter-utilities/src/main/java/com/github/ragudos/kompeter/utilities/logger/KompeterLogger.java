@@ -7,16 +7,14 @@
 */
 package com.github.ragudos.kompeter.utilities.logger;
 
-import java.util.logging.Handler;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 public class KompeterLogger {
     private static final Logger PARENT_LOGGER = Logger.getLogger("com.github.ragudos.kompeter");
-    private static final Handler HANDLER = new KompeterLogHandler();
+    private static final KompeterLogHandler HANDLER = new KompeterLogHandler();
 
     static {
-        HANDLER.setFormatter(new KompeterLogFormatter());
         PARENT_LOGGER.setUseParentHandlers(false);
         PARENT_LOGGER.addHandler(HANDLER);
     }
@@ -27,6 +25,11 @@ public class KompeterLogger {
         return logger;
     }
 
+    /** @return the handler every Kompeter logger writes through, e.g. to read its counters. */
+    public static KompeterLogHandler getHandler() {
+        return HANDLER;
+    }
+
     public static Level getLevel() {
         return PARENT_LOGGER.getLevel();
     }
@@ -0,0 +1,123 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.logger;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A bounded, lock-free queue for many producers and one consumer.
+ *
+ * <p>
+ * Every slot has a sequence number telling whose turn it is. A producer
+ * claims the next position with one compare-and-set on the head, writes its
+ * element, and publishes it by advancing the slot's sequence. The consumer
+ * takes an element once its slot is published and hands the slot back to the
+ * producers one lap later. Producers never wait on each other beyond a failed
+ * compare-and-set, and a full buffer is reported instead of waited on.
+ *
+ * <p>
+ * The capacity is rounded up to a power of two so that positions map to
+ * slots with a mask.
+ */
+final class RingBuffer<E> {
+    private final Object[] elements;
+    private final AtomicLong head;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    /** Only written by the consumer. */
+    private volatile long tail;
+
+    RingBuffer(final int capacity) {
+        if (capacity < 1 || capacity > 1 << 30) {
+            throw new IllegalArgumentException("Capacity must be between 1 and 2^30: " + capacity);
+        }
+
+        final int size = Integer.highestOneBit(capacity) == capacity ? capacity
+                : Integer.highestOneBit(capacity) << 1;
+
+        elements = new Object[size];
+        head = new AtomicLong();
+        mask = size - 1;
+        sequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; ++i) {
+            sequences.set(i, i);
+        }
+    }
+
+    /** @return how many elements were ever added. */
+    long added() {
+        return head.get();
+    }
+
+    int capacity() {
+        return elements.length;
+    }
+
+    /**
+     * @return whether the element was added, {@code false} if the buffer is
+     *         full.
+     */
+    boolean offer(final E element) {
+        long position = head.get();
+
+        while (true) {
+            final int slot = (int) position & mask;
+            final long difference = sequences.get(slot) - position;
+
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    elements[slot] = element;
+                    sequences.set(slot, position + 1);
+
+                    return true;
+                }
+
+                position = head.get();
+            } else if (difference < 0) {
+                return false;
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Must only be called from the consumer.
+     *
+     * @return the oldest element, or {@code null} if there is none yet.
+     */
+    @SuppressWarnings("unchecked")
+    E poll() {
+        final long position = tail;
+        final int slot = (int) position & mask;
+
+        if (sequences.get(slot) != position + 1) {
+            return null;
+        }
+
+        final E element = (E) elements[slot];
+
+        elements[slot] = null;
+        sequences.set(slot, position + elements.length);
+        tail = position + 1;
+
+        return element;
+    }
+
+    /** @return how many elements were ever taken. */
+    long removed() {
+        return tail;
+    }
+
+    /** @return roughly how many elements are waiting. */
+    int size() {
+        return (int) Math.max(0, Math.min(elements.length, head.get() - tail));
+    }
+}
@@ -0,0 +1,215 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.logger;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.ErrorManager;
+import java.util.logging.Formatter;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.regex.Pattern;
+
+/**
+ * Writes records to {@code <name>.<extension>} in a directory, rolling it over
+ * when it would grow past a size limit or when a record from a later day
+ * arrives.
+ *
+ * <p>
+ * A rolled file is renamed to {@code <name>-<date>-<n>.<extension>}, after the
+ * day it was started on, and only the newest few rolled files are kept. Unlike
+ * {@link java.util.logging.FileHandler}, the file being written always has the
+ * same name, and output is buffered until {@link #flush()}, so this is meant to
+ * be written to from one thread, e.g. by {@link KompeterLogHandler}.
+ */
+public class RollingFileHandler extends Handler {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path active;
+    private final int count;
+    private final Path directory;
+    private final String extension;
+    private final long limitBytes;
+    private final String name;
+    private LocalDate openedOn;
+    private final Pattern rolledName;
+    private OutputStream out;
+    private long written;
+
+    /**
+     * @param directory  where to write. Created if missing.
+     * @param name       the file name without extension.
+     * @param extension  the file extension, e.g. {@code log}.
+     * @param limitBytes the size to roll over at. A record larger than this
+     *                   still gets a file of its own.
+     * @param count      how many rolled files to keep.
+     * @param formatter  formats each record.
+     */
+    public RollingFileHandler(final Path directory, final String name, final String extension, final long limitBytes,
+            final int count, final Formatter formatter) throws IOException {
+        if (limitBytes < 1 || count < 0) {
+            throw new IllegalArgumentException("Limit must be positive and count must not be negative");
+        }
+
+        this.directory = directory;
+        this.name = name;
+        this.extension = extension;
+        this.limitBytes = limitBytes;
+        this.count = count;
+        active = directory.resolve(name + "." + extension);
+        rolledName = Pattern
+                .compile(Pattern.quote(name) + "-\\d{4}-\\d{2}-\\d{2}-\\d+\\." + Pattern.quote(extension));
+
+        setFormatter(formatter);
+        Files.createDirectories(directory);
+        open();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (out == null) {
+            return;
+        }
+
+        try {
+            out.close();
+        } catch (final IOException e) {
+            reportError("Failed to close " + active, e, ErrorManager.CLOSE_FAILURE);
+        }
+
+        out = null;
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (out == null) {
+            return;
+        }
+
+        try {
+            out.flush();
+        } catch (final IOException e) {
+            reportError("Failed to flush " + active, e, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    /** @return the file being written to. */
+    public Path getFile() {
+        return active;
+    }
+
+    /** @return the rolled files, oldest first. */
+    public synchronized List<Path> getRolledFiles() {
+        final ArrayList<Path> rolled = new ArrayList<>();
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, name + "-*." + extension)) {
+            for (final Path file : files) {
+                if (rolledName.matcher(file.getFileName().toString()).matches()) {
+                    rolled.add(file);
+                }
+            }
+        } catch (final IOException e) {
+            reportError("Failed to list rolled logs in " + directory, e, ErrorManager.GENERIC_FAILURE);
+        }
+
+        // Names sort by day, and by when they were rolled within a day.
+        rolled.sort(Comparator.comparing((final Path p) -> p.getFileName().toString().substring(0,
+                name.length() + 11)).thenComparingInt(this::indexOf));
+
+        return rolled;
+    }
+
+    @Override
+    public synchronized void publish(final LogRecord record) {
+        if (out == null || !isLoggable(record)) {
+            return;
+        }
+
+        final byte[] bytes;
+
+        try {
+            bytes = getFormatter().format(record).getBytes(StandardCharsets.UTF_8);
+        } catch (final RuntimeException e) {
+            reportError("Failed to format a record", e, ErrorManager.FORMAT_FAILURE);
+
+            return;
+        }
+
+        final LocalDate day = LocalDate.ofInstant(record.getInstant(), ZoneId.systemDefault());
+
+        try {
+            if (day.isAfter(openedOn) || (written > 0 && written + bytes.length > limitBytes)) {
+                roll(day);
+            }
+
+            out.write(bytes);
+            written += bytes.length;
+        } catch (final IOException e) {
+            reportError("Failed to write to " + active, e, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    private int indexOf(final Path rolled) {
+        final String fileName = rolled.getFileName().toString();
+
+        return Integer.parseInt(fileName.substring(name.length() + 12, fileName.length() - extension.length() - 1));
+    }
+
+    private void open() throws IOException {
+        if (Files.exists(active)) {
+            written = Files.size(active);
+            openedOn = LocalDate.ofInstant(Files.getLastModifiedTime(active).toInstant(), ZoneId.systemDefault());
+        } else {
+            written = 0;
+            openedOn = LocalDate.now();
+        }
+
+        out = new BufferedOutputStream(
+                Files.newOutputStream(active, StandardOpenOption.CREATE, StandardOpenOption.APPEND), BUFFER_SIZE);
+    }
+
+    private void roll(final LocalDate day) throws IOException {
+        out.close();
+        out = null;
+
+        try {
+            int index = 1;
+            Path target;
+
+            do {
+                target = directory.resolve(String.format("%s-%s-%d.%s", name, openedOn, index++, extension));
+            } while (Files.exists(target));
+
+            Files.move(active, target, StandardCopyOption.REPLACE_EXISTING);
+
+            final List<Path> rolled = getRolledFiles();
+
+            for (int i = 0; i < rolled.size() - count; ++i) {
+                Files.deleteIfExists(rolled.get(i));
+            }
+        } finally {
+            open();
+        }
+
+        if (day.isAfter(openedOn)) {
+            openedOn = day;
+        }
+    }
+}
@@ -0,0 +1,175 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock-free histogram of non-negative long values (usually nanoseconds).
+ *
+ * <p>
+ * Values are grouped into buckets per power of two, and each power of two is
+ * split into {@link #SUB_BUCKETS} linear sub-buckets. Values below
+ * {@link #SUB_BUCKETS} get their own exact bucket. This keeps the relative
+ * error of a reported percentile under {@code 1 / SUB_BUCKETS} while needing
+ * only a fixed, small array.
+ *
+ * <p>
+ * {@link #record(long)} never blocks and never allocates, so it is safe to call
+ * from hot paths on any thread.
+ */
+public final class LogLinearHistogram {
+    public static final int SUB_BUCKET_BITS = 3;
+    public static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    /**
+     * @return the index of the bucket the given value falls into.
+     */
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) Math.max(0, value);
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the smallest value that falls into the bucket at the given index.
+     */
+    static long bucketLowerBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        final int subBucket = index % SUB_BUCKETS;
+
+        return ((long) SUB_BUCKETS + subBucket) << (exponent - SUB_BUCKET_BITS);
+    }
+
+    /**
+     * @return the largest value that falls into the bucket at the given index.
+     */
+    static long bucketUpperBound(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int exponent = index / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+
+        return bucketLowerBound(index) + (1L << (exponent - SUB_BUCKET_BITS)) - 1;
+    }
+
+    private final AtomicLongArray buckets;
+    private final LongAdder count;
+    private final AtomicLong max;
+    private final AtomicLong min;
+    private final LongAdder sum;
+
+    public LogLinearHistogram() {
+        buckets = new AtomicLongArray(BUCKET_COUNT);
+        count = new LongAdder();
+        sum = new LongAdder();
+        max = new AtomicLong(Long.MIN_VALUE);
+        min = new AtomicLong(Long.MAX_VALUE);
+    }
+
+    /**
+     * Record a single value. Negative values are recorded as zero.
+     *
+     * @param value the value to record.
+     */
+    public void record(final long value) {
+        final long v = Math.max(0, value);
+
+        buckets.incrementAndGet(bucketIndex(v));
+        count.increment();
+        sum.add(v);
+
+        if (v > max.get()) {
+            max.accumulateAndGet(v, Math::max);
+        }
+
+        if (v < min.get()) {
+            min.accumulateAndGet(v, Math::min);
+        }
+    }
+
+    /**
+     * Clears all recorded values. Values recorded concurrently with a reset may
+     * end up on either side of it.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            buckets.set(i, 0);
+        }
+
+        count.reset();
+        sum.reset();
+        max.set(Long.MIN_VALUE);
+        min.set(Long.MAX_VALUE);
+    }
+
+    /**
+     * @return a point-in-time copy of this histogram. The copy is not atomic
+     *         with respect to concurrent {@link #record(long)} calls, but every
+     *         value is accounted for once it has been recorded.
+     */
+    public Snapshot snapshot() {
+        final long[] copy = new long[BUCKET_COUNT];
+        long total = 0;
+
+        for (int i = 0; i < BUCKET_COUNT; ++i) {
+            copy[i] = buckets.get(i);
+            total += copy[i];
+        }
+
+        return new Snapshot(copy, total, sum.sum(), total == 0 ? 0 : min.get(), total == 0 ? 0 : max.get());
+    }
+
+    /**
+     * An immutable copy of a {@link LogLinearHistogram}.
+     */
+    public record Snapshot(long[] buckets, long count, long sum, long min, long max) {
+        public double mean() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * @param percentile a value in {@code [0, 100]}.
+         * @return the upper bound of the bucket holding the given percentile,
+         *         capped to the largest recorded value.
+         */
+        public long percentile(final double percentile) {
+            if (count == 0) {
+                return 0;
+            }
+
+            final double p = Math.min(100, Math.max(0, percentile));
+            final long rank = Math.max(1, (long) Math.ceil(p / 100 * count));
+            long seen = 0;
+
+            for (int i = 0; i < buckets.length; ++i) {
+                seen += buckets[i];
+
+                if (seen >= rank) {
+                    return Math.min(max, Math.max(min, bucketUpperBound(i)));
+                }
+            }
+
+            return max;
+        }
+    }
+}
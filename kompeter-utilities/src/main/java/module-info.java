@@ -9,6 +9,8 @@ module kompeter.utilities {
     exports com.github.ragudos.kompeter.utilities.io;
     exports com.github.ragudos.kompeter.utilities.constants;
     exports com.github.ragudos.kompeter.utilities.cache;
+    exports com.github.ragudos.kompeter.utilities.collections;
     exports com.github.ragudos.kompeter.utilities.platform;
     exports com.github.ragudos.kompeter.utilities.observer;
+    exports com.github.ragudos.kompeter.utilities.metrics;
 }
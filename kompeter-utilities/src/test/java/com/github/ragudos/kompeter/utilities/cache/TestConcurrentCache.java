@@ -0,0 +1,236 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestConcurrentCache {
+    @Test
+    @DisplayName("Test many threads reading, loading and removing keep the cache consistent")
+    void testConcurrentStress() throws InterruptedException {
+        final int keys = 2_000;
+        final int threadCount = 8;
+        final int operations = 100_000;
+        final Map<RemovalCause, LongAdder> removed = new EnumMap<>(RemovalCause.class);
+        final LongAdder loads = new LongAdder();
+        final LongAdder lookups = new LongAdder();
+        final AtomicBoolean wrongValue = new AtomicBoolean();
+
+        for (final RemovalCause cause : RemovalCause.values()) {
+            removed.put(cause, new LongAdder());
+        }
+
+        final ConcurrentCache<Integer, String> cache = ConcurrentCache.<Integer, String>builder()
+                .maximumWeight(500)
+                .weigher((k, v) -> k % 5 + 1)
+                .removalListener((k, v, cause) -> {
+                    if (!v.equals("v" + k)) {
+                        wrongValue.set(true);
+                    }
+
+                    removed.get(cause).increment();
+                })
+                .build();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < threadCount; ++t) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                for (int i = 0; i < operations; ++i) {
+                    // Skewed towards small keys, so that some keys are hot.
+                    final int key = (int) (keys * Math.pow(random.nextDouble(), 3));
+
+                    if (random.nextInt(100) == 0) {
+                        cache.remove(key);
+
+                        continue;
+                    }
+
+                    lookups.increment();
+
+                    final String value = cache.get(key, (k) -> {
+                        loads.increment();
+
+                        return "v" + k;
+                    });
+
+                    if (!value.equals("v" + key)) {
+                        wrongValue.set(true);
+                    }
+                }
+            }));
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        long removals = 0;
+
+        for (final LongAdder count : removed.values()) {
+            removals += count.sum();
+        }
+
+        long liveWeight = 0;
+        int live = 0;
+
+        for (int key = 0; key < keys; ++key) {
+            if (cache.containsKey(key)) {
+                liveWeight += key % 5 + 1;
+                ++live;
+            }
+        }
+
+        final CacheStats stats = cache.stats();
+
+        assertFalse(wrongValue.get());
+        assertEquals(lookups.sum(), stats.requests());
+        assertEquals(loads.sum(), stats.misses());
+        assertEquals(loads.sum(), cache.size() + removals, "every put entry is either cached or removed once");
+        assertEquals(removed.get(RemovalCause.SIZE).sum(), stats.evictions());
+        assertEquals(live, cache.size());
+        assertEquals(liveWeight, cache.weightedSize());
+        assertTrue(cache.weightedSize() <= 500);
+        assertTrue(stats.hitRate() > 0.25, "hit rate " + stats.hitRate());
+    }
+
+    @Test
+    @DisplayName("Test entries expire after their time to live")
+    void testExpiry() {
+        final AtomicLong now = new AtomicLong();
+        final List<RemovalCause> causes = new ArrayList<>();
+        final ConcurrentCache<String, String> cache = ConcurrentCache.<String, String>builder()
+                .maximumWeight(10)
+                .expireAfterWrite(Duration.ofSeconds(1))
+                .removalListener((k, v, cause) -> causes.add(cause))
+                .ticker(now::get)
+                .build();
+
+        cache.put("foo", "bar");
+        cache.put("deez", "nuts");
+        now.addAndGet(Duration.ofMillis(999).toNanos());
+
+        assertEquals("bar", cache.get("foo"));
+
+        now.addAndGet(Duration.ofMillis(1).toNanos());
+
+        assertNull(cache.get("foo"));
+        assertFalse(cache.containsKey("deez"));
+
+        cache.cleanUp();
+
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weightedSize());
+        assertEquals(List.of(RemovalCause.EXPIRED, RemovalCause.EXPIRED), causes);
+        assertEquals(2, cache.stats().expirations());
+    }
+
+    @Test
+    @DisplayName("Test keys used often survive a scan of keys used once")
+    void testFrequentKeysSurviveScan() {
+        final ConcurrentCache<Integer, Integer> cache = ConcurrentCache.<Integer, Integer>builder()
+                .maximumWeight(10)
+                .build();
+
+        for (int round = 0; round < 3; ++round) {
+            for (int key = 0; key < 10; ++key) {
+                cache.get(key, (k) -> k);
+            }
+        }
+
+        // Every key of the scan is new, while the frequent keys keep being used.
+        for (int key = 100; key < 10_000; ++key) {
+            cache.get(key, (k) -> k);
+            cache.get(key % 10, (k) -> k);
+        }
+
+        for (int key = 0; key < 10; ++key) {
+            assertTrue(cache.containsKey(key), "key " + key);
+        }
+
+        assertTrue(cache.stats().evictions() >= 9_900 - 10);
+    }
+
+    @Test
+    @DisplayName("Test listeners run outside the lock and may use the cache")
+    void testListenerOutsideLock() throws InterruptedException {
+        final AtomicBoolean finished = new AtomicBoolean();
+        final AtomicReference<ConcurrentCache<String, String>> cache = new AtomicReference<>();
+
+        cache.set(ConcurrentCache.<String, String>builder()
+                .maximumWeight(1)
+                .removalListener((k, v, cause) -> {
+                    final Thread other = Thread.ofPlatform().start(() -> cache.get().put("from", "listener"));
+
+                    try {
+                        other.join(Duration.ofSeconds(5));
+                    } catch (final InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+
+                    finished.set(!other.isAlive());
+                })
+                .build());
+
+        cache.get().put("foo", "bar");
+        cache.get().remove("foo");
+
+        assertTrue(finished.get(), "another thread could not write while the listener ran");
+        assertTrue(cache.get().containsKey("from"));
+    }
+
+    @Test
+    @DisplayName("Test the weigher bounds the total weight, not the entry count")
+    void testWeigher() {
+        final List<String> evicted = new ArrayList<>();
+        final ConcurrentCache<String, byte[]> cache = ConcurrentCache.<String, byte[]>builder()
+                .maximumWeight(100)
+                .weigher((k, v) -> v.length)
+                .removalListener((k, v, cause) -> evicted.add(k + ":" + cause))
+                .build();
+
+        cache.put("a", new byte[40]);
+        cache.put("b", new byte[40]);
+
+        assertEquals(80, cache.weightedSize());
+
+        cache.put("b", new byte[10]);
+
+        assertEquals(50, cache.weightedSize());
+
+        cache.put("c", new byte[60]);
+
+        assertEquals(List.of("b:REPLACED", "a:SIZE"), evicted);
+        assertEquals(70, cache.weightedSize());
+        assertEquals(2, cache.size());
+
+        cache.put("huge", new byte[101]);
+
+        assertFalse(cache.containsKey("huge"));
+        assertEquals("huge:SIZE", evicted.getLast());
+        assertEquals(70, cache.weightedSize());
+    }
+}
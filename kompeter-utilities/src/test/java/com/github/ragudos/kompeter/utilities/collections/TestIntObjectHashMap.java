@@ -0,0 +1,85 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Random;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestIntObjectHashMap {
+    @Test
+    @DisplayName("Test put() and get() across resizes")
+    void testPutAndGet() {
+        final IntObjectHashMap<String> map = new IntObjectHashMap<>();
+
+        for (int i = 0; i < 1_000; ++i) {
+            assertNull(map.put(i, "v" + i));
+        }
+
+        assertEquals(1_000, map.size());
+        assertEquals("v500", map.put(500, "replaced"));
+        assertEquals(1_000, map.size());
+        assertEquals("replaced", map.get(500));
+        assertEquals("v999", map.get(999));
+        assertNull(map.get(1_000));
+        assertNull(map.get(-1));
+    }
+
+    @Test
+    @DisplayName("Test remove() keeps colliding keys reachable")
+    void testRemove() {
+        final IntObjectHashMap<Integer> map = new IntObjectHashMap<>();
+        final HashMap<Integer, Integer> expected = new HashMap<>();
+        final Random random = new Random(42);
+
+        for (int i = 0; i < 20_000; ++i) {
+            final int key = random.nextInt(2_000) - 1_000;
+
+            if (random.nextBoolean()) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+
+        for (int key = -1_000; key < 1_000; ++key) {
+            assertEquals(expected.get(key), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+
+    @Test
+    @DisplayName("Test forEach(), values(), and clear()")
+    void testIteration() {
+        final IntObjectHashMap<String> map = new IntObjectHashMap<>(4);
+        final HashMap<Integer, String> seen = new HashMap<>();
+
+        map.put(1, "a");
+        map.put(2, "b");
+        map.put(3, "c");
+        map.forEach((value, key) -> seen.put(key, value));
+
+        assertEquals(3, seen.size());
+        assertEquals("b", seen.get(2));
+        assertTrue(map.values().containsAll(seen.values()));
+
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(1));
+    }
+}
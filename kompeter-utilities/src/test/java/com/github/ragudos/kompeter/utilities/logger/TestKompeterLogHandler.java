@@ -0,0 +1,191 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.logger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TestKompeterLogHandler {
+    /** Collects records, optionally holding the writer until released. */
+    private static class CollectingHandler extends Handler {
+        private final CountDownLatch gate;
+        private final List<LogRecord> records = new ArrayList<>();
+
+        CollectingHandler(final CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void publish(final LogRecord record) {
+            try {
+                gate.await();
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+
+            synchronized (records) {
+                records.add(record);
+            }
+        }
+
+        List<LogRecord> records() {
+            synchronized (records) {
+                return new ArrayList<>(records);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Test records from many threads all arrive, in order per thread")
+    void testConcurrentPublish() throws InterruptedException {
+        final CollectingHandler target = new CollectingHandler(new CountDownLatch(0));
+        final KompeterLogHandler handler = new KompeterLogHandler(256, KompeterLogHandler.OverflowPolicy.BLOCK,
+                target);
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; ++t) {
+            final int thread = t;
+
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; ++i) {
+                    final LogRecord record = new LogRecord(Level.INFO, thread + ":" + i);
+
+                    record.setSourceClassName("Test");
+                    record.setSourceMethodName("publish");
+                    handler.publish(record);
+                }
+            }));
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        handler.flush();
+
+        final List<LogRecord> records = target.records();
+        final int[] next = new int[8];
+
+        assertEquals(80_000, records.size());
+        assertEquals(0, handler.getDroppedCount());
+
+        for (final LogRecord record : records) {
+            final String[] parts = record.getMessage().split(":");
+            final int thread = Integer.parseInt(parts[0]);
+
+            assertEquals(next[thread]++, Integer.parseInt(parts[1]), "order of thread " + thread);
+        }
+
+        handler.close();
+    }
+
+    @Test
+    @DisplayName("Test drop-debug sheds debug records but keeps the rest")
+    void testDropDebug() throws InterruptedException {
+        final CountDownLatch gate = new CountDownLatch(1);
+        final CollectingHandler target = new CollectingHandler(gate);
+        final KompeterLogHandler handler = new KompeterLogHandler(8, KompeterLogHandler.OverflowPolicy.DROP_DEBUG,
+                target);
+
+        for (int i = 0; i < 100; ++i) {
+            handler.publish(new LogRecord(Level.FINE, "debug " + i));
+        }
+
+        final Thread warner = Thread.ofPlatform().start(() -> handler.publish(new LogRecord(Level.WARNING, "kept")));
+
+        assertTrue(handler.getDroppedCount() >= 100 - 8, "dropped " + handler.getDroppedCount());
+
+        gate.countDown();
+        warner.join();
+        handler.flush();
+
+        assertTrue(target.records().stream().anyMatch((r) -> r.getMessage().equals("kept")));
+        assertEquals(100 + 1, target.records().size() + handler.getDroppedCount());
+
+        handler.close();
+    }
+
+    @Test
+    @DisplayName("Test JSON lines escape messages and stack traces")
+    void testJsonLines() {
+        final LogRecord record = new LogRecord(Level.SEVERE, "line \"one\"\nline\ttwo");
+
+        record.setLoggerName("kompeter.test");
+        record.setSourceClassName("Test");
+        record.setSourceMethodName("json");
+        record.setThrown(new IllegalStateException("boom"));
+
+        final String line = new KompeterJsonLogFormatter().format(record);
+
+        assertTrue(line.endsWith("}\n"));
+        assertEquals(1, line.lines().count());
+        assertTrue(line.contains("\"level\":\"SEVERE\""));
+        assertTrue(line.contains("\"source\":\"Test.json\""));
+        assertTrue(line.contains("\"message\":\"line \\\"one\\\"\\nline\\ttwo\""));
+        assertTrue(line.contains("\"thrown\":\"java.lang.IllegalStateException: boom\\n"));
+    }
+
+    @Test
+    @DisplayName("Test files roll over by size and by day, keeping the newest")
+    void testRolling(@TempDir final Path directory) throws IOException {
+        final RollingFileHandler handler = new RollingFileHandler(directory, "test", "log", 200, 2,
+                new KompeterLogFormatter());
+
+        for (int i = 0; i < 50; ++i) {
+            final LogRecord record = new LogRecord(Level.INFO, "record number " + i);
+
+            record.setSourceClassName("Test");
+            record.setSourceMethodName("roll");
+            handler.publish(record);
+        }
+
+        handler.flush();
+
+        final List<Path> rolled = handler.getRolledFiles();
+
+        assertEquals(2, rolled.size());
+        assertTrue(Files.size(handler.getFile()) <= 200);
+        assertTrue(Files.readString(rolled.get(1)).contains("record number"));
+
+        final LogRecord tomorrow = new LogRecord(Level.INFO, "tomorrow");
+
+        tomorrow.setInstant(tomorrow.getInstant().plus(Duration.ofDays(1)));
+        handler.publish(tomorrow);
+        handler.close();
+
+        final String today = LocalDate.now(ZoneId.systemDefault()).toString();
+
+        assertTrue(handler.getRolledFiles().getLast().getFileName().toString().startsWith("test-" + today));
+        assertTrue(Files.readString(handler.getFile()).contains("tomorrow"));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+*
+* MIT License
+* Authors: Aaron Ragudos, Peter Dela Cruz, Hanz Mapua, Jerick Remo
+* (C) 2025
+*
+*/
+package com.github.ragudos.kompeter.utilities.metrics;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+public class TestLogLinearHistogram {
+    @Test
+    @DisplayName("Test bucket bounds contain their values")
+    void testBucketBounds() {
+        for (long v : new long[] { 0, 1, 7, 8, 9, 15, 16, 17, 1_000, 123_456_789, Long.MAX_VALUE }) {
+            final int index = LogLinearHistogram.bucketIndex(v);
+
+            assertTrue(LogLinearHistogram.bucketLowerBound(index) <= v, "lower bound of " + v);
+            assertTrue(LogLinearHistogram.bucketUpperBound(index) >= v, "upper bound of " + v);
+        }
+    }
+
+    @Test
+    @DisplayName("Test percentiles stay within the relative error")
+    void testPercentiles() {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+
+        for (int i = 1; i <= 1_000; ++i) {
+            histogram.record(i * 1_000L);
+        }
+
+        final LogLinearHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1_000, snapshot.count());
+        assertEquals(1_000, snapshot.min());
+        assertEquals(1_000_000, snapshot.max());
+        assertEquals(500_500, snapshot.mean(), 0.001);
+
+        final double maxError = 1.0 / LogLinearHistogram.SUB_BUCKETS;
+
+        assertEquals(500_000, snapshot.percentile(50), 500_000 * maxError);
+        assertEquals(990_000, snapshot.percentile(99), 990_000 * maxError);
+        assertEquals(1_000_000, snapshot.percentile(100));
+    }
+
+    @Test
+    @DisplayName("Test concurrent record() does not lose values")
+    void testConcurrentRecord() throws InterruptedException {
+        final LogLinearHistogram histogram = new LogLinearHistogram();
+        final List<Thread> threads = new ArrayList<>();
+
+        for (int t = 0; t < 8; ++t) {
+            threads.add(Thread.ofPlatform().start(() -> {
+                for (int i = 0; i < 10_000; ++i) {
+                    histogram.record(i);
+                }
+            }));
+        }
+
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(80_000, histogram.snapshot().count());
+
+        histogram.reset();
+
+        assertEquals(0, histogram.snapshot().count());
+    }
+}